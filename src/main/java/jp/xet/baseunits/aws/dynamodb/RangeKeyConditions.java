@@ -0,0 +1,110 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.aws.dynamodb;
+
+import jp.xet.baseunits.time.CalendarDate;
+import jp.xet.baseunits.time.CalendarInterval;
+import jp.xet.baseunits.time.TimePoint;
+import jp.xet.baseunits.time.TimePointInterval;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ComparisonOperator;
+import com.amazonaws.services.dynamodbv2.model.Condition;
+import com.google.common.base.Preconditions;
+
+/**
+ * 区間を、{@link SortableCalendarDateConverter}や{@link SortableTimePointConverter}で保存したレンジキーに対する
+ * 検索条件に変換するユーティリティクラス。
+ * 
+ * <p>返す{@link Condition}は、{@code DynamoDBQueryExpression#withRangeKeyCondition(String, Condition)}
+ * 等に与えることができる。下限・上限を含まない区間は、隣接する値を限界とする閉区間に読み替える。</p>
+ * 
+ * @since 2.19
+ * @author daisuke
+ */
+public final class RangeKeyConditions {
+	
+	/**
+	 * 暦日の区間に含まれる暦日を表す検索条件を返す。
+	 * 
+	 * @param interval 暦日の区間
+	 * @return 検索条件
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @throws IllegalArgumentException 区間が空である場合、または下限・上限ともに持たない場合
+	 * @throws IllegalArgumentException 限界の年が0〜9999年の範囲ではない場合
+	 * @since 2.19
+	 */
+	public static Condition of(CalendarInterval interval) {
+		Preconditions.checkNotNull(interval);
+		Preconditions.checkArgument(interval.isEmpty() == false, "empty interval");
+		String lower = null;
+		if (interval.hasLowerLimit()) {
+			CalendarDate start = interval.lowerLimit();
+			lower = SortableEncoding.encode(interval.includesLowerLimit() ? start : start.nextDay());
+		}
+		String upper = null;
+		if (interval.hasUpperLimit()) {
+			CalendarDate end = interval.upperLimit();
+			upper = SortableEncoding.encode(interval.includesUpperLimit() ? end : end.previousDay());
+		}
+		return condition(lower, upper);
+	}
+	
+	/**
+	 * 瞬間の区間に含まれる瞬間を表す検索条件を返す。
+	 * 
+	 * @param interval 瞬間の区間
+	 * @return 検索条件
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @throws IllegalArgumentException 区間が空である場合、または下限・上限ともに持たない場合
+	 * @throws IllegalArgumentException 限界の年が0〜9999年の範囲ではない場合
+	 * @since 2.19
+	 */
+	public static Condition of(TimePointInterval interval) {
+		Preconditions.checkNotNull(interval);
+		Preconditions.checkArgument(interval.isEmpty() == false, "empty interval");
+		String lower = null;
+		if (interval.hasLowerLimit()) {
+			long start = interval.lowerLimit().toEpochMillisec();
+			lower = SortableEncoding.encode(TimePoint.from(interval.includesLowerLimit() ? start : start + 1));
+		}
+		String upper = null;
+		if (interval.hasUpperLimit()) {
+			long end = interval.upperLimit().toEpochMillisec();
+			upper = SortableEncoding.encode(TimePoint.from(interval.includesUpperLimit() ? end : end - 1));
+		}
+		return condition(lower, upper);
+	}
+	
+	private static Condition condition(String lower, String upper) {
+		Condition condition = new Condition();
+		if (lower != null && upper != null) {
+			Preconditions.checkArgument(lower.compareTo(upper) <= 0, "empty interval");
+			return condition.withComparisonOperator(ComparisonOperator.BETWEEN)
+				.withAttributeValueList(new AttributeValue(lower), new AttributeValue(upper));
+		} else if (lower != null) {
+			return condition.withComparisonOperator(ComparisonOperator.GE)
+				.withAttributeValueList(new AttributeValue(lower));
+		} else if (upper != null) {
+			return condition.withComparisonOperator(ComparisonOperator.LE)
+				.withAttributeValueList(new AttributeValue(upper));
+		}
+		throw new IllegalArgumentException("unbounded interval");
+	}
+	
+	private RangeKeyConditions() {
+	}
+}
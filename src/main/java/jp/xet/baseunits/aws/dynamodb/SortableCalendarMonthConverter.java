@@ -0,0 +1,69 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.aws.dynamodb;
+
+import jp.xet.baseunits.time.CalendarMonth;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMappingException;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMarshaller;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTypeConverter;
+
+/**
+ * {@link CalendarMonth}を{@code yyyy-MM}形式の文字列として保存する、{@link DynamoDBMarshaller}及び{@link DynamoDBTypeConverter}の実装クラス。
+ * 
+ * <p>年は0〜9999年の範囲に限られるが、辞書順の比較が値の大小関係と一致するため、レンジキーとして範囲検索に利用できる。
+ * 形式が正しくない値を読み込んだ場合は、{@code null}を返さずに{@link DynamoDBMappingException}をスローする。</p>
+ * 
+ * @since 2.19
+ * @author daisuke
+ * @see RangeKeyConditions
+ */
+public class SortableCalendarMonthConverter implements DynamoDBMarshaller<CalendarMonth>, DynamoDBTypeConverter<String, CalendarMonth> {
+	
+	@Override
+	public String convert(CalendarMonth object) {
+		if (object == null) {
+			return null;
+		}
+		try {
+			return SortableEncoding.encode(object);
+		} catch (IllegalArgumentException e) {
+			throw new DynamoDBMappingException("cannot convert " + object, e);
+		}
+	}
+	
+	@Override
+	public String marshall(CalendarMonth obj) {
+		return convert(obj);
+	}
+	
+	@Override
+	public CalendarMonth unconvert(String object) {
+		if (object == null) {
+			return null;
+		}
+		try {
+			return SortableEncoding.decodeCalendarMonth(object);
+		} catch (IllegalArgumentException e) {
+			throw new DynamoDBMappingException("cannot unconvert " + object, e);
+		}
+	}
+	
+	@Override
+	public CalendarMonth unmarshall(Class<CalendarMonth> clazz, String obj) {
+		return unconvert(obj);
+	}
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.aws.dynamodb;
+
+import jp.xet.baseunits.time.Duration;
+import jp.xet.baseunits.time.TimeUnit;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMappingException;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMarshaller;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTypeConverter;
+import com.google.common.base.Preconditions;
+
+/**
+ * {@link Duration}を、指定した単位の量を0埋めした19桁の数字列として保存する、{@link DynamoDBMarshaller}及び
+ * {@link DynamoDBTypeConverter}の実装クラス。
+ * 
+ * <p>辞書順の比較が値の大小関係と一致するため、レンジキーとして範囲検索に利用できる。
+ * 形式が正しくない値を読み込んだ場合は、{@code null}を返さずに{@link DynamoDBMappingException}をスローする。</p>
+ * 
+ * @since 2.19
+ * @author daisuke
+ */
+public class SortableDurationConverter implements DynamoDBMarshaller<Duration>, DynamoDBTypeConverter<String, Duration> {
+	
+	private final TimeUnit timeUnit;
+	
+	
+	/**
+	 * インスタンスを生成する。
+	 * 
+	 * <p>ミリ秒単位で保存する。</p>
+	 * 
+	 * @since 2.19
+	 */
+	public SortableDurationConverter() {
+		this(TimeUnit.millisecond);
+	}
+	
+	/**
+	 * インスタンスを生成する。
+	 * 
+	 * @param timeUnit 単位
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public SortableDurationConverter(TimeUnit timeUnit) {
+		Preconditions.checkNotNull(timeUnit);
+		this.timeUnit = timeUnit;
+	}
+	
+	@Override
+	public String convert(Duration object) {
+		if (object == null) {
+			return null;
+		}
+		try {
+			return SortableEncoding.encode(object, timeUnit);
+		} catch (IllegalArgumentException e) {
+			throw new DynamoDBMappingException("cannot convert " + object, e);
+		}
+	}
+	
+	@Override
+	public String marshall(Duration obj) {
+		return convert(obj);
+	}
+	
+	@Override
+	public Duration unconvert(String object) {
+		if (object == null) {
+			return null;
+		}
+		try {
+			return SortableEncoding.decodeDuration(object, timeUnit);
+		} catch (IllegalArgumentException e) {
+			throw new DynamoDBMappingException("cannot unconvert " + object, e);
+		}
+	}
+	
+	@Override
+	public Duration unmarshall(Class<Duration> clazz, String obj) {
+		return unconvert(obj);
+	}
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.aws.dynamodb;
+
+import java.text.ParseException;
+
+import jp.xet.baseunits.time.CalendarDate;
+import jp.xet.baseunits.time.CalendarMonth;
+import jp.xet.baseunits.time.Duration;
+import jp.xet.baseunits.time.IsoCodec;
+import jp.xet.baseunits.time.TimePoint;
+import jp.xet.baseunits.time.TimeUnit;
+
+/**
+ * 辞書順で比較した結果が値の大小関係と一致する、固定長の文字列表現を扱うユーティリティクラス。
+ * 
+ * <p>暦日・暦月・瞬間は{@link IsoCodec}による形式で表し、{@link TimePoint}はミリ秒まで含める。
+ * 年は0〜9999年の範囲に限られる。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+final class SortableEncoding {
+	
+	/** {@link Duration}の量を表す文字数。{@link Long#MAX_VALUE}の桁数と一致する。 */
+	static final int DURATION_LENGTH = 19;
+	
+	
+	/**
+	 * 暦日を{@code yyyy-MM-dd}形式に変換する。
+	 * 
+	 * @param date 暦日
+	 * @return 文字列表現
+	 * @throws IllegalArgumentException 年が0〜9999年の範囲ではない場合
+	 */
+	static String encode(CalendarDate date) {
+		char[] buf = new char[IsoCodec.DATE_LENGTH];
+		IsoCodec.formatTo(date, buf, 0);
+		return new String(buf);
+	}
+	
+	/**
+	 * 暦月を{@code yyyy-MM}形式に変換する。
+	 * 
+	 * @param month 暦月
+	 * @return 文字列表現
+	 * @throws IllegalArgumentException 年が0〜9999年の範囲ではない場合
+	 */
+	static String encode(CalendarMonth month) {
+		char[] buf = new char[IsoCodec.MONTH_LENGTH];
+		IsoCodec.formatTo(month, buf, 0);
+		return new String(buf);
+	}
+	
+	/**
+	 * 時間量を、指定した単位の量を0埋めした19桁の数字列に変換する。
+	 * 
+	 * @param duration 時間量
+	 * @param unit 単位
+	 * @return 文字列表現
+	 * @throws IllegalArgumentException 時間量を{@code unit}で表せない場合
+	 */
+	static String encode(Duration duration, TimeUnit unit) {
+		long value = duration.to(unit);
+		char[] buf = new char[DURATION_LENGTH];
+		for (int i = DURATION_LENGTH - 1; i >= 0; i--) {
+			buf[i] = (char) ('0' + value % 10); // CHECKSTYLE IGNORE THIS LINE
+			value /= 10; // CHECKSTYLE IGNORE THIS LINE
+		}
+		return new String(buf);
+	}
+	
+	/**
+	 * 瞬間を{@code yyyy-MM-dd'T'HH:mm:ss.SSS'Z'}形式に変換する。
+	 * 
+	 * @param timePoint 瞬間
+	 * @return 文字列表現
+	 * @throws IllegalArgumentException 年が0〜9999年の範囲ではない場合
+	 */
+	static String encode(TimePoint timePoint) {
+		char[] buf = new char[IsoCodec.TIME_POINT_MILLIS_LENGTH];
+		IsoCodec.formatTo(timePoint, true, buf, 0);
+		return new String(buf);
+	}
+	
+	/**
+	 * {@code yyyy-MM-dd}形式の文字列を暦日に変換する。
+	 * 
+	 * @param text 文字列表現
+	 * @return 暦日
+	 * @throws IllegalArgumentException 文字列の形式が正しくない場合
+	 */
+	static CalendarDate decodeCalendarDate(String text) {
+		try {
+			return IsoCodec.parseCalendarDate(text);
+		} catch (ParseException e) {
+			throw new IllegalArgumentException(e.getMessage(), e);
+		}
+	}
+	
+	/**
+	 * {@code yyyy-MM}形式の文字列を暦月に変換する。
+	 * 
+	 * @param text 文字列表現
+	 * @return 暦月
+	 * @throws IllegalArgumentException 文字列の形式が正しくない場合
+	 */
+	static CalendarMonth decodeCalendarMonth(String text) {
+		try {
+			return IsoCodec.parseCalendarMonth(text);
+		} catch (ParseException e) {
+			throw new IllegalArgumentException(e.getMessage(), e);
+		}
+	}
+	
+	/**
+	 * 19桁の数字列を、指定した単位の時間量に変換する。
+	 * 
+	 * @param text 文字列表現
+	 * @param unit 単位
+	 * @return 時間量
+	 * @throws IllegalArgumentException 文字列の形式が正しくない場合
+	 */
+	static Duration decodeDuration(String text, TimeUnit unit) {
+		if (text.length() != DURATION_LENGTH) {
+			throw new IllegalArgumentException("unexpected length: " + text);
+		}
+		long value = 0;
+		for (int i = 0; i < DURATION_LENGTH; i++) {
+			char c = text.charAt(i);
+			if (c < '0' || c > '9') {
+				throw new IllegalArgumentException("unexpected character at " + i + ": " + text);
+			}
+			try {
+				value = Math.addExact(Math.multiplyExact(value, 10), c - '0'); // CHECKSTYLE IGNORE THIS LINE
+			} catch (ArithmeticException e) {
+				throw new IllegalArgumentException("overflow: " + text, e);
+			}
+		}
+		return Duration.valueOf(value, unit);
+	}
+	
+	/**
+	 * {@code yyyy-MM-dd'T'HH:mm:ss.SSS'Z'}形式の文字列を瞬間に変換する。
+	 * 
+	 * @param text 文字列表現
+	 * @return 瞬間
+	 * @throws IllegalArgumentException 文字列の形式が正しくない場合
+	 */
+	static TimePoint decodeTimePoint(String text) {
+		try {
+			return IsoCodec.parseTimePoint(text);
+		} catch (ParseException e) {
+			throw new IllegalArgumentException(e.getMessage(), e);
+		}
+	}
+	
+	private SortableEncoding() {
+	}
+}
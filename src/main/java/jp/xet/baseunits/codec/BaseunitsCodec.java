@@ -0,0 +1,659 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.codec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+
+import jp.xet.baseunits.money.Money;
+import jp.xet.baseunits.time.CalendarDate;
+import jp.xet.baseunits.time.Duration;
+import jp.xet.baseunits.time.TimePoint;
+import jp.xet.baseunits.time.TimePointInterval;
+import jp.xet.baseunits.time.TimePoints;
+import jp.xet.baseunits.time.TimeUnit;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * baseunitsの値オブジェクトを、可変長整数を用いたバイナリ形式で読み書きするユーティリティクラス。
+ * 
+ * <p>各形式は{@link jp.xet.baseunits.codec パッケージの説明}を参照。書き込み先・読み込み元には
+ * {@link ByteBuffer}または{@link DataOutput}・{@link DataInput}を用いることができ、いずれも同じ形式となる。</p>
+ * 
+ * <p>{@link ByteBuffer}からの読み込みには、値オブジェクトを生成せずにプリミティブ値や再利用可能なホルダに
+ * 復号するメソッドも用意している。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+public final class BaseunitsCodec {
+	
+	private static final int LOWER = 0x01;
+	
+	private static final int LOWER_CLOSED = 0x02;
+	
+	private static final int UPPER = 0x04;
+	
+	private static final int UPPER_CLOSED = 0x08;
+	
+	private static final int INTERVAL_FLAGS = LOWER | LOWER_CLOSED | UPPER | UPPER_CLOSED;
+	
+	/** スケールを除いた金額を{@code long}の可変長整数で表す */
+	private static final int COMPACT_MONEY = 0;
+	
+	/** スケールを除いた金額を{@link BigInteger}のバイト表現で表す */
+	private static final int BIG_MONEY = 1;
+	
+	private static final int CURRENCY_CODE_LENGTH = 3;
+	
+	private static final int LETTERS = 26;
+	
+	private static final TimeUnit[] UNITS = TimeUnit.values();
+	
+	/** 通貨コードから{@link Currency}への変換表。一度参照した通貨のみを保持する。 */
+	private static final Currency[] CURRENCIES = new Currency[LETTERS * LETTERS * LETTERS];
+	
+	
+	/**
+	 * {@link CalendarDate}を読み込む。
+	 * 
+	 * @param buffer 読み込み元
+	 * @return 暦日
+	 * @throws BufferUnderflowException 値の途中でバッファが終わった場合
+	 * @throws IllegalArgumentException 形式が正しくない場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public static CalendarDate readCalendarDate(ByteBuffer buffer) {
+		return TimePoints.toCalendarDate(readEpochDay(buffer));
+	}
+	
+	/**
+	 * {@link CalendarDate}を読み込む。
+	 * 
+	 * @param in 読み込み元
+	 * @return 暦日
+	 * @throws IOException 入出力エラーが発生した場合
+	 * @throws StreamCorruptedException 形式が正しくない場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public static CalendarDate readCalendarDate(DataInput in) throws IOException {
+		long epochDay = Varints.readVarLong(in);
+		if (epochDay != (int) epochDay) {
+			throw new StreamCorruptedException("epoch day out of range: " + epochDay);
+		}
+		return TimePoints.toCalendarDate((int) epochDay);
+	}
+	
+	/**
+	 * {@link Duration}を読み込む。
+	 * 
+	 * @param buffer 読み込み元
+	 * @return 時間量
+	 * @throws BufferUnderflowException 値の途中でバッファが終わった場合
+	 * @throws IllegalArgumentException 形式が正しくない場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public static Duration readDuration(ByteBuffer buffer) {
+		int ordinal = buffer.get();
+		Preconditions.checkArgument(ordinal >= 0 && ordinal < UNITS.length, "unknown unit: %s", ordinal);
+		long quantity = Varints.readVarLong(buffer);
+		Preconditions.checkArgument(quantity >= 0, "negative quantity: %s", quantity);
+		return Duration.valueOf(quantity, UNITS[ordinal]);
+	}
+	
+	/**
+	 * {@link Duration}を読み込む。
+	 * 
+	 * @param in 読み込み元
+	 * @return 時間量
+	 * @throws IOException 入出力エラーが発生した場合
+	 * @throws StreamCorruptedException 形式が正しくない場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public static Duration readDuration(DataInput in) throws IOException {
+		int ordinal = in.readByte();
+		if (ordinal < 0 || ordinal >= UNITS.length) {
+			throw new StreamCorruptedException("unknown unit: " + ordinal);
+		}
+		long quantity = Varints.readVarLong(in);
+		if (quantity < 0) {
+			throw new StreamCorruptedException("negative quantity: " + quantity);
+		}
+		return Duration.valueOf(quantity, UNITS[ordinal]);
+	}
+	
+	/**
+	 * {@link #writeCalendarDate(ByteBuffer, CalendarDate)}で書き出した暦日を、エポック日として読み込む。
+	 * 
+	 * <p>このメソッドはオブジェクトを生成しない。</p>
+	 * 
+	 * @param buffer 読み込み元
+	 * @return エポック日
+	 * @throws BufferUnderflowException 値の途中でバッファが終わった場合
+	 * @throws IllegalArgumentException 形式が正しくない場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public static int readEpochDay(ByteBuffer buffer) {
+		long epochDay = Varints.readVarLong(buffer);
+		Preconditions.checkArgument(epochDay == (int) epochDay, "epoch day out of range: %s", epochDay);
+		return (int) epochDay;
+	}
+	
+	/**
+	 * {@link #writeTimePoint(ByteBuffer, TimePoint)}で書き出した瞬間を、エポックミリ秒として読み込む。
+	 * 
+	 * <p>このメソッドはオブジェクトを生成しない。</p>
+	 * 
+	 * @param buffer 読み込み元
+	 * @return エポックミリ秒
+	 * @throws BufferUnderflowException 値の途中でバッファが終わった場合
+	 * @throws IllegalArgumentException 形式が正しくない場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public static long readEpochMillis(ByteBuffer buffer) {
+		return Varints.readVarLong(buffer);
+	}
+	
+	/**
+	 * {@link #writeTimePoints(ByteBuffer, List)}または{@link #writeEpochMillisSequence(ByteBuffer, long[], int, int)}で
+	 * 書き出した瞬間の列を、エポックミリ秒の配列に読み込む。
+	 * 
+	 * <p>このメソッドはオブジェクトを生成しない。</p>
+	 * 
+	 * @param buffer 読み込み元
+	 * @param out 結果を格納する配列
+	 * @param offset 結果を格納する配列の開始位置
+	 * @return 読み込んだ要素数
+	 * @throws BufferUnderflowException 値の途中でバッファが終わった場合
+	 * @throws IllegalArgumentException 形式が正しくない場合
+	 * @throws IndexOutOfBoundsException 要素数が配列の残りより多い場合。この場合、バッファの位置は要素数の直後となる。
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public static int readEpochMillisSequence(ByteBuffer buffer, long[] out, int offset) {
+		int count = readCount(buffer);
+		if (offset < 0 || offset > out.length || count > out.length - offset) {
+			throw new IndexOutOfBoundsException("count " + count + " does not fit in array of length " + out.length
+					+ " from offset " + offset);
+		}
+		long millis = 0;
+		for (int i = 0; i < count; i++) {
+			millis += Varints.readVarLong(buffer);
+			out[offset + i] = millis;
+		}
+		return count;
+	}
+	
+	/**
+	 * {@link Money}を読み込む。
+	 * 
+	 * @param buffer 読み込み元
+	 * @return 金額
+	 * @throws BufferUnderflowException 値の途中でバッファが終わった場合
+	 * @throws IllegalArgumentException 形式が正しくない場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public static Money readMoney(ByteBuffer buffer) {
+		MoneyHolder holder = new MoneyHolder();
+		readMoney(buffer, holder);
+		return holder.toMoney();
+	}
+	
+	/**
+	 * {@link Money}を、再利用可能なホルダに読み込む。
+	 * 
+	 * <p>スケールを除いた金額が{@code long}に収まる場合、このメソッドはオブジェクトを生成しない。</p>
+	 * 
+	 * @param buffer 読み込み元
+	 * @param holder 結果を格納するホルダ
+	 * @throws BufferUnderflowException 値の途中でバッファが終わった場合
+	 * @throws IllegalArgumentException 形式が正しくない場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public static void readMoney(ByteBuffer buffer, MoneyHolder holder) {
+		Preconditions.checkNotNull(holder);
+		Currency currency = currency(buffer.get(), buffer.get(), buffer.get());
+		int kind = buffer.get();
+		if (kind == COMPACT_MONEY) {
+			holder.set(currency, Varints.readVarLong(buffer));
+		} else if (kind == BIG_MONEY) {
+			int length = readCount(buffer);
+			Preconditions.checkArgument(length > 0, "empty amount");
+			if (length > buffer.remaining()) {
+				throw new BufferUnderflowException();
+			}
+			byte[] bytes = new byte[length];
+			buffer.get(bytes);
+			holder.set(currency, new BigInteger(bytes));
+		} else {
+			throw new IllegalArgumentException("unknown money kind: " + kind);
+		}
+	}
+	
+	/**
+	 * {@link Money}を読み込む。
+	 * 
+	 * @param in 読み込み元
+	 * @return 金額
+	 * @throws IOException 入出力エラーが発生した場合
+	 * @throws StreamCorruptedException 形式が正しくない場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public static Money readMoney(DataInput in) throws IOException {
+		Currency currency;
+		try {
+			currency = currency(in.readByte(), in.readByte(), in.readByte());
+		} catch (IllegalArgumentException e) {
+			throw (StreamCorruptedException) new StreamCorruptedException(e.getMessage()).initCause(e);
+		}
+		int kind = in.readByte();
+		BigInteger unscaled;
+		if (kind == COMPACT_MONEY) {
+			unscaled = BigInteger.valueOf(Varints.readVarLong(in));
+		} else if (kind == BIG_MONEY) {
+			long length = Varints.readUnsignedVarLong(in);
+			if (length <= 0 || length > Integer.MAX_VALUE) {
+				throw new StreamCorruptedException("illegal length: " + length);
+			}
+			byte[] bytes = new byte[(int) length];
+			in.readFully(bytes);
+			unscaled = new BigInteger(bytes);
+		} else {
+			throw new StreamCorruptedException("unknown money kind: " + kind);
+		}
+		return Money.valueOf(new BigDecimal(unscaled, currency.getDefaultFractionDigits()), currency);
+	}
+	
+	/**
+	 * {@link TimePoint}を読み込む。
+	 * 
+	 * @param buffer 読み込み元
+	 * @return 瞬間
+	 * @throws BufferUnderflowException 値の途中でバッファが終わった場合
+	 * @throws IllegalArgumentException 形式が正しくない場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public static TimePoint readTimePoint(ByteBuffer buffer) {
+		return TimePoint.from(readEpochMillis(buffer));
+	}
+	
+	/**
+	 * {@link TimePoint}を読み込む。
+	 * 
+	 * @param in 読み込み元
+	 * @return 瞬間
+	 * @throws IOException 入出力エラーが発生した場合
+	 * @throws StreamCorruptedException 形式が正しくない場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public static TimePoint readTimePoint(DataInput in) throws IOException {
+		return TimePoint.from(Varints.readVarLong(in));
+	}
+	
+	/**
+	 * {@link TimePointInterval}を読み込む。
+	 * 
+	 * @param buffer 読み込み元
+	 * @return 期間
+	 * @throws BufferUnderflowException 値の途中でバッファが終わった場合
+	 * @throws IllegalArgumentException 形式が正しくない場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public static TimePointInterval readTimePointInterval(ByteBuffer buffer) {
+		TimePointIntervalHolder holder = new TimePointIntervalHolder();
+		readTimePointInterval(buffer, holder);
+		return holder.toTimePointInterval();
+	}
+	
+	/**
+	 * {@link TimePointInterval}を読み込む。
+	 * 
+	 * @param in 読み込み元
+	 * @return 期間
+	 * @throws IOException 入出力エラーが発生した場合
+	 * @throws StreamCorruptedException 形式が正しくない場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public static TimePointInterval readTimePointInterval(DataInput in) throws IOException {
+		int flags = in.readByte();
+		if ((flags & ~INTERVAL_FLAGS) != 0) {
+			throw new StreamCorruptedException("unknown interval flags: " + flags);
+		}
+		long lower = (flags & LOWER) != 0 ? Varints.readVarLong(in) : 0;
+		long upper = (flags & UPPER) != 0 ? lower + Varints.readVarLong(in) : 0;
+		if (isOrdered(flags, lower, upper) == false) {
+			throw new StreamCorruptedException("lower limit " + lower + " is after upper limit " + upper);
+		}
+		try {
+			return TimePointInterval.over((flags & LOWER) != 0 ? TimePoint.from(lower) : null,
+					(flags & LOWER_CLOSED) != 0, (flags & UPPER) != 0 ? TimePoint.from(upper) : null,
+					(flags & UPPER_CLOSED) != 0);
+		} catch (IllegalArgumentException e) {
+			throw (StreamCorruptedException) new StreamCorruptedException(e.getMessage()).initCause(e);
+		}
+	}
+	
+	/**
+	 * {@link TimePointInterval}を、再利用可能なホルダに読み込む。
+	 * 
+	 * <p>このメソッドはオブジェクトを生成しない。</p>
+	 * 
+	 * @param buffer 読み込み元
+	 * @param holder 結果を格納するホルダ
+	 * @throws BufferUnderflowException 値の途中でバッファが終わった場合
+	 * @throws IllegalArgumentException 形式が正しくない場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public static void readTimePointInterval(ByteBuffer buffer, TimePointIntervalHolder holder) {
+		Preconditions.checkNotNull(holder);
+		int flags = buffer.get();
+		Preconditions.checkArgument((flags & ~INTERVAL_FLAGS) == 0, "unknown interval flags: %s", flags);
+		long lower = (flags & LOWER) != 0 ? Varints.readVarLong(buffer) : 0;
+		long upper = (flags & UPPER) != 0 ? lower + Varints.readVarLong(buffer) : 0;
+		Preconditions.checkArgument(isOrdered(flags, lower, upper), "lower limit %s is after upper limit %s", lower,
+				upper);
+		holder.setLowerLimit((flags & LOWER) != 0, (flags & LOWER_CLOSED) != 0, lower);
+		holder.setUpperLimit((flags & UPPER) != 0, (flags & UPPER_CLOSED) != 0, upper);
+	}
+	
+	/**
+	 * {@link #writeTimePoints(ByteBuffer, List)}で書き出した瞬間の列を読み込む。
+	 * 
+	 * @param buffer 読み込み元
+	 * @return 瞬間のリスト
+	 * @throws BufferUnderflowException 値の途中でバッファが終わった場合
+	 * @throws IllegalArgumentException 形式が正しくない場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public static List<TimePoint> readTimePoints(ByteBuffer buffer) {
+		int count = readCount(buffer);
+		// 要素毎に少なくとも1バイトを要するため、残りバイト数を超える容量は確保しない
+		List<TimePoint> timePoints = new ArrayList<TimePoint>(Math.min(count, buffer.remaining()));
+		long millis = 0;
+		for (int i = 0; i < count; i++) {
+			millis += Varints.readVarLong(buffer);
+			timePoints.add(TimePoint.from(millis));
+		}
+		return timePoints;
+	}
+	
+	/**
+	 * {@link CalendarDate}を書き出す。
+	 * 
+	 * <p>暦日は{@link TimePoints#toEpochDay(CalendarDate)}によるエポック日として書き出す。</p>
+	 * 
+	 * @param buffer 書き込み先
+	 * @param date 暦日
+	 * @throws java.nio.BufferOverflowException バッファの残りが足りない場合
+	 * @throws ArithmeticException エポック日が{@code int}の範囲を超える場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public static void writeCalendarDate(ByteBuffer buffer, CalendarDate date) {
+		Varints.writeVarLong(buffer, TimePoints.toEpochDay(date));
+	}
+	
+	/**
+	 * {@link CalendarDate}を書き出す。
+	 * 
+	 * <p>暦日は{@link TimePoints#toEpochDay(CalendarDate)}によるエポック日として書き出す。</p>
+	 * 
+	 * @param out 書き込み先
+	 * @param date 暦日
+	 * @throws IOException 入出力エラーが発生した場合
+	 * @throws ArithmeticException エポック日が{@code int}の範囲を超える場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public static void writeCalendarDate(DataOutput out, CalendarDate date) throws IOException {
+		Varints.writeVarLong(out, TimePoints.toEpochDay(date));
+	}
+	
+	/**
+	 * {@link Duration}を書き出す。
+	 * 
+	 * @param buffer 書き込み先
+	 * @param duration 時間量
+	 * @throws java.nio.BufferOverflowException バッファの残りが足りない場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public static void writeDuration(ByteBuffer buffer, Duration duration) {
+		buffer.put((byte) duration.breachEncapsulationOfUnit().ordinal());
+		Varints.writeVarLong(buffer, duration.breachEncapsulationOfQuantity());
+	}
+	
+	/**
+	 * {@link Duration}を書き出す。
+	 * 
+	 * @param out 書き込み先
+	 * @param duration 時間量
+	 * @throws IOException 入出力エラーが発生した場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public static void writeDuration(DataOutput out, Duration duration) throws IOException {
+		out.writeByte(duration.breachEncapsulationOfUnit().ordinal());
+		Varints.writeVarLong(out, duration.breachEncapsulationOfQuantity());
+	}
+	
+	/**
+	 * 昇順に並んだエポックミリ秒の列を、差分符号化して書き出す。
+	 * 
+	 * <p>昇順でない列も書き出すことができるが、差分が大きくなるほど書き出すバイト数は増える。</p>
+	 * 
+	 * @param buffer 書き込み先
+	 * @param millis エポックミリ秒の配列
+	 * @param from 書き出す範囲の開始添字（この値を含む）
+	 * @param to 書き出す範囲の終了添字（この値を含まない）
+	 * @throws java.nio.BufferOverflowException バッファの残りが足りない場合
+	 * @throws IndexOutOfBoundsException 範囲が配列の範囲外である場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public static void writeEpochMillisSequence(ByteBuffer buffer, long[] millis, int from, int to) {
+		Preconditions.checkPositionIndexes(from, to, millis.length);
+		Varints.writeUnsignedVarLong(buffer, to - from);
+		long previous = 0;
+		for (int i = from; i < to; i++) {
+			Varints.writeVarLong(buffer, millis[i] - previous);
+			previous = millis[i];
+		}
+	}
+	
+	/**
+	 * {@link Money}を書き出す。
+	 * 
+	 * @param buffer 書き込み先
+	 * @param money 金額
+	 * @throws java.nio.BufferOverflowException バッファの残りが足りない場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public static void writeMoney(ByteBuffer buffer, Money money) {
+		String code = money.breachEncapsulationOfCurrency().getCurrencyCode();
+		for (int i = 0; i < CURRENCY_CODE_LENGTH; i++) {
+			buffer.put((byte) code.charAt(i));
+		}
+		BigInteger unscaled = money.breachEncapsulationOfAmount().unscaledValue();
+		if (unscaled.bitLength() < Long.SIZE) {
+			buffer.put((byte) COMPACT_MONEY);
+			Varints.writeVarLong(buffer, unscaled.longValue());
+		} else {
+			byte[] bytes = unscaled.toByteArray();
+			buffer.put((byte) BIG_MONEY);
+			Varints.writeUnsignedVarLong(buffer, bytes.length);
+			buffer.put(bytes);
+		}
+	}
+	
+	/**
+	 * {@link Money}を書き出す。
+	 * 
+	 * @param out 書き込み先
+	 * @param money 金額
+	 * @throws IOException 入出力エラーが発生した場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public static void writeMoney(DataOutput out, Money money) throws IOException {
+		String code = money.breachEncapsulationOfCurrency().getCurrencyCode();
+		for (int i = 0; i < CURRENCY_CODE_LENGTH; i++) {
+			out.writeByte(code.charAt(i));
+		}
+		BigInteger unscaled = money.breachEncapsulationOfAmount().unscaledValue();
+		if (unscaled.bitLength() < Long.SIZE) {
+			out.writeByte(COMPACT_MONEY);
+			Varints.writeVarLong(out, unscaled.longValue());
+		} else {
+			byte[] bytes = unscaled.toByteArray();
+			out.writeByte(BIG_MONEY);
+			Varints.writeUnsignedVarLong(out, bytes.length);
+			out.write(bytes);
+		}
+	}
+	
+	/**
+	 * {@link TimePoint}を書き出す。
+	 * 
+	 * @param buffer 書き込み先
+	 * @param timePoint 瞬間
+	 * @throws java.nio.BufferOverflowException バッファの残りが足りない場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public static void writeTimePoint(ByteBuffer buffer, TimePoint timePoint) {
+		Varints.writeVarLong(buffer, timePoint.toEpochMillisec());
+	}
+	
+	/**
+	 * {@link TimePoint}を書き出す。
+	 * 
+	 * @param out 書き込み先
+	 * @param timePoint 瞬間
+	 * @throws IOException 入出力エラーが発生した場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public static void writeTimePoint(DataOutput out, TimePoint timePoint) throws IOException {
+		Varints.writeVarLong(out, timePoint.toEpochMillisec());
+	}
+	
+	/**
+	 * {@link TimePointInterval}を書き出す。
+	 * 
+	 * @param buffer 書き込み先
+	 * @param interval 期間
+	 * @throws java.nio.BufferOverflowException バッファの残りが足りない場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public static void writeTimePointInterval(ByteBuffer buffer, TimePointInterval interval) {
+		buffer.put((byte) flags(interval));
+		long lower = 0;
+		if (interval.hasLowerLimit()) {
+			lower = interval.lowerLimit().toEpochMillisec();
+			Varints.writeVarLong(buffer, lower);
+		}
+		if (interval.hasUpperLimit()) {
+			Varints.writeVarLong(buffer, interval.upperLimit().toEpochMillisec() - lower);
+		}
+	}
+	
+	/**
+	 * {@link TimePointInterval}を書き出す。
+	 * 
+	 * @param out 書き込み先
+	 * @param interval 期間
+	 * @throws IOException 入出力エラーが発生した場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public static void writeTimePointInterval(DataOutput out, TimePointInterval interval) throws IOException {
+		out.writeByte(flags(interval));
+		long lower = 0;
+		if (interval.hasLowerLimit()) {
+			lower = interval.lowerLimit().toEpochMillisec();
+			Varints.writeVarLong(out, lower);
+		}
+		if (interval.hasUpperLimit()) {
+			Varints.writeVarLong(out, interval.upperLimit().toEpochMillisec() - lower);
+		}
+	}
+	
+	/**
+	 * 昇順に並んだ{@link TimePoint}の列を、差分符号化して書き出す。
+	 * 
+	 * <p>昇順でない列も書き出すことができるが、差分が大きくなるほど書き出すバイト数は増える。</p>
+	 * 
+	 * @param buffer 書き込み先
+	 * @param timePoints 瞬間のリスト
+	 * @throws java.nio.BufferOverflowException バッファの残りが足りない場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合、またはリストが{@code null}要素を含む場合
+	 */
+	public static void writeTimePoints(ByteBuffer buffer, List<TimePoint> timePoints) {
+		Varints.writeUnsignedVarLong(buffer, timePoints.size());
+		long previous = 0;
+		for (TimePoint timePoint : timePoints) {
+			long millis = timePoint.toEpochMillisec();
+			Varints.writeVarLong(buffer, millis - previous);
+			previous = millis;
+		}
+	}
+	
+	private static Currency currency(int c0, int c1, int c2) {
+		int index = letter(c0) * LETTERS * LETTERS + letter(c1) * LETTERS + letter(c2);
+		Currency currency = CURRENCIES[index];
+		if (currency == null) {
+			// Currencyは不変であるため、競合して複数回代入されても問題ない
+			currency = Currency.getInstance(new String(new char[] {
+				(char) c0,
+				(char) c1,
+				(char) c2
+			}));
+			CURRENCIES[index] = currency;
+		}
+		return currency;
+	}
+	
+	private static int flags(TimePointInterval interval) {
+		int flags = 0;
+		if (interval.hasLowerLimit()) {
+			flags |= interval.includesLowerLimit() ? LOWER | LOWER_CLOSED : LOWER;
+		}
+		if (interval.hasUpperLimit()) {
+			flags |= interval.includesUpperLimit() ? UPPER | UPPER_CLOSED : UPPER;
+		}
+		return flags;
+	}
+	
+	private static boolean isOrdered(int flags, long lower, long upper) {
+		// 差分は書き出し時にオーバーフローし得るため、差分の符号ではなく復元した値同士で比較する
+		return (flags & LOWER) == 0 || (flags & UPPER) == 0 || lower <= upper;
+	}
+	
+	private static int letter(int c) {
+		Preconditions.checkArgument(c >= 'A' && c <= 'Z', "illegal currency code character: %s", c);
+		return c - 'A';
+	}
+	
+	private static int readCount(ByteBuffer buffer) {
+		long count = Varints.readUnsignedVarLong(buffer);
+		Preconditions.checkArgument(count >= 0 && count <= Integer.MAX_VALUE, "illegal count: %s", count);
+		return (int) count;
+	}
+	
+	private BaseunitsCodec() {
+	}
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.codec;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Currency;
+
+import jp.xet.baseunits.money.Money;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * {@link BaseunitsCodec#readMoney(java.nio.ByteBuffer, MoneyHolder)}による復号結果を保持する、再利用可能な可変クラス。
+ * 
+ * <p>スケールを除いた金額（unscaled value）が{@code long}に収まる場合、復号時にオブジェクトを生成しない。
+ * このクラスはスレッドセーフではない。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+public final class MoneyHolder {
+	
+	private Currency currency;
+	
+	private long unscaledAmount;
+	
+	private BigInteger bigUnscaledAmount;
+	
+	
+	/**
+	 * 金額を返す。
+	 * 
+	 * @return 金額
+	 * @throws IllegalStateException 値を保持していない場合
+	 */
+	public BigDecimal getAmount() {
+		Preconditions.checkState(currency != null, "empty");
+		BigInteger unscaled = bigUnscaledAmount == null ? BigInteger.valueOf(unscaledAmount) : bigUnscaledAmount;
+		return new BigDecimal(unscaled, currency.getDefaultFractionDigits());
+	}
+	
+	/**
+	 * 通貨単位を返す。
+	 * 
+	 * @return 通貨単位. 値を保持していない場合は{@code null}
+	 */
+	public Currency getCurrency() {
+		return currency;
+	}
+	
+	/**
+	 * スケールを除いた金額を返す。
+	 * 
+	 * @return スケールを除いた金額
+	 * @throws IllegalStateException 値を保持していない場合、またはスケールを除いた金額が{@code long}に収まらない場合
+	 * @see #isCompact()
+	 */
+	public long getUnscaledAmount() {
+		Preconditions.checkState(currency != null, "empty");
+		Preconditions.checkState(bigUnscaledAmount == null, "unscaled amount exceeds long");
+		return unscaledAmount;
+	}
+	
+	/**
+	 * スケールを除いた金額が{@code long}に収まるかどうかを返す。
+	 * 
+	 * @return 収まる場合は{@code true}、そうでない場合は{@code false}
+	 */
+	public boolean isCompact() {
+		return bigUnscaledAmount == null;
+	}
+	
+	/**
+	 * 保持している値を{@link Money}に変換する。
+	 * 
+	 * @return 金額
+	 * @throws IllegalStateException 値を保持していない場合
+	 */
+	public Money toMoney() {
+		return Money.valueOf(getAmount(), currency);
+	}
+	
+	@Override
+	public String toString() {
+		if (currency == null) {
+			return "empty";
+		}
+		return getAmount() + " " + currency.getCurrencyCode();
+	}
+	
+	void set(Currency currency, BigInteger bigUnscaledAmount) {
+		this.currency = currency;
+		unscaledAmount = 0;
+		this.bigUnscaledAmount = bigUnscaledAmount;
+	}
+	
+	void set(Currency currency, long unscaledAmount) {
+		this.currency = currency;
+		this.unscaledAmount = unscaledAmount;
+		bigUnscaledAmount = null;
+	}
+}
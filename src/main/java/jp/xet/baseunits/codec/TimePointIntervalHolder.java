@@ -0,0 +1,127 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.codec;
+
+import jp.xet.baseunits.time.TimePoint;
+import jp.xet.baseunits.time.TimePointInterval;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * {@link BaseunitsCodec#readTimePointInterval(java.nio.ByteBuffer, TimePointIntervalHolder)}による復号結果を保持する、
+ * 再利用可能な可変クラス。
+ * 
+ * <p>各限界はエポックミリ秒で保持し、復号時にオブジェクトを生成しない。このクラスはスレッドセーフではない。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+public final class TimePointIntervalHolder {
+	
+	private boolean hasLowerLimit;
+	
+	private boolean includesLowerLimit;
+	
+	private long lowerLimitMillis;
+	
+	private boolean hasUpperLimit;
+	
+	private boolean includesUpperLimit;
+	
+	private long upperLimitMillis;
+	
+	
+	/**
+	 * 下側限界を持つかどうかを返す。
+	 * 
+	 * @return 下側限界を持つ場合は{@code true}、そうでない場合は{@code false}
+	 */
+	public boolean hasLowerLimit() {
+		return hasLowerLimit;
+	}
+	
+	/**
+	 * 上側限界を持つかどうかを返す。
+	 * 
+	 * @return 上側限界を持つ場合は{@code true}、そうでない場合は{@code false}
+	 */
+	public boolean hasUpperLimit() {
+		return hasUpperLimit;
+	}
+	
+	/**
+	 * 下側限界が閉じているかどうかを返す。
+	 * 
+	 * @return 下側限界が閉じている場合は{@code true}、そうでない場合は{@code false}
+	 */
+	public boolean includesLowerLimit() {
+		return includesLowerLimit;
+	}
+	
+	/**
+	 * 上側限界が閉じているかどうかを返す。
+	 * 
+	 * @return 上側限界が閉じている場合は{@code true}、そうでない場合は{@code false}
+	 */
+	public boolean includesUpperLimit() {
+		return includesUpperLimit;
+	}
+	
+	/**
+	 * 下側限界のエポックミリ秒を返す。
+	 * 
+	 * @return 下側限界のエポックミリ秒
+	 * @throws IllegalStateException 下側限界を持たない場合
+	 */
+	public long lowerLimitMillis() {
+		Preconditions.checkState(hasLowerLimit, "no lower limit");
+		return lowerLimitMillis;
+	}
+	
+	/**
+	 * 上側限界のエポックミリ秒を返す。
+	 * 
+	 * @return 上側限界のエポックミリ秒
+	 * @throws IllegalStateException 上側限界を持たない場合
+	 */
+	public long upperLimitMillis() {
+		Preconditions.checkState(hasUpperLimit, "no upper limit");
+		return upperLimitMillis;
+	}
+	
+	/**
+	 * 保持している値を{@link TimePointInterval}に変換する。
+	 * 
+	 * @return 期間
+	 * @throws IllegalArgumentException 下限値が上限値より大きい場合
+	 */
+	public TimePointInterval toTimePointInterval() {
+		return TimePointInterval.over(hasLowerLimit ? TimePoint.from(lowerLimitMillis) : null, includesLowerLimit,
+				hasUpperLimit ? TimePoint.from(upperLimitMillis) : null, includesUpperLimit);
+	}
+	
+	void setLowerLimit(boolean hasLowerLimit, boolean includesLowerLimit, long lowerLimitMillis) {
+		this.hasLowerLimit = hasLowerLimit;
+		this.includesLowerLimit = includesLowerLimit;
+		this.lowerLimitMillis = lowerLimitMillis;
+	}
+	
+	void setUpperLimit(boolean hasUpperLimit, boolean includesUpperLimit, long upperLimitMillis) {
+		this.hasUpperLimit = hasUpperLimit;
+		this.includesUpperLimit = includesUpperLimit;
+		this.upperLimitMillis = upperLimitMillis;
+	}
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.codec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+
+/**
+ * 可変長整数（varint）の読み書きを行うユーティリティクラス。
+ * 
+ * <p>Protocol Buffersと同じく、下位から7ビットずつ、後続のバイトがある場合は最上位ビットを立てて書き出す。
+ * 符号付きの値はZigZag符号化によって絶対値の小さい値を短く表す。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+public final class Varints {
+	
+	/** {@code long}値の可変長整数表現の最大バイト数 */
+	public static final int MAX_VARLONG_BYTES = 10;
+	
+	
+	/**
+	 * ZigZag符号化した値を復号する。
+	 * 
+	 * @param zigzag ZigZag符号化した値
+	 * @return 元の値
+	 */
+	public static long decodeZigZag(long zigzag) {
+		return (zigzag >>> 1) ^ -(zigzag & 1);
+	}
+	
+	/**
+	 * 値をZigZag符号化する。
+	 * 
+	 * @param value 値
+	 * @return ZigZag符号化した値
+	 */
+	public static long encodeZigZag(long value) {
+		return (value << 1) ^ (value >> 63); // CHECKSTYLE IGNORE THIS LINE
+	}
+	
+	/**
+	 * 符号なしの可変長整数を読み込む。
+	 * 
+	 * @param buffer 読み込み元
+	 * @return 値
+	 * @throws java.nio.BufferUnderflowException 値の途中でバッファが終わった場合
+	 * @throws IllegalArgumentException 可変長整数の形式が正しくない場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public static long readUnsignedVarLong(ByteBuffer buffer) {
+		long value = 0;
+		for (int shift = 0; shift < Long.SIZE; shift += 7) { // CHECKSTYLE IGNORE THIS LINE
+			byte b = buffer.get();
+			value |= (long) (b & 0x7F) << shift; // CHECKSTYLE IGNORE THIS LINE
+			if ((b & 0x80) == 0) { // CHECKSTYLE IGNORE THIS LINE
+				return value;
+			}
+		}
+		throw new IllegalArgumentException("malformed varint");
+	}
+	
+	/**
+	 * 符号なしの可変長整数を読み込む。
+	 * 
+	 * @param in 読み込み元
+	 * @return 値
+	 * @throws IOException 入出力エラーが発生した場合
+	 * @throws StreamCorruptedException 可変長整数の形式が正しくない場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public static long readUnsignedVarLong(DataInput in) throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < Long.SIZE; shift += 7) { // CHECKSTYLE IGNORE THIS LINE
+			byte b = in.readByte();
+			value |= (long) (b & 0x7F) << shift; // CHECKSTYLE IGNORE THIS LINE
+			if ((b & 0x80) == 0) { // CHECKSTYLE IGNORE THIS LINE
+				return value;
+			}
+		}
+		throw new StreamCorruptedException("malformed varint");
+	}
+	
+	/**
+	 * ZigZag符号化された可変長整数を読み込む。
+	 * 
+	 * @param buffer 読み込み元
+	 * @return 値
+	 * @throws java.nio.BufferUnderflowException 値の途中でバッファが終わった場合
+	 * @throws IllegalArgumentException 可変長整数の形式が正しくない場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public static long readVarLong(ByteBuffer buffer) {
+		return decodeZigZag(readUnsignedVarLong(buffer));
+	}
+	
+	/**
+	 * ZigZag符号化された可変長整数を読み込む。
+	 * 
+	 * @param in 読み込み元
+	 * @return 値
+	 * @throws IOException 入出力エラーが発生した場合
+	 * @throws StreamCorruptedException 可変長整数の形式が正しくない場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public static long readVarLong(DataInput in) throws IOException {
+		return decodeZigZag(readUnsignedVarLong(in));
+	}
+	
+	/**
+	 * 符号なしの可変長整数として書き出した場合のバイト数を返す。
+	 * 
+	 * @param value 値
+	 * @return バイト数
+	 */
+	public static int sizeOfUnsignedVarLong(long value) {
+		int bits = Long.SIZE - Long.numberOfLeadingZeros(value | 1);
+		return (bits + 6) / 7; // CHECKSTYLE IGNORE THIS LINE
+	}
+	
+	/**
+	 * ZigZag符号化した可変長整数として書き出した場合のバイト数を返す。
+	 * 
+	 * @param value 値
+	 * @return バイト数
+	 */
+	public static int sizeOfVarLong(long value) {
+		return sizeOfUnsignedVarLong(encodeZigZag(value));
+	}
+	
+	/**
+	 * 値を符号なしの可変長整数として書き出す。
+	 * 
+	 * @param buffer 書き込み先
+	 * @param value 値
+	 * @throws java.nio.BufferOverflowException バッファの残りが足りない場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public static void writeUnsignedVarLong(ByteBuffer buffer, long value) {
+		long v = value;
+		while ((v & ~0x7FL) != 0) { // CHECKSTYLE IGNORE THIS LINE
+			buffer.put((byte) ((v & 0x7F) | 0x80)); // CHECKSTYLE IGNORE THIS LINE
+			v >>>= 7; // CHECKSTYLE IGNORE THIS LINE
+		}
+		buffer.put((byte) v);
+	}
+	
+	/**
+	 * 値を符号なしの可変長整数として書き出す。
+	 * 
+	 * @param out 書き込み先
+	 * @param value 値
+	 * @throws IOException 入出力エラーが発生した場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public static void writeUnsignedVarLong(DataOutput out, long value) throws IOException {
+		long v = value;
+		while ((v & ~0x7FL) != 0) { // CHECKSTYLE IGNORE THIS LINE
+			out.writeByte((int) (v & 0x7F) | 0x80); // CHECKSTYLE IGNORE THIS LINE
+			v >>>= 7; // CHECKSTYLE IGNORE THIS LINE
+		}
+		out.writeByte((int) v);
+	}
+	
+	/**
+	 * 値をZigZag符号化した可変長整数として書き出す。
+	 * 
+	 * @param buffer 書き込み先
+	 * @param value 値
+	 * @throws java.nio.BufferOverflowException バッファの残りが足りない場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public static void writeVarLong(ByteBuffer buffer, long value) {
+		writeUnsignedVarLong(buffer, encodeZigZag(value));
+	}
+	
+	/**
+	 * 値をZigZag符号化した可変長整数として書き出す。
+	 * 
+	 * @param out 書き込み先
+	 * @param value 値
+	 * @throws IOException 入出力エラーが発生した場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public static void writeVarLong(DataOutput out, long value) throws IOException {
+		writeUnsignedVarLong(out, encodeZigZag(value));
+	}
+	
+	private Varints() {
+	}
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ * baseunitsの値オブジェクトを、外部ライブラリに依存しないバイナリ形式で読み書きするクラス群。
+ * 
+ * <p>整数は{@link jp.xet.baseunits.codec.Varints 可変長整数}で表し、符号付きの値にはZigZag符号化を用いる。
+ * 各値の形式は以下の通り。</p>
+ * 
+ * <ul>
+ *   <li>{@link jp.xet.baseunits.time.TimePoint}: エポックミリ秒（符号付き）</li>
+ *   <li>{@link jp.xet.baseunits.time.CalendarDate}: エポック日（符号付き）</li>
+ *   <li>{@link jp.xet.baseunits.time.Duration}: 単位の序数（1バイト）、量（符号付き）</li>
+ *   <li>{@link jp.xet.baseunits.money.Money}: 通貨コード（ASCII 3バイト）、種別（1バイト）、
+ *     種別が0の場合はスケールを除いた金額（符号付き）、1の場合はそのバイト数（符号なし）と
+ *     {@link java.math.BigInteger#toByteArray()}によるバイト表現。スケールは通貨のfraction digitsとする。</li>
+ *   <li>{@link jp.xet.baseunits.time.TimePointInterval}: 限界の有無と開閉を表すフラグ（1バイト）、
+ *     下側限界のエポックミリ秒（符号付き）、上側限界と下側限界との差（符号付き。下側限界がない場合は上側限界そのもの）</li>
+ *   <li>{@link jp.xet.baseunits.time.TimePoint}の列: 要素数（符号なし）、各要素と直前の要素とのエポックミリ秒の差（符号付き。
+ *     先頭の要素はエポックミリ秒そのもの）</li>
+ * </ul>
+ */
+package jp.xet.baseunits.codec;
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.hibernate;
+
+import java.sql.Types;
+
+import jp.xet.baseunits.time.CalendarDate;
+import jp.xet.baseunits.time.TimePoints;
+
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * {@link CalendarDate}を1970年1月1日からの経過日数（{@code INTEGER}）としてDBにデータを保存するHibernateユーザ型。
+ * 
+ * @see TimePoints#toEpochDay(CalendarDate)
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+@SuppressWarnings("serial")
+public class PersistentEpochDayCalendarDate extends AbstractBaseunitsType<CalendarDate, Integer> {
+	
+	private static final int[] SQL_TYPES = new int[] {
+		Types.INTEGER
+	};
+	
+	
+	/**
+	 * インスタンスを生成する。
+	 * 
+	 * @since 2.19
+	 */
+	public PersistentEpochDayCalendarDate() {
+		super(StandardBasicTypes.INTEGER);
+	}
+	
+	@Override
+	public Class<CalendarDate> returnedClass() {
+		return CalendarDate.class;
+	}
+	
+	@Override
+	public int[] sqlTypes() {
+		return SQL_TYPES;
+	}
+	
+	@Override
+	protected CalendarDate fromNonNullInternalType(Integer value) {
+		return TimePoints.toCalendarDate(value);
+	}
+	
+	@Override
+	protected Integer toNonNullInternalType(CalendarDate value) {
+		return TimePoints.toEpochDay(value);
+	}
+}
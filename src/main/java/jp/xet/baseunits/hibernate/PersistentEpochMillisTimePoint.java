@@ -0,0 +1,68 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.hibernate;
+
+import java.sql.Types;
+
+import jp.xet.baseunits.time.TimePoint;
+
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * {@link TimePoint}をエポックからの経過ミリ秒数（{@code BIGINT}）としてDBにデータを保存するHibernateユーザ型。
+ * 
+ * <p>{@link PersistentTimePoint}と異なり時刻を切り捨てず、DB上で数値として索引付け・範囲検索ができる。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+@SuppressWarnings("serial")
+public class PersistentEpochMillisTimePoint extends AbstractBaseunitsType<TimePoint, Long> {
+	
+	private static final int[] SQL_TYPES = new int[] {
+		Types.BIGINT
+	};
+	
+	
+	/**
+	 * インスタンスを生成する。
+	 * 
+	 * @since 2.19
+	 */
+	public PersistentEpochMillisTimePoint() {
+		super(StandardBasicTypes.LONG);
+	}
+	
+	@Override
+	public Class<TimePoint> returnedClass() {
+		return TimePoint.class;
+	}
+	
+	@Override
+	public int[] sqlTypes() {
+		return SQL_TYPES;
+	}
+	
+	@Override
+	protected TimePoint fromNonNullInternalType(Long value) {
+		return TimePoint.from(value);
+	}
+	
+	@Override
+	protected Long toNonNullInternalType(TimePoint value) {
+		return value.toEpochMillisec();
+	}
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.hibernate;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Currency;
+
+import jp.xet.baseunits.money.Money;
+
+import org.hibernate.HibernateException;
+import org.hibernate.engine.SessionImplementor;
+import org.hibernate.type.AbstractSingleColumnStandardBasicType;
+import org.hibernate.type.StandardBasicTypes;
+import org.hibernate.type.Type;
+import org.hibernate.type.descriptor.java.CurrencyTypeDescriptor;
+import org.hibernate.type.descriptor.sql.CharTypeDescriptor;
+import org.hibernate.usertype.CompositeUserType;
+
+/**
+ * {@link Money}を金額（{@code DECIMAL}）と通貨コード（{@code CHAR(3)}）の2カラムとしてDBにデータを保存するHibernateユーザ型。
+ * 
+ * <p>金額カラムは数値として保存するため、DB上で索引付け・範囲検索ができる。HQLからは{@code amount}及び{@code currency}
+ * のプロパティ名で各カラムを参照できる。</p>
+ * 
+ * <p>{@link Money}は不変であるため、この型も不変（{@link #isMutable()}が{@code false}）として振る舞う。
+ * 金額や通貨を変更する場合は、プロパティを書き換えるのではなく{@link Money}のインスタンスごと置き換えること。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+@SuppressWarnings("serial")
+public class PersistentMoney implements CompositeUserType, Serializable {
+	
+	private static final String[] PROPERTY_NAMES = new String[] {
+		"amount",
+		"currency"
+	};
+	
+	private static final Type[] PROPERTY_TYPES = new Type[] {
+		StandardBasicTypes.BIG_DECIMAL,
+		CharCurrencyType.INSTANCE
+	};
+	
+	
+	@Override
+	public Object assemble(Serializable cached, SessionImplementor session, Object owner) throws HibernateException {
+		return cached;
+	}
+	
+	@Override
+	public Object deepCopy(Object value) throws HibernateException {
+		return value;
+	}
+	
+	@Override
+	public Serializable disassemble(Object value, SessionImplementor session) throws HibernateException {
+		return (Serializable) value;
+	}
+	
+	@Override
+	public boolean equals(Object x, Object y) throws HibernateException {
+		if (x == y) {
+			return true;
+		}
+		if (x == null || y == null) {
+			return false;
+		}
+		return x.equals(y);
+	}
+	
+	@Override
+	public String[] getPropertyNames() {
+		return PROPERTY_NAMES.clone();
+	}
+	
+	@Override
+	public Type[] getPropertyTypes() {
+		return PROPERTY_TYPES.clone();
+	}
+	
+	@Override
+	public Object getPropertyValue(Object component, int property) throws HibernateException {
+		Money money = (Money) component;
+		switch (property) {
+			case 0:
+				return money.breachEncapsulationOfAmount();
+			case 1:
+				return money.breachEncapsulationOfCurrency();
+			default:
+				throw new HibernateException("unknown property index: " + property);
+		}
+	}
+	
+	@Override
+	public int hashCode(Object x) throws HibernateException {
+		return x.hashCode();
+	}
+	
+	@Override
+	public boolean isMutable() {
+		return false;
+	}
+	
+	@Override
+	public Object nullSafeGet(ResultSet rs, String[] names, SessionImplementor session, Object owner)
+			throws HibernateException, SQLException {
+		BigDecimal amount = rs.getBigDecimal(names[0]);
+		String currencyCode = rs.getString(names[1]);
+		if (amount == null || currencyCode == null) {
+			return null;
+		}
+		try {
+			return Money.valueOf(amount, Currency.getInstance(currencyCode.trim()));
+		} catch (IllegalArgumentException e) {
+			throw new HibernateException(e);
+		} catch (ArithmeticException e) {
+			throw new HibernateException(e);
+		}
+	}
+	
+	@Override
+	public void nullSafeSet(PreparedStatement st, Object value, int index, SessionImplementor session)
+			throws HibernateException, SQLException {
+		if (value == null) {
+			st.setNull(index, Types.DECIMAL);
+			st.setNull(index + 1, Types.CHAR);
+		} else {
+			Money money = (Money) value;
+			st.setBigDecimal(index, money.breachEncapsulationOfAmount());
+			st.setString(index + 1, money.breachEncapsulationOfCurrency().getCurrencyCode());
+		}
+	}
+	
+	@Override
+	public Object replace(Object original, Object target, SessionImplementor session, Object owner)
+			throws HibernateException {
+		return original;
+	}
+	
+	@Override
+	public Class<Money> returnedClass() {
+		return Money.class;
+	}
+	
+	/**
+	 * {@link Money}は不変であり、プロパティ単位で値を書き換えることはできない。
+	 * 
+	 * <p>値を変更する場合は、{@link Money}のインスタンスごと置き換えること。</p>
+	 * 
+	 * @throws HibernateException 常に
+	 */
+	@Override
+	public void setPropertyValue(Object component, int property, Object value) throws HibernateException {
+		throw new HibernateException("Money is immutable, replace the whole value instead of setting property: "
+				+ property);
+	}
+	
+	
+	/**
+	 * 通貨コードを{@code CHAR}カラムに保存する型。
+	 * 
+	 * <p>{@link StandardBasicTypes#CURRENCY}は{@code VARCHAR}として束縛するため、{@code CHAR(3)}のカラムに
+	 * 合わせて{@link CharTypeDescriptor}を用いる。</p>
+	 */
+	private static final class CharCurrencyType extends AbstractSingleColumnStandardBasicType<Currency> {
+		
+		static final CharCurrencyType INSTANCE = new CharCurrencyType();
+		
+		
+		private CharCurrencyType() {
+			super(CharTypeDescriptor.INSTANCE, CurrencyTypeDescriptor.INSTANCE);
+		}
+		
+		@Override
+		public String getName() {
+			return "char_currency";
+		}
+	}
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.hibernate;
+
+import java.sql.Types;
+
+import jp.xet.baseunits.time.CalendarMonth;
+import jp.xet.baseunits.time.MonthOfYear;
+
+import org.hibernate.HibernateException;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * {@link CalendarMonth}を{@code yyyymm}形式の整数（{@code INTEGER}）としてDBにデータを保存するHibernateユーザ型。
+ * 
+ * <p>例えば2019年3月は{@code 201903}として保存する。扱える年は1〜9999年に限り、範囲外の暦月の保存、
+ * 及び範囲外の値の読み込みは{@link HibernateException}を投げる。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+@SuppressWarnings("serial")
+public class PersistentYyyymmCalendarMonth extends AbstractBaseunitsType<CalendarMonth, Integer> {
+	
+	private static final int[] SQL_TYPES = new int[] {
+		Types.INTEGER
+	};
+	
+	private static final int MIN_YEAR = 1;
+	
+	private static final int MAX_YEAR = 9999;
+	
+	
+	/**
+	 * インスタンスを生成する。
+	 * 
+	 * @since 2.19
+	 */
+	public PersistentYyyymmCalendarMonth() {
+		super(StandardBasicTypes.INTEGER);
+	}
+	
+	@Override
+	public Class<CalendarMonth> returnedClass() {
+		return CalendarMonth.class;
+	}
+	
+	@Override
+	public int[] sqlTypes() {
+		return SQL_TYPES;
+	}
+	
+	@Override
+	protected CalendarMonth fromNonNullInternalType(Integer value) {
+		int year = value / 100; // CHECKSTYLE IGNORE THIS LINE
+		MonthOfYear month = MonthOfYear.valueOf(value % 100); // CHECKSTYLE IGNORE THIS LINE
+		if (year < MIN_YEAR || year > MAX_YEAR || month == null) {
+			throw new HibernateException("illegal yyyymm value: " + value);
+		}
+		return CalendarMonth.from(year, month);
+	}
+	
+	@Override
+	protected Integer toNonNullInternalType(CalendarMonth value) {
+		int year = value.getYear();
+		if (year < MIN_YEAR || year > MAX_YEAR) {
+			throw new HibernateException("year out of range: " + year);
+		}
+		return (year * 100) + value.getMonthOfYear().breachEncapsulationOfValue(); // CHECKSTYLE IGNORE THIS LINE
+	}
+}
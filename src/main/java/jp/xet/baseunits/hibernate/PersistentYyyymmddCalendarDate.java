@@ -0,0 +1,93 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.hibernate;
+
+import java.sql.Types;
+
+import jp.xet.baseunits.time.CalendarDate;
+import jp.xet.baseunits.time.DayOfMonth;
+import jp.xet.baseunits.time.MonthOfYear;
+
+import org.hibernate.HibernateException;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * {@link CalendarDate}を{@code yyyymmdd}形式の整数（{@code INTEGER}）としてDBにデータを保存するHibernateユーザ型。
+ * 
+ * <p>例えば2019年3月5日は{@code 20190305}として保存する。DB上の値を人が読むことができ、かつ大小関係が暦日の前後関係と一致する。</p>
+ * 
+ * <p>年を4桁の10進数として埋め込むため、扱える年は1〜9999年に限る。範囲外の暦日の保存、及び範囲外の値の読み込みは
+ * {@link HibernateException}を投げる。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+@SuppressWarnings("serial")
+public class PersistentYyyymmddCalendarDate extends AbstractBaseunitsType<CalendarDate, Integer> {
+	
+	private static final int[] SQL_TYPES = new int[] {
+		Types.INTEGER
+	};
+	
+	private static final int MIN_YEAR = 1;
+	
+	private static final int MAX_YEAR = 9999;
+	
+	
+	/**
+	 * インスタンスを生成する。
+	 * 
+	 * @since 2.19
+	 */
+	public PersistentYyyymmddCalendarDate() {
+		super(StandardBasicTypes.INTEGER);
+	}
+	
+	@Override
+	public Class<CalendarDate> returnedClass() {
+		return CalendarDate.class;
+	}
+	
+	@Override
+	public int[] sqlTypes() {
+		return SQL_TYPES;
+	}
+	
+	@Override
+	protected CalendarDate fromNonNullInternalType(Integer value) {
+		int year = value / 10000; // CHECKSTYLE IGNORE THIS LINE
+		MonthOfYear month = MonthOfYear.valueOf(value / 100 % 100); // CHECKSTYLE IGNORE THIS LINE
+		if (year < MIN_YEAR || year > MAX_YEAR || month == null) {
+			throw new HibernateException("illegal yyyymmdd value: " + value);
+		}
+		try {
+			return CalendarDate.from(year, month, DayOfMonth.valueOf(value % 100)); // CHECKSTYLE IGNORE THIS LINE
+		} catch (IllegalArgumentException e) {
+			throw new HibernateException(e);
+		}
+	}
+	
+	@Override
+	protected Integer toNonNullInternalType(CalendarDate value) {
+		int year = value.getYear();
+		if (year < MIN_YEAR || year > MAX_YEAR) {
+			throw new HibernateException("year out of range: " + year);
+		}
+		int month = value.getMonthOfYear().breachEncapsulationOfValue();
+		int day = value.getDayOfMonth().toInt();
+		return (year * 10000) + (month * 100) + day; // CHECKSTYLE IGNORE THIS LINE
+	}
+}
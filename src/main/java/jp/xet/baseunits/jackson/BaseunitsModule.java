@@ -0,0 +1,62 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.jackson;
+
+import jp.xet.baseunits.money.Money;
+import jp.xet.baseunits.time.CalendarDate;
+import jp.xet.baseunits.time.CalendarInterval;
+import jp.xet.baseunits.time.CalendarMonth;
+import jp.xet.baseunits.time.Duration;
+import jp.xet.baseunits.time.TimePoint;
+import jp.xet.baseunits.time.TimePointInterval;
+
+import org.codehaus.jackson.Version;
+import org.codehaus.jackson.map.module.SimpleModule;
+
+/**
+ * baseunitsの値オブジェクトのシリアライザ及びデシリアライザを一括して登録するJackson 1.x用モジュール。
+ * 
+ * <pre>
+ * ObjectMapper mapper = new ObjectMapper();
+ * mapper.registerModule(new BaseunitsModule());
+ * </pre>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+public class BaseunitsModule extends SimpleModule {
+	
+	/**
+	 * インスタンスを生成する。
+	 */
+	public BaseunitsModule() {
+		super("BaseunitsModule", new Version(2, 19, 0, null)); // CHECKSTYLE IGNORE THIS LINE
+		addSerializer(CalendarDate.class, new CalendarDateSerializer());
+		addDeserializer(CalendarDate.class, new CalendarDateDeserializer());
+		addSerializer(CalendarMonth.class, new CalendarMonthSerializer());
+		addDeserializer(CalendarMonth.class, new CalendarMonthDeserializer());
+		addSerializer(TimePoint.class, new TimePointSerializer());
+		addDeserializer(TimePoint.class, new TimePointDeserializer());
+		addSerializer(Duration.class, new DurationSerializer());
+		addDeserializer(Duration.class, new DurationDeserializer());
+		addSerializer(Money.class, new MoneySerializer());
+		addDeserializer(Money.class, new MoneyDeserializer());
+		addSerializer(CalendarInterval.class, new CalendarIntervalSerializer());
+		addDeserializer(CalendarInterval.class, new CalendarIntervalDeserializer());
+		addSerializer(TimePointInterval.class, new TimePointIntervalSerializer());
+		addDeserializer(TimePointInterval.class, new TimePointIntervalDeserializer());
+	}
+}
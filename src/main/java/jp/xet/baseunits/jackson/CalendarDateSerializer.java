@@ -39,7 +39,10 @@ public class CalendarDateSerializer extends SerializerBase<CalendarDate> {
 	
 	@Override
 	public void serialize(CalendarDate value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
-		String string = (value == null) ? "" : value.toString("yyyy-MM-dd");
-		jgen.writeString(string);
+		if (value == null) {
+			jgen.writeString("");
+		} else {
+			IsoJson.writeCalendarDate(jgen, value);
+		}
 	}
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.jackson;
+
+import java.io.IOException;
+
+import jp.xet.baseunits.time.CalendarDate;
+import jp.xet.baseunits.time.CalendarInterval;
+
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.JsonToken;
+import org.codehaus.jackson.map.DeserializationContext;
+import org.codehaus.jackson.map.deser.std.StdDeserializer;
+
+/**
+ * Jackson data deserializer implementation for {@link CalendarInterval}.
+ * 
+ * <p>{@link CalendarIntervalSerializer}が書き込む形式を読み込む。限界を含まない場合は、隣接する暦日を限界とする
+ * 閉区間に読み替える。{@code startIncluded}及び{@code endIncluded}を省略した場合は、限界を含むものとみなす。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+public class CalendarIntervalDeserializer extends StdDeserializer<CalendarInterval> {
+	
+	/**
+	 * インスタンスを生成する。
+	 */
+	public CalendarIntervalDeserializer() {
+		super(CalendarInterval.class);
+	}
+	
+	@Override
+	public CalendarInterval deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException {
+		JsonToken token = jp.getCurrentToken();
+		if (token == JsonToken.START_OBJECT) {
+			token = jp.nextToken();
+		}
+		CalendarDate start = null;
+		CalendarDate end = null;
+		boolean startIncluded = true;
+		boolean endIncluded = true;
+		for (; token == JsonToken.FIELD_NAME; token = jp.nextToken()) {
+			String name = jp.getCurrentName();
+			token = jp.nextToken();
+			if (CalendarIntervalSerializer.START.equals(name)) {
+				start = IsoJson.readCalendarDate(jp, ctxt);
+			} else if (CalendarIntervalSerializer.START_INCLUDED.equals(name)) {
+				startIncluded = readBoolean(ctxt, token);
+			} else if (CalendarIntervalSerializer.END.equals(name)) {
+				end = IsoJson.readCalendarDate(jp, ctxt);
+			} else if (CalendarIntervalSerializer.END_INCLUDED.equals(name)) {
+				endIncluded = readBoolean(ctxt, token);
+			} else {
+				jp.skipChildren();
+			}
+		}
+		if (token != JsonToken.END_OBJECT) {
+			throw ctxt.mappingException(CalendarInterval.class);
+		}
+		if (start != null && startIncluded == false) {
+			start = start.nextDay();
+		}
+		if (end != null && endIncluded == false) {
+			end = end.previousDay();
+		}
+		if (start != null && end != null && start.isAfter(end)) {
+			return CalendarInterval.empty();
+		}
+		return CalendarInterval.inclusive(start, end);
+	}
+	
+	private boolean readBoolean(DeserializationContext ctxt, JsonToken token) throws IOException {
+		if (token == JsonToken.VALUE_TRUE) {
+			return true;
+		}
+		if (token == JsonToken.VALUE_FALSE) {
+			return false;
+		}
+		throw ctxt.mappingException(CalendarInterval.class);
+	}
+}
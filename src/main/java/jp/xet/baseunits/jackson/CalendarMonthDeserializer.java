@@ -0,0 +1,45 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.jackson;
+
+import java.io.IOException;
+
+import jp.xet.baseunits.time.CalendarMonth;
+
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.map.DeserializationContext;
+import org.codehaus.jackson.map.deser.std.StdDeserializer;
+
+/**
+ * Jackson data deserializer implementation for {@link CalendarMonth}.
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+public class CalendarMonthDeserializer extends StdDeserializer<CalendarMonth> {
+	
+	/**
+	 * インスタンスを生成する。
+	 */
+	public CalendarMonthDeserializer() {
+		super(CalendarMonth.class);
+	}
+	
+	@Override
+	public CalendarMonth deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException {
+		return IsoJson.readCalendarMonth(jp, ctxt);
+	}
+}
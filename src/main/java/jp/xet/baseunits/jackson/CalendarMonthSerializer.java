@@ -39,7 +39,10 @@ public class CalendarMonthSerializer extends SerializerBase<CalendarMonth> {
 	
 	@Override
 	public void serialize(CalendarMonth value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
-		String string = (value == null) ? "" : value.toString("yyyy-MM");
-		jgen.writeString(string);
+		if (value == null) {
+			jgen.writeString("");
+		} else {
+			IsoJson.writeCalendarMonth(jgen, value);
+		}
 	}
 }
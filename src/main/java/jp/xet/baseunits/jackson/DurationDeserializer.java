@@ -0,0 +1,73 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.jackson;
+
+import java.io.IOException;
+
+import jp.xet.baseunits.time.Duration;
+import jp.xet.baseunits.time.TimeUnit;
+
+import com.google.common.base.Preconditions;
+
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.JsonToken;
+import org.codehaus.jackson.map.DeserializationContext;
+import org.codehaus.jackson.map.deser.std.StdDeserializer;
+
+/**
+ * Jackson data deserializer implementation for {@link Duration}.
+ * 
+ * <p>{@link DurationSerializer}と同様に、JSONの整数値を指定した単位（既定ではミリ秒）の量として読み込む。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+public class DurationDeserializer extends StdDeserializer<Duration> {
+	
+	private final TimeUnit timeUnit;
+	
+	
+	/**
+	 * インスタンスを生成する。
+	 */
+	public DurationDeserializer() {
+		this(TimeUnit.millisecond);
+	}
+	
+	/**
+	 * インスタンスを生成する。
+	 * 
+	 * @param timeUnit 単位
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public DurationDeserializer(TimeUnit timeUnit) {
+		super(Duration.class);
+		Preconditions.checkNotNull(timeUnit);
+		this.timeUnit = timeUnit;
+	}
+	
+	@Override
+	public Duration deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException {
+		if (jp.getCurrentToken() != JsonToken.VALUE_NUMBER_INT) {
+			throw ctxt.mappingException(Duration.class);
+		}
+		try {
+			return Duration.valueOf(jp.getLongValue(), timeUnit);
+		} catch (IllegalArgumentException e) {
+			throw ctxt.weirdNumberException(Duration.class, e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.jackson;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+import jp.xet.baseunits.time.CalendarDate;
+import jp.xet.baseunits.time.CalendarMonth;
+import jp.xet.baseunits.time.CalendarUtil;
+import jp.xet.baseunits.time.IsoCodec;
+import jp.xet.baseunits.time.TimePoint;
+import jp.xet.baseunits.util.TimeZones;
+
+import org.codehaus.jackson.JsonGenerator;
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.JsonToken;
+import org.codehaus.jackson.map.DeserializationContext;
+
+/**
+ * {@link IsoCodec}を用いて、JSONの文字列値と時間に関する値オブジェクトを相互に変換するユーティリティクラス。
+ * 
+ * <p>整形結果はスレッド毎に再利用する文字配列に書き込み、{@link JsonGenerator#writeString(char[], int, int)}
+ * で出力する。{@link IsoCodec}で扱えない値（0〜9999年の範囲外の値、及びグレゴリオ暦への切替以前の瞬間）は、
+ * 従来の{@code toString}による形式と互換となるようそれに委譲し、寛容でない{@link SimpleDateFormat}で読み込む。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+final class IsoJson {
+	
+	private static final int BUFFER_SIZE = 32;
+	
+	private static final ThreadLocal<char[]> BUFFER = new ThreadLocal<char[]>() {
+		
+		@Override
+		protected char[] initialValue() {
+			return new char[BUFFER_SIZE];
+		}
+	};
+	
+	
+	/**
+	 * JSONの文字列値を暦日として読み込む。
+	 * 
+	 * @param jp パーサ
+	 * @param ctxt コンテキスト
+	 * @return 暦日。{@code null}または空文字列の場合は{@code null}
+	 * @throws IOException 入出力エラーが発生した場合、または文字列の形式が正しくない場合
+	 */
+	static CalendarDate readCalendarDate(JsonParser jp, DeserializationContext ctxt) throws IOException {
+		String text = readText(jp, ctxt, CalendarDate.class);
+		if (text == null) {
+			return null;
+		}
+		try {
+			return IsoCodec.parseCalendarDate(text);
+		} catch (ParseException e) {
+			try {
+				return TimePoint.from(parseStrictly(text, "yyyy-MM-dd")).calendarDate(TimeZones.UNIVERSAL);
+			} catch (ParseException e2) {
+				throw ctxt.weirdStringException(CalendarDate.class, e.getMessage());
+			}
+		}
+	}
+	
+	/**
+	 * JSONの文字列値を暦月として読み込む。
+	 * 
+	 * @param jp パーサ
+	 * @param ctxt コンテキスト
+	 * @return 暦月。{@code null}または空文字列の場合は{@code null}
+	 * @throws IOException 入出力エラーが発生した場合、または文字列の形式が正しくない場合
+	 */
+	static CalendarMonth readCalendarMonth(JsonParser jp, DeserializationContext ctxt) throws IOException {
+		String text = readText(jp, ctxt, CalendarMonth.class);
+		if (text == null) {
+			return null;
+		}
+		try {
+			return IsoCodec.parseCalendarMonth(text);
+		} catch (ParseException e) {
+			try {
+				CalendarDate date = TimePoint.from(parseStrictly(text, "yyyy-MM")).calendarDate(TimeZones.UNIVERSAL);
+				return date.asCalendarMonth();
+			} catch (ParseException e2) {
+				throw ctxt.weirdStringException(CalendarMonth.class, e.getMessage());
+			}
+		}
+	}
+	
+	/**
+	 * JSONの文字列値を瞬間として読み込む。
+	 * 
+	 * @param jp パーサ
+	 * @param ctxt コンテキスト
+	 * @return 瞬間。{@code null}または空文字列の場合は{@code null}
+	 * @throws IOException 入出力エラーが発生した場合、または文字列の形式が正しくない場合
+	 */
+	static TimePoint readTimePoint(JsonParser jp, DeserializationContext ctxt) throws IOException {
+		String text = readText(jp, ctxt, TimePoint.class);
+		if (text == null) {
+			return null;
+		}
+		try {
+			TimePoint timePoint = IsoCodec.parseTimePoint(text);
+			if (IsoCodec.canFormat(timePoint.toEpochMillisec())) {
+				return timePoint;
+			}
+		} catch (ParseException e) {
+			// 従来の形式として解析する
+		}
+		try {
+			return TimePoint.from(parseStrictly(text, TimePoint.ISO8601_FORMAT_UNIVERSAL));
+		} catch (ParseException e) {
+			// 時差付きの形式として解析する
+		}
+		try {
+			return TimePoint.from(parseStrictly(text, TimePoint.ISO8601_FORMAT));
+		} catch (ParseException e) {
+			throw ctxt.weirdStringException(TimePoint.class, e.getMessage());
+		}
+	}
+	
+	/**
+	 * 暦日を{@code yyyy-MM-dd}形式のJSON文字列値として書き込む。
+	 * 
+	 * @param jgen ジェネレータ
+	 * @param value 暦日
+	 * @throws IOException 入出力エラーが発生した場合
+	 */
+	static void writeCalendarDate(JsonGenerator jgen, CalendarDate value) throws IOException {
+		char[] buf = BUFFER.get();
+		int length;
+		try {
+			length = IsoCodec.formatTo(value, buf, 0);
+		} catch (IllegalArgumentException e) {
+			jgen.writeString(value.toString("yyyy-MM-dd"));
+			return;
+		}
+		jgen.writeString(buf, 0, length);
+	}
+	
+	/**
+	 * 暦月を{@code yyyy-MM}形式のJSON文字列値として書き込む。
+	 * 
+	 * @param jgen ジェネレータ
+	 * @param value 暦月
+	 * @throws IOException 入出力エラーが発生した場合
+	 */
+	static void writeCalendarMonth(JsonGenerator jgen, CalendarMonth value) throws IOException {
+		char[] buf = BUFFER.get();
+		int length;
+		try {
+			length = IsoCodec.formatTo(value, buf, 0);
+		} catch (IllegalArgumentException e) {
+			jgen.writeString(value.toString("yyyy-MM"));
+			return;
+		}
+		jgen.writeString(buf, 0, length);
+	}
+	
+	/**
+	 * 瞬間を協定世界時の{@code yyyy-MM-dd'T'HH:mm:ss'Z'}形式のJSON文字列値として書き込む。
+	 * 
+	 * @param jgen ジェネレータ
+	 * @param value 瞬間
+	 * @throws IOException 入出力エラーが発生した場合
+	 */
+	static void writeTimePoint(JsonGenerator jgen, TimePoint value) throws IOException {
+		if (IsoCodec.canFormat(value.toEpochMillisec())) {
+			char[] buf = BUFFER.get();
+			int length = IsoCodec.formatTo(value, false, buf, 0);
+			jgen.writeString(buf, 0, length);
+		} else {
+			jgen.writeString(value.toString(TimePoint.ISO8601_FORMAT_UNIVERSAL, Locale.ROOT, TimeZones.UNIVERSAL));
+		}
+	}
+	
+	/**
+	 * 文字列を、寛容でない{@link SimpleDateFormat}により協定世界時として解析する。
+	 * 
+	 * <p>存在しない日付（{@code 2019-13-01}等）や末尾の余分な文字を拒否する。グレゴリオ暦への切替以前の日付は
+	 * ユリウス暦として検証する。</p>
+	 * 
+	 * @param text 文字列
+	 * @param pattern 解析パターン
+	 * @return 解析結果
+	 * @throws ParseException 文字列の解析に失敗した場合
+	 */
+	private static Date parseStrictly(String text, String pattern) throws ParseException {
+		SimpleDateFormat format = CalendarUtil.newSimpleDateFormat(pattern, Locale.ROOT, TimeZones.UNIVERSAL);
+		format.setLenient(false);
+		ParsePosition position = new ParsePosition(0);
+		Date date = format.parse(text, position);
+		if (date == null || position.getIndex() != text.length()) {
+			throw new ParseException("Unparseable date: \"" + text + "\"", position.getErrorIndex());
+		}
+		return date;
+	}
+	
+	private static String readText(JsonParser jp, DeserializationContext ctxt, Class<?> type) throws IOException {
+		JsonToken token = jp.getCurrentToken();
+		if (token == JsonToken.VALUE_NULL) {
+			return null;
+		}
+		if (token != JsonToken.VALUE_STRING) {
+			throw ctxt.mappingException(type);
+		}
+		String text = jp.getText().trim();
+		return text.isEmpty() ? null : text;
+	}
+	
+	private IsoJson() {
+	}
+}
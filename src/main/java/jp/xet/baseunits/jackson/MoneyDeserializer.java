@@ -0,0 +1,99 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.jackson;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import jp.xet.baseunits.money.Money;
+
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.JsonToken;
+import org.codehaus.jackson.map.DeserializationContext;
+import org.codehaus.jackson.map.deser.std.StdDeserializer;
+
+/**
+ * Jackson data deserializer implementation for {@link Money}.
+ * 
+ * <p>{@link MoneySerializer}が書き込む形式を読み込む。{@code amount}は数値の他、文字列で表した数値も受け付ける。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+public class MoneyDeserializer extends StdDeserializer<Money> {
+	
+	/**
+	 * インスタンスを生成する。
+	 */
+	public MoneyDeserializer() {
+		super(Money.class);
+	}
+	
+	@Override
+	public Money deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException {
+		JsonToken token = jp.getCurrentToken();
+		if (token == JsonToken.START_OBJECT) {
+			token = jp.nextToken();
+		}
+		BigDecimal amount = null;
+		Currency currency = null;
+		for (; token == JsonToken.FIELD_NAME; token = jp.nextToken()) {
+			String name = jp.getCurrentName();
+			token = jp.nextToken();
+			if (MoneySerializer.AMOUNT.equals(name)) {
+				amount = readAmount(jp, ctxt, token);
+			} else if (MoneySerializer.CURRENCY.equals(name)) {
+				currency = readCurrency(jp, ctxt, token);
+			} else {
+				jp.skipChildren();
+			}
+		}
+		if (token != JsonToken.END_OBJECT || amount == null || currency == null) {
+			throw ctxt.mappingException(Money.class);
+		}
+		try {
+			return Money.valueOf(amount, currency);
+		} catch (ArithmeticException e) {
+			throw ctxt.weirdNumberException(Money.class, e.getMessage());
+		}
+	}
+	
+	private BigDecimal readAmount(JsonParser jp, DeserializationContext ctxt, JsonToken token) throws IOException {
+		if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+			return jp.getDecimalValue();
+		}
+		if (token == JsonToken.VALUE_STRING) {
+			try {
+				return new BigDecimal(jp.getText().trim());
+			} catch (NumberFormatException e) {
+				throw ctxt.weirdStringException(Money.class, e.getMessage());
+			}
+		}
+		throw ctxt.mappingException(Money.class);
+	}
+	
+	private Currency readCurrency(JsonParser jp, DeserializationContext ctxt, JsonToken token) throws IOException {
+		if (token != JsonToken.VALUE_STRING) {
+			throw ctxt.mappingException(Money.class);
+		}
+		try {
+			return Currency.getInstance(jp.getText().trim());
+		} catch (IllegalArgumentException e) {
+			throw ctxt.weirdStringException(Money.class, "unknown currency: " + jp.getText());
+		}
+	}
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.jackson;
+
+import java.io.IOException;
+
+import jp.xet.baseunits.money.Money;
+
+import org.codehaus.jackson.JsonGenerator;
+import org.codehaus.jackson.map.SerializerProvider;
+import org.codehaus.jackson.map.ser.std.SerializerBase;
+
+/**
+ * Jackson data serializer implementation for {@link Money}.
+ * 
+ * <p>金額を{@code {"amount":1234.50,"currency":"USD"}}の形式で書き込む。{@code amount}は丸めを避けるため、
+ * {@link java.math.BigDecimal}のまま数値として書き込む。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+public class MoneySerializer extends SerializerBase<Money> {
+	
+	static final String AMOUNT = "amount";
+	
+	static final String CURRENCY = "currency";
+	
+	
+	/**
+	 * インスタンスを生成する。
+	 */
+	public MoneySerializer() {
+		super(Money.class);
+	}
+	
+	@Override
+	public void serialize(Money value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+		jgen.writeStartObject();
+		jgen.writeFieldName(AMOUNT);
+		jgen.writeNumber(value.breachEncapsulationOfAmount());
+		jgen.writeStringField(CURRENCY, value.breachEncapsulationOfCurrency().getCurrencyCode());
+		jgen.writeEndObject();
+	}
+}
@@ -16,18 +16,12 @@
 package jp.xet.baseunits.jackson;
 
 import java.io.IOException;
-import java.text.ParseException;
-import java.util.TimeZone;
 
 import jp.xet.baseunits.time.TimePoint;
 
-import org.codehaus.jackson.JsonNode;
 import org.codehaus.jackson.JsonParser;
-import org.codehaus.jackson.ObjectCodec;
 import org.codehaus.jackson.map.DeserializationContext;
 import org.codehaus.jackson.map.deser.std.StdDeserializer;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
  * Jackson data deserializer implementation for {@link TimePoint}.
@@ -36,11 +30,6 @@ import org.slf4j.LoggerFactory;
  */
 public class TimePointDeserializer extends StdDeserializer<TimePoint> {
 	
-	private static Logger logger = LoggerFactory.getLogger(TimePointDeserializer.class);
-	
-	private static final TimeZone UTC = TimeZone.getTimeZone("Universal");
-	
-	
 	/**
 	 * インスタンスを生成する。
 	 */
@@ -50,14 +39,6 @@ public class TimePointDeserializer extends StdDeserializer<TimePoint> {
 	
 	@Override
 	public TimePoint deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException {
-		ObjectCodec oc = jp.getCodec();
-		JsonNode node = oc.readTree(jp);
-		String textValue = node.getTextValue();
-		try {
-			return TimePoint.parse(textValue, "yyyy-MM-dd'T'HH:mm:ssZZ", UTC);
-		} catch (ParseException e) {
-			logger.error("", e);
-		}
-		return null;
+		return IsoJson.readTimePoint(jp, ctxt);
 	}
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.jackson;
+
+import java.io.IOException;
+
+import jp.xet.baseunits.time.TimePoint;
+import jp.xet.baseunits.time.TimePointInterval;
+
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.JsonToken;
+import org.codehaus.jackson.map.DeserializationContext;
+import org.codehaus.jackson.map.deser.std.StdDeserializer;
+
+/**
+ * Jackson data deserializer implementation for {@link TimePointInterval}.
+ * 
+ * <p>{@link TimePointIntervalSerializer}が書き込む形式を読み込む。{@code startIncluded}及び{@code endIncluded}を
+ * 省略した場合は、{@link TimePointInterval#over(TimePoint, TimePoint)}と同様に、下側限界を含み上側限界を含まない
+ * 半開区間とみなす。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+public class TimePointIntervalDeserializer extends StdDeserializer<TimePointInterval> {
+	
+	/**
+	 * インスタンスを生成する。
+	 */
+	public TimePointIntervalDeserializer() {
+		super(TimePointInterval.class);
+	}
+	
+	@Override
+	public TimePointInterval deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException {
+		JsonToken token = jp.getCurrentToken();
+		if (token == JsonToken.START_OBJECT) {
+			token = jp.nextToken();
+		}
+		TimePoint start = null;
+		TimePoint end = null;
+		boolean startIncluded = true;
+		boolean endIncluded = false;
+		for (; token == JsonToken.FIELD_NAME; token = jp.nextToken()) {
+			String name = jp.getCurrentName();
+			token = jp.nextToken();
+			if (TimePointIntervalSerializer.START.equals(name)) {
+				start = IsoJson.readTimePoint(jp, ctxt);
+			} else if (TimePointIntervalSerializer.START_INCLUDED.equals(name)) {
+				startIncluded = readBoolean(ctxt, token);
+			} else if (TimePointIntervalSerializer.END.equals(name)) {
+				end = IsoJson.readTimePoint(jp, ctxt);
+			} else if (TimePointIntervalSerializer.END_INCLUDED.equals(name)) {
+				endIncluded = readBoolean(ctxt, token);
+			} else {
+				jp.skipChildren();
+			}
+		}
+		if (token != JsonToken.END_OBJECT) {
+			throw ctxt.mappingException(TimePointInterval.class);
+		}
+		try {
+			return TimePointInterval.over(start, startIncluded, end, endIncluded);
+		} catch (IllegalArgumentException e) {
+			throw ctxt.weirdStringException(TimePointInterval.class, e.getMessage());
+		}
+	}
+	
+	private boolean readBoolean(DeserializationContext ctxt, JsonToken token) throws IOException {
+		if (token == JsonToken.VALUE_TRUE) {
+			return true;
+		}
+		if (token == JsonToken.VALUE_FALSE) {
+			return false;
+		}
+		throw ctxt.mappingException(TimePointInterval.class);
+	}
+}
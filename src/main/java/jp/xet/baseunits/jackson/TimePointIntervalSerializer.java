@@ -0,0 +1,72 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.jackson;
+
+import java.io.IOException;
+
+import jp.xet.baseunits.time.TimePointInterval;
+
+import org.codehaus.jackson.JsonGenerator;
+import org.codehaus.jackson.map.SerializerProvider;
+import org.codehaus.jackson.map.ser.std.SerializerBase;
+
+/**
+ * Jackson data serializer implementation for {@link TimePointInterval}.
+ * 
+ * <p>区間を{@code {"start":…,"startIncluded":…,"end":…,"endIncluded":…}}の形式で書き込む。
+ * 各限界は{@link TimePointSerializer}と同じ形式の文字列で表し、限界を持たない側は{@code null}とする。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+public class TimePointIntervalSerializer extends SerializerBase<TimePointInterval> {
+	
+	static final String START = "start";
+	
+	static final String START_INCLUDED = "startIncluded";
+	
+	static final String END = "end";
+	
+	static final String END_INCLUDED = "endIncluded";
+	
+	
+	/**
+	 * インスタンスを生成する。
+	 */
+	public TimePointIntervalSerializer() {
+		super(TimePointInterval.class);
+	}
+	
+	@Override
+	public void serialize(TimePointInterval value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+		jgen.writeStartObject();
+		jgen.writeFieldName(START);
+		if (value.hasLowerLimit()) {
+			IsoJson.writeTimePoint(jgen, value.lowerLimit());
+		} else {
+			jgen.writeNull();
+		}
+		jgen.writeBooleanField(START_INCLUDED, value.includesLowerLimit());
+		jgen.writeFieldName(END);
+		if (value.hasUpperLimit()) {
+			IsoJson.writeTimePoint(jgen, value.upperLimit());
+		} else {
+			jgen.writeNull();
+		}
+		jgen.writeBooleanField(END_INCLUDED, value.includesUpperLimit());
+		jgen.writeEndObject();
+	}
+}
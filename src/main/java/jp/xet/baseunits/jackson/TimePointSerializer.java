@@ -16,7 +16,6 @@
 package jp.xet.baseunits.jackson;
 
 import java.io.IOException;
-import java.util.TimeZone;
 
 import jp.xet.baseunits.time.TimePoint;
 
@@ -31,9 +30,6 @@ import org.codehaus.jackson.map.ser.std.SerializerBase;
  */
 public class TimePointSerializer extends SerializerBase<TimePoint> {
 	
-	private static final TimeZone UTC = TimeZone.getTimeZone("Universal");
-	
-	
 	/**
 	 * インスタンスを生成する。
 	 */
@@ -43,7 +39,10 @@ public class TimePointSerializer extends SerializerBase<TimePoint> {
 	
 	@Override
 	public void serialize(TimePoint value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
-		String string = (value == null) ? "" : value.toString(UTC);
-		jgen.writeString(string);
+		if (value == null) {
+			jgen.writeString("");
+		} else {
+			IsoJson.writeTimePoint(jgen, value);
+		}
 	}
 }
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * {@link PreparedStatement}のバッチ実行を、一定の行数毎に区切って行うクラス。
+ * 
+ * <p>{@link #addBatch()}で追加した行が指定した行数に達する度に{@link PreparedStatement#executeBatch()}を実行する。
+ * 全ての行を追加した後は、{@link #flush()}によって残りの行を実行しなければならない。</p>
+ * 
+ * <pre><code>
+ * PreparedStatement stmt = connection.prepareStatement("INSERT INTO EVENTS VALUES (?, ?, ?)");
+ * BatchWriter writer = new BatchWriter(stmt, 1000);
+ * for (Event event : events) {
+ *     writer.set(1, TimePointColumn.EPOCH_MILLIS, event.getOccurredAt())
+ *         .set(2, CalendarDateColumn.EPOCH_DAY, event.getBusinessDate())
+ *         .set(3, MoneyColumn.minorUnits(JPY), event.getAmount())
+ *         .addBatch();
+ * }
+ * writer.flush();
+ * </code></pre>
+ * 
+ * <p>このクラスはスレッドセーフではない。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+public class BatchWriter {
+	
+	/** 既定のバッチサイズ */
+	public static final int DEFAULT_BATCH_SIZE = 1000;
+	
+	private final PreparedStatement statement;
+	
+	private final int batchSize;
+	
+	private int pendingRows;
+	
+	private long executedRows;
+	
+	
+	/**
+	 * 既定のバッチサイズでインスタンスを生成する。
+	 * 
+	 * @param statement {@link PreparedStatement}
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public BatchWriter(PreparedStatement statement) {
+		this(statement, DEFAULT_BATCH_SIZE);
+	}
+	
+	/**
+	 * インスタンスを生成する。
+	 * 
+	 * @param statement {@link PreparedStatement}
+	 * @param batchSize 1回の{@link PreparedStatement#executeBatch()}で実行する行数
+	 * @throws IllegalArgumentException 引数{@code batchSize}が{@code 1}未満の場合
+	 * @throws NullPointerException 引数{@code statement}に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public BatchWriter(PreparedStatement statement, int batchSize) {
+		Preconditions.checkNotNull(statement);
+		Preconditions.checkArgument(batchSize > 0, "batchSize must be positive: %s", batchSize);
+		this.statement = statement;
+		this.batchSize = batchSize;
+	}
+	
+	/**
+	 * 複数の行を追加する。
+	 * 
+	 * @param <T> 行を表す型
+	 * @param rows 行
+	 * @param binder 1行分の値をパラメータに設定する{@link RowBinder}
+	 * @throws SQLException 値の設定またはバッチの実行に失敗した場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public <T>void addAll(Iterable<? extends T> rows, RowBinder<? super T> binder) throws SQLException {
+		Preconditions.checkNotNull(rows);
+		Preconditions.checkNotNull(binder);
+		for (T row : rows) {
+			binder.bind(statement, row);
+			addBatch();
+		}
+	}
+	
+	/**
+	 * 現在のパラメータを1行としてバッチに追加する。
+	 * 
+	 * <p>未実行の行数がバッチサイズに達した場合は、バッチを実行する。</p>
+	 * 
+	 * @throws SQLException バッチの追加または実行に失敗した場合
+	 * @since 2.19
+	 */
+	public void addBatch() throws SQLException {
+		statement.addBatch();
+		pendingRows++;
+		if (pendingRows >= batchSize) {
+			executeBatch();
+		}
+	}
+	
+	/**
+	 * 未実行の行があれば、バッチを実行する。
+	 * 
+	 * @throws SQLException バッチの実行に失敗した場合
+	 * @since 2.19
+	 */
+	public void flush() throws SQLException {
+		if (pendingRows > 0) {
+			executeBatch();
+		}
+	}
+	
+	/**
+	 * バッチサイズを返す。
+	 * 
+	 * @return バッチサイズ
+	 * @since 2.19
+	 */
+	public int getBatchSize() {
+		return batchSize;
+	}
+	
+	/**
+	 * これまでに実行した行数を返す。
+	 * 
+	 * @return 実行した行数
+	 * @since 2.19
+	 */
+	public long getExecutedRows() {
+		return executedRows;
+	}
+	
+	/**
+	 * バッチに追加済みで、未実行の行数を返す。
+	 * 
+	 * @return 未実行の行数
+	 * @since 2.19
+	 */
+	public int getPendingRows() {
+		return pendingRows;
+	}
+	
+	/**
+	 * 指定したパラメータに値を設定する。
+	 * 
+	 * @param <T> 値の型
+	 * @param index パラメータ番号（1〜）
+	 * @param type 列の形式
+	 * @param value 値. {@code null}の場合はSQLの{@code NULL}を設定する
+	 * @return このインスタンス
+	 * @throws SQLException 値の設定に失敗した場合
+	 * @throws NullPointerException 引数{@code type}に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public <T>BatchWriter set(int index, ColumnType<T> type, T value) throws SQLException {
+		Preconditions.checkNotNull(type);
+		type.set(statement, index, value);
+		return this;
+	}
+	
+	private void executeBatch() throws SQLException {
+		statement.executeBatch();
+		executedRows += pendingRows;
+		pendingRows = 0;
+	}
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.jdbc;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+import jp.xet.baseunits.time.CalendarDate;
+import jp.xet.baseunits.time.TimePoint;
+import jp.xet.baseunits.time.TimePoints;
+import jp.xet.baseunits.util.TimeZones;
+
+/**
+ * {@link CalendarDate}を格納する列の形式。
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+public enum CalendarDateColumn implements ColumnType<CalendarDate> {
+	
+	/**
+	 * UTCの日付として、{@code DATE}型の列に格納する。
+	 * 
+	 * @since 2.19
+	 */
+	DATE(Types.DATE) {
+		
+		@Override
+		public CalendarDate get(ResultSet rs, int index) throws SQLException {
+			return toCalendarDate(rs.getDate(index, UtcCalendar.get()));
+		}
+		
+		@Override
+		public CalendarDate get(ResultSet rs, String columnLabel) throws SQLException {
+			return toCalendarDate(rs.getDate(columnLabel, UtcCalendar.get()));
+		}
+		
+		@Override
+		void setNonNull(PreparedStatement stmt, int index, CalendarDate value) throws SQLException {
+			long millis = value.startAsTimePoint(TimeZones.UNIVERSAL).toEpochMillisec();
+			stmt.setDate(index, new Date(millis), UtcCalendar.get());
+		}
+	},
+	
+	/**
+	 * 1970年1月1日を{@code 0}とした通算日数（エポック日）として、{@code INTEGER}型の列に格納する。
+	 * 
+	 * @see TimePoints#toEpochDay(CalendarDate)
+	 * @since 2.19
+	 */
+	EPOCH_DAY(Types.INTEGER) {
+		
+		@Override
+		public CalendarDate get(ResultSet rs, int index) throws SQLException {
+			int epochDay = rs.getInt(index);
+			return rs.wasNull() ? null : TimePoints.toCalendarDate(epochDay);
+		}
+		
+		@Override
+		public CalendarDate get(ResultSet rs, String columnLabel) throws SQLException {
+			int epochDay = rs.getInt(columnLabel);
+			return rs.wasNull() ? null : TimePoints.toCalendarDate(epochDay);
+		}
+		
+		@Override
+		void setNonNull(PreparedStatement stmt, int index, CalendarDate value) throws SQLException {
+			stmt.setInt(index, TimePoints.toEpochDay(value));
+		}
+	};
+	
+	private static CalendarDate toCalendarDate(Date date) {
+		return date == null ? null : CalendarDate.from(TimePoint.from(date), TimeZones.UNIVERSAL);
+	}
+	
+	
+	private final int sqlType;
+	
+	
+	CalendarDateColumn(int sqlType) {
+		this.sqlType = sqlType;
+	}
+	
+	@Override
+	public int getSqlType() {
+		return sqlType;
+	}
+	
+	@Override
+	public void set(PreparedStatement stmt, int index, CalendarDate value) throws SQLException {
+		if (value == null) {
+			stmt.setNull(index, sqlType);
+		} else {
+			setNonNull(stmt, index, value);
+		}
+	}
+	
+	abstract void setNonNull(PreparedStatement stmt, int index, CalendarDate value) throws SQLException;
+}
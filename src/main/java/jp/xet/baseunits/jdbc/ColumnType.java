@@ -0,0 +1,73 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * baseunitsの値オブジェクトと、JDBCの列との相互変換を表すインタフェース。
+ * 
+ * <p>実装はスレッドセーフであり、複数の{@link PreparedStatement}や{@link ResultSet}から同時に利用できる。</p>
+ * 
+ * @param <T> baseunitsの値オブジェクト型
+ * @author daisuke
+ * @since 2.19
+ */
+public interface ColumnType<T> {
+	
+	/**
+	 * 指定した列から値を読み込む。
+	 * 
+	 * @param rs {@link ResultSet}
+	 * @param index 列番号（1〜）
+	 * @return 値. SQLの{@code NULL}である場合は{@code null}
+	 * @throws SQLException 値の読み込みに失敗した場合
+	 * @since 2.19
+	 */
+	T get(ResultSet rs, int index) throws SQLException;
+	
+	/**
+	 * 指定した列から値を読み込む。
+	 * 
+	 * @param rs {@link ResultSet}
+	 * @param columnLabel 列ラベル
+	 * @return 値. SQLの{@code NULL}である場合は{@code null}
+	 * @throws SQLException 値の読み込みに失敗した場合
+	 * @since 2.19
+	 */
+	T get(ResultSet rs, String columnLabel) throws SQLException;
+	
+	/**
+	 * この列の{@link java.sql.Types}による型を返す。
+	 * 
+	 * @return {@link java.sql.Types}による型
+	 * @since 2.19
+	 */
+	int getSqlType();
+	
+	/**
+	 * 指定したパラメータに値を設定する。
+	 * 
+	 * @param stmt {@link PreparedStatement}
+	 * @param index パラメータ番号（1〜）
+	 * @param value 値. {@code null}の場合はSQLの{@code NULL}を設定する
+	 * @throws SQLException 値の設定に失敗した場合
+	 * @since 2.19
+	 */
+	void set(PreparedStatement stmt, int index, T value) throws SQLException;
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+import jp.xet.baseunits.time.Duration;
+import jp.xet.baseunits.time.TimeUnit;
+
+/**
+ * {@link Duration}を、指定した単位の量として{@code BIGINT}型の列に格納する形式。
+ * 
+ * <p>格納時は{@link Duration#to(TimeUnit)}によって単位を変換するため、端数は切り捨てられる。
+ * また、月を基準とする時間量は格納できない。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+public enum DurationColumn implements ColumnType<Duration> {
+	
+	/**
+	 * ミリ秒の量として格納する。
+	 * 
+	 * @since 2.19
+	 */
+	MILLISECONDS(TimeUnit.millisecond),
+	
+	/**
+	 * 秒の量として格納する。
+	 * 
+	 * @since 2.19
+	 */
+	SECONDS(TimeUnit.second),
+	
+	/**
+	 * 分の量として格納する。
+	 * 
+	 * @since 2.19
+	 */
+	MINUTES(TimeUnit.minute);
+	
+	private final TimeUnit unit;
+	
+	
+	DurationColumn(TimeUnit unit) {
+		this.unit = unit;
+	}
+	
+	@Override
+	public Duration get(ResultSet rs, int index) throws SQLException {
+		long quantity = rs.getLong(index);
+		return rs.wasNull() ? null : Duration.valueOf(quantity, unit);
+	}
+	
+	@Override
+	public Duration get(ResultSet rs, String columnLabel) throws SQLException {
+		long quantity = rs.getLong(columnLabel);
+		return rs.wasNull() ? null : Duration.valueOf(quantity, unit);
+	}
+	
+	@Override
+	public int getSqlType() {
+		return Types.BIGINT;
+	}
+	
+	@Override
+	public void set(PreparedStatement stmt, int index, Duration value) throws SQLException {
+		if (value == null) {
+			stmt.setNull(index, Types.BIGINT);
+		} else {
+			stmt.setLong(index, value.to(unit));
+		}
+	}
+}
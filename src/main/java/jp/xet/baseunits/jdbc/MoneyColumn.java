@@ -0,0 +1,142 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.jdbc;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Currency;
+
+import jp.xet.baseunits.money.Money;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * 特定の通貨の{@link Money}を、金額のみの列に格納する形式。
+ * 
+ * <p>通貨は列に格納せず、インスタンス生成時に指定した通貨として読み込む。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+public final class MoneyColumn implements ColumnType<Money> {
+	
+	/**
+	 * 金額を、{@code DECIMAL}型の列に格納する形式を返す。
+	 * 
+	 * @param currency 通貨単位
+	 * @return 列の形式
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public static MoneyColumn decimal(Currency currency) {
+		return new MoneyColumn(currency, false);
+	}
+	
+	/**
+	 * 金額を、補助単位（例えば米ドルにおけるセント）の整数として{@code BIGINT}型の列に格納する形式を返す。
+	 * 
+	 * @param currency 通貨単位
+	 * @return 列の形式
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public static MoneyColumn minorUnits(Currency currency) {
+		return new MoneyColumn(currency, true);
+	}
+	
+	
+	private final Currency currency;
+	
+	private final boolean minorUnits;
+	
+	
+	private MoneyColumn(Currency currency, boolean minorUnits) {
+		Preconditions.checkNotNull(currency);
+		this.currency = currency;
+		this.minorUnits = minorUnits;
+	}
+	
+	@Override
+	public Money get(ResultSet rs, int index) throws SQLException {
+		if (minorUnits) {
+			long amount = rs.getLong(index);
+			return rs.wasNull() ? null : fromMinorUnits(amount);
+		}
+		return fromDecimal(rs.getBigDecimal(index));
+	}
+	
+	@Override
+	public Money get(ResultSet rs, String columnLabel) throws SQLException {
+		if (minorUnits) {
+			long amount = rs.getLong(columnLabel);
+			return rs.wasNull() ? null : fromMinorUnits(amount);
+		}
+		return fromDecimal(rs.getBigDecimal(columnLabel));
+	}
+	
+	/**
+	 * 通貨単位を返す。
+	 * 
+	 * @return 通貨単位
+	 * @since 2.19
+	 */
+	public Currency getCurrency() {
+		return currency;
+	}
+	
+	@Override
+	public int getSqlType() {
+		return minorUnits ? Types.BIGINT : Types.DECIMAL;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @throws IllegalArgumentException 値の通貨単位がこの列の通貨単位と異なる場合
+	 * @throws ArithmeticException 補助単位の整数として格納する形式において、金額が{@code long}の範囲を超える場合
+	 */
+	@Override
+	public void set(PreparedStatement stmt, int index, Money value) throws SQLException {
+		if (value == null) {
+			stmt.setNull(index, getSqlType());
+			return;
+		}
+		Preconditions.checkArgument(value.breachEncapsulationOfCurrency().equals(currency),
+				"currency mismatch: %s", value);
+		BigDecimal amount = value.breachEncapsulationOfAmount();
+		if (minorUnits) {
+			stmt.setLong(index, amount.unscaledValue().longValueExact());
+		} else {
+			stmt.setBigDecimal(index, amount);
+		}
+	}
+	
+	@Override
+	public String toString() {
+		return (minorUnits ? "minorUnits(" : "decimal(") + currency + ")";
+	}
+	
+	private Money fromDecimal(BigDecimal amount) {
+		return amount == null ? null : Money.valueOf(amount, currency);
+	}
+	
+	private Money fromMinorUnits(long amount) {
+		return new Money(BigDecimal.valueOf(amount, currency.getDefaultFractionDigits()), currency);
+	}
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * 1行分の値を{@link PreparedStatement}のパラメータに設定するインタフェース。
+ * 
+ * @param <T> 行を表す型
+ * @author daisuke
+ * @since 2.19
+ * @see BatchWriter#addAll(Iterable, RowBinder)
+ */
+public interface RowBinder<T> {
+	
+	/**
+	 * 1行分の値をパラメータに設定する。
+	 * 
+	 * @param stmt {@link PreparedStatement}
+	 * @param row 行
+	 * @throws SQLException 値の設定に失敗した場合
+	 * @since 2.19
+	 */
+	void bind(PreparedStatement stmt, T row) throws SQLException;
+}
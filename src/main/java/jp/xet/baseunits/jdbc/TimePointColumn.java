@@ -0,0 +1,109 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+import jp.xet.baseunits.time.TimePoint;
+
+/**
+ * {@link TimePoint}を格納する列の形式。
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+public enum TimePointColumn implements ColumnType<TimePoint> {
+	
+	/**
+	 * UTCの日時として、{@code TIMESTAMP}型の列に格納する。
+	 * 
+	 * @since 2.19
+	 */
+	TIMESTAMP(Types.TIMESTAMP) {
+		
+		@Override
+		public TimePoint get(ResultSet rs, int index) throws SQLException {
+			return toTimePoint(rs.getTimestamp(index, UtcCalendar.get()));
+		}
+		
+		@Override
+		public TimePoint get(ResultSet rs, String columnLabel) throws SQLException {
+			return toTimePoint(rs.getTimestamp(columnLabel, UtcCalendar.get()));
+		}
+		
+		@Override
+		void setNonNull(PreparedStatement stmt, int index, TimePoint value) throws SQLException {
+			stmt.setTimestamp(index, new Timestamp(value.toEpochMillisec()), UtcCalendar.get());
+		}
+	},
+	
+	/**
+	 * エポックミリ秒として、{@code BIGINT}型の列に格納する。
+	 * 
+	 * @since 2.19
+	 */
+	EPOCH_MILLIS(Types.BIGINT) {
+		
+		@Override
+		public TimePoint get(ResultSet rs, int index) throws SQLException {
+			long millis = rs.getLong(index);
+			return rs.wasNull() ? null : TimePoint.from(millis);
+		}
+		
+		@Override
+		public TimePoint get(ResultSet rs, String columnLabel) throws SQLException {
+			long millis = rs.getLong(columnLabel);
+			return rs.wasNull() ? null : TimePoint.from(millis);
+		}
+		
+		@Override
+		void setNonNull(PreparedStatement stmt, int index, TimePoint value) throws SQLException {
+			stmt.setLong(index, value.toEpochMillisec());
+		}
+	};
+	
+	private static TimePoint toTimePoint(Timestamp timestamp) {
+		return timestamp == null ? null : TimePoint.from(timestamp);
+	}
+	
+	
+	private final int sqlType;
+	
+	
+	TimePointColumn(int sqlType) {
+		this.sqlType = sqlType;
+	}
+	
+	@Override
+	public int getSqlType() {
+		return sqlType;
+	}
+	
+	@Override
+	public void set(PreparedStatement stmt, int index, TimePoint value) throws SQLException {
+		if (value == null) {
+			stmt.setNull(index, sqlType);
+		} else {
+			setNonNull(stmt, index, value);
+		}
+	}
+	
+	abstract void setNonNull(PreparedStatement stmt, int index, TimePoint value) throws SQLException;
+}
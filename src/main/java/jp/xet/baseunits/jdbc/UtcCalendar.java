@@ -0,0 +1,59 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.jdbc;
+
+import java.sql.ResultSet;
+import java.util.Calendar;
+
+import jp.xet.baseunits.time.CalendarUtil;
+import jp.xet.baseunits.util.TimeZones;
+
+/**
+ * スレッド毎に保持する、UTCの{@link Calendar}。
+ * 
+ * <p>JDBCドライバは{@link ResultSet#getTimestamp(int, Calendar)}等の呼び出しの中で引数の{@link Calendar}を
+ * 書き換えるため、スレッド間で共有すると、並行して読み書きした値が壊れる。行毎の生成を避けるため、
+ * スレッド毎に1つのインスタンスを再利用する。</p>
+ * 
+ * <p>このパッケージの{@link ColumnType}実装の他、{@code jp.xet.baseunits.mirage}パッケージの値型からも利用する。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+public final class UtcCalendar {
+	
+	private static final ThreadLocal<Calendar> CALENDAR = new ThreadLocal<Calendar>() {
+		
+		@Override
+		protected Calendar initialValue() {
+			return CalendarUtil.newCalendar(TimeZones.UNIVERSAL);
+		}
+	};
+	
+	
+	/**
+	 * 現在のスレッドに固有の、UTCの{@link Calendar}を返す。
+	 * 
+	 * @return UTCの{@link Calendar}
+	 * @since 2.19
+	 */
+	public static Calendar get() {
+		return CALENDAR.get();
+	}
+	
+	private UtcCalendar() {
+	}
+}
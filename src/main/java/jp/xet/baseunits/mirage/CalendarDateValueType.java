@@ -21,14 +21,14 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
-import java.util.Calendar;
 import java.util.TimeZone;
 
 import com.miragesql.miragesql.bean.PropertyDesc;
 import com.miragesql.miragesql.type.ValueType;
 
+import jp.xet.baseunits.jdbc.UtcCalendar;
 import jp.xet.baseunits.time.CalendarDate;
-import jp.xet.baseunits.time.CalendarUtil;
+import jp.xet.baseunits.time.TimePoint;
 
 /**
  * {@link CalendarDate}用{@link ValueType}実装クラス。
@@ -40,28 +40,26 @@ public class CalendarDateValueType extends AbstractBaseunitsValueType<CalendarDa
 	
 	private static final TimeZone UTC = TimeZone.getTimeZone("Universal");
 	
-	private static final Calendar CALENDAR = CalendarUtil.newCalendar(UTC);
-	
 	
 	@Override
 	public CalendarDate get(Class<? extends CalendarDate> type, CallableStatement cs, int index) throws SQLException {
-		return get(cs.getDate(index, CALENDAR));
+		return get(cs.getDate(index, UtcCalendar.get()));
 	}
 	
 	@Override
 	public CalendarDate get(Class<? extends CalendarDate> type, CallableStatement cs, String parameterName)
 			throws SQLException {
-		return get(cs.getDate(parameterName, CALENDAR));
+		return get(cs.getDate(parameterName, UtcCalendar.get()));
 	}
 	
 	@Override
 	public CalendarDate get(Class<? extends CalendarDate> type, ResultSet rs, int index) throws SQLException {
-		return get(rs.getDate(index, CALENDAR));
+		return get(rs.getDate(index, UtcCalendar.get()));
 	}
 	
 	@Override
 	public CalendarDate get(Class<? extends CalendarDate> type, ResultSet rs, String columnName) throws SQLException {
-		return get(rs.getDate(columnName, CALENDAR));
+		return get(rs.getDate(columnName, UtcCalendar.get()));
 	}
 	
 	@Override
@@ -91,7 +89,7 @@ public class CalendarDateValueType extends AbstractBaseunitsValueType<CalendarDa
 			stmt.setNull(index, Types.DATE);
 		} else {
 			long epochMillisec = value.startAsTimePoint(UTC).toEpochMillisec();
-			stmt.setDate(index, new Date(epochMillisec), CALENDAR);
+			stmt.setDate(index, new Date(epochMillisec), UtcCalendar.get());
 		}
 	}
 	
@@ -99,6 +97,6 @@ public class CalendarDateValueType extends AbstractBaseunitsValueType<CalendarDa
 		if (date == null) {
 			return null;
 		}
-		return CalendarDate.from(date, UTC);
+		return CalendarDate.from(TimePoint.from(date), UTC);
 	}
 }
@@ -25,8 +25,8 @@ import java.util.TimeZone;
 import com.miragesql.miragesql.bean.PropertyDesc;
 import com.miragesql.miragesql.type.ValueType;
 
-import jp.xet.baseunits.time.CalendarDate;
 import jp.xet.baseunits.time.CalendarMonth;
+import jp.xet.baseunits.time.TimePoint;
 
 /**
  * {@link CalendarMonth}用{@link ValueType}実装クラス。
@@ -38,39 +38,23 @@ public class CalendarMonthValueType extends AbstractBaseunitsValueType<CalendarM
 	
 	@Override
 	public CalendarMonth get(Class<? extends CalendarMonth> type, CallableStatement cs, int index) throws SQLException {
-		java.sql.Date date = cs.getDate(index);
-		if (date == null) {
-			return null;
-		}
-		return CalendarDate.from(date, TimeZone.getDefault()).asCalendarMonth();
+		return get(cs.getDate(index));
 	}
 	
 	@Override
 	public CalendarMonth get(Class<? extends CalendarMonth> type, CallableStatement cs, String parameterName)
 			throws SQLException {
-		java.sql.Date date = cs.getDate(parameterName);
-		if (date == null) {
-			return null;
-		}
-		return CalendarDate.from(date, TimeZone.getDefault()).asCalendarMonth();
+		return get(cs.getDate(parameterName));
 	}
 	
 	@Override
 	public CalendarMonth get(Class<? extends CalendarMonth> type, ResultSet rs, int index) throws SQLException {
-		java.sql.Date date = rs.getDate(index);
-		if (date == null) {
-			return null;
-		}
-		return CalendarDate.from(date, TimeZone.getDefault()).asCalendarMonth();
+		return get(rs.getDate(index));
 	}
 	
 	@Override
 	public CalendarMonth get(Class<? extends CalendarMonth> type, ResultSet rs, String columnName) throws SQLException {
-		java.sql.Date date = rs.getDate(columnName);
-		if (date == null) {
-			return null;
-		}
-		return CalendarDate.from(date, TimeZone.getDefault()).asCalendarMonth();
+		return get(rs.getDate(columnName));
 	}
 	
 	@Override
@@ -104,4 +88,11 @@ public class CalendarMonthValueType extends AbstractBaseunitsValueType<CalendarM
 			stmt.setString(index, value.toString("yyyy-MM-01"));
 		}
 	}
+	
+	private CalendarMonth get(java.sql.Date date) {
+		if (date == null) {
+			return null;
+		}
+		return CalendarMonth.from(TimePoint.from(date), TimeZone.getDefault());
+	}
 }
@@ -21,13 +21,11 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.sql.Types;
-import java.util.Calendar;
-import java.util.TimeZone;
 
 import com.miragesql.miragesql.bean.PropertyDesc;
 import com.miragesql.miragesql.type.ValueType;
 
-import jp.xet.baseunits.time.CalendarUtil;
+import jp.xet.baseunits.jdbc.UtcCalendar;
 import jp.xet.baseunits.time.TimePoint;
 
 /**
@@ -44,14 +42,9 @@ import jp.xet.baseunits.time.TimePoint;
  */
 public class TimePointValueType extends AbstractBaseunitsValueType<TimePoint> {
 	
-	private static final TimeZone UTC = TimeZone.getTimeZone("Universal");
-	
-	private static final Calendar CALENDAR = CalendarUtil.newCalendar(UTC);
-	
-	
 	@Override
 	public TimePoint get(Class<? extends TimePoint> type, CallableStatement cs, int index) throws SQLException {
-		Timestamp date = cs.getTimestamp(index, CALENDAR);
+		Timestamp date = cs.getTimestamp(index, UtcCalendar.get());
 		if (date == null) {
 			return null;
 		}
@@ -61,7 +54,7 @@ public class TimePointValueType extends AbstractBaseunitsValueType<TimePoint> {
 	@Override
 	public TimePoint get(Class<? extends TimePoint> type, CallableStatement cs, String parameterName)
 			throws SQLException {
-		Timestamp date = cs.getTimestamp(parameterName, CALENDAR);
+		Timestamp date = cs.getTimestamp(parameterName, UtcCalendar.get());
 		if (date == null) {
 			return null;
 		}
@@ -70,7 +63,7 @@ public class TimePointValueType extends AbstractBaseunitsValueType<TimePoint> {
 	
 	@Override
 	public TimePoint get(Class<? extends TimePoint> type, ResultSet rs, int index) throws SQLException {
-		Timestamp date = rs.getTimestamp(index, CALENDAR);
+		Timestamp date = rs.getTimestamp(index, UtcCalendar.get());
 		if (date == null) {
 			return null;
 		}
@@ -79,7 +72,7 @@ public class TimePointValueType extends AbstractBaseunitsValueType<TimePoint> {
 	
 	@Override
 	public TimePoint get(Class<? extends TimePoint> type, ResultSet rs, String columnName) throws SQLException {
-		Timestamp date = rs.getTimestamp(columnName, CALENDAR);
+		Timestamp date = rs.getTimestamp(columnName, UtcCalendar.get());
 		if (date == null) {
 			return null;
 		}
@@ -113,7 +106,7 @@ public class TimePointValueType extends AbstractBaseunitsValueType<TimePoint> {
 			stmt.setNull(index, Types.TIMESTAMP);
 		} else {
 			long epochMillisec = value.toEpochMillisec();
-			stmt.setTimestamp(index, new Timestamp(epochMillisec), CALENDAR);
+			stmt.setTimestamp(index, new Timestamp(epochMillisec), UtcCalendar.get());
 		}
 	}
 }
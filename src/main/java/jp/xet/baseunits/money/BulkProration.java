@@ -0,0 +1,430 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.money;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * 1つの比数の配列に対して、多数の金額を一括して比例配分する。
+ * 
+ * <p>配分結果は{@link Proration#proratedOver(Money, BigDecimal[])}と完全に一致する。すなわち、
+ * 各要素の割合を合計金額の精度に2を加えたスケールで切り捨てて乗数とし、合計金額に乗じて通貨の最小単位に切り捨てる。
+ * 割り切れなかった分（余り）は、最小単位金額に分割し、配列の頭から順に上乗せする。余りが負の場合は、
+ * 配列の頭から順に最小単位金額を差し引く。いずれの場合も、配分結果の和は合計金額と一致する。</p>
+ * 
+ * <p>金額は通貨の最小単位で表した{@code long}として扱い、結果は呼び出し側が用意した{@code long}配列に書き込む。
+ * 乗数は中間計算のスケール毎に一度だけ計算して保持するため、同じ比数の配列で多数の金額を配分する場合や、
+ * 多数の比数で同じ大きさの金額を繰り返し配分する場合に、{@link Money}や{@link BigDecimal}を生成せずに計算できる。
+ * 中間計算が{@code long}に収まらない場合は、{@link BigDecimal}による計算に切り替える。</p>
+ * 
+ * <p>このクラスのインスタンスは不変であり、複数のスレッドから安全に使用できる。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+public final class BulkProration {
+	
+	/** 並列計算時に、これ以上分割しない結果の要素数 */
+	static final int PARALLEL_THRESHOLD = 1 << 14; // CHECKSTYLE IGNORE THIS LINE
+	
+	/** 乗数を{@code long}で保持する中間計算のスケールの上限 */
+	private static final int MAX_FAST_SCALE = 18;
+	
+	/** 中間計算のスケールに対する、合計金額の精度の加算値 */
+	private static final int EXTRA_SCALE = 2;
+	
+	private static final long[] POWERS_OF_TEN = new long[MAX_FAST_SCALE + 1];
+	
+	static {
+		POWERS_OF_TEN[0] = 1;
+		for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+			POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10; // CHECKSTYLE IGNORE THIS LINE
+		}
+	}
+	
+	
+	/**
+	 * インスタンスを生成する。
+	 * 
+	 * @param proportions 比数の配列
+	 * @return {@link BulkProration}
+	 * @throws IllegalArgumentException 引数{@code proportions}の要素数が0の場合
+	 * @throws ArithmeticException 比数の合計が0の場合
+	 * @throws NullPointerException 引数{@code proportions}またはその要素に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public static BulkProration of(BigDecimal[] proportions) {
+		Preconditions.checkNotNull(proportions);
+		BigDecimal[] copy = proportions.clone();
+		BigDecimal whole = BigDecimal.ZERO;
+		for (BigDecimal proportion : copy) {
+			Preconditions.checkNotNull(proportion);
+			whole = whole.add(proportion);
+		}
+		return new BulkProration(null, copy, whole);
+	}
+	
+	/**
+	 * インスタンスを生成する。
+	 * 
+	 * @param proportions 比数の配列
+	 * @return {@link BulkProration}
+	 * @throws IllegalArgumentException 引数{@code proportions}の要素数が0の場合
+	 * @throws ArithmeticException 比数の合計が0の場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public static BulkProration of(long[] proportions) {
+		Preconditions.checkNotNull(proportions);
+		long[] copy = proportions.clone();
+		long sum = 0;
+		BigDecimal whole = null;
+		for (int i = 0; i < copy.length; i++) {
+			long next = sum + copy[i];
+			// 符号の同じ値の和の符号が異なる場合は桁あふれ
+			if (((sum ^ next) & (copy[i] ^ next)) < 0) {
+				whole = BigDecimal.valueOf(sum);
+				for (int j = i; j < copy.length; j++) {
+					whole = whole.add(BigDecimal.valueOf(copy[j]));
+				}
+				break;
+			}
+			sum = next;
+		}
+		return new BulkProration(copy, null, whole == null ? BigDecimal.valueOf(sum) : whole);
+	}
+	
+	/**
+	 * {@code value}の絶対値の10進数の桁数を返す。{@code 0}の桁数は{@code 1}とする。
+	 * 
+	 * <p>{@link BigDecimal#precision()}と同じ値となる。</p>
+	 * 
+	 * @param value 値
+	 * @return 桁数
+	 */
+	static int precision(long value) {
+		if (value == Long.MIN_VALUE) {
+			return POWERS_OF_TEN.length;
+		}
+		long abs = Math.abs(value);
+		for (int digits = 1; digits < POWERS_OF_TEN.length; digits++) {
+			if (abs < POWERS_OF_TEN[digits]) {
+				return digits;
+			}
+		}
+		return POWERS_OF_TEN.length;
+	}
+	
+	
+	/** {@code long}の比数の配列. {@link BigDecimal}から生成した場合は{@code null} */
+	private final long[] longProportions;
+	
+	/** {@link BigDecimal}の比数の配列. {@code long}から生成した場合は{@code null} */
+	private final BigDecimal[] decimalProportions;
+	
+	/** 比数の合計 */
+	private final BigDecimal whole;
+	
+	/** 比数の合計が{@code long}に収まる場合はその値、収まらない場合は{@code 0} */
+	private final long longWhole;
+	
+	/** 中間計算のスケール毎の乗数 */
+	private final AtomicReferenceArray<Multipliers> multipliers =
+			new AtomicReferenceArray<Multipliers>(MAX_FAST_SCALE + 1);
+	
+	private final int size;
+	
+	
+	private BulkProration(long[] longProportions, BigDecimal[] decimalProportions, BigDecimal whole) {
+		this.longProportions = longProportions;
+		this.decimalProportions = decimalProportions;
+		this.whole = whole;
+		size = longProportions != null ? longProportions.length : decimalProportions.length;
+		Preconditions.checkArgument(size > 0, "proportions is empty");
+		if (whole.signum() == 0) {
+			throw new ArithmeticException("sum of proportions is zero");
+		}
+		longWhole = longProportions != null && whole.unscaledValue().bitLength() < Long.SIZE ? whole.longValue() : 0;
+	}
+	
+	/**
+	 * 通貨の最小単位で表した金額を比例配分し、結果を{@code out}の先頭から{@link #size()}個の要素に書き込む。
+	 * 
+	 * @param total 通貨の最小単位で表した合計金額
+	 * @param out 結果を格納する配列
+	 * @throws IllegalArgumentException {@code out}の長さが{@link #size()}より短い場合
+	 * @throws ArithmeticException 配分結果が{@code long}の範囲を超える場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public void prorate(long total, long[] out) {
+		Preconditions.checkNotNull(out);
+		Preconditions.checkArgument(out.length >= size, "out is shorter than proportions");
+		prorate(total, out, 0);
+	}
+	
+	/**
+	 * 通貨の最小単位で表した金額の配列の各要素を比例配分する。
+	 * 
+	 * <p>{@code totals[i]}の配分結果は、{@code out}の{@code i * size()}から{@link #size()}個の要素に書き込む。</p>
+	 * 
+	 * @param totals 通貨の最小単位で表した合計金額の配列
+	 * @param out 結果を格納する配列
+	 * @throws IllegalArgumentException {@code out}の長さが{@code totals.length * size()}より短い場合
+	 * @throws ArithmeticException 配分結果が{@code long}の範囲を超える場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public void prorate(long[] totals, long[] out) {
+		prorateAll(totals, out, null);
+	}
+	
+	/**
+	 * 通貨の最小単位で表した金額の配列の各要素を、並列に比例配分する。
+	 * 
+	 * <p>{@code totals[i]}の配分結果は、{@code out}の{@code i * size()}から{@link #size()}個の要素に書き込む。</p>
+	 * 
+	 * @param totals 通貨の最小単位で表した合計金額の配列
+	 * @param out 結果を格納する配列
+	 * @param pool 計算に利用する{@link ForkJoinPool}
+	 * @throws IllegalArgumentException {@code out}の長さが{@code totals.length * size()}より短い場合
+	 * @throws ArithmeticException 配分結果が{@code long}の範囲を超える場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public void prorate(long[] totals, long[] out, ForkJoinPool pool) {
+		Preconditions.checkNotNull(pool);
+		prorateAll(totals, out, pool);
+	}
+	
+	/**
+	 * 指定した金額を比例配分した金額の配列を返す。
+	 * 
+	 * <p>結果は{@link Proration#proratedOver(Money, BigDecimal[])}と一致する。</p>
+	 * 
+	 * @param total 合計金額
+	 * @return 配分結果
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public Money[] proratedOver(Money total) {
+		Preconditions.checkNotNull(total);
+		BigDecimal amount = total.breachEncapsulationOfAmount();
+		Currency currency = total.breachEncapsulationOfCurrency();
+		int scale = amount.scale();
+		Money[] results = new Money[size];
+		BigInteger unscaled = amount.unscaledValue();
+		if (unscaled.bitLength() < Long.SIZE) {
+			long[] out = new long[size];
+			try {
+				prorate(unscaled.longValue(), out, 0);
+				for (int i = 0; i < size; i++) {
+					results[i] = new Money(BigDecimal.valueOf(out[i], scale), currency);
+				}
+				return results;
+			} catch (ArithmeticException e) {
+				// 負の比数を含む場合、配分結果がlongに収まらないことがある
+			}
+		}
+		BigDecimal[] amounts = prorateExactly(amount);
+		for (int i = 0; i < size; i++) {
+			results[i] = new Money(amounts[i], currency);
+		}
+		return results;
+	}
+	
+	/**
+	 * 比数の要素数を返す。
+	 * 
+	 * @return 比数の要素数
+	 * @since 2.19
+	 */
+	public int size() {
+		return size;
+	}
+	
+	private Multipliers computeMultipliers(int scale) {
+		long power = POWERS_OF_TEN[scale];
+		long[] values = new long[size];
+		long max = 0;
+		for (int i = 0; i < size; i++) {
+			long value;
+			long proportion = longProportions == null ? 0 : longProportions[i];
+			if (longProportions != null && longWhole != 0
+					&& proportion > Long.MIN_VALUE && Math.abs(proportion) <= Long.MAX_VALUE / power) {
+				// 整数の除算は0方向に切り捨てるため、RoundingMode.DOWNによる除算と一致する
+				value = proportion * power / longWhole;
+			} else {
+				BigInteger exact = proportion(i).divide(whole, scale, RoundingMode.DOWN).unscaledValue();
+				if (exact.bitLength() >= Long.SIZE) {
+					return Multipliers.UNSUPPORTED;
+				}
+				value = exact.longValue();
+			}
+			values[i] = value;
+			max = Math.max(max, Math.abs(value));
+		}
+		return new Multipliers(values, max);
+	}
+	
+	private Multipliers multipliers(int scale) {
+		if (scale > MAX_FAST_SCALE) {
+			return Multipliers.UNSUPPORTED;
+		}
+		Multipliers result = multipliers.get(scale);
+		if (result == null) {
+			// 競合した場合は同じ値を重複して計算するのみで、結果は変わらない
+			result = computeMultipliers(scale);
+			multipliers.set(scale, result);
+		}
+		return result;
+	}
+	
+	private void prorate(long total, long[] out, int offset) {
+		int scale = precision(total) + EXTRA_SCALE;
+		Multipliers m = multipliers(scale);
+		long sum = 0;
+		if (m.values != null && (m.max == 0 || Math.abs(total) <= Long.MAX_VALUE / m.max)) {
+			long power = POWERS_OF_TEN[scale];
+			long[] values = m.values;
+			for (int i = 0; i < size; i++) {
+				long simple = total * values[i] / power;
+				out[offset + i] = simple;
+				sum = Math.addExact(sum, simple);
+			}
+		} else {
+			BigDecimal[] amounts = prorateExactly(BigDecimal.valueOf(total));
+			for (int i = 0; i < size; i++) {
+				out[offset + i] = amounts[i].longValueExact();
+			}
+			return;
+		}
+		long remainder = Math.subtractExact(total, sum);
+		assert Math.abs(remainder) <= size;
+		// 各要素は0方向に切り捨てるため、合計金額が負の場合は余りも負となり、最小単位金額を差し引く
+		long increment = Long.signum(remainder);
+		for (int i = 0; i < Math.abs(remainder); i++) {
+			out[offset + i] += increment;
+		}
+	}
+	
+	private void prorateAll(long[] totals, long[] out, ForkJoinPool pool) {
+		Preconditions.checkNotNull(totals);
+		Preconditions.checkNotNull(out);
+		Preconditions.checkArgument(out.length >= (long) totals.length * size, "out is shorter than results");
+		if (pool == null || (long) totals.length * size <= PARALLEL_THRESHOLD) {
+			for (int i = 0; i < totals.length; i++) {
+				prorate(totals[i], out, i * size);
+			}
+		} else {
+			pool.invoke(new ProrationTask(this, totals, 0, totals.length, out));
+		}
+	}
+	
+	private BigDecimal[] prorateExactly(BigDecimal amount) {
+		int scale = amount.precision() + EXTRA_SCALE;
+		BigDecimal[] results = new BigDecimal[size];
+		BigDecimal sum = BigDecimal.ZERO;
+		for (int i = 0; i < size; i++) {
+			BigDecimal multiplier = proportion(i).divide(whole, scale, RoundingMode.DOWN);
+			results[i] = amount.multiply(multiplier).setScale(amount.scale(), RoundingMode.DOWN);
+			sum = sum.add(results[i]);
+		}
+		int increments = amount.subtract(sum).unscaledValue().intValue();
+		assert Math.abs(increments) <= size;
+		BigDecimal increment = BigDecimal.valueOf(Integer.signum(increments), amount.scale());
+		for (int i = 0; i < Math.abs(increments); i++) {
+			results[i] = results[i].add(increment);
+		}
+		return results;
+	}
+	
+	private BigDecimal proportion(int index) {
+		return decimalProportions != null ? decimalProportions[index] : BigDecimal.valueOf(longProportions[index]);
+	}
+	
+	
+	/**
+	 * 中間計算のスケールに対する、各比数の乗数。
+	 * 
+	 * <p>乗数は比数の割合を中間計算のスケールで切り捨てた値の、スケールを除いた値（unscaled value）である。</p>
+	 */
+	private static final class Multipliers {
+		
+		/** 乗数が{@code long}に収まらないことを表すインスタンス */
+		static final Multipliers UNSUPPORTED = new Multipliers(null, 0);
+		
+		/** 乗数の配列. 乗数が{@code long}に収まらない場合は{@code null} */
+		final long[] values;
+		
+		/** 乗数の絶対値の最大値 */
+		final long max;
+		
+		
+		Multipliers(long[] values, long max) {
+			this.values = values;
+			this.max = max;
+		}
+	}
+	
+	/**
+	 * 合計金額の配列を分割して並列に比例配分する{@link RecursiveAction}。
+	 */
+	@SuppressWarnings("serial")
+	private static final class ProrationTask extends RecursiveAction {
+		
+		private final BulkProration proration;
+		
+		private final long[] totals;
+		
+		private final int from;
+		
+		private final int to;
+		
+		private final long[] out;
+		
+		
+		ProrationTask(BulkProration proration, long[] totals, int from, int to, long[] out) {
+			this.proration = proration;
+			this.totals = totals;
+			this.from = from;
+			this.to = to;
+			this.out = out;
+		}
+		
+		@Override
+		protected void compute() {
+			int size = proration.size;
+			if (to - from == 1 || (long) (to - from) * size <= PARALLEL_THRESHOLD) {
+				for (int i = from; i < to; i++) {
+					proration.prorate(totals[i], out, i * size);
+				}
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			invokeAll(new ProrationTask(proration, totals, from, middle, out),
+					new ProrationTask(proration, totals, middle, to, out));
+		}
+	}
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.money;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.function.LongUnaryOperator;
+
+import jp.xet.baseunits.time.Duration;
+import jp.xet.baseunits.time.TimeUnit;
+
+import com.google.common.base.Preconditions;
+import com.google.common.math.LongMath;
+
+/**
+ * 丸めモードを固定した{@link MoneyTimeRate}を、基底単位の時間量に対して繰り返し適用するためのクラス。
+ * 
+ * <p>{@link MoneyTimeRate#compile(RoundingMode)}によって生成する。単位時間の換算と、基底単位あたりの金額
+ * （通貨の最小単位で表した金額を、単位時間の基底単位での長さで割った比率）を生成時に一度だけ求めておき、
+ * 適用時は{@code long}の乗算と丸めを伴う除算のみで計算する。</p>
+ * 
+ * <p>時間量は、単位時間がミリ秒に変換できる場合はミリ秒で、そうでない場合は月数で与える。
+ * 結果は通貨の最小単位で表した金額であり、{@link MoneyTimeRate#over(Duration, RoundingMode)}と同じ丸めを行う。
+ * 中間計算が{@code long}の範囲を超える場合は、{@link BigDecimal}による計算に切り替える。</p>
+ * 
+ * <p>このクラスのインスタンスは不変であり、複数のスレッドから安全に使用できる。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+public final class CompiledMoneyTimeRate implements LongUnaryOperator {
+	
+	private final Currency currency;
+	
+	private final int scale;
+	
+	private final RoundingMode roundingMode;
+	
+	/** 時間量の基底単位 */
+	private final TimeUnit baseUnit;
+	
+	/** 基底単位あたりの金額の分子（約分済み）が{@code long}に収まる場合は{@code true} */
+	private final boolean compact;
+	
+	/** 基底単位あたりの金額の分子（約分済み）. {@code long}に収まらない場合は{@code 0} */
+	private final long numerator;
+	
+	/** 基底単位あたりの金額の分子（約分済み） */
+	private final BigInteger bigNumerator;
+	
+	/** 基底単位あたりの金額の分母（約分済み、正の値） */
+	private final long denominator;
+	
+	
+	/**
+	 * インスタンスを生成する。
+	 * 
+	 * @param amount 単位時間あたりの金額
+	 * @param currency 通貨単位
+	 * @param unit 単位時間
+	 * @param roundingMode 丸めモード
+	 * @throws ArithmeticException 単位時間の長さが0の場合
+	 */
+	CompiledMoneyTimeRate(BigDecimal amount, Currency currency, Duration unit, RoundingMode roundingMode) {
+		this.currency = currency;
+		scale = amount.scale();
+		this.roundingMode = roundingMode;
+		baseUnit = unit.breachEncapsulationOfUnit().isConvertibleToMilliseconds() ? TimeUnit.millisecond : TimeUnit.month;
+		
+		BigInteger n = amount.unscaledValue();
+		BigInteger d = BigInteger.valueOf(unit.to(baseUnit));
+		if (d.signum() == 0) {
+			throw new ArithmeticException("denominator is zero");
+		}
+		BigInteger gcd = n.gcd(d);
+		if (d.signum() < 0) {
+			gcd = gcd.negate();
+		}
+		n = n.divide(gcd);
+		bigNumerator = n;
+		compact = n.bitLength() < Long.SIZE;
+		numerator = compact ? n.longValue() : 0;
+		denominator = d.divide(gcd).longValue();
+	}
+	
+	@Override
+	public long applyAsLong(long durationInBaseUnits) {
+		return over(durationInBaseUnits);
+	}
+	
+	/**
+	 * このオブジェクトの{@link #baseUnit}フィールド（時間量の基底単位）を返す。
+	 * 
+	 * <p>CAUTION: このメソッドは、このオブジェクトがカプセル化する要素を外部に暴露する。取り扱いには充分注意のこと。</p>
+	 * 
+	 * @return 時間量の基底単位. {@link TimeUnit#millisecond}または{@link TimeUnit#month}
+	 * @since 2.19
+	 */
+	public TimeUnit breachEncapsulationOfBaseUnit() {
+		return baseUnit;
+	}
+	
+	/**
+	 * このオブジェクトの{@link #currency}フィールド（通貨単位）を返す。
+	 * 
+	 * <p>CAUTION: このメソッドは、このオブジェクトがカプセル化する要素を外部に暴露する。取り扱いには充分注意のこと。</p>
+	 * 
+	 * @return 通貨単位
+	 * @since 2.19
+	 */
+	public Currency breachEncapsulationOfCurrency() {
+		return currency;
+	}
+	
+	/**
+	 * このオブジェクトの{@link #roundingMode}フィールド（丸めモード）を返す。
+	 * 
+	 * <p>CAUTION: このメソッドは、このオブジェクトがカプセル化する要素を外部に暴露する。取り扱いには充分注意のこと。</p>
+	 * 
+	 * @return 丸めモード
+	 * @since 2.19
+	 */
+	public RoundingMode breachEncapsulationOfRoundingMode() {
+		return roundingMode;
+	}
+	
+	/**
+	 * 時間量に対してこの割合を適用した場合の金額を返す。
+	 * 
+	 * @param duration 時間量
+	 * @return 金額
+	 * @throws IllegalArgumentException 引数{@code duration}の単位を、この割合の単位時間の単位に変換できない場合
+	 * @throws ArithmeticException 丸めモードに{@link RoundingMode#UNNECESSARY}を指定したにもかかわらず、
+	 * 			金額が通貨の最小単位で割り切れない場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public Money over(Duration duration) {
+		Preconditions.checkNotNull(duration);
+		if (duration.breachEncapsulationOfQuantity() != 0
+				&& duration.breachEncapsulationOfUnit().isConvertibleTo(baseUnit) == false) {
+			throw new IllegalArgumentException(duration + " is not convertible to: " + baseUnit);
+		}
+		long durationInBaseUnits = duration.to(baseUnit);
+		if (compact) {
+			long product = LongMath.saturatedMultiply(durationInBaseUnits, numerator);
+			if (product != Long.MAX_VALUE && product != Long.MIN_VALUE) {
+				return new Money(BigDecimal.valueOf(LongMath.divide(product, denominator, roundingMode), scale), currency);
+			}
+		}
+		return new Money(new BigDecimal(exactlyOver(durationInBaseUnits), scale), currency);
+	}
+	
+	/**
+	 * 基底単位で表した時間量に対してこの割合を適用した場合の金額を、通貨の最小単位で返す。
+	 * 
+	 * @param durationInBaseUnits 基底単位で表した時間量
+	 * @return 通貨の最小単位で表した金額
+	 * @throws ArithmeticException 丸めモードに{@link RoundingMode#UNNECESSARY}を指定したにもかかわらず、
+	 * 			金額が通貨の最小単位で割り切れない場合、または金額が{@code long}の範囲を超える場合
+	 * @since 2.19
+	 */
+	public long over(long durationInBaseUnits) {
+		if (compact) {
+			long product = LongMath.saturatedMultiply(durationInBaseUnits, numerator);
+			if (product != Long.MAX_VALUE && product != Long.MIN_VALUE) {
+				return LongMath.divide(product, denominator, roundingMode);
+			}
+		}
+		BigInteger result = exactlyOver(durationInBaseUnits);
+		if (result.bitLength() >= Long.SIZE) {
+			throw new ArithmeticException("overflow: " + result);
+		}
+		return result.longValue();
+	}
+	
+	/**
+	 * 基底単位で表した時間量の配列の各要素に対してこの割合を適用し、通貨の最小単位で表した金額を{@code out}の同じ添字に格納する。
+	 * 
+	 * @param durationsInBaseUnits 基底単位で表した時間量の配列
+	 * @param out 結果を格納する配列
+	 * @throws IllegalArgumentException {@code out}の長さが{@code durationsInBaseUnits}の長さより短い場合
+	 * @throws ArithmeticException 丸めモードに{@link RoundingMode#UNNECESSARY}を指定したにもかかわらず、
+	 * 			金額が通貨の最小単位で割り切れない場合、または金額が{@code long}の範囲を超える場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public void over(long[] durationsInBaseUnits, long[] out) {
+		Preconditions.checkNotNull(durationsInBaseUnits);
+		Preconditions.checkNotNull(out);
+		Preconditions.checkArgument(out.length >= durationsInBaseUnits.length, "out is shorter than durations");
+		for (int i = 0; i < durationsInBaseUnits.length; i++) {
+			out[i] = over(durationsInBaseUnits[i]);
+		}
+	}
+	
+	private BigInteger exactlyOver(long durationInBaseUnits) {
+		BigDecimal product = new BigDecimal(BigInteger.valueOf(durationInBaseUnits).multiply(bigNumerator));
+		return product.divide(BigDecimal.valueOf(denominator), 0, roundingMode).unscaledValue();
+	}
+}
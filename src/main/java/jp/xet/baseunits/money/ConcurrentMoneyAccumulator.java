@@ -0,0 +1,150 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.money;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * 複数のスレッドから並行に金額を加算するための、同じ通貨単位の金額の累計器。
+ * 
+ * <p>{@code AtomicReference<Money>}に対して{@link Money#plus(Money)}を繰り返す場合と異なり、
+ * 加算の度に{@link Money}を生成せず、競合時の再試行も別のセルに分散する。
+ * 累計は{@link java.util.concurrent.atomic.LongAdder}と同様、通貨の最小単位で表した{@code long}の
+ * セルに分散して保持し、{@code long}の範囲を超えた分は{@link java.math.BigInteger}で保持する。</p>
+ * 
+ * <p>このクラスはスレッドセーフである。ただし{@link #sum()}は、加算と並行して行われた場合には
+ * その時点のスナップショットとはならない。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+public class ConcurrentMoneyAccumulator {
+	
+	/** {@code long}で必ず表現できる10進数の桁数の上限（この値未満） */
+	private static final int MAX_LONG_DIGITS = 19; // CHECKSTYLE IGNORE THIS LINE
+	
+	
+	private final Currency currency;
+	
+	private final int scale;
+	
+	private final MinorUnitCells cells = new MinorUnitCells();
+	
+	
+	/**
+	 * インスタンスを生成する。
+	 * 
+	 * @param currency 通貨単位
+	 * @throws IllegalArgumentException 引数の通貨単位に最小単位が定義されていない場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public ConcurrentMoneyAccumulator(Currency currency) {
+		Preconditions.checkNotNull(currency);
+		Preconditions.checkArgument(currency.getDefaultFractionDigits() >= 0);
+		this.currency = currency;
+		scale = currency.getDefaultFractionDigits();
+	}
+	
+	/**
+	 * 金額を加える。
+	 * 
+	 * <p>通貨単位のスケールが0で、量が{@code long}に収まる場合は、加算にあたってオブジェクトを生成しない。
+	 * それ以外の場合は、量の最小単位表現として{@link java.math.BigInteger}を1つ生成する。
+	 * 加算の度の生成を避ける場合は{@link #addMinorUnits(long)}を利用すること。</p>
+	 * 
+	 * @param money 金額
+	 * @throws ClassCastException 引数の通貨単位がこの累計器の通貨単位と異なる場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public void add(Money money) {
+		Preconditions.checkNotNull(money);
+		if (currency.equals(money.currency) == false) {
+			throw new ClassCastException(money + " is not same currency as " + currency);
+		}
+		BigDecimal amount = money.amount;
+		if (scale == 0 && amount.precision() < MAX_LONG_DIGITS) {
+			// スケールが0の場合、longValue()は最小単位表現をそのまま返す
+			cells.add(amount.longValue());
+		} else {
+			cells.add(amount.unscaledValue());
+		}
+	}
+	
+	/**
+	 * 通貨の最小単位で表した金額を加える。
+	 * 
+	 * <p>加算にあたってオブジェクトを生成しない。</p>
+	 * 
+	 * @param minorUnits 通貨の最小単位で表した金額
+	 * @since 2.19
+	 */
+	public void addMinorUnits(long minorUnits) {
+		cells.add(minorUnits);
+	}
+	
+	/**
+	 * このオブジェクトの{@link #currency}フィールド（通貨単位）を返す。
+	 * 
+	 * <p>CAUTION: このメソッドは、このオブジェクトがカプセル化する要素を外部に暴露する。取り扱いには充分注意のこと。</p>
+	 * 
+	 * @return 通貨単位
+	 * @since 2.19
+	 */
+	public Currency breachEncapsulationOfCurrency() {
+		return currency;
+	}
+	
+	/**
+	 * 累計を0にする。
+	 * 
+	 * @since 2.19
+	 */
+	public void reset() {
+		cells.reset();
+	}
+	
+	/**
+	 * 累計を返す。
+	 * 
+	 * @return 累計
+	 * @since 2.19
+	 */
+	public Money sum() {
+		return new Money(cells.sum(scale), currency);
+	}
+	
+	/**
+	 * 累計を返し、累計を0にする。
+	 * 
+	 * <p>取得とリセットの間に並行して加えられた金額は失われず、次回の累計に含まれる。</p>
+	 * 
+	 * @return 累計
+	 * @since 2.19
+	 */
+	public Money sumThenReset() {
+		return new Money(cells.sumThenReset(scale), currency);
+	}
+	
+	@Override
+	public String toString() {
+		return sum().toString();
+	}
+}
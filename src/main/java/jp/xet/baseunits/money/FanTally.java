@@ -72,11 +72,11 @@ public class FanTally<T> implements Iterable<MoneyFan<T>> {
 	 * @since 1.0
 	 */
 	public MoneyFan<T> net() {
-		MoneyFan<T> sum = new MoneyFan<T>();
+		MoneyFanBuilder<T> builder = new MoneyFanBuilder<T>();
 		for (MoneyFan<T> fan : fans) {
-			sum = sum.plus(fan);
+			builder.add(fan);
 		}
-		return sum;
+		return builder.build();
 	}
 	
 	@Override
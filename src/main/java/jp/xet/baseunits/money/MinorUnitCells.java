@@ -0,0 +1,178 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.money;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 通貨の最小単位で表した金額を、複数のセルに分散して並行に合算するクラス。
+ * 
+ * <p>{@link java.util.concurrent.atomic.LongAdder}と同様に、スレッド毎に異なるセルへ加算することで競合を避ける。
+ * ただし{@link java.util.concurrent.atomic.LongAdder}と異なり、セルの値が{@code long}の範囲を超える場合は
+ * その値を{@link BigInteger}の退避領域に移すため、桁あふれによって合計が失われることはない。</p>
+ * 
+ * <p>合計の取得は{@link java.util.concurrent.atomic.LongAdder#sum()}と同様、加算と並行して行われた場合は
+ * その時点のスナップショットとはならない。ただし、セルから退避領域への移動とは排他するため、
+ * 移動中のセルの値を取りこぼすことはない。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+final class MinorUnitCells {
+	
+	/** セル間の偽共有を避けるための、セルあたりの{@code long}要素数（64バイト） */
+	private static final int STRIDE = 8; // CHECKSTYLE IGNORE THIS LINE
+	
+	/** セル数の上限 */
+	private static final int MAX_CELLS = 64; // CHECKSTYLE IGNORE THIS LINE
+	
+	
+	private static int cellCount() {
+		int processors = Runtime.getRuntime().availableProcessors();
+		return Math.min(MAX_CELLS, Integer.highestOneBit(Math.max(1, processors * 2 - 1)) << 1);
+	}
+	
+	
+	private final AtomicLongArray cells;
+	
+	private final int mask;
+	
+	/** セルから退避した値の合計. 退避した値がない場合は{@code null} */
+	private volatile BigInteger spill;
+	
+	
+	/**
+	 * インスタンスを生成する。
+	 */
+	MinorUnitCells() {
+		int count = cellCount();
+		cells = new AtomicLongArray(count * STRIDE);
+		mask = count - 1;
+	}
+	
+	/**
+	 * 値を加える。
+	 * 
+	 * @param value 値
+	 */
+	void add(BigInteger value) {
+		if (value.bitLength() < Long.SIZE) {
+			add(value.longValue());
+		} else {
+			synchronized (this) {
+				spill = spill == null ? value : spill.add(value);
+			}
+		}
+	}
+	
+	/**
+	 * 値を加える。
+	 * 
+	 * @param value 値
+	 */
+	void add(long value) {
+		int index = index();
+		while (true) {
+			int offset = index * STRIDE;
+			long current = cells.get(offset);
+			long result = current + value;
+			if (((current ^ result) & (value ^ result)) < 0) {
+				synchronized (this) {
+					long moved = cells.getAndSet(offset, 0);
+					BigInteger overflow = BigInteger.valueOf(moved).add(BigInteger.valueOf(value));
+					spill = spill == null ? overflow : spill.add(overflow);
+				}
+				return;
+			}
+			if (cells.compareAndSet(offset, current, result)) {
+				return;
+			}
+			// 競合した場合は別のセルを試す
+			index = (index + 1) & mask;
+		}
+	}
+	
+	/**
+	 * 全てのセルを0にする。
+	 */
+	void reset() {
+		sumThenReset(0);
+	}
+	
+	/**
+	 * 合計を返す。
+	 * 
+	 * @param scale 最小単位の小数点以下の桁数
+	 * @return 合計
+	 */
+	BigDecimal sum(int scale) {
+		// セルから退避領域への移動と並行すると、移動中のセルの値を取りこぼすため、移動と排他する
+		BigInteger big;
+		long total = 0;
+		synchronized (this) {
+			big = spill;
+			for (int offset = 0; offset < cells.length(); offset += STRIDE) {
+				long value = cells.get(offset);
+				long result = total + value;
+				if (((total ^ result) & (value ^ result)) < 0) {
+					big = big == null ? BigInteger.valueOf(total) : big.add(BigInteger.valueOf(total));
+					result = value;
+				}
+				total = result;
+			}
+		}
+		return toDecimal(big, total, scale);
+	}
+	
+	/**
+	 * 合計を返し、全てのセルを0にする。
+	 * 
+	 * @param scale 最小単位の小数点以下の桁数
+	 * @return 合計
+	 */
+	BigDecimal sumThenReset(int scale) {
+		BigInteger big;
+		long total = 0;
+		synchronized (this) {
+			big = spill;
+			spill = null;
+			for (int offset = 0; offset < cells.length(); offset += STRIDE) {
+				long value = cells.getAndSet(offset, 0);
+				long result = total + value;
+				if (((total ^ result) & (value ^ result)) < 0) {
+					big = big == null ? BigInteger.valueOf(total) : big.add(BigInteger.valueOf(total));
+					result = value;
+				}
+				total = result;
+			}
+		}
+		return toDecimal(big, total, scale);
+	}
+	
+	private int index() {
+		long id = Thread.currentThread().getId();
+		return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & mask; // CHECKSTYLE IGNORE THIS LINE
+	}
+	
+	private static BigDecimal toDecimal(BigInteger big, long total, int scale) {
+		if (big == null) {
+			return BigDecimal.valueOf(total, scale);
+		}
+		return new BigDecimal(big.add(BigInteger.valueOf(total)), scale);
+	}
+}
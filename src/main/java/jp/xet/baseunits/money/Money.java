@@ -18,6 +18,7 @@ package jp.xet.baseunits.money;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.text.ParseException;
 import java.util.Collection;
 import java.util.Currency;
 import java.util.Iterator;
@@ -36,9 +37,10 @@ import com.google.common.base.Preconditions;
  * @author daisuke
  * @since 1.0
  */
-@SuppressWarnings("serial")
 public class Money implements Comparable<Money>, Serializable {
 	
+	private static final long serialVersionUID = 4546520645695052224L;
+	
 	private static final Currency USD = Currency.getInstance("USD");
 	
 	private static final Currency EUR = Currency.getInstance("EUR");
@@ -102,6 +104,27 @@ public class Money implements Comparable<Money>, Serializable {
 		return Money.valueOf(amount, EUR);
 	}
 	
+	/**
+	 * 指定したロケールにおける、単位つきの金額表現の文字列を解析する。
+	 * 
+	 * <p>{@link #toString(Locale)}の逆変換である。通貨記号の代わりにISO 4217の通貨コードも受け付ける。</p>
+	 * 
+	 * @param text 金額の文字列表現
+	 * @param locale ロケール。{@code null}の場合は {@link Locale#getDefault()} を利用する。
+	 * @return 金額
+	 * @throws ParseException 引数{@code text}の解析に失敗した場合
+	 * @throws NullPointerException 引数{@code text}に{@code null}を与えた場合
+	 * @see MoneyFormatter#parse(String)
+	 * @since 2.19
+	 */
+	public static Money parse(String text, Locale locale) throws ParseException {
+		Preconditions.checkNotNull(text);
+		if (locale == null) {
+			locale = Locale.getDefault();
+		}
+		return MoneyFormatter.of(locale).parse(text);
+	}
+	
 	/**
 	 * {@link Collection}に含む全ての金額の合計金額を返す。
 	 * 
@@ -160,6 +183,10 @@ public class Money implements Comparable<Money>, Serializable {
 		Preconditions.checkNotNull(currency);
 		Preconditions.checkNotNull(rawAmount);
 		BigDecimal amount = rawAmount.setScale(currency.getDefaultFractionDigits(), roundingMode);
+		Money cached = MoneyCache.get(amount, currency);
+		if (cached != null) {
+			return cached;
+		}
 		return new Money(amount, currency);
 	}
 	
@@ -232,7 +259,7 @@ public class Money implements Comparable<Money>, Serializable {
 	 */
 	public static Money zero(Currency currency) {
 		Preconditions.checkNotNull(currency);
-		return Money.valueOf(0.0, currency);
+		return Money.valueOf(BigDecimal.ZERO, currency);
 	}
 	
 	
@@ -291,6 +318,23 @@ public class Money implements Comparable<Money>, Serializable {
 		return Money.valueOf(newAmount, currency);
 	}
 	
+	/**
+	 * この金額に対して、指定した{@code ratio}の割合の金額を返す。
+	 * 
+	 * <p>丸めモードは{@code context}の丸めモードを適用する。</p>
+	 * 
+	 * @param ratio 割合
+	 * @param context 演算コンテキスト
+	 * @return 指定した割合の金額
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public Money applying(Ratio ratio, MoneyContext context) {
+		Preconditions.checkNotNull(ratio);
+		Preconditions.checkNotNull(context);
+		return applying(ratio, context.scale(currency), context.getRoundingMode());
+	}
+	
 	/**
 	 * この金額に対して、指定した{@code ratio}の割合の金額を返す。
 	 * 
@@ -379,6 +423,23 @@ public class Money implements Comparable<Money>, Serializable {
 		return Money.valueOf(newAmount, currency);
 	}
 	
+	/**
+	 * この金額を、{@code divisor}個に均等に分割した場合の金額を返す。
+	 * 
+	 * <p>丸めモードは{@code context}の丸めモードを適用する。</p>
+	 * 
+	 * @param divisor 除数
+	 * @param context 演算コンテキスト
+	 * @return 金額
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public Money dividedBy(BigDecimal divisor, MoneyContext context) {
+		Preconditions.checkNotNull(divisor);
+		Preconditions.checkNotNull(context);
+		return context.valueOf(amount.divide(divisor, context.getRoundingMode()), currency);
+	}
+	
 	/**
 	 * この金額を、{@code divisor}個に均等に分割した場合の金額を返す。
 	 * 
@@ -493,7 +554,7 @@ public class Money implements Comparable<Money>, Serializable {
 	 * @since 1.0
 	 */
 	public boolean isNegative() {
-		return amount.compareTo(BigDecimal.ZERO) < 0;
+		return amount.signum() < 0;
 	}
 	
 	/**
@@ -505,7 +566,7 @@ public class Money implements Comparable<Money>, Serializable {
 	 * @since 1.0
 	 */
 	public boolean isPositive() {
-		return amount.compareTo(BigDecimal.ZERO) > 0;
+		return amount.signum() > 0;
 	}
 	
 	/**
@@ -515,7 +576,7 @@ public class Money implements Comparable<Money>, Serializable {
 	 * @since 1.0
 	 */
 	public boolean isZero() {
-		return equals(Money.valueOf(0.0, currency));
+		return amount.signum() == 0;
 	}
 	
 	/**
@@ -590,6 +651,23 @@ public class Money implements Comparable<Money>, Serializable {
 		return times(factor, DEFAULT_ROUNDING_MODE);
 	}
 	
+	/**
+	 * この金額に{@code factor}を掛けた金額を返す。
+	 * 
+	 * <p>丸めモードは{@code context}の丸めモードを適用する。</p>
+	 * 
+	 * @param factor 係数
+	 * @param context 演算コンテキスト
+	 * @return 掛けた金額
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public Money times(BigDecimal factor, MoneyContext context) {
+		Preconditions.checkNotNull(factor);
+		Preconditions.checkNotNull(context);
+		return context.valueOf(amount.multiply(factor), currency);
+	}
+	
 	/**
 	 * この金額に{@code factor}を掛けた金額を返す。
 	 * 
@@ -650,7 +728,7 @@ public class Money implements Comparable<Money>, Serializable {
 	
 	@Override
 	public String toString() {
-		return currency.getSymbol() + " " + amount;
+		return MoneyFormatter.of(Locale.getDefault(Locale.Category.DISPLAY)).format(this);
 	}
 	
 	/**
@@ -665,7 +743,7 @@ public class Money implements Comparable<Money>, Serializable {
 			locale = Locale.getDefault();
 		}
 		Preconditions.checkNotNull(locale);
-		return currency.getSymbol(locale) + " " + amount;
+		return MoneyFormatter.of(locale).format(this);
 	}
 	
 //	BigDecimal getAmount() {
@@ -701,8 +779,7 @@ public class Money implements Comparable<Money>, Serializable {
 	 * @return 最小の単位金額
 	 */
 	Money minimumIncrement() {
-		BigDecimal increment = BigDecimal.ONE.movePointLeft(currency.getDefaultFractionDigits());
-		return Money.valueOf(increment, currency);
+		return MoneyContext.DEFAULT.minimumIncrement(currency);
 	}
 	
 	private void checkHasSameCurrencyAs(Money aMoney) {
@@ -711,6 +788,10 @@ public class Money implements Comparable<Money>, Serializable {
 		}
 	}
 	
+	private Object writeReplace() {
+		return new Ser(this);
+	}
+	
 //  TODO: Provide some currency-dependent formatting. Java 1.4 Currency doesn't do it.
 //  public String formatString() {
 //      return currency.formatString(amount());
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.money;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * 頻出する金額の{@link Money}インスタンスを通貨単位毎に共有するためのキャッシュ。
+ * 
+ * <p>既定では何もキャッシュしない。{@link #enable(Money, Money)}で通貨単位毎の範囲を登録すると、
+ * {@link Money#valueOf(BigDecimal, Currency)}等のファクトリメソッドや、
+ * {@link Money#plus(Money)}等の演算の結果がその範囲に収まる場合に、共有のインスタンスを返すようになる。
+ * {@link Money}は不変であるため、共有しても振る舞いは変わらない。ただし、同一性（{@code ==}）に
+ * 依存するコードの振る舞いは変わり得る。</p>
+ * 
+ * <p>このクラスはスレッドセーフである。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+public final class MoneyCache {
+	
+	/** 通貨単位あたりにキャッシュできる金額の数の上限 */
+	static final int MAX_ENTRIES = 1 << 20; // CHECKSTYLE IGNORE THIS LINE
+	
+	/** 通貨単位をキーとする、量をキーとした共有インスタンスの表 */
+	private static volatile Map<Currency, Map<BigDecimal, Money>> tables = Collections.emptyMap();
+	
+	
+	/**
+	 * 全ての通貨単位のキャッシュを無効にする。
+	 * 
+	 * @since 2.19
+	 */
+	public static synchronized void disableAll() {
+		tables = Collections.emptyMap();
+	}
+	
+	/**
+	 * 指定した通貨単位のキャッシュを無効にする。
+	 * 
+	 * @param currency 通貨単位
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public static synchronized void disable(Currency currency) {
+		Preconditions.checkNotNull(currency);
+		if (tables.containsKey(currency)) {
+			Map<Currency, Map<BigDecimal, Money>> copy = new HashMap<Currency, Map<BigDecimal, Money>>(tables);
+			copy.remove(currency);
+			tables = copy.isEmpty() ? Collections.<Currency, Map<BigDecimal, Money>> emptyMap() : copy;
+		}
+	}
+	
+	/**
+	 * {@code lower}から{@code upper}まで（両端を含む）の、最小単位刻みの全ての金額をキャッシュする。
+	 * 
+	 * <p>同じ通貨単位について既に範囲が登録されている場合は、その範囲を置き換える。</p>
+	 * 
+	 * @param lower 下限金額
+	 * @param upper 上限金額
+	 * @throws IllegalArgumentException 引数の通貨単位が異なる場合
+	 * @throws IllegalArgumentException {@code lower}が{@code upper}より大きい場合
+	 * @throws IllegalArgumentException 範囲に含む金額の数が{@value #MAX_ENTRIES}を超える場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public static synchronized void enable(Money lower, Money upper) {
+		Preconditions.checkNotNull(lower);
+		Preconditions.checkNotNull(upper);
+		Preconditions.checkArgument(lower.currency.equals(upper.currency), "currency mismatch: %s, %s", lower, upper);
+		Preconditions.checkArgument(lower.amount.compareTo(upper.amount) <= 0, "lower > upper: %s, %s", lower,
+				upper);
+		long first = lower.amount.unscaledValue().longValue();
+		long last = upper.amount.unscaledValue().longValue();
+		Preconditions.checkArgument(lower.amount.unscaledValue().bitLength() < Long.SIZE
+				&& upper.amount.unscaledValue().bitLength() < Long.SIZE
+				&& last - first >= 0 && last - first < MAX_ENTRIES, "too many entries: %s - %s", lower, upper);
+		
+		Currency currency = lower.currency;
+		int scale = currency.getDefaultFractionDigits();
+		int size = (int) (last - first + 1);
+		Map<BigDecimal, Money> table = new HashMap<BigDecimal, Money>(size * 4 / 3 + 1); // CHECKSTYLE IGNORE THIS LINE
+		for (long i = first; i <= last; i++) {
+			BigDecimal amount = BigDecimal.valueOf(i, scale);
+			table.put(amount, new Money(amount, currency));
+		}
+		
+		Map<Currency, Map<BigDecimal, Money>> copy = new HashMap<Currency, Map<BigDecimal, Money>>(tables);
+		copy.put(currency, table);
+		tables = copy;
+	}
+	
+	/**
+	 * キャッシュが有効な通貨単位かどうか調べる。
+	 * 
+	 * @param currency 通貨単位
+	 * @return キャッシュが有効な場合は{@code true}、そうでない場合は{@code false}
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public static boolean isEnabled(Currency currency) {
+		Preconditions.checkNotNull(currency);
+		return tables.containsKey(currency);
+	}
+	
+	/**
+	 * キャッシュ済みの金額を返す。
+	 * 
+	 * @param amount 量. スケールは通貨単位のfraction digitsと一致していなければならない
+	 * @param currency 通貨単位
+	 * @return キャッシュ済みの金額. キャッシュしていない場合は{@code null}
+	 */
+	static Money get(BigDecimal amount, Currency currency) {
+		Map<Currency, Map<BigDecimal, Money>> current = tables;
+		if (current.isEmpty()) {
+			return null;
+		}
+		Map<BigDecimal, Money> table = current.get(currency);
+		return table == null ? null : table.get(amount);
+	}
+	
+	private MoneyCache() {
+	}
+}
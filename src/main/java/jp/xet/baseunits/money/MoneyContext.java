@@ -0,0 +1,209 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * 金額の演算に用いる丸めモードと中間計算の精度、及び通貨単位毎のスケールと最小単位金額を保持する演算コンテキスト。
+ * 
+ * <p>通貨単位毎のスケールと最小単位金額は、利用可能な全ての通貨単位について一度だけ計算した不変の表から取得する。
+ * このため、{@link Currency#getDefaultFractionDigits()}の参照や最小単位金額の生成を演算の度に行わない。</p>
+ * 
+ * <p>このクラスは不変であり、スレッドセーフである。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+public final class MoneyContext {
+	
+	/** 既定の中間計算の追加桁数 */
+	static final int DEFAULT_INTERMEDIATE_DIGITS = 2;
+	
+	/** {@link Money}及び{@link Proration}の既定と同じ、丸めモード{@link RoundingMode#HALF_EVEN}の演算コンテキスト */
+	public static final MoneyContext DEFAULT = new MoneyContext(RoundingMode.HALF_EVEN, DEFAULT_INTERMEDIATE_DIGITS);
+	
+	/** 通貨単位毎のスケールと最小単位金額の表 */
+	private static final Map<Currency, CurrencyEntry> CURRENCIES;
+	
+	static {
+		Map<Currency, CurrencyEntry> map = new HashMap<Currency, CurrencyEntry>();
+		for (Currency currency : Currency.getAvailableCurrencies()) {
+			map.put(currency, new CurrencyEntry(currency));
+		}
+		CURRENCIES = Collections.unmodifiableMap(map);
+	}
+	
+	
+	/**
+	 * 演算コンテキストを返す。
+	 * 
+	 * @param roundingMode 丸めモード
+	 * @param intermediateDigits 中間計算において、金額の精度に追加する桁数
+	 * @return 演算コンテキスト
+	 * @throws IllegalArgumentException 引数{@code intermediateDigits}が負数の場合
+	 * @throws NullPointerException 引数{@code roundingMode}に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public static MoneyContext of(RoundingMode roundingMode, int intermediateDigits) {
+		Preconditions.checkNotNull(roundingMode);
+		Preconditions.checkArgument(intermediateDigits >= 0);
+		if (roundingMode == DEFAULT.roundingMode && intermediateDigits == DEFAULT.intermediateDigits) {
+			return DEFAULT;
+		}
+		return new MoneyContext(roundingMode, intermediateDigits);
+	}
+	
+	private static CurrencyEntry entry(Currency currency) {
+		CurrencyEntry entry = CURRENCIES.get(currency);
+		return entry != null ? entry : new CurrencyEntry(currency);
+	}
+	
+	
+	private final RoundingMode roundingMode;
+	
+	private final int intermediateDigits;
+	
+	
+	private MoneyContext(RoundingMode roundingMode, int intermediateDigits) {
+		this.roundingMode = roundingMode;
+		this.intermediateDigits = intermediateDigits;
+	}
+	
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj instanceof MoneyContext == false) {
+			return false;
+		}
+		MoneyContext other = (MoneyContext) obj;
+		return roundingMode == other.roundingMode && intermediateDigits == other.intermediateDigits;
+	}
+	
+	/**
+	 * 中間計算において、金額の精度に追加する桁数を返す。
+	 * 
+	 * @return 追加する桁数
+	 * @since 2.19
+	 */
+	public int getIntermediateDigits() {
+		return intermediateDigits;
+	}
+	
+	/**
+	 * 丸めモードを返す。
+	 * 
+	 * @return 丸めモード
+	 * @since 2.19
+	 */
+	public RoundingMode getRoundingMode() {
+		return roundingMode;
+	}
+	
+	@Override
+	public int hashCode() {
+		return roundingMode.hashCode() * 31 + intermediateDigits; // CHECKSTYLE IGNORE THIS LINE
+	}
+	
+	/**
+	 * 指定した金額を用いた中間計算に用いるスケールを返す。
+	 * 
+	 * @param money 金額
+	 * @return 中間計算のスケール
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public int intermediateScale(Money money) {
+		Preconditions.checkNotNull(money);
+		return money.amount.precision() + intermediateDigits;
+	}
+	
+	/**
+	 * 指定した通貨単位の最小単位金額を返す。
+	 * 
+	 * <p>例えば、日本円は1円であり、US$は1セント（つまり0.01ドル）である。</p>
+	 * 
+	 * @param currency 通貨単位
+	 * @return 最小単位金額
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public Money minimumIncrement(Currency currency) {
+		Preconditions.checkNotNull(currency);
+		return entry(currency).minimumIncrement;
+	}
+	
+	/**
+	 * 指定した通貨単位のスケールを返す。
+	 * 
+	 * @param currency 通貨単位
+	 * @return スケール
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public int scale(Currency currency) {
+		Preconditions.checkNotNull(currency);
+		return entry(currency).scale;
+	}
+	
+	@Override
+	public String toString() {
+		return "MoneyContext[" + roundingMode + ", +" + intermediateDigits + "]";
+	}
+	
+	/**
+	 * 量をこのコンテキストの丸めモードで通貨単位のスケールに丸めた金額を返す。
+	 * 
+	 * @param amount 量
+	 * @param currency 通貨単位
+	 * @return 金額
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public Money valueOf(BigDecimal amount, Currency currency) {
+		Preconditions.checkNotNull(amount);
+		Preconditions.checkNotNull(currency);
+		BigDecimal scaled = amount.setScale(entry(currency).scale, roundingMode);
+		Money cached = MoneyCache.get(scaled, currency);
+		return cached != null ? cached : new Money(scaled, currency);
+	}
+	
+	
+	/**
+	 * 通貨単位毎のスケールと最小単位金額。
+	 */
+	private static final class CurrencyEntry {
+		
+		final int scale;
+		
+		final Money minimumIncrement;
+		
+		
+		CurrencyEntry(Currency currency) {
+			scale = currency.getDefaultFractionDigits();
+			minimumIncrement = new Money(BigDecimal.valueOf(1, scale), currency);
+		}
+	}
+}
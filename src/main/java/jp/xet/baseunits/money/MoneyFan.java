@@ -18,9 +18,11 @@ package jp.xet.baseunits.money;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import com.google.common.base.Preconditions;
@@ -28,13 +30,29 @@ import com.google.common.base.Preconditions;
 /**
  * 割り当ての集合。
  * 
+ * <p>割り当ては割り当て対象をキーとするハッシュ表で保持するため、{@link #allotment(Object)}は定数時間で、
+ * {@link #plus(MoneyFan)}及び{@link #minus(MoneyFan)}は両者の要素数の和に比例する時間で計算する。
+ * 多数の{@link MoneyFan}を合算する場合は、{@link MoneyFanBuilder}を利用すること。</p>
+ * 
  * @param <T> 割り当て対象
  * @author daisuke
  * @since 1.0
  */
 public class MoneyFan<T> implements Iterable<Allotment<T>> {
 	
-	private Set<Allotment<T>> allotments;
+	/**
+	 * 指定した数の要素を再ハッシュせずに保持できる{@link HashMap}の初期容量を返す。
+	 * 
+	 * @param size 要素数
+	 * @return 初期容量
+	 */
+	static int capacity(int size) {
+		return Math.max(size + size / 3 + 1, 16); // CHECKSTYLE IGNORE THIS LINE
+	}
+	
+	
+	/** 割り当て対象をキーとする割り当て */
+	private final Map<T, Allotment<T>> allotments;
 	
 	
 	/**
@@ -42,9 +60,8 @@ public class MoneyFan<T> implements Iterable<Allotment<T>> {
 	 * 
 	 * @since 1.0
 	 */
-	@SuppressWarnings("unchecked")
 	public MoneyFan() {
-		this.allotments = Collections.EMPTY_SET;
+		this.allotments = Collections.emptyMap();
 	}
 	
 	/**
@@ -56,15 +73,18 @@ public class MoneyFan<T> implements Iterable<Allotment<T>> {
 	 */
 	public MoneyFan(Allotment<T> allotment) {
 		Preconditions.checkNotNull(allotment);
-		this.allotments = new HashSet<Allotment<T>>();
-		this.allotments.add(allotment);
+		this.allotments = Collections.singletonMap(allotment.entity, allotment);
 	}
 	
 	/**
 	 * インスタンスを生成する。
 	 * 
+	 * <p>同じ割り当て対象に対する割り当てが複数ある場合、{@link Set}の仕様と同様に等価な割り当ての重複を排除した上で、
+	 * 残った割り当ての割当額を合計した1つの割り当てとする。</p>
+	 * 
 	 * @param allotments 割り当ての集合。 {@link Set}の仕様と同様、重複は排除される。
 	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @throws ClassCastException 同じ割り当て対象に対する割り当ての通貨単位が異なる場合
 	 * @since 1.0
 	 */
 	public MoneyFan(Collection<Allotment<T>> allotments) {
@@ -72,11 +92,41 @@ public class MoneyFan<T> implements Iterable<Allotment<T>> {
 		for (Allotment<T> allotment : allotments) {
 			Preconditions.checkNotNull(allotment);
 		}
-		Set<Allotment<T>> setOfAllotments = new HashSet<Allotment<T>>();
+		Map<T, Allotment<T>> map = new HashMap<T, Allotment<T>>(capacity(allotments.size()));
+		Set<Allotment<T>> duplicates = null;
 		for (Allotment<T> allotment : allotments) {
-			setOfAllotments.add(allotment);
+			Allotment<T> existing = map.put(allotment.entity, allotment);
+			if (existing != null && existing.equals(allotment) == false) {
+				if (duplicates == null) {
+					duplicates = new HashSet<Allotment<T>>();
+				}
+				duplicates.add(existing);
+				duplicates.add(allotment);
+			}
+		}
+		if (duplicates != null) {
+			// 等価な割り当てを排除した後、同じ割り当て対象に対する割り当てを合計する
+			for (Allotment<T> allotment : duplicates) {
+				map.remove(allotment.entity);
+			}
+			for (Allotment<T> allotment : duplicates) {
+				Allotment<T> existing = map.get(allotment.entity);
+				map.put(allotment.entity, existing == null ? allotment
+						: new Allotment<T>(allotment.entity, existing.amount.plus(allotment.amount)));
+			}
 		}
-		this.allotments = setOfAllotments;
+		this.allotments = map;
+	}
+	
+	/**
+	 * インスタンスを生成する。
+	 * 
+	 * <p>引数に与えた{@link Map}は複製せずに保持するため、呼び出し側はこれ以降変更してはならない。</p>
+	 * 
+	 * @param allotments 割り当て対象をキーとする割り当て
+	 */
+	MoneyFan(Map<T, Allotment<T>> allotments) {
+		this.allotments = allotments;
 	}
 	
 	/**
@@ -87,12 +137,7 @@ public class MoneyFan<T> implements Iterable<Allotment<T>> {
 	 * @since 1.0
 	 */
 	public Allotment<T> allotment(T anEntity) {
-		for (Allotment<T> allotment : allotments) {
-			if (allotment.entity.equals(anEntity)) {
-				return allotment;
-			}
-		}
-		return null;
+		return allotments.get(anEntity);
 	}
 	
 	@Override
@@ -115,12 +160,17 @@ public class MoneyFan<T> implements Iterable<Allotment<T>> {
 	
 	@Override
 	public int hashCode() {
-		return allotments.hashCode();
+		// 割り当ての集合としてのハッシュ値（Set#hashCode()の規約）
+		int result = 0;
+		for (Allotment<T> allotment : allotments.values()) {
+			result += allotment.hashCode();
+		}
+		return result;
 	}
 	
 	@Override
 	public Iterator<Allotment<T>> iterator() {
-		return allotments.iterator();
+		return Collections.unmodifiableCollection(allotments.values()).iterator();
 	}
 	
 	/**
@@ -133,7 +183,7 @@ public class MoneyFan<T> implements Iterable<Allotment<T>> {
 	 */
 	public MoneyFan<T> minus(MoneyFan<T> subtracted) {
 		Preconditions.checkNotNull(subtracted);
-		return plus(subtracted.negated());
+		return merge(subtracted, true);
 	}
 	
 	/**
@@ -144,9 +194,9 @@ public class MoneyFan<T> implements Iterable<Allotment<T>> {
 	 * @since 1.0
 	 */
 	public MoneyFan<T> negated() {
-		Set<Allotment<T>> negatedAllotments = new HashSet<Allotment<T>>();
-		for (Allotment<T> allotment : allotments) {
-			negatedAllotments.add(allotment.negated());
+		Map<T, Allotment<T>> negatedAllotments = new HashMap<T, Allotment<T>>(capacity(allotments.size()));
+		for (Allotment<T> allotment : allotments.values()) {
+			negatedAllotments.put(allotment.entity, allotment.negated());
 		}
 		return new MoneyFan<T>(negatedAllotments);
 	}
@@ -163,30 +213,22 @@ public class MoneyFan<T> implements Iterable<Allotment<T>> {
 	 */
 	public MoneyFan<T> plus(MoneyFan<T> added) {
 		Preconditions.checkNotNull(added);
-		Set<T> allEntities = new HashSet<T>();
-		for (Allotment<T> allotment : allotments) {
-			allEntities.add(allotment.entity);
-		}
-		for (Allotment<T> allotment : added.allotments) {
-			allEntities.add(allotment.entity);
-		}
-		Set<Allotment<T>> summedAllotments = new HashSet<Allotment<T>>();
-		for (T entity : allEntities) {
-			if (this.allotment(entity) == null) {
-				summedAllotments.add(added.allotment(entity));
-			} else if (added.allotment(entity) == null) {
-				summedAllotments.add(this.allotment(entity));
-			} else {
-				Money sum = this.allotment(entity).amount.plus(added.allotment(entity).amount);
-				summedAllotments.add(new Allotment<T>(entity, sum));
-			}
-		}
-		return new MoneyFan<T>(summedAllotments).withoutZeros();
+		return merge(added, false);
+	}
+	
+	/**
+	 * 割り当ての数を返す。
+	 * 
+	 * @return 割り当ての数
+	 * @since 2.19
+	 */
+	public int size() {
+		return allotments.size();
 	}
 	
 	@Override
 	public String toString() {
-		return allotments.toString();
+		return allotments.values().toString();
 	}
 	
 	/**
@@ -200,27 +242,47 @@ public class MoneyFan<T> implements Iterable<Allotment<T>> {
 	}
 	
 	private Tally asTally() {
-		List<Money> moneies = new ArrayList<Money>();
-		for (Allotment<T> allotment : allotments) {
+		List<Money> moneies = new ArrayList<Money>(allotments.size());
+		for (Allotment<T> allotment : allotments.values()) {
 			moneies.add(allotment.amount);
 		}
 		return new Tally(moneies);
 	}
 	
 	/**
-	 * このインスタンスが保持する {@link Allotment} のうち、割り当て金額が{@code 0}であるものを取り除いた
-	 * 新しい {@link MoneyFan}を返す。
+	 * この{@link MoneyFan}と{@code other}を、割り当て対象毎にマージした新しい{@link MoneyFan}を返す。
 	 * 
+	 * <p>割当額が0となった{@link Allotment}は取り除く。</p>
+	 * 
+	 * @param other {@link MoneyFan}
+	 * @param subtract {@code other}の割当額を引く場合は{@code true}、足す場合は{@code false}
 	 * @return {@link MoneyFan}
-	 * @since 1.0
 	 */
-	private MoneyFan<T> withoutZeros() {
-		Set<Allotment<T>> nonZeroAllotments = new HashSet<Allotment<T>>();
-		for (Allotment<T> allotment : allotments) {
-			if (allotment.breachEncapsulationOfAmount().isZero() == false) {
-				nonZeroAllotments.add(allotment);
+	private MoneyFan<T> merge(MoneyFan<T> other, boolean subtract) {
+		Map<T, Allotment<T>> merged = new HashMap<T, Allotment<T>>(capacity(allotments.size() + other.allotments.size()));
+		for (Allotment<T> allotment : allotments.values()) {
+			if (allotment.amount.amount.signum() != 0) {
+				merged.put(allotment.entity, allotment);
+			}
+		}
+		for (Allotment<T> allotment : other.allotments.values()) {
+			Allotment<T> existing = allotments.get(allotment.entity);
+			Money amount;
+			if (existing == null) {
+				amount = subtract ? allotment.amount.negated() : allotment.amount;
+			} else if (subtract) {
+				amount = existing.amount.minus(allotment.amount);
+			} else {
+				amount = existing.amount.plus(allotment.amount);
+			}
+			if (amount.amount.signum() == 0) {
+				merged.remove(allotment.entity);
+			} else if (existing == null && subtract == false) {
+				merged.put(allotment.entity, allotment);
+			} else {
+				merged.put(allotment.entity, new Allotment<T>(allotment.entity, amount));
 			}
 		}
-		return new MoneyFan<T>(nonZeroAllotments);
+		return new MoneyFan<T>(merged);
 	}
 }
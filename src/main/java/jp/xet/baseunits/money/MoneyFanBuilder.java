@@ -0,0 +1,221 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.money;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * 多数の割り当てを合算して{@link MoneyFan}を構築するビルダ。
+ * 
+ * <p>割当額は割り当て対象毎に、通貨の最小単位で表した{@code long}として可変のまま合算する。
+ * {@link MoneyFan#plus(MoneyFan)}を繰り返す場合と異なり、中間の{@link MoneyFan}や{@link Money}を生成しない。
+ * 合計が{@code long}の範囲を超えた割り当て対象についてのみ、{@link BigInteger}で合算する。</p>
+ * 
+ * <p>このクラスはスレッドセーフではない。</p>
+ * 
+ * @param <T> 割り当て対象
+ * @author daisuke
+ * @since 2.19
+ */
+public final class MoneyFanBuilder<T> {
+	
+	private final Map<T, Entry> entries = new HashMap<T, Entry>();
+	
+	
+	/**
+	 * 割り当てを加える。
+	 * 
+	 * @param allotment 割り当て
+	 * @return このビルダ
+	 * @throws ClassCastException 同じ割り当て対象に対する割当額の通貨単位が異なる場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public MoneyFanBuilder<T> add(Allotment<T> allotment) {
+		Preconditions.checkNotNull(allotment);
+		accumulate(allotment.entity, allotment.amount, false);
+		return this;
+	}
+	
+	/**
+	 * {@link MoneyFan}の全ての割り当てを加える。
+	 * 
+	 * @param fan {@link MoneyFan}
+	 * @return このビルダ
+	 * @throws ClassCastException 同じ割り当て対象に対する割当額の通貨単位が異なる場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public MoneyFanBuilder<T> add(MoneyFan<T> fan) {
+		Preconditions.checkNotNull(fan);
+		for (Allotment<T> allotment : fan) {
+			accumulate(allotment.entity, allotment.amount, false);
+		}
+		return this;
+	}
+	
+	/**
+	 * 割り当てを加える。
+	 * 
+	 * @param entity 割り当て対象
+	 * @param amount 割当額
+	 * @return このビルダ
+	 * @throws ClassCastException 同じ割り当て対象に対する割当額の通貨単位が異なる場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public MoneyFanBuilder<T> add(T entity, Money amount) {
+		Preconditions.checkNotNull(entity);
+		Preconditions.checkNotNull(amount);
+		accumulate(entity, amount, false);
+		return this;
+	}
+	
+	/**
+	 * 合算した割り当てから、割当額が0のものを除いた{@link MoneyFan}を構築する。
+	 * 
+	 * <p>構築後もこのビルダは引き続き使用できる。</p>
+	 * 
+	 * @return {@link MoneyFan}
+	 * @since 2.19
+	 */
+	public MoneyFan<T> build() {
+		Map<T, Allotment<T>> allotments = new HashMap<T, Allotment<T>>(MoneyFan.capacity(entries.size()));
+		for (Map.Entry<T, Entry> e : entries.entrySet()) {
+			Entry entry = e.getValue();
+			if (entry.isZero() == false) {
+				allotments.put(e.getKey(), new Allotment<T>(e.getKey(), entry.toMoney()));
+			}
+		}
+		return new MoneyFan<T>(allotments);
+	}
+	
+	/**
+	 * 合算した割り当てを全て破棄する。
+	 * 
+	 * @return このビルダ
+	 * @since 2.19
+	 */
+	public MoneyFanBuilder<T> clear() {
+		entries.clear();
+		return this;
+	}
+	
+	/**
+	 * 割り当てを合算した割り当て対象の数を返す。割当額が0となった割り当て対象も含む。
+	 * 
+	 * @return 割り当て対象の数
+	 * @since 2.19
+	 */
+	public int size() {
+		return entries.size();
+	}
+	
+	/**
+	 * {@link MoneyFan}の全ての割り当てを引く。
+	 * 
+	 * @param fan {@link MoneyFan}
+	 * @return このビルダ
+	 * @throws ClassCastException 同じ割り当て対象に対する割当額の通貨単位が異なる場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public MoneyFanBuilder<T> subtract(MoneyFan<T> fan) {
+		Preconditions.checkNotNull(fan);
+		for (Allotment<T> allotment : fan) {
+			accumulate(allotment.entity, allotment.amount, true);
+		}
+		return this;
+	}
+	
+	@Override
+	public String toString() {
+		return build().toString();
+	}
+	
+	private void accumulate(T entity, Money amount, boolean subtract) {
+		Entry entry = entries.get(entity);
+		if (entry == null) {
+			entry = new Entry(amount.currency);
+			entries.put(entity, entry);
+		} else if (entry.currency.equals(amount.currency) == false) {
+			if (entry.isZero() == false) {
+				throw new ClassCastException(amount + " is not same currency as " + entry.toMoney());
+			}
+			// 合計が0となった割り当ては取り除かれるため、MoneyFan#plus(MoneyFan)と同様に異なる通貨単位を受け入れる
+			entry = new Entry(amount.currency);
+			entries.put(entity, entry);
+		}
+		entry.add(amount.amount.unscaledValue(), subtract);
+	}
+	
+	
+	/**
+	 * 割り当て対象毎の合計額。
+	 */
+	private static final class Entry {
+		
+		final Currency currency;
+		
+		/** 通貨の最小単位で表した合計額 */
+		long minorUnits;
+		
+		/** 合計額が{@code long}の範囲を超えた場合の合計額. 超えていない場合は{@code null} */
+		BigInteger bigMinorUnits;
+		
+		
+		Entry(Currency currency) {
+			this.currency = currency;
+		}
+		
+		void add(BigInteger value, boolean subtract) {
+			if (bigMinorUnits == null && value.bitLength() < Long.SIZE) {
+				long v = value.longValue();
+				long result = subtract ? minorUnits - v : minorUnits + v;
+				// 桁あふれの検出（Math#addExact()と同様）
+				boolean overflow = subtract ? ((minorUnits ^ v) & (minorUnits ^ result)) < 0
+						: ((minorUnits ^ result) & (v ^ result)) < 0;
+				if (overflow == false) {
+					minorUnits = result;
+					return;
+				}
+			}
+			BigInteger current = bigMinorUnits != null ? bigMinorUnits : BigInteger.valueOf(minorUnits);
+			bigMinorUnits = subtract ? current.subtract(value) : current.add(value);
+			if (bigMinorUnits.bitLength() < Long.SIZE) {
+				minorUnits = bigMinorUnits.longValue();
+				bigMinorUnits = null;
+			}
+		}
+		
+		boolean isZero() {
+			return bigMinorUnits == null && minorUnits == 0;
+		}
+		
+		Money toMoney() {
+			int scale = currency.getDefaultFractionDigits();
+			BigDecimal amount = bigMinorUnits != null ? new BigDecimal(bigMinorUnits, scale)
+					: BigDecimal.valueOf(minorUnits, scale);
+			return new Money(amount, currency);
+		}
+	}
+}
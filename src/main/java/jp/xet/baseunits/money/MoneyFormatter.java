@@ -0,0 +1,218 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.money;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.text.ParseException;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * 指定したロケールにおける、単位つきの金額表現を扱うフォーマッタ。
+ * 
+ * <p>書式は{@link Money#toString(Locale)}と同じく、通貨記号と量を空白で区切ったものである。
+ * 通貨記号は通貨単位毎にキャッシュするため、{@link Currency#getSymbol(Locale)}による
+ * ロケール情報の検索は通貨単位毎に一度しか行わない。</p>
+ * 
+ * <p>このクラスはスレッドセーフである。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+public final class MoneyFormatter {
+	
+	private static final ConcurrentMap<Locale, MoneyFormatter> INSTANCES =
+			new ConcurrentHashMap<Locale, MoneyFormatter>();
+	
+	
+	/**
+	 * 指定したロケールのフォーマッタを返す。
+	 * 
+	 * @param locale ロケール
+	 * @return フォーマッタ
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public static MoneyFormatter of(Locale locale) {
+		Preconditions.checkNotNull(locale);
+		MoneyFormatter formatter = INSTANCES.get(locale);
+		if (formatter == null) {
+			MoneyFormatter created = new MoneyFormatter(locale);
+			formatter = INSTANCES.putIfAbsent(locale, created);
+			if (formatter == null) {
+				formatter = created;
+			}
+		}
+		return formatter;
+	}
+	
+	
+	private final Locale locale;
+	
+	private final ConcurrentMap<Currency, String> symbols = new ConcurrentHashMap<Currency, String>();
+	
+	/** 通貨記号または通貨コードから通貨単位への索引. 未構築の場合は{@code null} */
+	private volatile Map<String, Currency> currencies;
+	
+	
+	private MoneyFormatter(Locale locale) {
+		this.locale = locale;
+	}
+	
+	/**
+	 * 金額を文字列に変換する。
+	 * 
+	 * @param money 金額
+	 * @return 金額の文字列表現
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public String format(Money money) {
+		Preconditions.checkNotNull(money);
+		String symbol = symbol(money.currency);
+		String amount = money.amount.toString();
+		return new StringBuilder(symbol.length() + 1 + amount.length())
+			.append(symbol).append(' ').append(amount).toString();
+	}
+	
+	/**
+	 * 金額の文字列表現を{@link Appendable}に書き出す。
+	 * 
+	 * @param <A> {@link Appendable}の型
+	 * @param money 金額
+	 * @param appendable 書き出し先
+	 * @return 引数{@code appendable}
+	 * @throws IOException 書き出しに失敗した場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public <A extends Appendable>A formatTo(Money money, A appendable) throws IOException {
+		Preconditions.checkNotNull(money);
+		Preconditions.checkNotNull(appendable);
+		appendable.append(symbol(money.currency)).append(' ').append(money.amount.toString());
+		return appendable;
+	}
+	
+	/**
+	 * 金額の文字列表現を{@link StringBuilder}に書き出す。
+	 * 
+	 * @param money 金額
+	 * @param builder 書き出し先
+	 * @return 引数{@code builder}
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public StringBuilder formatTo(Money money, StringBuilder builder) {
+		Preconditions.checkNotNull(money);
+		Preconditions.checkNotNull(builder);
+		return builder.append(symbol(money.currency)).append(' ').append(money.amount.toString());
+	}
+	
+	/**
+	 * このフォーマッタのロケールを返す。
+	 * 
+	 * @return ロケール
+	 * @since 2.19
+	 */
+	public Locale getLocale() {
+		return locale;
+	}
+	
+	/**
+	 * 金額の文字列表現を解析する。
+	 * 
+	 * <p>{@link #format(Money)}の逆変換である。通貨記号の代わりにISO 4217の通貨コードも受け付ける。
+	 * このロケールにおいて複数の通貨単位が同じ通貨記号を持つ場合、その通貨記号は解析できない。</p>
+	 * 
+	 * @param text 金額の文字列表現
+	 * @return 金額
+	 * @throws ParseException 引数の解析に失敗した場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public Money parse(String text) throws ParseException {
+		Preconditions.checkNotNull(text);
+		int separator = text.lastIndexOf(' ');
+		if (separator <= 0) {
+			throw new ParseException("Unparseable money: \"" + text + "\"", 0);
+		}
+		Currency currency = currencies().get(text.substring(0, separator).trim());
+		if (currency == null) {
+			throw new ParseException("Unknown currency: \"" + text + "\"", 0);
+		}
+		try {
+			return Money.valueOf(new BigDecimal(text.substring(separator + 1)), currency);
+		} catch (NumberFormatException e) {
+			throw new ParseException("Unparseable amount: \"" + text + "\"", separator + 1);
+		} catch (ArithmeticException e) {
+			throw new ParseException("Amount exceeds the scale of " + currency + ": \"" + text + "\"",
+					separator + 1);
+		}
+	}
+	
+	@Override
+	public String toString() {
+		return "MoneyFormatter[" + locale + "]";
+	}
+	
+	private Map<String, Currency> currencies() {
+		Map<String, Currency> result = currencies;
+		if (result == null) {
+			Set<Currency> available = Currency.getAvailableCurrencies();
+			Map<String, Currency> map = new HashMap<String, Currency>();
+			for (Currency currency : available) {
+				map.put(currency.getCurrencyCode(), currency);
+			}
+			Set<String> ambiguous = new HashSet<String>();
+			Map<String, Currency> bySymbol = new HashMap<String, Currency>();
+			for (Currency currency : available) {
+				String symbol = symbol(currency);
+				if (map.containsKey(symbol)) {
+					continue;
+				}
+				if (bySymbol.containsKey(symbol)) {
+					ambiguous.add(symbol);
+				} else {
+					bySymbol.put(symbol, currency);
+				}
+			}
+			bySymbol.keySet().removeAll(ambiguous);
+			map.putAll(bySymbol);
+			result = Collections.unmodifiableMap(map);
+			currencies = result;
+		}
+		return result;
+	}
+	
+	private String symbol(Currency currency) {
+		String symbol = symbols.get(currency);
+		if (symbol == null) {
+			symbol = currency.getSymbol(locale);
+			symbols.putIfAbsent(currency, symbol);
+		}
+		return symbol;
+	}
+}
@@ -79,6 +79,23 @@ public class MoneyTimeRate {
 		return rate;
 	}
 	
+	/**
+	 * 丸めモードを固定して、この割合を繰り返し適用するための{@link CompiledMoneyTimeRate}を返す。
+	 * 
+	 * <p>{@link CompiledMoneyTimeRate}による計算結果は、{@link #over(Duration, RoundingMode)}と一致する。</p>
+	 * 
+	 * @param roundingMode 丸めモード
+	 * @return {@link CompiledMoneyTimeRate}
+	 * @throws ArithmeticException 単位時間の長さが0の場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public CompiledMoneyTimeRate compile(RoundingMode roundingMode) {
+		Preconditions.checkNotNull(roundingMode);
+		return new CompiledMoneyTimeRate(rate.breachEncapsulationOfQuantity(), currency, rate.breachEncapsulationOfUnit(),
+				roundingMode);
+	}
+	
 	@Override
 	public boolean equals(Object obj) {
 		if (this == obj) {
@@ -122,6 +139,23 @@ public class MoneyTimeRate {
 		return over(duration, RoundingMode.UNNECESSARY);
 	}
 	
+	/**
+	 * 時間量に対してこの割合を適用した場合の金額を返す。
+	 * 
+	 * <p>通貨単位のスケールに、{@code context}の丸めモードで丸める。</p>
+	 * 
+	 * @param duration 時間量
+	 * @param context 演算コンテキスト
+	 * @return 金額
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public Money over(Duration duration, MoneyContext context) {
+		Preconditions.checkNotNull(duration);
+		Preconditions.checkNotNull(context);
+		return context.valueOf(rate.over(duration, context.scale(currency), context.getRoundingMode()), currency);
+	}
+	
 	/**
 	 * 時間量に対してこの割合を適用した場合の金額を返す。
 	 * 
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.money;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * 通貨単位が混在する金額を、通貨単位毎に合算するクラス。
+ * 
+ * <p>{@link Tally}と異なり、通貨単位の異なる金額を加えることができる。金額は通貨単位毎に、
+ * 通貨の最小単位で表した{@code long}のセルに分散して加算するため、複数のスレッドから並行に
+ * {@link #add(Money)}しても競合しにくい。合計が{@code long}の範囲を超えた分は{@link java.math.BigInteger}で保持する。</p>
+ * 
+ * <p>このクラスはスレッドセーフである。ただし{@link #netByCurrency()}等の合計の取得は、
+ * 加算と並行して行われた場合にはその時点のスナップショットとはならない。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+public class MultiCurrencyTally {
+	
+	private final ConcurrentMap<Currency, MinorUnitCells> buckets = new ConcurrentHashMap<Currency, MinorUnitCells>();
+	
+	
+	/**
+	 * 金額を加える。
+	 * 
+	 * @param money 金額
+	 * @return このオブジェクト
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public MultiCurrencyTally add(Money money) {
+		Preconditions.checkNotNull(money);
+		bucket(money.currency).add(money.amount.unscaledValue());
+		return this;
+	}
+	
+	/**
+	 * 全ての金額を加える。
+	 * 
+	 * @param monies 金額の集合
+	 * @return このオブジェクト
+	 * @throws NullPointerException 引数またはその要素に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public MultiCurrencyTally addAll(Iterable<Money> monies) {
+		Preconditions.checkNotNull(monies);
+		for (Money money : monies) {
+			add(money);
+		}
+		return this;
+	}
+	
+	/**
+	 * 金額を加えたことのある通貨単位の集合を返す。
+	 * 
+	 * @return 通貨単位の集合
+	 * @since 2.19
+	 */
+	public Set<Currency> currencies() {
+		return Collections.unmodifiableSet(buckets.keySet());
+	}
+	
+	/**
+	 * 指定した通貨単位の合計金額を返す。
+	 * 
+	 * @param currency 通貨単位
+	 * @return 合計. 金額を加えたことのない通貨単位の場合は0
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public Money net(Currency currency) {
+		Preconditions.checkNotNull(currency);
+		MinorUnitCells bucket = buckets.get(currency);
+		if (bucket == null) {
+			return Money.valueOf(BigDecimal.ZERO, currency);
+		}
+		return new Money(bucket.sum(currency.getDefaultFractionDigits()), currency);
+	}
+	
+	/**
+	 * 通貨単位毎の合計金額を返す。
+	 * 
+	 * @return 通貨単位をキーとする合計の不変{@link Map}
+	 * @since 2.19
+	 */
+	public Map<Currency, Money> netByCurrency() {
+		Map<Currency, Money> result = new HashMap<Currency, Money>();
+		for (Map.Entry<Currency, MinorUnitCells> e : buckets.entrySet()) {
+			Currency currency = e.getKey();
+			result.put(currency, new Money(e.getValue().sum(currency.getDefaultFractionDigits()), currency));
+		}
+		return Collections.unmodifiableMap(result);
+	}
+	
+	/**
+	 * 通貨単位毎の合計金額を返し、全ての合計を0にする。
+	 * 
+	 * <p>通貨単位毎の合計は、取得とリセットの間に並行して加えられた金額を失わない。</p>
+	 * 
+	 * @return 通貨単位をキーとする合計の不変{@link Map}
+	 * @since 2.19
+	 */
+	public Map<Currency, Money> netByCurrencyThenReset() {
+		Map<Currency, Money> result = new HashMap<Currency, Money>();
+		for (Map.Entry<Currency, MinorUnitCells> e : buckets.entrySet()) {
+			Currency currency = e.getKey();
+			result.put(currency, new Money(e.getValue().sumThenReset(currency.getDefaultFractionDigits()), currency));
+		}
+		return Collections.unmodifiableMap(result);
+	}
+	
+	@Override
+	public String toString() {
+		return netByCurrency().values().toString();
+	}
+	
+	private MinorUnitCells bucket(Currency currency) {
+		MinorUnitCells bucket = buckets.get(currency);
+		if (bucket == null) {
+			MinorUnitCells created = new MinorUnitCells();
+			bucket = buckets.putIfAbsent(currency, created);
+			if (bucket == null) {
+				bucket = created;
+			}
+		}
+		return bucket;
+	}
+}
@@ -35,7 +35,8 @@ public final class Proration {
 	 * 
 	 * <p>但し、割り切れなかった分（余り）は、最小単位金額に分割し、配列の頭から順に上乗せする。</p>
 	 * 
-	 * <p>例えば、53円を5人で等分した場合は、<code>{11, 11, 11, 10, 10}</code>となる。</p>
+	 * <p>例えば、53円を5人で等分した場合は、<code>{11, 11, 11, 10, 10}</code>となる。合計金額が負の場合は、
+	 * 余りの分だけ配列の頭から順に最小単位金額を差し引き、-53円は<code>{-11, -11, -11, -10, -10}</code>となる。</p>
 	 * 
 	 * @param total 合計金額
 	 * @param n 分割数
@@ -45,13 +46,21 @@ public final class Proration {
 	 */
 	public static Money[] dividedEvenlyIntoParts(Money total, int n) {
 		Preconditions.checkNotNull(total);
-		Money lowResult = total.dividedBy(BigDecimal.valueOf(n), RoundingMode.DOWN);
-		Money[] lowResults = new Money[n];
+		Money increment = MoneyContext.DEFAULT.minimumIncrement(total.currency);
+		BigDecimal divisor = BigDecimal.valueOf(n);
+		Money lowResult = total.dividedBy(divisor, RoundingMode.DOWN);
+		BigDecimal remainder = total.amount.subtract(lowResult.amount.multiply(divisor));
+		int increments = remainder.divide(increment.amount).intValue();
+		assert Math.abs(increments) <= n;
+		
+		// 0方向に切り捨てるため、合計金額が負の場合は余りも負となり、最小単位金額を差し引く
+		Money raised = increments < 0 ? lowResult.minus(increment) : lowResult.plus(increment);
+		int raisedCount = Math.abs(increments);
+		Money[] results = new Money[n];
 		for (int i = 0; i < n; i++) {
-			lowResults[i] = lowResult;
+			results[i] = i < raisedCount ? raised : lowResult;
 		}
-		Money remainder = total.minus(sum(lowResults));
-		return distributeRemainderOver(lowResults, remainder);
+		return results;
 	}
 	
 	/**
@@ -82,8 +91,26 @@ public final class Proration {
 	public static Money partOfWhole(Money total, Ratio ratio) {
 		Preconditions.checkNotNull(total);
 		Preconditions.checkNotNull(ratio);
-		int scale = defaultScaleForIntermediateCalculations(total);
-		BigDecimal multiplier = ratio.decimalValue(scale, RoundingMode.DOWN);
+		return partOfWhole(total, ratio, MoneyContext.DEFAULT);
+	}
+	
+	/**
+	 * {@code total}のうち、{@code ratio}の割合の金額を返す。割り切れない場合は切り捨てる。
+	 * 
+	 * <p>割合は{@link MoneyContext#intermediateScale(Money)}のスケールで切り捨ててから適用する。</p>
+	 * 
+	 * @param total 合計額
+	 * @param ratio 割合
+	 * @param context 演算コンテキスト
+	 * @return 指定した割合の金額
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public static Money partOfWhole(Money total, Ratio ratio, MoneyContext context) {
+		Preconditions.checkNotNull(total);
+		Preconditions.checkNotNull(ratio);
+		Preconditions.checkNotNull(context);
+		BigDecimal multiplier = ratio.decimalValue(context.intermediateScale(total), RoundingMode.DOWN);
 		return total.times(multiplier, RoundingMode.DOWN);
 	}
 	
@@ -94,6 +121,8 @@ public final class Proration {
 	 * 
 	 * <p>例えば、52円を1:3:1で等分した場合は、<code>{11, 31, 10}</code>となる。</p>
 	 * 
+	 * <p>同じ比数の配列で多数の金額を配分する場合は、{@link BulkProration}を利用すること。</p>
+	 * 
 	 * @param total 合計金額
 	 * @param proportions 比数の配列
 	 * @return 分割結果
@@ -108,15 +137,7 @@ public final class Proration {
 			Preconditions.checkNotNull(proportion);
 		}
 		
-		Money[] simpleResult = new Money[proportions.length];
-		int scale = defaultScaleForIntermediateCalculations(total);
-		Ratio[] ratios = ratios(proportions);
-		for (int i = 0; i < ratios.length; i++) {
-			BigDecimal multiplier = ratios[i].decimalValue(scale, RoundingMode.DOWN);
-			simpleResult[i] = total.times(multiplier, RoundingMode.DOWN);
-		}
-		Money remainder = total.minus(sum(simpleResult));
-		return distributeRemainderOver(simpleResult, remainder);
+		return BulkProration.of(proportions).proratedOver(total);
 	}
 	
 	/**
@@ -135,11 +156,7 @@ public final class Proration {
 	public static Money[] proratedOver(Money total, long[] longProportions) {
 		Preconditions.checkNotNull(total);
 		Preconditions.checkNotNull(longProportions);
-		BigDecimal[] proportions = new BigDecimal[longProportions.length];
-		for (int i = 0; i < longProportions.length; i++) {
-			proportions[i] = BigDecimal.valueOf(longProportions[i]);
-		}
-		return proratedOver(total, proportions);
+		return BulkProration.of(longProportions).proratedOver(total);
 	}
 	
 	static Money[] distributeRemainderOver(Money[] amounts, Money remainder) {
@@ -213,10 +230,6 @@ public final class Proration {
 		return sum;
 	}
 	
-	private static int defaultScaleForIntermediateCalculations(Money total) {
-		return total.breachEncapsulationOfAmount().precision() + 2;
-	}
-	
 	private Proration() {
 	}
 	
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.money;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.StreamCorruptedException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Currency;
+
+/**
+ * {@link Money}のシリアライズ形式を表すプロキシ。
+ * 
+ * <p>通貨コードと、スケールを除いた金額（unscaled value）のみを書き出す。金額のスケールは常に通貨の
+ * fraction digitsと一致するため、書き出す必要はない。unscaled valueが{@code long}に収まらない場合に限り、
+ * {@link BigInteger}のバイト表現を書き出す。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+final class Ser implements Externalizable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	/** unscaled valueを{@code long}で表した{@link Money}を表す型 */
+	static final byte MONEY = 1;
+	
+	/** unscaled valueを{@link BigInteger}のバイト表現で表した{@link Money}を表す型 */
+	static final byte BIG_MONEY = 2;
+	
+	
+	private Money money;
+	
+	
+	/**
+	 * デシリアライズ用のインスタンスを生成する。
+	 * 
+	 * <p>{@link Externalizable}の規約により、公開された引数なしのコンストラクタが必要となる。</p>
+	 */
+	public Ser() {
+	}
+	
+	/**
+	 * インスタンスを生成する。
+	 * 
+	 * @param money シリアライズ対象の金額
+	 */
+	Ser(Money money) {
+		this.money = money;
+	}
+	
+	@Override
+	public void readExternal(ObjectInput in) throws IOException {
+		byte type = in.readByte();
+		try {
+			Currency currency = Currency.getInstance(in.readUTF());
+			BigInteger unscaled;
+			switch (type) {
+				case MONEY:
+					unscaled = BigInteger.valueOf(in.readLong());
+					break;
+				case BIG_MONEY: {
+					int length = in.readInt();
+					if (length <= 0) {
+						throw new StreamCorruptedException("illegal length: " + length);
+					}
+					byte[] bytes = new byte[length];
+					in.readFully(bytes);
+					unscaled = new BigInteger(bytes);
+					break;
+				}
+				default:
+					throw new StreamCorruptedException("unknown type: " + type);
+			}
+			money = new Money(new BigDecimal(unscaled, currency.getDefaultFractionDigits()), currency);
+		} catch (IllegalArgumentException e) {
+			throw (InvalidObjectException) new InvalidObjectException(e.getMessage()).initCause(e);
+		}
+	}
+	
+	@Override
+	public void writeExternal(ObjectOutput out) throws IOException {
+		BigInteger unscaled = money.amount.unscaledValue();
+		boolean small = unscaled.bitLength() < Long.SIZE;
+		out.writeByte(small ? MONEY : BIG_MONEY);
+		out.writeUTF(money.currency.getCurrencyCode());
+		if (small) {
+			out.writeLong(unscaled.longValue());
+		} else {
+			byte[] bytes = unscaled.toByteArray();
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		}
+	}
+	
+	/**
+	 * デシリアライズした金額を返す。
+	 * 
+	 * @return 金額
+	 */
+	private Object readResolve() {
+		return money;
+	}
+}
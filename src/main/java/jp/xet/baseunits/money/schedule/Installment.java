@@ -0,0 +1,113 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.money.schedule;
+
+import jp.xet.baseunits.money.Money;
+import jp.xet.baseunits.time.CalendarDate;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * 分割払いの1回分の支払いを表すクラス。
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+public final class Installment {
+	
+	final int number;
+	
+	final CalendarDate date;
+	
+	final Money amount;
+	
+	
+	/**
+	 * インスタンスを生成する。
+	 * 
+	 * @param number 支払回（1始まり）
+	 * @param date 支払日
+	 * @param amount 支払額
+	 * @throws IllegalArgumentException 引数{@code number}が1未満の場合
+	 * @throws NullPointerException 引数{@code date}または{@code amount}に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public Installment(int number, CalendarDate date, Money amount) {
+		Preconditions.checkArgument(number >= 1);
+		Preconditions.checkNotNull(date);
+		Preconditions.checkNotNull(amount);
+		this.number = number;
+		this.date = date;
+		this.amount = amount;
+	}
+	
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj instanceof Installment == false) {
+			return false;
+		}
+		Installment other = (Installment) obj;
+		return number == other.number && date.equals(other.date) && amount.equals(other.amount);
+	}
+	
+	/**
+	 * 支払額を返す。
+	 * 
+	 * @return 支払額
+	 * @since 2.19
+	 */
+	public Money getAmount() {
+		return amount;
+	}
+	
+	/**
+	 * 支払日を返す。
+	 * 
+	 * @return 支払日
+	 * @since 2.19
+	 */
+	public CalendarDate getDate() {
+		return date;
+	}
+	
+	/**
+	 * 支払回を返す。
+	 * 
+	 * @return 支払回（1始まり）
+	 * @since 2.19
+	 */
+	public int getNumber() {
+		return number;
+	}
+	
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + number;
+		result = prime * result + date.hashCode();
+		result = prime * result + amount.hashCode();
+		return result;
+	}
+	
+	@Override
+	public String toString() {
+		return "#" + number + " " + date + " " + amount;
+	}
+}
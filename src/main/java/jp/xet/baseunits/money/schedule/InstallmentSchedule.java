@@ -0,0 +1,275 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.money.schedule;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.stream.Stream;
+
+import jp.xet.baseunits.money.Money;
+import jp.xet.baseunits.time.BusinessCalendar;
+import jp.xet.baseunits.time.CalendarDate;
+import jp.xet.baseunits.time.CalendarInterval;
+import jp.xet.baseunits.time.spec.DateSpecification;
+import jp.xet.baseunits.time.spec.MonthlyFixedBusinessDateSpecification.Shifter;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * 元本を指定した回数に分けて支払う、分割払いの支払予定を表すクラス。
+ * 
+ * <p>各回の支払日は、期間内で暦日仕様を満たす暦日を先頭から順に割り当て、必要に応じて営業日に調整したものである。
+ * 各回の支払額は、{@link jp.xet.baseunits.money.Proration#dividedEvenlyIntoParts(Money, int)}と同じく、
+ * 元本を等分して割り切れなかった分を最小単位金額ずつ先頭の回から上乗せしたものである。</p>
+ * 
+ * <p>支払日は生成時に一度だけ計算し、{@link #withPrincipal(Money)}で生成した支払予定とも共有する。
+ * 支払額は2種類しかないため、これも生成時に計算する。このため、{@link #get(int)}や{@link #stream()}による
+ * 各回の支払いの取得は、回数によらず定数時間で行う。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+public final class InstallmentSchedule implements Iterable<Installment> {
+	
+	/**
+	 * 支払予定を生成する。支払日の営業日調整は行わない。
+	 * 
+	 * @param principal 元本
+	 * @param count 支払回数
+	 * @param spec 支払日の暦日仕様
+	 * @param interval 支払日を探す期間
+	 * @return 支払予定
+	 * @throws IllegalArgumentException 引数{@code count}が1未満の場合
+	 * @throws IllegalArgumentException 期間内で暦日仕様を満たす暦日が{@code count}に満たない場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public static InstallmentSchedule of(Money principal, int count, DateSpecification spec,
+			CalendarInterval interval) {
+		Preconditions.checkNotNull(principal);
+		Preconditions.checkNotNull(spec);
+		Preconditions.checkNotNull(interval);
+		Preconditions.checkArgument(count >= 1);
+		return new InstallmentSchedule(principal, dates(count, spec, interval, null, null));
+	}
+	
+	/**
+	 * 支払予定を生成する。
+	 * 
+	 * <p>暦日仕様を満たす暦日が非営業日である場合、{@code shifter}に従って前営業日または翌営業日を支払日とする。</p>
+	 * 
+	 * @param principal 元本
+	 * @param count 支払回数
+	 * @param spec 支払日の暦日仕様
+	 * @param interval 支払日を探す期間
+	 * @param cal 営業日カレンダー
+	 * @param shifter 支払日が非営業日の場合のシフト戦略
+	 * @return 支払予定
+	 * @throws IllegalArgumentException 引数{@code count}が1未満の場合
+	 * @throws IllegalArgumentException 期間内で暦日仕様を満たす暦日が{@code count}に満たない場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public static InstallmentSchedule of(Money principal, int count, DateSpecification spec,
+			CalendarInterval interval, BusinessCalendar cal, Shifter shifter) {
+		Preconditions.checkNotNull(principal);
+		Preconditions.checkNotNull(spec);
+		Preconditions.checkNotNull(interval);
+		Preconditions.checkNotNull(cal);
+		Preconditions.checkNotNull(shifter);
+		Preconditions.checkArgument(count >= 1);
+		return new InstallmentSchedule(principal, dates(count, spec, interval, cal, shifter));
+	}
+	
+	private static CalendarDate[] dates(int count, DateSpecification spec, CalendarInterval interval,
+			BusinessCalendar cal, Shifter shifter) {
+		CalendarDate[] dates = new CalendarDate[count];
+		int step = cal == null ? 0 : step(shifter);
+		Iterator<CalendarDate> iterator = spec.iterateOver(interval);
+		for (int i = 0; i < count; i++) {
+			if (iterator.hasNext() == false) {
+				throw new IllegalArgumentException("only " + i + " dates satisfy " + spec + " in " + interval);
+			}
+			CalendarDate date = iterator.next();
+			if (cal != null) {
+				// BusinessCalendar#nearestNextBusinessDay等は反復子を生成するため、ここでは直接1日ずつ調整する
+				while (cal.isBusinessDay(date) == false) {
+					date = date.plusDays(step);
+				}
+			}
+			dates[i] = date;
+		}
+		return dates;
+	}
+	
+	private static int step(Shifter shifter) {
+		switch (shifter) {
+			case NEXT:
+				return 1;
+			case PREV:
+				return -1;
+			default:
+				throw new IllegalArgumentException("unsupported shifter: " + shifter);
+		}
+	}
+	
+	
+	private final Money principal;
+	
+	/** 各回の支払日. {@link #withPrincipal(Money)}で生成したインスタンス間で共有する */
+	private final CalendarDate[] dates;
+	
+	/** 余りを上乗せしない回の支払額 */
+	private final Money base;
+	
+	/** 余りを上乗せする回の支払額 */
+	private final Money raised;
+	
+	/** 余りを上乗せする回数 */
+	private final int raisedCount;
+	
+	
+	private InstallmentSchedule(Money principal, CalendarDate[] dates) {
+		this.principal = principal;
+		this.dates = dates;
+		
+		BigDecimal amount = principal.breachEncapsulationOfAmount();
+		Currency currency = principal.breachEncapsulationOfCurrency();
+		BigInteger[] qr = amount.unscaledValue().divideAndRemainder(BigInteger.valueOf(dates.length));
+		base = Money.valueOf(new BigDecimal(qr[0], amount.scale()), currency);
+		raised = Money.valueOf(new BigDecimal(qr[0].add(BigInteger.valueOf(qr[1].signum())), amount.scale()),
+				currency);
+		raisedCount = Math.abs(qr[1].intValue());
+	}
+	
+	/**
+	 * 全ての支払いの不変な{@link List}ビューを返す。
+	 * 
+	 * <p>各回の支払いは、要素を取得する度に生成する。</p>
+	 * 
+	 * @return 支払いの{@link List}
+	 * @since 2.19
+	 */
+	public List<Installment> asList() {
+		return new InstallmentList();
+	}
+	
+	/**
+	 * 指定した支払回の支払いを返す。
+	 * 
+	 * @param number 支払回（1始まり）
+	 * @return 支払い
+	 * @throws IndexOutOfBoundsException 引数が1未満または支払回数を超える場合
+	 * @since 2.19
+	 */
+	public Installment get(int number) {
+		if (number < 1 || number > dates.length) {
+			throw new IndexOutOfBoundsException("number: " + number + ", count: " + dates.length);
+		}
+		return new Installment(number, dates[number - 1], number <= raisedCount ? raised : base);
+	}
+	
+	/**
+	 * 支払回数を返す。
+	 * 
+	 * @return 支払回数
+	 * @since 2.19
+	 */
+	public int getCount() {
+		return dates.length;
+	}
+	
+	/**
+	 * 全ての支払日を返す。
+	 * 
+	 * @return 支払日の不変{@link List}
+	 * @since 2.19
+	 */
+	public List<CalendarDate> getDates() {
+		return Collections.unmodifiableList(Arrays.asList(dates));
+	}
+	
+	/**
+	 * 元本を返す。
+	 * 
+	 * @return 元本
+	 * @since 2.19
+	 */
+	public Money getPrincipal() {
+		return principal;
+	}
+	
+	@Override
+	public Iterator<Installment> iterator() {
+		return asList().iterator();
+	}
+	
+	/**
+	 * 全ての支払いを順に返す{@link Stream}を返す。
+	 * 
+	 * <p>各回の支払いは、要素を取得する度に生成する。</p>
+	 * 
+	 * @return 支払いの{@link Stream}
+	 * @since 2.19
+	 */
+	public Stream<Installment> stream() {
+		return asList().stream();
+	}
+	
+	@Override
+	public String toString() {
+		return principal + " in " + dates.length + " installments from " + dates[0];
+	}
+	
+	/**
+	 * 支払日と支払回数が同じで、元本のみが異なる支払予定を返す。
+	 * 
+	 * <p>支払日は再計算せず、この支払予定と共有する。</p>
+	 * 
+	 * @param principal 元本
+	 * @return 支払予定
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public InstallmentSchedule withPrincipal(Money principal) {
+		Preconditions.checkNotNull(principal);
+		return new InstallmentSchedule(principal, dates);
+	}
+	
+	
+	private final class InstallmentList extends AbstractList<Installment> implements RandomAccess {
+		
+		@Override
+		public Installment get(int index) {
+			if (index < 0 || index >= dates.length) {
+				throw new IndexOutOfBoundsException("index: " + index + ", size: " + dates.length);
+			}
+			return InstallmentSchedule.this.get(index + 1);
+		}
+		
+		@Override
+		public int size() {
+			return dates.length;
+		}
+	}
+}
@@ -0,0 +1,24 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ * 元本を複数回に分けて支払う、分割払いの支払予定を扱うクラス群。
+ * 
+ * <p>{@link jp.xet.baseunits.money.schedule.InstallmentSchedule}は、支払日を
+ * {@link jp.xet.baseunits.time.spec.DateSpecification}で、各回の支払額を
+ * {@link jp.xet.baseunits.money.Proration#dividedEvenlyIntoParts(jp.xet.baseunits.money.Money, int)}と
+ * 同じ規則で決定する。</p>
+ */
+package jp.xet.baseunits.money.schedule;
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.series;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * 固定長の要素をファイルにメモリマップして保持する列。
+ * 
+ * <p>{@link MappedByteBuffer}は{@code int}の範囲でしか位置を指定できないため、ファイルを一定の大きさのセグメントに分けて
+ * マップする。セグメントの大きさは要素の大きさの倍数とし、要素がセグメントを跨ぐことはない。
+ * ファイルは必要に応じてセグメント単位で拡張する。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+final class MappedColumn implements Closeable {
+	
+	private final FileChannel channel;
+	
+	private final int elementBytes;
+	
+	private final int segmentBytes;
+	
+	private final List<MappedByteBuffer> segments = new ArrayList<MappedByteBuffer>();
+	
+	
+	/**
+	 * インスタンスを生成する。ファイルが存在しない場合は作成する。
+	 * 
+	 * @param file ファイル
+	 * @param elementBytes 要素のバイト数
+	 * @param segmentBytes セグメントのバイト数
+	 * @throws IOException ファイルを開けなかった場合
+	 * @throws IllegalArgumentException セグメントのバイト数が要素のバイト数の倍数でない場合
+	 */
+	MappedColumn(Path file, int elementBytes, int segmentBytes) throws IOException {
+		Preconditions.checkArgument(elementBytes > 0 && segmentBytes > 0 && segmentBytes % elementBytes == 0);
+		this.elementBytes = elementBytes;
+		this.segmentBytes = segmentBytes;
+		channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+	}
+	
+	@Override
+	public void close() throws IOException {
+		// MappedByteBufferは明示的に解放できないため、参照を捨ててGCに委ねる
+		segments.clear();
+		channel.close();
+	}
+	
+	/**
+	 * 指定した数の要素を保持できるよう、必要なセグメントをマップする。
+	 * 
+	 * @param elements 要素数
+	 * @throws IOException マップに失敗した場合
+	 */
+	void ensureCapacity(long elements) throws IOException {
+		long bytes = elements * elementBytes;
+		while ((long) segments.size() * segmentBytes < bytes) {
+			long position = (long) segments.size() * segmentBytes;
+			segments.add(channel.map(MapMode.READ_WRITE, position, segmentBytes));
+		}
+	}
+	
+	/**
+	 * マップした内容をストレージに書き出す。
+	 */
+	void force() {
+		for (MappedByteBuffer segment : segments) {
+			segment.force();
+		}
+	}
+	
+	long getLong(long index) {
+		long position = index * elementBytes;
+		return segments.get((int) (position / segmentBytes)).getLong((int) (position % segmentBytes));
+	}
+	
+	short getShort(long index) {
+		long position = index * elementBytes;
+		return segments.get((int) (position / segmentBytes)).getShort((int) (position % segmentBytes));
+	}
+	
+	void putLong(long index, long value) {
+		long position = index * elementBytes;
+		segments.get((int) (position / segmentBytes)).putLong((int) (position % segmentBytes), value);
+	}
+	
+	void putShort(long index, short value) {
+		long position = index * elementBytes;
+		segments.get((int) (position / segmentBytes)).putShort((int) (position % segmentBytes), value);
+	}
+}
@@ -0,0 +1,520 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.series;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+import jp.xet.baseunits.money.Money;
+import jp.xet.baseunits.time.CalendarDate;
+import jp.xet.baseunits.time.CalendarInterval;
+import jp.xet.baseunits.time.TimePoint;
+import jp.xet.baseunits.time.TimePointInterval;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * {@link TimePoint}と{@link Money}の組を時系列順に保持する、追記専用の列指向ストア。
+ * 
+ * <p>各要素はエポックミリ秒の列、通貨の最小単位で表した金額の列、通貨辞書への添字の列に分けて、
+ * 指定したディレクトリ内のファイルにメモリマップして保持する。ヒープには通貨辞書のみを保持するため、
+ * ヒープの大きさを超える系列も扱うことができる。</p>
+ * 
+ * <p>要素は瞬間の昇順に追記しなければならない。これにより、{@link TimePointInterval}による範囲の特定は
+ * 二分探索で行う。{@link #forEach(TimePointInterval, MoneySeriesVisitor)}による走査は、値オブジェクトを生成しない。</p>
+ * 
+ * <p>このクラスはスレッドセーフではない。複数のスレッドから使用する場合は、外部で同期すること。
+ * また、同じディレクトリを複数のインスタンスで同時に開いてはならない。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+public final class MoneySeries implements Closeable {
+	
+	private static final int MAGIC = 0x42555353; // CHECKSTYLE IGNORE THIS LINE
+	
+	private static final int VERSION = 1;
+	
+	private static final int HEADER_BYTES = 16;
+	
+	private static final int SIZE_OFFSET = 8;
+	
+	private static final int DEFAULT_SEGMENT_BYTES = 1 << 26; // CHECKSTYLE IGNORE THIS LINE
+	
+	private static final String HEADER_FILE = "header";
+	
+	private static final String TIME_FILE = "time.col";
+	
+	private static final String AMOUNT_FILE = "amount.col";
+	
+	private static final String CURRENCY_FILE = "currency.col";
+	
+	private static final String DICTIONARY_FILE = "currencies";
+	
+	
+	/**
+	 * 指定したディレクトリの系列を開く。ディレクトリ及び系列が存在しない場合は、空の系列を作成する。
+	 * 
+	 * @param directory ディレクトリ
+	 * @return 系列
+	 * @throws IOException 系列を開けなかった場合、または系列の形式が正しくない場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public static MoneySeries open(Path directory) throws IOException {
+		return open(directory, DEFAULT_SEGMENT_BYTES);
+	}
+	
+	static MoneySeries open(Path directory, int segmentBytes) throws IOException {
+		Preconditions.checkNotNull(directory);
+		Files.createDirectories(directory);
+		MoneySeries series = new MoneySeries(directory, segmentBytes);
+		try {
+			series.load();
+		} catch (IOException e) {
+			series.close();
+			throw e;
+		} catch (RuntimeException e) {
+			series.close();
+			throw e;
+		}
+		return series;
+	}
+	
+	
+	private final Path dictionaryFile;
+	
+	private final FileChannel headerChannel;
+	
+	private final MappedByteBuffer header;
+	
+	private final MappedColumn times;
+	
+	private final MappedColumn amounts;
+	
+	private final MappedColumn currencyIndexes;
+	
+	private final List<Currency> currencies = new ArrayList<Currency>();
+	
+	private final Map<Currency, Short> dictionary = new HashMap<Currency, Short>();
+	
+	private long size;
+	
+	private long capacity;
+	
+	
+	private MoneySeries(Path directory, int segmentBytes) throws IOException {
+		dictionaryFile = directory.resolve(DICTIONARY_FILE);
+		headerChannel = FileChannel.open(directory.resolve(HEADER_FILE), StandardOpenOption.CREATE,
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+		header = headerChannel.map(MapMode.READ_WRITE, 0, HEADER_BYTES);
+		times = new MappedColumn(directory.resolve(TIME_FILE), Long.BYTES, segmentBytes);
+		amounts = new MappedColumn(directory.resolve(AMOUNT_FILE), Long.BYTES, segmentBytes);
+		currencyIndexes = new MappedColumn(directory.resolve(CURRENCY_FILE), Short.BYTES, segmentBytes);
+	}
+	
+	/**
+	 * 要素を追記する。
+	 * 
+	 * @param epochMillis 瞬間のエポックミリ秒
+	 * @param minorUnits 通貨の最小単位で表した金額
+	 * @param currency 通貨単位
+	 * @throws IOException ファイルの拡張に失敗した場合
+	 * @throws IllegalArgumentException 瞬間が最後の要素の瞬間より前である場合
+	 * @throws NullPointerException 引数{@code currency}に{@code null}を与えた場合
+	 */
+	public void append(long epochMillis, long minorUnits, Currency currency) throws IOException {
+		Preconditions.checkNotNull(currency);
+		Preconditions.checkArgument(size == 0 || times.getLong(size - 1) <= epochMillis,
+				"time points must be appended in ascending order");
+		short currencyIndex = indexOf(currency);
+		if (size == capacity) {
+			grow();
+		}
+		times.putLong(size, epochMillis);
+		amounts.putLong(size, minorUnits);
+		currencyIndexes.putShort(size, currencyIndex);
+		// 各列の書き込み後に要素数を更新する
+		size++;
+		header.putLong(SIZE_OFFSET, size);
+	}
+	
+	/**
+	 * 要素を追記する。
+	 * 
+	 * @param timePoint 瞬間
+	 * @param money 金額
+	 * @throws IOException ファイルの拡張に失敗した場合
+	 * @throws IllegalArgumentException 瞬間が最後の要素の瞬間より前である場合
+	 * @throws ArithmeticException 通貨の最小単位で表した金額が{@code long}の範囲を超える場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public void append(TimePoint timePoint, Money money) throws IOException {
+		Preconditions.checkNotNull(timePoint);
+		Preconditions.checkNotNull(money);
+		long minorUnits = money.breachEncapsulationOfAmount().unscaledValue().longValueExact();
+		append(timePoint.toEpochMillisec(), minorUnits, money.breachEncapsulationOfCurrency());
+	}
+	
+	@Override
+	public void close() throws IOException {
+		try {
+			times.close();
+			amounts.close();
+			currencyIndexes.close();
+		} finally {
+			headerChannel.close();
+		}
+	}
+	
+	/**
+	 * 指定した期間に含まれる要素を、瞬間の昇順に走査する。
+	 * 
+	 * @param interval 期間
+	 * @param visitor ビジタ
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public void forEach(TimePointInterval interval, MoneySeriesVisitor visitor) {
+		Preconditions.checkNotNull(visitor);
+		long end = endIndex(interval);
+		for (long i = startIndex(interval); i < end; i++) {
+			visitor.visit(i, times.getLong(i), amounts.getLong(i), currencies.get(currencyIndexes.getShort(i)));
+		}
+	}
+	
+	/**
+	 * 指定した期間に含まれる要素の、最後の添字の次の添字を返す。
+	 * 
+	 * @param interval 期間
+	 * @return 添字. 該当する要素がない場合は{@link #startIndex(TimePointInterval)}と同じ値
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public long endIndex(TimePointInterval interval) {
+		long start = startIndex(interval);
+		if (interval.isEmpty()) {
+			return start;
+		}
+		if (interval.hasUpperLimit() == false) {
+			return size;
+		}
+		long upper = interval.upperLimit().toEpochMillisec();
+		long end = interval.includesUpperLimit() ? upperBound(upper) : lowerBound(upper);
+		return Math.max(start, end);
+	}
+	
+	/**
+	 * 通貨辞書に登録された通貨単位の一覧を、登録順に返す。
+	 * 
+	 * @return 通貨単位の一覧
+	 */
+	public List<Currency> getCurrencies() {
+		return Collections.unmodifiableList(currencies);
+	}
+	
+	/**
+	 * 指定した添字の要素の通貨単位を返す。
+	 * 
+	 * @param index 添字
+	 * @return 通貨単位
+	 * @throws IndexOutOfBoundsException 添字が範囲外である場合
+	 */
+	public Currency getCurrency(long index) {
+		checkIndex(index);
+		return currencies.get(currencyIndexes.getShort(index));
+	}
+	
+	/**
+	 * 指定した添字の要素の瞬間を、エポックミリ秒として返す。
+	 * 
+	 * @param index 添字
+	 * @return エポックミリ秒
+	 * @throws IndexOutOfBoundsException 添字が範囲外である場合
+	 */
+	public long getEpochMillis(long index) {
+		checkIndex(index);
+		return times.getLong(index);
+	}
+	
+	/**
+	 * 指定した添字の要素の金額を、通貨の最小単位で返す。
+	 * 
+	 * @param index 添字
+	 * @return 通貨の最小単位で表した金額
+	 * @throws IndexOutOfBoundsException 添字が範囲外である場合
+	 */
+	public long getMinorUnits(long index) {
+		checkIndex(index);
+		return amounts.getLong(index);
+	}
+	
+	/**
+	 * 指定した添字の要素の金額を返す。
+	 * 
+	 * @param index 添字
+	 * @return 金額
+	 * @throws IndexOutOfBoundsException 添字が範囲外である場合
+	 */
+	public Money getMoney(long index) {
+		Currency currency = getCurrency(index);
+		return Money.valueOf(BigDecimal.valueOf(amounts.getLong(index), currency.getDefaultFractionDigits()), currency);
+	}
+	
+	/**
+	 * 指定した添字の要素の瞬間を返す。
+	 * 
+	 * @param index 添字
+	 * @return 瞬間
+	 * @throws IndexOutOfBoundsException 添字が範囲外である場合
+	 */
+	public TimePoint getTimePoint(long index) {
+		return TimePoint.from(getEpochMillis(index));
+	}
+	
+	/**
+	 * マップした内容をストレージに書き出す。
+	 */
+	public void flush() {
+		times.force();
+		amounts.force();
+		currencyIndexes.force();
+		header.force();
+	}
+	
+	/**
+	 * 瞬間が指定したエポックミリ秒以降である、最初の要素の添字を返す。
+	 * 
+	 * @param epochMillis エポックミリ秒
+	 * @return 添字. 該当する要素がない場合は{@link #size()}
+	 */
+	public long lowerBound(long epochMillis) {
+		long low = 0;
+		long high = size;
+		while (low < high) {
+			long mid = (low + high) >>> 1;
+			if (times.getLong(mid) < epochMillis) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+	
+	/**
+	 * 要素数を返す。
+	 * 
+	 * @return 要素数
+	 */
+	public long size() {
+		return size;
+	}
+	
+	/**
+	 * 指定した期間に含まれる要素の、最初の添字を返す。
+	 * 
+	 * @param interval 期間
+	 * @return 添字. 該当する要素がない場合は{@link #endIndex(TimePointInterval)}と同じ値
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public long startIndex(TimePointInterval interval) {
+		Preconditions.checkNotNull(interval);
+		if (interval.hasLowerLimit() == false) {
+			return 0;
+		}
+		long lower = interval.lowerLimit().toEpochMillisec();
+		return interval.includesLowerLimit() ? lowerBound(lower) : upperBound(lower);
+	}
+	
+	/**
+	 * 暦日の期間毎に、指定した通貨単位の要素の金額を合計する。
+	 * 
+	 * <p>例えば{@code interval.subintervalIterator(Duration.days(1))}を与えると、日毎の合計を返す。</p>
+	 * 
+	 * @param buckets 暦日の期間の反復子
+	 * @param zone 暦日の期間を瞬間の期間に変換する際のタイムゾーン
+	 * @param currency 通貨単位
+	 * @return 各期間の合計金額のリスト（反復子の順）
+	 * @throws ArithmeticException 合計が{@code long}の範囲を超える場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public List<Money> sum(Iterator<CalendarInterval> buckets, TimeZone zone, Currency currency) {
+		Preconditions.checkNotNull(buckets);
+		Preconditions.checkNotNull(zone);
+		Preconditions.checkNotNull(currency);
+		List<Money> sums = new ArrayList<Money>();
+		while (buckets.hasNext()) {
+			sums.add(sum(buckets.next().asTimeInterval(zone), currency));
+		}
+		return sums;
+	}
+	
+	/**
+	 * 指定した期間に含まれ、指定した通貨単位である要素の金額を合計する。
+	 * 
+	 * @param interval 期間
+	 * @param currency 通貨単位
+	 * @return 合計金額
+	 * @throws ArithmeticException 合計が{@code long}の範囲を超える場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public Money sum(TimePointInterval interval, Currency currency) {
+		Preconditions.checkNotNull(currency);
+		long total = sumMinorUnits(interval, currency);
+		return Money.valueOf(BigDecimal.valueOf(total, currency.getDefaultFractionDigits()), currency);
+	}
+	
+	/**
+	 * 暦日毎に、指定した通貨単位の要素の金額を合計する。
+	 * 
+	 * @param interval 暦日の期間
+	 * @param zone 暦日を瞬間の期間に変換する際のタイムゾーン
+	 * @param currency 通貨単位
+	 * @return 各暦日の合計金額のリスト（暦日の昇順）
+	 * @throws IllegalStateException 期間が開始暦日を持たない場合
+	 * @throws ArithmeticException 合計が{@code long}の範囲を超える場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public List<Money> sumByDay(CalendarInterval interval, TimeZone zone, Currency currency) {
+		Preconditions.checkNotNull(interval);
+		Preconditions.checkNotNull(zone);
+		Preconditions.checkNotNull(currency);
+		Preconditions.checkState(interval.hasLowerLimit() && interval.hasUpperLimit(), "unbounded interval");
+		List<Money> sums = new ArrayList<Money>();
+		for (Iterator<CalendarDate> it = interval.daysIterator(); it.hasNext();) {
+			sums.add(sum(it.next().asTimePointInterval(zone), currency));
+		}
+		return sums;
+	}
+	
+	/**
+	 * 指定した期間に含まれ、指定した通貨単位である要素の金額を、通貨の最小単位で合計する。
+	 * 
+	 * @param interval 期間
+	 * @param currency 通貨単位
+	 * @return 通貨の最小単位で表した合計金額
+	 * @throws ArithmeticException 合計が{@code long}の範囲を超える場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public long sumMinorUnits(TimePointInterval interval, Currency currency) {
+		Preconditions.checkNotNull(currency);
+		long end = endIndex(interval);
+		Short currencyIndex = dictionary.get(currency);
+		if (currencyIndex == null) {
+			return 0;
+		}
+		short target = currencyIndex;
+		long total = 0;
+		for (long i = startIndex(interval); i < end; i++) {
+			if (currencyIndexes.getShort(i) == target) {
+				total = Math.addExact(total, amounts.getLong(i));
+			}
+		}
+		return total;
+	}
+	
+	/**
+	 * 瞬間が指定したエポックミリ秒より後である、最初の要素の添字を返す。
+	 * 
+	 * @param epochMillis エポックミリ秒
+	 * @return 添字. 該当する要素がない場合は{@link #size()}
+	 */
+	public long upperBound(long epochMillis) {
+		long low = 0;
+		long high = size;
+		while (low < high) {
+			long mid = (low + high) >>> 1;
+			if (times.getLong(mid) <= epochMillis) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+	
+	private void checkIndex(long index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+		}
+	}
+	
+	private void grow() throws IOException {
+		long newCapacity = Math.max(capacity * 2, 1024); // CHECKSTYLE IGNORE THIS LINE
+		times.ensureCapacity(newCapacity);
+		amounts.ensureCapacity(newCapacity);
+		currencyIndexes.ensureCapacity(newCapacity);
+		capacity = newCapacity;
+	}
+	
+	private short indexOf(Currency currency) throws IOException {
+		Short index = dictionary.get(currency);
+		if (index != null) {
+			return index;
+		}
+		Preconditions.checkState(currencies.size() <= Short.MAX_VALUE, "too many currencies");
+		// 要素より先に辞書を永続化する
+		Files.write(dictionaryFile, (currency.getCurrencyCode() + "\n").getBytes(StandardCharsets.US_ASCII),
+				StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+		short newIndex = (short) currencies.size();
+		currencies.add(currency);
+		dictionary.put(currency, newIndex);
+		return newIndex;
+	}
+	
+	private void load() throws IOException {
+		int magic = header.getInt(0);
+		if (magic == 0) {
+			header.putInt(0, MAGIC);
+			header.putInt(Integer.BYTES, VERSION);
+			header.putLong(SIZE_OFFSET, 0);
+		} else if (magic != MAGIC || header.getInt(Integer.BYTES) != VERSION) {
+			throw new IOException("unsupported series format");
+		}
+		if (Files.exists(dictionaryFile)) {
+			for (String code : Files.readAllLines(dictionaryFile, StandardCharsets.US_ASCII)) {
+				if (code.isEmpty() == false) {
+					dictionary.put(Currency.getInstance(code), (short) currencies.size());
+					currencies.add(Currency.getInstance(code));
+				}
+			}
+		}
+		size = header.getLong(SIZE_OFFSET);
+		if (size < 0) {
+			throw new IOException("illegal size: " + size);
+		}
+		if (size > 0) {
+			times.ensureCapacity(size);
+			amounts.ensureCapacity(size);
+			currencyIndexes.ensureCapacity(size);
+			capacity = size;
+		}
+	}
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.series;
+
+import java.util.Currency;
+
+/**
+ * {@link MoneySeries}の各要素を、値オブジェクトを生成せずに走査するためのビジタ。
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+public interface MoneySeriesVisitor {
+	
+	/**
+	 * 要素を訪問する。
+	 * 
+	 * @param index 要素の添字
+	 * @param epochMillis 瞬間のエポックミリ秒
+	 * @param minorUnits 通貨の最小単位で表した金額
+	 * @param currency 通貨単位
+	 */
+	void visit(long index, long epochMillis, long minorUnits, Currency currency);
+}
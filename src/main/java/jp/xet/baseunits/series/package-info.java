@@ -0,0 +1,30 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ * {@link jp.xet.baseunits.time.TimePoint}と{@link jp.xet.baseunits.money.Money}の大規模な時系列を扱うクラス群。
+ * 
+ * <p>{@link jp.xet.baseunits.series.MoneySeries}は、ディレクトリ内の以下のファイルに系列を保持する。
+ * 数値はすべてビッグエンディアンで表す。</p>
+ * 
+ * <ul>
+ *   <li>{@code header}: マジックナンバー（4バイト）、版（4バイト）、要素数（8バイト）</li>
+ *   <li>{@code time.col}: 各要素の瞬間のエポックミリ秒（8バイト）</li>
+ *   <li>{@code amount.col}: 各要素の通貨の最小単位で表した金額（8バイト）</li>
+ *   <li>{@code currency.col}: 各要素の通貨辞書への添字（2バイト）</li>
+ *   <li>{@code currencies}: 通貨辞書。登録順に、1行に1つの通貨コードを記す。</li>
+ * </ul>
+ */
+package jp.xet.baseunits.series;
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.spring;
+
+import java.util.TimeZone;
+
+import jp.xet.baseunits.time.CalendarDate;
+import jp.xet.baseunits.time.CalendarMonth;
+import jp.xet.baseunits.time.Duration;
+import jp.xet.baseunits.time.TimeOfDay;
+import jp.xet.baseunits.time.TimePoint;
+import jp.xet.baseunits.time.TimeUnit;
+import jp.xet.baseunits.util.TimeZones;
+
+import com.google.common.base.Preconditions;
+
+import org.springframework.format.FormatterRegistrar;
+import org.springframework.format.FormatterRegistry;
+
+/**
+ * Spring {@link FormatterRegistrar} implementation for baseunits types.
+ * 
+ * <p>{@link CalendarDate}、{@link CalendarMonth}、{@link TimeOfDay}、{@link TimePoint}及び{@link Duration}の
+ * {@link org.springframework.format.Formatter}と、{@link org.springframework.format.annotation.DateTimeFormat}
+ * に対応する{@link DateTimeFormatAnnotationFormatterFactory}を登録する。各パターンは登録時に一度だけコンパイルされる。</p>
+ * 
+ * <pre>
+ * DefaultFormattingConversionService conversionService = new DefaultFormattingConversionService();
+ * new BaseunitsFormatterRegistrar().registerFormatters(conversionService);
+ * </pre>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+public class BaseunitsFormatterRegistrar implements FormatterRegistrar {
+	
+	private String calendarDatePattern = CalendarDateFormatter.DEFAULT_PATTERN;
+	
+	private String calendarMonthPattern = CalendarMonthFormatter.DEFAULT_PATTERN;
+	
+	private String timeOfDayPattern = TimeOfDayFormatter.DEFAULT_PATTERN;
+	
+	private String timePointPattern = TimePoint.ISO8601_FORMAT_UNIVERSAL;
+	
+	private TimeZone timeZone = TimeZones.UNIVERSAL;
+	
+	private TimeUnit durationUnit = TimeUnit.millisecond;
+	
+	
+	@Override
+	public void registerFormatters(FormatterRegistry registry) {
+		registry.addFormatterForFieldType(CalendarDate.class, new CalendarDateFormatter(calendarDatePattern));
+		registry.addFormatterForFieldType(CalendarMonth.class, new CalendarMonthFormatter(calendarMonthPattern));
+		registry.addFormatterForFieldType(TimeOfDay.class, new TimeOfDayFormatter(timeOfDayPattern));
+		registry.addFormatterForFieldType(TimePoint.class, new TimePointFormatter(timePointPattern, timeZone));
+		registry.addFormatterForFieldType(Duration.class, new DurationFormatter(durationUnit));
+		registry.addFormatterForFieldAnnotation(new DateTimeFormatAnnotationFormatterFactory(timeZone));
+	}
+	
+	/**
+	 * {@link CalendarDate}のパターンを設定する。
+	 * 
+	 * @param calendarDatePattern パターン文字列
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public void setCalendarDatePattern(String calendarDatePattern) {
+		Preconditions.checkNotNull(calendarDatePattern);
+		this.calendarDatePattern = calendarDatePattern;
+	}
+	
+	/**
+	 * {@link CalendarMonth}のパターンを設定する。
+	 * 
+	 * @param calendarMonthPattern パターン文字列
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public void setCalendarMonthPattern(String calendarMonthPattern) {
+		Preconditions.checkNotNull(calendarMonthPattern);
+		this.calendarMonthPattern = calendarMonthPattern;
+	}
+	
+	/**
+	 * {@link Duration}を整形・解析する単位を設定する。
+	 * 
+	 * @param durationUnit 単位
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public void setDurationUnit(TimeUnit durationUnit) {
+		Preconditions.checkNotNull(durationUnit);
+		this.durationUnit = durationUnit;
+	}
+	
+	/**
+	 * {@link TimeOfDay}のパターンを設定する。
+	 * 
+	 * @param timeOfDayPattern パターン文字列
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public void setTimeOfDayPattern(String timeOfDayPattern) {
+		Preconditions.checkNotNull(timeOfDayPattern);
+		this.timeOfDayPattern = timeOfDayPattern;
+	}
+	
+	/**
+	 * {@link TimePoint}のパターンを設定する。
+	 * 
+	 * @param timePointPattern パターン文字列
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public void setTimePointPattern(String timePointPattern) {
+		Preconditions.checkNotNull(timePointPattern);
+		this.timePointPattern = timePointPattern;
+	}
+	
+	/**
+	 * {@link TimePoint}の整形・解析に用いるタイムゾーンを設定する。
+	 * 
+	 * @param timeZone タイムゾーン
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public void setTimeZone(TimeZone timeZone) {
+		Preconditions.checkNotNull(timeZone);
+		this.timeZone = timeZone;
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.spring;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+
+import jp.xet.baseunits.time.CalendarMonth;
+import jp.xet.baseunits.time.DatePattern;
+import jp.xet.baseunits.time.IsoCodec;
+
+import com.google.common.base.Preconditions;
+
+import org.springframework.format.Formatter;
+
+/**
+ * Spring {@link Formatter} implementation for {@link CalendarMonth}.
+ * 
+ * <p>パターンはインスタンス生成時に{@link DatePattern}としてコンパイルしておく。パターンが既定の{@code yyyy-MM}である場合は、
+ * {@link IsoCodec}による整形・解析を優先し、それで扱えない入力に限り{@link DatePattern}に委譲する。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+public class CalendarMonthFormatter implements Formatter<CalendarMonth> {
+	
+	/** 既定のパターン */
+	public static final String DEFAULT_PATTERN = "yyyy-MM";
+	
+	private final DatePattern pattern;
+	
+	private final boolean iso;
+	
+	
+	/**
+	 * インスタンスを生成する。
+	 * 
+	 * <p>パターンは{@link #DEFAULT_PATTERN}とする。</p>
+	 */
+	public CalendarMonthFormatter() {
+		this(DEFAULT_PATTERN);
+	}
+	
+	/**
+	 * インスタンスを生成する。
+	 * 
+	 * @param pattern パターン文字列（{@link SimpleDateFormat}参照）
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @throws IllegalArgumentException パターンが正しくない場合
+	 */
+	public CalendarMonthFormatter(String pattern) {
+		Preconditions.checkNotNull(pattern);
+		this.pattern = DatePattern.compile(pattern);
+		iso = DEFAULT_PATTERN.equals(pattern);
+	}
+	
+	@Override
+	public CalendarMonth parse(String text, Locale locale) throws ParseException {
+		if (iso) {
+			try {
+				return IsoCodec.parseCalendarMonth(text);
+			} catch (ParseException e) {
+				// DatePatternによる解析に委譲する
+			}
+		}
+		return pattern.parseCalendarMonth(text);
+	}
+	
+	@Override
+	public String print(CalendarMonth object, Locale locale) {
+		if (iso) {
+			char[] buf = new char[IsoCodec.MONTH_LENGTH];
+			try {
+				IsoCodec.formatTo(object, buf, 0);
+				return new String(buf);
+			} catch (IllegalArgumentException e) {
+				// DatePatternによる整形に委譲する
+			}
+		}
+		return pattern.format(object, locale);
+	}
+}
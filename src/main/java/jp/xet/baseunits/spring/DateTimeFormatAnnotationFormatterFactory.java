@@ -0,0 +1,157 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.spring;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TimeZone;
+
+import jp.xet.baseunits.time.CalendarDate;
+import jp.xet.baseunits.time.CalendarMonth;
+import jp.xet.baseunits.time.TimeOfDay;
+import jp.xet.baseunits.time.TimePoint;
+import jp.xet.baseunits.util.TimeZones;
+
+import com.google.common.base.Preconditions;
+
+import org.springframework.format.AnnotationFormatterFactory;
+import org.springframework.format.Formatter;
+import org.springframework.format.Parser;
+import org.springframework.format.Printer;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+
+/**
+ * {@link DateTimeFormat}で注釈したbaseunitsの型のフィールドに対し、注釈に従った{@link Formatter}を提供する
+ * {@link AnnotationFormatterFactory}実装クラス。
+ * 
+ * <p>{@link DateTimeFormat#pattern()}を指定した場合はそのパターンを用い、{@link DateTimeFormat#iso()}より優先する。
+ * パターンを指定しない場合は、型毎に以下の形式を用いる。{@link DateTimeFormat#iso()}に{@link ISO#NONE}以外を指定する場合は、
+ * その型に対応する値のみを指定でき、それ以外の値を指定した場合は{@link IllegalArgumentException}をスローする。
+ * {@link DateTimeFormat#style()}には対応していない。</p>
+ * 
+ * <ul>
+ *   <li>{@link CalendarDate}: {@code yyyy-MM-dd}（{@link ISO#NONE}または{@link ISO#DATE}）</li>
+ *   <li>{@link CalendarMonth}: ISO 8601の年月を表す{@code yyyy-MM}（{@link ISO#NONE}または{@link ISO#DATE}）</li>
+ *   <li>{@link TimeOfDay}: {@link ISO#NONE}の場合は{@code HH:mm}、{@link ISO#TIME}の場合は{@code HH:mm:ss.SSS}</li>
+ *   <li>{@link TimePoint}: 時差付きの{@code yyyy-MM-dd'T'HH:mm:ssXXX}（{@link ISO#NONE}または{@link ISO#DATE_TIME}）。
+ *     時差が0の場合は{@code Z}と表記する。</li>
+ * </ul>
+ * 
+ * <p>{@link TimePoint}は、パターンの有無に関わらず、コンストラクタで与えたタイムゾーンで整形・解析する。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+public class DateTimeFormatAnnotationFormatterFactory implements AnnotationFormatterFactory<DateTimeFormat> {
+	
+	/** {@link ISO#TIME}を指定した{@link TimeOfDay}の形式 */
+	private static final String ISO_TIME_PATTERN = "HH:mm:ss.SSS";
+	
+	/** {@link ISO#DATE_TIME}を指定した{@link TimePoint}の、協定世界時以外のタイムゾーンにおける形式 */
+	private static final String ISO_DATE_TIME_PATTERN = "yyyy-MM-dd'T'HH:mm:ssXXX";
+	
+	private static final Set<Class<?>> FIELD_TYPES;
+	
+	static {
+		Set<Class<?>> fieldTypes = new HashSet<Class<?>>();
+		fieldTypes.add(CalendarDate.class);
+		fieldTypes.add(CalendarMonth.class);
+		fieldTypes.add(TimeOfDay.class);
+		fieldTypes.add(TimePoint.class);
+		FIELD_TYPES = Collections.unmodifiableSet(fieldTypes);
+	}
+	
+	
+	private final TimeZone timeZone;
+	
+	
+	/**
+	 * インスタンスを生成する。
+	 * 
+	 * <p>{@link TimePoint}の整形・解析には協定世界時を用いる。</p>
+	 */
+	public DateTimeFormatAnnotationFormatterFactory() {
+		this(TimeZones.UNIVERSAL);
+	}
+	
+	/**
+	 * インスタンスを生成する。
+	 * 
+	 * @param timeZone {@link TimePoint}の整形・解析に用いるタイムゾーン
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public DateTimeFormatAnnotationFormatterFactory(TimeZone timeZone) {
+		Preconditions.checkNotNull(timeZone);
+		this.timeZone = timeZone;
+	}
+	
+	@Override
+	public Set<Class<?>> getFieldTypes() {
+		return FIELD_TYPES;
+	}
+	
+	@Override
+	public Parser<?> getParser(DateTimeFormat annotation, Class<?> fieldType) {
+		return getFormatter(annotation, fieldType);
+	}
+	
+	@Override
+	public Printer<?> getPrinter(DateTimeFormat annotation, Class<?> fieldType) {
+		return getFormatter(annotation, fieldType);
+	}
+	
+	private Formatter<?> getFormatter(DateTimeFormat annotation, Class<?> fieldType) {
+		String pattern = annotation.pattern();
+		ISO iso = annotation.iso();
+		if (fieldType == CalendarDate.class) {
+			if (pattern.isEmpty() == false) {
+				return new CalendarDateFormatter(pattern);
+			}
+			checkIso(iso, ISO.DATE, fieldType);
+			return new CalendarDateFormatter();
+		} else if (fieldType == CalendarMonth.class) {
+			if (pattern.isEmpty() == false) {
+				return new CalendarMonthFormatter(pattern);
+			}
+			checkIso(iso, ISO.DATE, fieldType);
+			return new CalendarMonthFormatter();
+		} else if (fieldType == TimeOfDay.class) {
+			if (pattern.isEmpty() == false) {
+				return new TimeOfDayFormatter(pattern);
+			}
+			checkIso(iso, ISO.TIME, fieldType);
+			return iso == ISO.NONE ? new TimeOfDayFormatter() : new TimeOfDayFormatter(ISO_TIME_PATTERN);
+		} else if (fieldType == TimePoint.class) {
+			if (pattern.isEmpty() == false) {
+				return new TimePointFormatter(pattern, timeZone);
+			}
+			checkIso(iso, ISO.DATE_TIME, fieldType);
+			if (timeZone.hasSameRules(TimeZones.UNIVERSAL)) {
+				// 時差が0であれば、IsoCodecによる整形・解析が適用される形式を用いる
+				return new TimePointFormatter(TimePoint.ISO8601_FORMAT_UNIVERSAL, timeZone);
+			}
+			return new TimePointFormatter(ISO_DATE_TIME_PATTERN, timeZone);
+		}
+		throw new IllegalArgumentException("unsupported field type: " + fieldType);
+	}
+	
+	private static void checkIso(ISO iso, ISO applicable, Class<?> fieldType) {
+		Preconditions.checkArgument(iso == ISO.NONE || iso == applicable,
+				"%s is not applicable to %s", iso, fieldType.getName());
+	}
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.spring;
+
+import java.text.ParseException;
+import java.util.Locale;
+
+import jp.xet.baseunits.time.Duration;
+import jp.xet.baseunits.time.TimeUnit;
+
+import com.google.common.base.Preconditions;
+
+import org.springframework.format.Formatter;
+
+/**
+ * Spring {@link Formatter} implementation for {@link Duration}.
+ * 
+ * <p>時間量を、指定した単位（既定ではミリ秒）の量を表す整数として整形・解析する。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+public class DurationFormatter implements Formatter<Duration> {
+	
+	private final TimeUnit timeUnit;
+	
+	
+	/**
+	 * インスタンスを生成する。
+	 */
+	public DurationFormatter() {
+		this(TimeUnit.millisecond);
+	}
+	
+	/**
+	 * インスタンスを生成する。
+	 * 
+	 * @param timeUnit 単位
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 */
+	public DurationFormatter(TimeUnit timeUnit) {
+		Preconditions.checkNotNull(timeUnit);
+		this.timeUnit = timeUnit;
+	}
+	
+	@Override
+	public Duration parse(String text, Locale locale) throws ParseException {
+		try {
+			return Duration.valueOf(Long.parseLong(text.trim()), timeUnit);
+		} catch (IllegalArgumentException e) {
+			ParseException pe = new ParseException(text, 0);
+			pe.initCause(e);
+			throw pe;
+		}
+	}
+	
+	@Override
+	public String print(Duration object, Locale locale) {
+		return String.valueOf(object.to(timeUnit));
+	}
+}
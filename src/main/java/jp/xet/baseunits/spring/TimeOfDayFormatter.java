@@ -0,0 +1,75 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.spring;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+
+import jp.xet.baseunits.time.DatePattern;
+import jp.xet.baseunits.time.TimeOfDay;
+
+import com.google.common.base.Preconditions;
+
+import org.springframework.format.Formatter;
+
+/**
+ * Spring {@link Formatter} implementation for {@link TimeOfDay}.
+ * 
+ * <p>パターンはインスタンス生成時に{@link DatePattern}としてコンパイルしておく。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+public class TimeOfDayFormatter implements Formatter<TimeOfDay> {
+	
+	/** 既定のパターン */
+	public static final String DEFAULT_PATTERN = "HH:mm";
+	
+	private final DatePattern pattern;
+	
+	
+	/**
+	 * インスタンスを生成する。
+	 * 
+	 * <p>パターンは{@link #DEFAULT_PATTERN}とする。</p>
+	 */
+	public TimeOfDayFormatter() {
+		this(DEFAULT_PATTERN);
+	}
+	
+	/**
+	 * インスタンスを生成する。
+	 * 
+	 * @param pattern パターン文字列（{@link SimpleDateFormat}参照）
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @throws IllegalArgumentException パターンが正しくない場合
+	 */
+	public TimeOfDayFormatter(String pattern) {
+		Preconditions.checkNotNull(pattern);
+		this.pattern = DatePattern.compile(pattern);
+	}
+	
+	@Override
+	public TimeOfDay parse(String text, Locale locale) throws ParseException {
+		return pattern.parseTimeOfDay(text);
+	}
+	
+	@Override
+	public String print(TimeOfDay object, Locale locale) {
+		return pattern.format(object, locale);
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.spring;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import jp.xet.baseunits.time.CalendarUtil;
+import jp.xet.baseunits.time.IsoCodec;
+import jp.xet.baseunits.time.TimePoint;
+import jp.xet.baseunits.util.TimeZones;
+
+import com.google.common.base.Preconditions;
+
+import org.springframework.format.Formatter;
+
+/**
+ * Spring {@link Formatter} implementation for {@link TimePoint}.
+ * 
+ * <p>既定では{@link TimePoint#ISO8601_FORMAT_UNIVERSAL}の形式を用い、{@link IsoCodec}によって整形・解析する。
+ * 解析時は{@code Z}の他、{@code +09:00}のような時差も受け付ける。</p>
+ * 
+ * <p>その他のパターンを指定した場合は、引数のロケール（{@code null}の場合は既定のロケール）の
+ * {@link SimpleDateFormat}をスレッド毎に保持して用いる。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+public class TimePointFormatter implements Formatter<TimePoint> {
+	
+	private final String pattern;
+	
+	private final TimeZone timeZone;
+	
+	private final boolean iso;
+	
+	private final ThreadLocal<CachedFormat> formats = new ThreadLocal<CachedFormat>();
+	
+	
+	/**
+	 * インスタンスを生成する。
+	 * 
+	 * <p>パターンは{@link TimePoint#ISO8601_FORMAT_UNIVERSAL}、タイムゾーンは協定世界時とする。</p>
+	 */
+	public TimePointFormatter() {
+		this(TimePoint.ISO8601_FORMAT_UNIVERSAL, TimeZones.UNIVERSAL);
+	}
+	
+	/**
+	 * インスタンスを生成する。
+	 * 
+	 * @param pattern パターン文字列（{@link SimpleDateFormat}参照）
+	 * @param timeZone タイムゾーン
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @throws IllegalArgumentException パターンが正しくない場合
+	 */
+	public TimePointFormatter(String pattern, TimeZone timeZone) {
+		Preconditions.checkNotNull(pattern);
+		Preconditions.checkNotNull(timeZone);
+		this.pattern = pattern;
+		this.timeZone = timeZone;
+		iso = TimePoint.ISO8601_FORMAT_UNIVERSAL.equals(pattern) && timeZone.hasSameRules(TimeZones.UNIVERSAL);
+		// 生成時にパターンを検証するため、このスレッドで使用するSimpleDateFormatをここで生成しておく
+		getFormat(null);
+	}
+	
+	@Override
+	public TimePoint parse(String text, Locale locale) throws ParseException {
+		if (iso) {
+			try {
+				TimePoint timePoint = IsoCodec.parseTimePoint(text);
+				if (IsoCodec.canFormat(timePoint.toEpochMillisec())) {
+					return timePoint;
+				}
+			} catch (ParseException e) {
+				// SimpleDateFormatによる解析に委譲する
+			}
+		}
+		return TimePoint.from(getFormat(locale).parse(text));
+	}
+	
+	@Override
+	public String print(TimePoint object, Locale locale) {
+		if (iso && IsoCodec.canFormat(object.toEpochMillisec())) {
+			char[] buf = new char[IsoCodec.TIME_POINT_LENGTH];
+			IsoCodec.formatTo(object, false, buf, 0);
+			return new String(buf);
+		}
+		return getFormat(locale).format(object.asJavaUtilDate());
+	}
+	
+	private SimpleDateFormat getFormat(Locale locale) {
+		Locale l = locale == null ? Locale.getDefault() : locale;
+		CachedFormat cached = formats.get();
+		if (cached == null || cached.locale.equals(l) == false) {
+			cached = new CachedFormat(l, CalendarUtil.newSimpleDateFormat(pattern, l, timeZone));
+			formats.set(cached);
+		}
+		return cached.format;
+	}
+	
+	
+	private static final class CachedFormat {
+		
+		final Locale locale;
+		
+		final SimpleDateFormat format;
+		
+		
+		CachedFormat(Locale locale, SimpleDateFormat format) {
+			this.locale = locale;
+			this.format = format;
+		}
+	}
+}
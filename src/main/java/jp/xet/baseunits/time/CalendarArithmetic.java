@@ -0,0 +1,193 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.time;
+
+/**
+ * {@link java.util.Calendar}を介さずに、暦日の整数演算を行うユーティリティクラス。
+ * 
+ * <p>{@link java.util.GregorianCalendar}はグレゴリオ暦への切替（1582年10月）以前をユリウス暦として扱うため、
+ * このクラスはグレゴリオ暦の切替の影響を受けない年（{@link #MIN_YEAR}〜{@link #MAX_YEAR}）のみを扱う。
+ * 範囲外の値に対しては、呼び出し側で{@link java.util.Calendar}による計算にフォールバックすること。</p>
+ * 
+ * <p>エポック日（epoch day）とは、1970年1月1日を{@code 0}とした通算日数である。</p>
+ * 
+ * @author daisuke
+ */
+final class CalendarArithmetic {
+	
+	/** このクラスで扱うことができる最小の西暦年 */
+	static final int MIN_YEAR = 1584;
+	
+	/** このクラスで扱うことができる最大の西暦年 */
+	static final int MAX_YEAR = 999999;
+	
+	/** 0000年3月1日から1970年1月1日までの日数 */
+	private static final long DAYS_0000_03_01_TO_1970 = 719468L;
+	
+	/** グレゴリオ暦400年周期の日数 */
+	private static final long DAYS_PER_CYCLE = 146097L;
+	
+	/** {@link #MIN_YEAR}年1月1日のエポック日 */
+	static final long MIN_EPOCH_DAY = toEpochDay(MIN_YEAR, 1, 1);
+	
+	/** {@link #MAX_YEAR}年12月31日のエポック日 */
+	static final long MAX_EPOCH_DAY = toEpochDay(MAX_YEAR, 12, 31);
+	
+	
+	/**
+	 * 指定した西暦年が、このクラスで扱うことができる範囲にあるかどうかを調べる。
+	 * 
+	 * @param year 西暦年
+	 * @return 範囲内である場合は{@code true}、そうでない場合は{@code false}
+	 */
+	static boolean isSupportedYear(long year) {
+		return year >= MIN_YEAR && year <= MAX_YEAR;
+	}
+	
+	/**
+	 * 指定したエポック日が、このクラスで扱うことができる範囲にあるかどうかを調べる。
+	 * 
+	 * @param epochDay エポック日
+	 * @return 範囲内である場合は{@code true}、そうでない場合は{@code false}
+	 */
+	static boolean isSupportedEpochDay(long epochDay) {
+		return epochDay >= MIN_EPOCH_DAY && epochDay <= MAX_EPOCH_DAY;
+	}
+	
+	/**
+	 * グレゴリオ暦において、指定した西暦年が閏年であるかどうかを調べる。
+	 * 
+	 * @param year 西暦年
+	 * @return 閏年である場合は{@code true}、そうでない場合は{@code false}
+	 */
+	static boolean isLeapYear(int year) {
+		return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0); // CHECKSTYLE IGNORE THIS LINE
+	}
+	
+	/**
+	 * 指定した年月の日数を返す。
+	 * 
+	 * @param year 西暦年
+	 * @param month 月（1〜12）
+	 * @return 日数
+	 */
+	static int lengthOfMonth(int year, int month) {
+		switch (month) {
+			case 2:
+				return isLeapYear(year) ? 29 : 28; // CHECKSTYLE IGNORE THIS LINE
+			case 4:
+			case 6:
+			case 9:
+			case 11: // CHECKSTYLE IGNORE THIS LINE
+				return 30; // CHECKSTYLE IGNORE THIS LINE
+			default:
+				return 31; // CHECKSTYLE IGNORE THIS LINE
+		}
+	}
+	
+	/**
+	 * 指定した年月日のエポック日を返す。
+	 * 
+	 * @param year 西暦年
+	 * @param month 月（1〜12）
+	 * @param day 日（1〜31）
+	 * @return エポック日
+	 */
+	static long toEpochDay(int year, int month, int day) {
+		// 3月を年初とみなすと、閏日が年末に位置するため計算が単純になる
+		long y = month <= 2 ? year - 1 : year;
+		long era = Math.floorDiv(y, 400);
+		long yearOfEra = y - era * 400;
+		long monthFromMarch = month > 2 ? month - 3 : month + 9; // CHECKSTYLE IGNORE THIS LINE
+		long dayOfYear = (153 * monthFromMarch + 2) / 5 + day - 1; // CHECKSTYLE IGNORE THIS LINE
+		long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear; // CHECKSTYLE IGNORE THIS LINE
+		return era * DAYS_PER_CYCLE + dayOfEra - DAYS_0000_03_01_TO_1970;
+	}
+	
+	/**
+	 * エポック日から暦日を返す。
+	 * 
+	 * @param epochDay エポック日
+	 * @return 暦日
+	 */
+	static CalendarDate toCalendarDate(long epochDay) {
+		long packed = toPackedDate(epochDay);
+		return CalendarDate.from(packedYear(packed), packedMonth(packed), packedDay(packed));
+	}
+	
+	/**
+	 * エポック日から、年月日を1つの{@code long}値に詰めた表現を返す。
+	 * 
+	 * <p>オブジェクトを生成せずに年月日を得るための表現であり、各値は{@link #packedYear(long)}、
+	 * {@link #packedMonth(long)}、{@link #packedDay(long)}で取り出す。</p>
+	 * 
+	 * @param epochDay エポック日
+	 * @return 年月日を詰めた値
+	 */
+	static long toPackedDate(long epochDay) {
+		long z = epochDay + DAYS_0000_03_01_TO_1970;
+		long era = Math.floorDiv(z, DAYS_PER_CYCLE);
+		long dayOfEra = z - era * DAYS_PER_CYCLE;
+		long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365; // CHECKSTYLE IGNORE THIS LINE
+		long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100); // CHECKSTYLE IGNORE THIS LINE
+		long monthFromMarch = (5 * dayOfYear + 2) / 153; // CHECKSTYLE IGNORE THIS LINE
+		long day = dayOfYear - (153 * monthFromMarch + 2) / 5 + 1; // CHECKSTYLE IGNORE THIS LINE
+		long month = monthFromMarch < 10 ? monthFromMarch + 3 : monthFromMarch - 9; // CHECKSTYLE IGNORE THIS LINE
+		long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0); // CHECKSTYLE IGNORE THIS LINE
+		return (year << 9) | (month << 5) | day; // CHECKSTYLE IGNORE THIS LINE
+	}
+	
+	static int packedYear(long packed) {
+		return (int) (packed >> 9); // CHECKSTYLE IGNORE THIS LINE
+	}
+	
+	static int packedMonth(long packed) {
+		return (int) (packed >> 5) & 0x0F; // CHECKSTYLE IGNORE THIS LINE
+	}
+	
+	static int packedDay(long packed) {
+		return (int) packed & 0x1F; // CHECKSTYLE IGNORE THIS LINE
+	}
+	
+	/**
+	 * エポック日の曜日を、ISO-8601の序数（月曜日={@code 1}〜日曜日={@code 7}）で返す。
+	 * 
+	 * @param epochDay エポック日
+	 * @return 曜日の序数
+	 */
+	static int isoDayOfWeek(long epochDay) {
+		// 1970年1月1日は木曜日
+		return (int) Math.floorMod(epochDay + 3, 7) + 1; // CHECKSTYLE IGNORE THIS LINE
+	}
+	
+	/**
+	 * ISO-8601の週番号規則（月曜始まり、第1週は4日以上を含む週）に基づき、
+	 * 指定した週年・週番号の月曜日のエポック日を返す。
+	 * 
+	 * <p>週番号がその年の週数を超える場合は、翌年の週として扱う（{@link java.util.Calendar}の寛容モードと同じ）。</p>
+	 * 
+	 * @param weekYear 週年
+	 * @param week 週番号
+	 * @return 月曜日のエポック日
+	 */
+	static long isoWeekMonday(int weekYear, int week) {
+		long jan4 = toEpochDay(weekYear, 1, 4);
+		return jan4 - (isoDayOfWeek(jan4) - 1) + 7L * (week - 1); // CHECKSTYLE IGNORE THIS LINE
+	}
+	
+	private CalendarArithmetic() {
+	}
+}
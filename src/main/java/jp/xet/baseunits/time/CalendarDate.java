@@ -40,9 +40,10 @@ import com.google.common.base.Preconditions;
  * @since 1.0
  * @see DayOfMonth
  */
-@SuppressWarnings("serial")
 public class CalendarDate implements Comparable<CalendarDate>, Serializable {
 	
+	private static final long serialVersionUID = 2752121346447493639L;
+	
 	/**
 	 * 指定した暦月及び日で表される暦週を返す。
 	 * 
@@ -116,6 +117,12 @@ public class CalendarDate implements Comparable<CalendarDate>, Serializable {
 	public static CalendarDate from(TimePoint timePoint, TimeZone zone) {
 		Preconditions.checkNotNull(timePoint);
 		Preconditions.checkNotNull(zone);
+		long localMillis = ZoneOffsetTable.of(zone).toLocalMillis(timePoint.millisecondsFromEpoch);
+		long epochDay = Math.floorDiv(localMillis, TimeUnitConversionFactor.millisecondsPerDay.value);
+		if (CalendarArithmetic.isSupportedEpochDay(epochDay)) {
+			return CalendarArithmetic.toCalendarDate(epochDay);
+		}
+		
 		Calendar calendar = timePoint.asJavaCalendar();
 		calendar.setTimeZone(zone);
 		return from(calendar);
@@ -185,10 +192,7 @@ public class CalendarDate implements Comparable<CalendarDate>, Serializable {
 	public static CalendarDate parse(String dateString, String pattern) throws ParseException {
 		Preconditions.checkNotNull(dateString);
 		Preconditions.checkNotNull(pattern);
-		TimeZone arbitraryZone = TimeZone.getTimeZone("Universal");
-		// Any timezone works, as long as the same one is used throughout.
-		TimePoint point = TimePoint.parse(dateString, pattern, arbitraryZone);
-		return CalendarDate.from(point, arbitraryZone);
+		return DatePattern.compile(pattern).parseCalendarDate(dateString);
 	}
 	
 	// calendarがTimeZone情報を含むことが分かりづらいので、現状は敢えて非公開にしている。
@@ -600,12 +604,7 @@ public class CalendarDate implements Comparable<CalendarDate>, Serializable {
 	 * @since 1.0
 	 */
 	public CalendarDate plusDays(int increment) {
-		Calendar calendar = asJavaCalendarUniversalZoneMidnight();
-		calendar.add(Calendar.DATE, increment);
-		int year = calendar.get(Calendar.YEAR);
-		int month = calendar.get(Calendar.MONTH) + 1;
-		int day = calendar.get(Calendar.DATE); // CHECKSTYLE IGNORE THIS LINE
-		return CalendarDate.from(year, month, day);
+		return plusDays((long) increment);
 	}
 	
 	/**
@@ -618,6 +617,15 @@ public class CalendarDate implements Comparable<CalendarDate>, Serializable {
 	 * @since 1.0
 	 */
 	public CalendarDate plusMonths(int increment) {
+		long months = yearMonth.year * 12L + (yearMonth.month.value - 1) + increment; // CHECKSTYLE IGNORE THIS LINE
+		long newYear = Math.floorDiv(months, 12); // CHECKSTYLE IGNORE THIS LINE
+		if (CalendarArithmetic.isSupportedYear(yearMonth.year) && CalendarArithmetic.isSupportedYear(newYear)) {
+			int newMonth = (int) Math.floorMod(months, 12) + 1; // CHECKSTYLE IGNORE THIS LINE
+			int lastDay = CalendarArithmetic.lengthOfMonth((int) newYear, newMonth);
+			return CalendarDate.from((int) newYear, newMonth, Math.min(day.value, lastDay));
+		}
+		
+		// グレゴリオ暦への切替以前は、java.util.Calendarの暦法に委ねる
 		Calendar calendar = asJavaCalendarUniversalZoneMidnight();
 		calendar.add(Calendar.MONTH, increment);
 		int year = calendar.get(Calendar.YEAR);
@@ -695,10 +703,29 @@ public class CalendarDate implements Comparable<CalendarDate>, Serializable {
 	 * @since 2.0
 	 */
 	public String toString(String pattern, Locale locale) {
-		// Any timezone works, as long as the same one is used throughout.
-		TimeZone arbitraryZone = TimeZones.UNIVERSAL;
-		TimePoint point = startAsTimePoint(arbitraryZone);
-		return point.toString(pattern, locale, arbitraryZone);
+		return DatePattern.compile(pattern).format(this, locale);
+	}
+	
+	/**
+	 * この暦日の {@code increment} 日後に当たる暦日を返す。
+	 * 
+	 * @param increment 加える日数
+	 * @return {@code increment} 日後に当たる暦日
+	 */
+	CalendarDate plusDays(long increment) {
+		int year = yearMonth.year;
+		if (CalendarArithmetic.isSupportedYear(year)) {
+			long epochDay = CalendarArithmetic.toEpochDay(year, yearMonth.month.value, day.value) + increment;
+			if (CalendarArithmetic.isSupportedEpochDay(epochDay)) {
+				return CalendarArithmetic.toCalendarDate(epochDay);
+			}
+		}
+		
+		// グレゴリオ暦への切替以前は、java.util.Calendarの暦法に委ねる
+		Calendar calendar = asJavaCalendarUniversalZoneMidnight();
+		calendar.setTimeInMillis(calendar.getTimeInMillis()
+				+ increment * TimeUnitConversionFactor.millisecondsPerDay.value);
+		return from(calendar);
 	}
 	
 	Calendar asJavaCalendarUniversalZoneMidnight() {
@@ -712,4 +739,8 @@ public class CalendarDate implements Comparable<CalendarDate>, Serializable {
 		calendar.set(Calendar.MILLISECOND, 0);
 		return calendar;
 	}
+	
+	private Object writeReplace() {
+		return Ser.of(this);
+	}
 }
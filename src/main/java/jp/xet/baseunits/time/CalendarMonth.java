@@ -22,8 +22,6 @@ import java.util.Calendar;
 import java.util.Locale;
 import java.util.TimeZone;
 
-import jp.xet.baseunits.util.TimeZones;
-
 import com.google.common.base.Preconditions;
 
 /**
@@ -39,9 +37,10 @@ import com.google.common.base.Preconditions;
  * @since 1.0
  * @see MonthOfYear
  */
-@SuppressWarnings("serial")
 public class CalendarMonth implements Comparable<CalendarMonth>, Serializable {
 	
+	private static final long serialVersionUID = 6569631378542075980L;
+	
 	private static final String DEFAULT_PATTERN = "yyyy-MM";
 	
 	
@@ -83,6 +82,13 @@ public class CalendarMonth implements Comparable<CalendarMonth>, Serializable {
 	public static CalendarMonth from(TimePoint timePoint, TimeZone zone) {
 		Preconditions.checkNotNull(timePoint);
 		Preconditions.checkNotNull(zone);
+		long localMillis = ZoneOffsetTable.of(zone).toLocalMillis(timePoint.millisecondsFromEpoch);
+		long epochDay = Math.floorDiv(localMillis, TimeUnitConversionFactor.millisecondsPerDay.value);
+		if (CalendarArithmetic.isSupportedEpochDay(epochDay)) {
+			long packed = CalendarArithmetic.toPackedDate(epochDay);
+			return CalendarMonth.from(CalendarArithmetic.packedYear(packed), CalendarArithmetic.packedMonth(packed));
+		}
+		
 		Calendar calendar = timePoint.asJavaCalendar();
 		calendar.setTimeZone(zone);
 		return CalendarMonth.from(calendar);
@@ -110,10 +116,9 @@ public class CalendarMonth implements Comparable<CalendarMonth>, Serializable {
 	 * @since 1.0
 	 */
 	public static CalendarMonth parse(String monthString, String pattern) throws ParseException {
-		//Any timezone works, as long as the same one is used throughout.
-		TimeZone arbitraryZone = TimeZones.UNIVERSAL;
-		TimePoint point = TimePoint.parse(monthString, pattern, arbitraryZone);
-		return CalendarMonth.from(point, arbitraryZone);
+		Preconditions.checkNotNull(monthString);
+		Preconditions.checkNotNull(pattern);
+		return DatePattern.compile(pattern).parseCalendarMonth(monthString);
 	}
 	
 	static CalendarMonth from(Calendar calendar) { // CHECKSTYLE IGNORE THIS LINE
@@ -364,6 +369,13 @@ public class CalendarMonth implements Comparable<CalendarMonth>, Serializable {
 	 * @since 1.0
 	 */
 	public CalendarMonth plusMonths(int increment) {
+		long months = year * 12L + (month.value - 1) + increment; // CHECKSTYLE IGNORE THIS LINE
+		long newYear = Math.floorDiv(months, 12); // CHECKSTYLE IGNORE THIS LINE
+		if (year > 0 && newYear > 0 && newYear <= CalendarArithmetic.MAX_YEAR) {
+			return CalendarMonth.from((int) newYear, (int) Math.floorMod(months, 12) + 1); // CHECKSTYLE IGNORE THIS LINE
+		}
+		
+		// 紀元前は、java.util.Calendarの暦法に委ねる
 		Calendar calendar = asJavaCalendarUniversalZoneMidnight();
 		calendar.add(Calendar.MONTH, increment);
 		int yearValue = calendar.get(Calendar.YEAR);
@@ -414,10 +426,7 @@ public class CalendarMonth implements Comparable<CalendarMonth>, Serializable {
 	 * @since 2.1
 	 */
 	public String toString(String pattern, Locale locale) {
-		// Any timezone works, as long as the same one is used throughout.
-		TimeZone arbitraryZone = TimeZones.UNIVERSAL;
-		TimePoint point = asTimePoint(arbitraryZone);
-		return point.toString(pattern, locale, arbitraryZone);
+		return DatePattern.compile(pattern).format(this, locale);
 	}
 	
 	Calendar asJavaCalendarUniversalZoneMidnight() {
@@ -431,4 +440,8 @@ public class CalendarMonth implements Comparable<CalendarMonth>, Serializable {
 		calendar.set(Calendar.MILLISECOND, 0);
 		return calendar;
 	}
+	
+	private Object writeReplace() {
+		return new Ser(Ser.CALENDAR_MONTH, this);
+	}
 }
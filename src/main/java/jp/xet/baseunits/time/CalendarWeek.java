@@ -50,6 +50,11 @@ public class CalendarWeek implements Comparable<CalendarWeek>, Serializable {
 	 */
 	public static CalendarWeek from(CalendarDate date) {
 		Preconditions.checkNotNull(date);
+		if (CalendarArithmetic.isSupportedYear(date.getYear())) {
+			return from(CalendarArithmetic.toEpochDay(date.getYear(), date.getMonthOfYear().value,
+					date.getDayOfMonth().value));
+		}
+		
 		Calendar cal = date.asJavaCalendarUniversalZoneMidnight();
 		int year = cal.get(Calendar.YEAR);
 		int month = cal.get(Calendar.MONTH);
@@ -95,6 +100,21 @@ public class CalendarWeek implements Comparable<CalendarWeek>, Serializable {
 	}
 	
 	
+	/**
+	 * 指定したエポック日を含む暦週を返す。
+	 * 
+	 * @param epochDay エポック日
+	 * @return 暦週
+	 */
+	private static CalendarWeek from(long epochDay) {
+		// ISO-8601では、木曜日を含む年がその週の年となる
+		long thursday = epochDay - CalendarArithmetic.isoDayOfWeek(epochDay) + 4; // CHECKSTYLE IGNORE THIS LINE
+		int weekYear = CalendarArithmetic.packedYear(CalendarArithmetic.toPackedDate(thursday));
+		long firstDay = CalendarArithmetic.toEpochDay(weekYear, 1, 1);
+		return from(weekYear, (int) ((thursday - firstDay) / 7) + 1); // CHECKSTYLE IGNORE THIS LINE
+	}
+	
+	
 	private static final DayOfWeek START_DAY_OF_WEEK = DayOfWeek.MONDAY;
 	
 	private static final DayOfWeek END_DAY_OF_WEEK = DayOfWeek.SUNDAY;
@@ -310,6 +330,14 @@ public class CalendarWeek implements Comparable<CalendarWeek>, Serializable {
 	 * @since 2.0
 	 */
 	public CalendarWeek plusWeeks(int increment) {
+		if (CalendarArithmetic.isSupportedYear(year)) {
+			long monday = CalendarArithmetic.isoWeekMonday(year, week.value) + 7L * increment; // CHECKSTYLE IGNORE THIS LINE
+			if (CalendarArithmetic.isSupportedEpochDay(monday)) {
+				return from(monday);
+			}
+		}
+		
+		// グレゴリオ暦への切替以前は、java.util.Calendarの暦法に委ねる
 		Calendar calendar = asJavaCalendarUniversalZoneMidnight();
 		calendar.add(Calendar.WEEK_OF_YEAR, increment);
 		CalendarDate calendarDate = CalendarDate.from(calendar);
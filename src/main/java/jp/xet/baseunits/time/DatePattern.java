@@ -0,0 +1,747 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.time;
+
+import java.io.IOException;
+import java.text.DateFormatSymbols;
+import java.text.DecimalFormatSymbols;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentMap;
+
+import jp.xet.baseunits.util.TimeZones;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
+
+/**
+ * {@link SimpleDateFormat}互換のパターンを事前に解析（コンパイル）した、日付・時刻の書式。
+ * 
+ * <p>{@link CalendarDate}、{@link CalendarMonth}、{@link TimeOfDay}の各フィールドから直接文字列を組み立て、
+ * また文字列から直接各フィールドを読み取る。{@link SimpleDateFormat}や{@link Calendar}を都度生成しないため、
+ * 同じパターンを繰り返し利用する場合に高速である。コンパイル済みのパターンは{@link #compile(String)}で
+ * キャッシュされ、インスタンスは不変かつスレッドセーフである。</p>
+ * 
+ * <p>結果は{@link SimpleDateFormat}（タイムゾーンは{@link TimeZones#UNIVERSAL}）による整形・解析と一致する。
+ * 以下の場合は、内部で{@link SimpleDateFormat}による処理に委譲する。</p>
+ * <ul>
+ *   <li>週に関するパターン文字（{@code Y}, {@code w}, {@code W}）、独立形式の月（{@code L}）、
+ *     タイムゾーン（{@code z}, {@code Z}, {@code X}）を含む場合</li>
+ *   <li>グレゴリオ暦への切替の影響を受ける年（{@link CalendarArithmetic#MIN_YEAR}年より前）を扱う場合</li>
+ *   <li>ロケールが{@code 0}〜{@code 9}以外の数字を用いる場合や、グレゴリオ暦以外の暦を用いる場合</li>
+ *   <li>解析において、数値以外のフィールドや2桁の年を含む場合、または入力が数字と区切り文字の厳密な並びでない場合</li>
+ * </ul>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+public final class DatePattern {
+	
+	/** キャッシュするパターン数の上限 */
+	private static final int MAX_PATTERNS = 256;
+	
+	private static final ConcurrentMap<String, DatePattern> PATTERNS = Maps.newConcurrentMap();
+	
+	/** ロケール毎の、このクラスで直接整形できるかどうかの判定結果 */
+	private static final ConcurrentMap<Locale, Boolean> SUPPORTED_LOCALES = Maps.newConcurrentMap();
+	
+	/** {@link SimpleDateFormat}で解釈できるパターン文字 */
+	private static final String PATTERN_LETTERS = "GyYMLwWDdFEuaHkKhmsSzZX";
+	
+	/** このクラスで整形できないパターン文字 */
+	private static final String UNSUPPORTED_LETTERS = "YLwWzZX";
+	
+	/** このクラスで解析できるパターン文字 */
+	private static final String PARSEABLE_LETTERS = "yMdHmsS";
+	
+	/** 解析時に読み取る数字の最大桁数 */
+	private static final int MAX_PARSE_DIGITS = 9;
+	
+	private static final int MILLIS_PER_SECOND = TimeUnitConversionFactor.millisecondsPerSecond.value;
+	
+	private static final int MILLIS_PER_MINUTE = TimeUnitConversionFactor.millisecondsPerMinute.value;
+	
+	private static final int MILLIS_PER_HOUR = TimeUnitConversionFactor.millisecondsPerHour.value;
+	
+	private static final int HOURS_PER_HALF_DAY = 12;
+	
+	
+	/**
+	 * 指定したパターンをコンパイルした{@link DatePattern}を返す。
+	 * 
+	 * <p>同じパターンに対しては、キャッシュ済みのインスタンスを返す。</p>
+	 * 
+	 * @param pattern {@link SimpleDateFormat}に基づくパターン
+	 * @return {@link DatePattern}
+	 * @throws IllegalArgumentException パターンが不正である場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public static DatePattern compile(String pattern) {
+		Preconditions.checkNotNull(pattern);
+		DatePattern compiled = PATTERNS.get(pattern);
+		if (compiled == null) {
+			if (PATTERNS.size() >= MAX_PATTERNS) {
+				PATTERNS.clear();
+			}
+			compiled = new DatePattern(pattern);
+			DatePattern existing = PATTERNS.putIfAbsent(pattern, compiled);
+			if (existing != null) {
+				compiled = existing;
+			}
+		}
+		return compiled;
+	}
+	
+	/**
+	 * 指定したロケールにおいて、{@link SimpleDateFormat}と同じ結果を直接組み立てられるかどうかを調べる。
+	 * 
+	 * @param locale ロケール
+	 * @return 直接組み立てられる場合は{@code true}、そうでない場合は{@code false}
+	 */
+	private static boolean isSupportedLocale(Locale locale) {
+		Boolean supported = SUPPORTED_LOCALES.get(locale);
+		if (supported == null) {
+			supported = DecimalFormatSymbols.getInstance(locale).getZeroDigit() == '0'
+					&& Calendar.getInstance(locale) instanceof GregorianCalendar;
+			SUPPORTED_LOCALES.put(locale, supported);
+		}
+		return supported;
+	}
+	
+	/**
+	 * {@link CalendarUtil#newSimpleDateFormat(String, Locale, java.util.TimeZone)}が用いる暦
+	 * （既定ロケールの暦）で、直接組み立てた結果と同じ結果が得られるかどうかを調べる。
+	 * 
+	 * @return 同じ結果が得られる場合は{@code true}、そうでない場合は{@code false}
+	 */
+	private static boolean isDefaultCalendarSupported() {
+		return isSupportedLocale(Locale.getDefault(Locale.Category.FORMAT));
+	}
+	
+	
+	private final String pattern;
+	
+	private final Element[] elements;
+	
+	/** パターンの全ての要素を直接整形できるかどうか */
+	private final boolean formattable;
+	
+	/** パターンの全ての要素を直接解析できるかどうか */
+	private final boolean parseable;
+	
+	
+	private DatePattern(String pattern) {
+		this.pattern = pattern;
+		List<Element> list = new ArrayList<Element>();
+		StringBuilder literal = new StringBuilder();
+		int length = pattern.length();
+		int i = 0;
+		while (i < length) {
+			char c = pattern.charAt(i);
+			if (c == '\'') {
+				int end = i + 1;
+				if (end < length && pattern.charAt(end) == '\'') {
+					// 連続する2つの引用符は、引用符そのものを表す
+					literal.append('\'');
+					i = end + 1;
+					continue;
+				}
+				while (true) {
+					if (end >= length) {
+						throw new IllegalArgumentException("Unterminated quote");
+					}
+					if (pattern.charAt(end) == '\'') {
+						if (end + 1 < length && pattern.charAt(end + 1) == '\'') {
+							literal.append('\'');
+							end += 2;
+							continue;
+						}
+						break;
+					}
+					literal.append(pattern.charAt(end));
+					end++;
+				}
+				i = end + 1;
+			} else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+				if (PATTERN_LETTERS.indexOf(c) < 0) {
+					throw new IllegalArgumentException("Illegal pattern character '" + c + "'");
+				}
+				int count = 1;
+				while (i + count < length && pattern.charAt(i + count) == c) {
+					count++;
+				}
+				if (literal.length() > 0) {
+					list.add(new Literal(literal.toString()));
+					literal.setLength(0);
+				}
+				list.add(new Field(c, count));
+				i += count;
+			} else {
+				literal.append(c);
+				i++;
+			}
+		}
+		if (literal.length() > 0) {
+			list.add(new Literal(literal.toString()));
+		}
+		elements = list.toArray(new Element[list.size()]);
+		
+		boolean canFormat = true;
+		boolean canParse = true;
+		for (int j = 0; j < elements.length; j++) {
+			if (elements[j] instanceof Field) {
+				Field field = (Field) elements[j];
+				if (UNSUPPORTED_LETTERS.indexOf(field.letter) >= 0) {
+					canFormat = false;
+				}
+				if (PARSEABLE_LETTERS.indexOf(field.letter) < 0 || (field.letter == 'y' && field.count <= 2)
+						|| (field.letter == 'M' && field.count >= 3)) {
+					canParse = false;
+				}
+				// 直後にフィールドが続く場合、SimpleDateFormatはパターン文字の数だけを読み取る
+				field.obeyCount = j + 1 < elements.length && elements[j + 1] instanceof Field;
+			}
+		}
+		formattable = canFormat;
+		parseable = canParse;
+	}
+	
+	/**
+	 * 暦日を整形した文字列を返す。
+	 * 
+	 * @param date 暦日
+	 * @param locale ロケール
+	 * @return 整形済み文字列
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public String format(CalendarDate date, Locale locale) {
+		StringBuilder sb = new StringBuilder(pattern.length() + 8); // CHECKSTYLE IGNORE THIS LINE
+		formatTo(date, locale, sb);
+		return sb.toString();
+	}
+	
+	/**
+	 * 暦月を整形した文字列を返す。
+	 * 
+	 * <p>日は1日、時刻は午前0時として整形する。</p>
+	 * 
+	 * @param month 暦月
+	 * @param locale ロケール
+	 * @return 整形済み文字列
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public String format(CalendarMonth month, Locale locale) {
+		StringBuilder sb = new StringBuilder(pattern.length() + 8); // CHECKSTYLE IGNORE THIS LINE
+		formatTo(month, locale, sb);
+		return sb.toString();
+	}
+	
+	/**
+	 * 時刻を整形した文字列を返す。
+	 * 
+	 * <p>暦日は1970年1月1日として整形する。</p>
+	 * 
+	 * @param time 時刻
+	 * @param locale ロケール
+	 * @return 整形済み文字列
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public String format(TimeOfDay time, Locale locale) {
+		StringBuilder sb = new StringBuilder(pattern.length() + 8); // CHECKSTYLE IGNORE THIS LINE
+		formatTo(time, locale, sb);
+		return sb.toString();
+	}
+	
+	/**
+	 * 暦日を整形し、{@link StringBuilder}に追加する。
+	 * 
+	 * @param date 暦日
+	 * @param locale ロケール
+	 * @param out 追加先
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public void formatTo(CalendarDate date, Locale locale, StringBuilder out) {
+		try {
+			formatTo(date, locale, (Appendable) out);
+		} catch (IOException e) {
+			throw new AssertionError(e);
+		}
+	}
+	
+	/**
+	 * 暦日を整形し、{@link Appendable}に追加する。
+	 * 
+	 * @param date 暦日
+	 * @param locale ロケール
+	 * @param out 追加先
+	 * @throws IOException 追加に失敗した場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public void formatTo(CalendarDate date, Locale locale, Appendable out) throws IOException {
+		Preconditions.checkNotNull(date);
+		Preconditions.checkNotNull(locale);
+		Preconditions.checkNotNull(out);
+		int year = date.getYear();
+		if (canFormat(year, locale)) {
+			formatFields(year, date.getMonthOfYear().value, date.getDayOfMonth().value, 0, locale, out);
+		} else {
+			out.append(date.startAsTimePoint(TimeZones.UNIVERSAL).toString(pattern, locale, TimeZones.UNIVERSAL));
+		}
+	}
+	
+	/**
+	 * 暦月を整形し、{@link StringBuilder}に追加する。
+	 * 
+	 * @param month 暦月
+	 * @param locale ロケール
+	 * @param out 追加先
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public void formatTo(CalendarMonth month, Locale locale, StringBuilder out) {
+		try {
+			formatTo(month, locale, (Appendable) out);
+		} catch (IOException e) {
+			throw new AssertionError(e);
+		}
+	}
+	
+	/**
+	 * 暦月を整形し、{@link Appendable}に追加する。
+	 * 
+	 * @param month 暦月
+	 * @param locale ロケール
+	 * @param out 追加先
+	 * @throws IOException 追加に失敗した場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public void formatTo(CalendarMonth month, Locale locale, Appendable out) throws IOException {
+		Preconditions.checkNotNull(month);
+		Preconditions.checkNotNull(locale);
+		Preconditions.checkNotNull(out);
+		if (canFormat(month.year, locale)) {
+			formatFields(month.year, month.month.value, 1, 0, locale, out);
+		} else {
+			out.append(month.asTimePoint(TimeZones.UNIVERSAL).toString(pattern, locale, TimeZones.UNIVERSAL));
+		}
+	}
+	
+	/**
+	 * 時刻を整形し、{@link StringBuilder}に追加する。
+	 * 
+	 * @param time 時刻
+	 * @param locale ロケール
+	 * @param out 追加先
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public void formatTo(TimeOfDay time, Locale locale, StringBuilder out) {
+		try {
+			formatTo(time, locale, (Appendable) out);
+		} catch (IOException e) {
+			throw new AssertionError(e);
+		}
+	}
+	
+	/**
+	 * 時刻を整形し、{@link Appendable}に追加する。
+	 * 
+	 * @param time 時刻
+	 * @param locale ロケール
+	 * @param out 追加先
+	 * @throws IOException 追加に失敗した場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public void formatTo(TimeOfDay time, Locale locale, Appendable out) throws IOException {
+		Preconditions.checkNotNull(time);
+		Preconditions.checkNotNull(locale);
+		Preconditions.checkNotNull(out);
+		if (canFormat(CalendarDate.EPOCH_DATE.getYear(), locale)) {
+			formatFields(CalendarDate.EPOCH_DATE.getYear(), 1, 1, time.millisOfDay, locale, out);
+		} else {
+			TimePoint point = time.asTimePointGiven(CalendarDate.EPOCH_DATE, TimeZones.UNIVERSAL);
+			out.append(point.toString(pattern, locale, TimeZones.UNIVERSAL));
+		}
+	}
+	
+	/**
+	 * このパターンの文字列表現を返す。
+	 * 
+	 * @return パターン
+	 * @since 2.19
+	 */
+	public String getPattern() {
+		return pattern;
+	}
+	
+	/**
+	 * 文字列を解析し、暦日を返す。
+	 * 
+	 * <p>パターンに含まれないフィールドは、1970年1月1日午前0時の値として扱う。
+	 * 文字列の末尾の、パターンに対応しない部分は無視する。</p>
+	 * 
+	 * @param text 解析する文字列
+	 * @return 暦日
+	 * @throws ParseException 文字列の解析に失敗した場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public CalendarDate parseCalendarDate(String text) throws ParseException {
+		Preconditions.checkNotNull(text);
+		Parsed parsed = parseFields(text);
+		if (parsed != null) {
+			return CalendarDate.from(parsed.year, parsed.month, parsed.day);
+		}
+		return CalendarDate.from(TimePoint.parse(text, pattern, TimeZones.UNIVERSAL), TimeZones.UNIVERSAL);
+	}
+	
+	/**
+	 * 文字列を解析し、暦月を返す。
+	 * 
+	 * <p>パターンに含まれないフィールドは、1970年1月1日午前0時の値として扱う。
+	 * 文字列の末尾の、パターンに対応しない部分は無視する。</p>
+	 * 
+	 * @param text 解析する文字列
+	 * @return 暦月
+	 * @throws ParseException 文字列の解析に失敗した場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public CalendarMonth parseCalendarMonth(String text) throws ParseException {
+		Preconditions.checkNotNull(text);
+		Parsed parsed = parseFields(text);
+		if (parsed != null) {
+			return CalendarMonth.from(parsed.year, parsed.month);
+		}
+		return CalendarMonth.from(TimePoint.parse(text, pattern, TimeZones.UNIVERSAL), TimeZones.UNIVERSAL);
+	}
+	
+	/**
+	 * 文字列を解析し、時刻を返す。
+	 * 
+	 * <p>パターンに含まれないフィールドは、午前0時の値として扱う。
+	 * 文字列の末尾の、パターンに対応しない部分は無視する。</p>
+	 * 
+	 * @param text 解析する文字列
+	 * @return 時刻
+	 * @throws ParseException 文字列の解析に失敗した場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public TimeOfDay parseTimeOfDay(String text) throws ParseException {
+		Preconditions.checkNotNull(text);
+		Parsed parsed = parseFields(text);
+		if (parsed != null) {
+			return TimeOfDay.from(parsed.millisOfDay);
+		}
+		return TimePoint.parse(text, pattern, TimeZones.UNIVERSAL).asTimeOfDay(TimeZones.UNIVERSAL);
+	}
+	
+	@Override
+	public String toString() {
+		return pattern;
+	}
+	
+	private boolean canFormat(int year, Locale locale) {
+		return formattable && CalendarArithmetic.isSupportedYear(year) && isSupportedLocale(locale)
+				&& isDefaultCalendarSupported();
+	}
+	
+	private void formatFields(int year, int month, int day, int millisOfDay, Locale locale, Appendable out)
+			throws IOException {
+		DateFormatSymbols symbols = null;
+		for (Element element : elements) {
+			if (element instanceof Literal) {
+				out.append(((Literal) element).text);
+				continue;
+			}
+			Field field = (Field) element;
+			if (field.isText() && symbols == null) {
+				symbols = DateFormatSymbols.getInstance(locale);
+			}
+			field.format(year, month, day, millisOfDay, symbols, out);
+		}
+	}
+	
+	/**
+	 * 文字列を解析する。
+	 * 
+	 * @param text 解析する文字列
+	 * @return 解析結果、または直接解析できない場合は{@code null}
+	 */
+	Parsed parseFields(String text) {
+		if (parseable == false || isDefaultCalendarSupported() == false) {
+			return null;
+		}
+		Parsed parsed = new Parsed();
+		int position = 0;
+		for (Element element : elements) {
+			position = element.parse(text, position, parsed);
+			if (position < 0) {
+				return null;
+			}
+		}
+		if (parsed.isValid() == false) {
+			return null;
+		}
+		return parsed;
+	}
+	
+	
+	/**
+	 * コンパイル済みパターンの要素。
+	 */
+	private abstract static class Element {
+		
+		/**
+		 * 文字列の指定した位置から、この要素を解析する。
+		 * 
+		 * @param text 解析する文字列
+		 * @param position 解析を開始する位置
+		 * @param parsed 解析結果を格納するオブジェクト
+		 * @return 解析を終了した位置、または直接解析できない場合は負数
+		 */
+		abstract int parse(String text, int position, Parsed parsed);
+	}
+	
+	/**
+	 * 固定文字列の要素。
+	 */
+	private static final class Literal extends Element {
+		
+		final String text;
+		
+		
+		Literal(String text) {
+			this.text = text;
+		}
+		
+		@Override
+		int parse(String source, int position, Parsed parsed) {
+			if (source.startsWith(text, position) == false) {
+				return -1;
+			}
+			return position + text.length();
+		}
+	}
+	
+	/**
+	 * パターン文字による、日付・時刻のフィールドの要素。
+	 */
+	private static final class Field extends Element {
+		
+		final char letter;
+		
+		final int count;
+		
+		/** 解析時に、パターン文字の数を超える桁を読み取らないかどうか */
+		boolean obeyCount;
+		
+		
+		Field(char letter, int count) {
+			this.letter = letter;
+			this.count = count;
+		}
+		
+		void format(int year, int month, int day, int millisOfDay, DateFormatSymbols symbols, Appendable out)
+				throws IOException {
+			int hour = millisOfDay / MILLIS_PER_HOUR;
+			switch (letter) {
+				case 'G':
+					out.append(symbols.getEras()[GregorianCalendar.AD]);
+					break;
+				case 'y':
+					if (count == 2) {
+						appendNumber(year % 100, 2, out); // CHECKSTYLE IGNORE THIS LINE
+					} else {
+						appendNumber(year, count, out);
+					}
+					break;
+				case 'M':
+					if (count >= 4) { // CHECKSTYLE IGNORE THIS LINE
+						out.append(symbols.getMonths()[month - 1]);
+					} else if (count == 3) { // CHECKSTYLE IGNORE THIS LINE
+						out.append(symbols.getShortMonths()[month - 1]);
+					} else {
+						appendNumber(month, count, out);
+					}
+					break;
+				case 'd':
+					appendNumber(day, count, out);
+					break;
+				case 'D':
+					long epochDay = CalendarArithmetic.toEpochDay(year, month, day);
+					appendNumber((int) (epochDay - CalendarArithmetic.toEpochDay(year, 1, 1)) + 1, count, out);
+					break;
+				case 'F':
+					appendNumber((day - 1) / 7 + 1, count, out); // CHECKSTYLE IGNORE THIS LINE
+					break;
+				case 'E':
+					// DateFormatSymbolsの曜日はCalendar.DAY_OF_WEEK（日曜日=1）を添字とする
+					int dayOfWeek = CalendarArithmetic.isoDayOfWeek(CalendarArithmetic.toEpochDay(year, month, day))
+							% 7 + 1; // CHECKSTYLE IGNORE THIS LINE
+					out.append(count >= 4 ? symbols.getWeekdays()[dayOfWeek] // CHECKSTYLE IGNORE THIS LINE
+							: symbols.getShortWeekdays()[dayOfWeek]);
+					break;
+				case 'u':
+					appendNumber(CalendarArithmetic.isoDayOfWeek(CalendarArithmetic.toEpochDay(year, month, day)), count,
+							out);
+					break;
+				case 'a':
+					out.append(symbols.getAmPmStrings()[hour < HOURS_PER_HALF_DAY ? Calendar.AM : Calendar.PM]);
+					break;
+				case 'H':
+					appendNumber(hour, count, out);
+					break;
+				case 'k':
+					appendNumber(hour == 0 ? 24 : hour, count, out); // CHECKSTYLE IGNORE THIS LINE
+					break;
+				case 'K':
+					appendNumber(hour % HOURS_PER_HALF_DAY, count, out);
+					break;
+				case 'h':
+					appendNumber(hour % HOURS_PER_HALF_DAY == 0 ? HOURS_PER_HALF_DAY : hour % HOURS_PER_HALF_DAY, count,
+							out);
+					break;
+				case 'm':
+					appendNumber(millisOfDay % MILLIS_PER_HOUR / MILLIS_PER_MINUTE, count, out);
+					break;
+				case 's':
+					appendNumber(millisOfDay % MILLIS_PER_MINUTE / MILLIS_PER_SECOND, count, out);
+					break;
+				case 'S':
+					appendNumber(millisOfDay % MILLIS_PER_SECOND, count, out);
+					break;
+				default:
+					throw new AssertionError(letter);
+			}
+		}
+		
+		boolean isText() {
+			return letter == 'G' || letter == 'E' || letter == 'a' || (letter == 'M' && count >= 3); // CHECKSTYLE IGNORE THIS LINE
+		}
+		
+		@Override
+		int parse(String text, int position, Parsed parsed) {
+			int limit = obeyCount ? Math.min(text.length(), position + count) : text.length();
+			limit = Math.min(limit, position + MAX_PARSE_DIGITS);
+			int value = 0;
+			int end = position;
+			while (end < limit) {
+				char c = text.charAt(end);
+				if (c < '0' || c > '9') {
+					break;
+				}
+				value = value * 10 + (c - '0'); // CHECKSTYLE IGNORE THIS LINE
+				end++;
+			}
+			if (end == position || (obeyCount == false && end < text.length() && Character.isDigit(text.charAt(end)))) {
+				// 数字が無い場合や、桁数が多すぎる場合はSimpleDateFormatに委ねる
+				// （桁数に従うフィールドの場合、後続の数字は次のフィールドのものである）
+				return -1;
+			}
+			switch (letter) {
+				case 'y':
+					parsed.year = value;
+					break;
+				case 'M':
+					parsed.month = value;
+					break;
+				case 'd':
+					parsed.day = value;
+					break;
+				case 'H':
+					parsed.hour = value;
+					break;
+				case 'm':
+					parsed.minute = value;
+					break;
+				case 's':
+					parsed.second = value;
+					break;
+				case 'S':
+					parsed.millisecond = value;
+					break;
+				default:
+					return -1;
+			}
+			return end;
+		}
+		
+		private static void appendNumber(int value, int minDigits, Appendable out) throws IOException {
+			String digits = Integer.toString(value);
+			for (int i = digits.length(); i < minDigits; i++) {
+				out.append('0');
+			}
+			out.append(digits);
+		}
+	}
+	
+	/**
+	 * 解析中のフィールドの値。
+	 */
+	static final class Parsed {
+		
+		int year = CalendarDate.EPOCH_DATE.getYear();
+		
+		int month = 1;
+		
+		int day = 1;
+		
+		int hour;
+		
+		int minute;
+		
+		int second;
+		
+		int millisecond;
+		
+		int millisOfDay;
+		
+		
+		/**
+		 * 各フィールドが通常の範囲にあるかどうかを調べ、時刻を確定する。
+		 * 
+		 * <p>範囲外の値はSimpleDateFormatが繰り上げ・繰り下げを行うため、直接は扱わない。</p>
+		 * 
+		 * @return 通常の範囲にある場合は{@code true}、そうでない場合は{@code false}
+		 */
+		boolean isValid() {
+			if (CalendarArithmetic.isSupportedYear(year) == false || month < 1 || month > 12 // CHECKSTYLE IGNORE THIS LINE
+					|| day < 1 || day > CalendarArithmetic.lengthOfMonth(year, month)
+					|| hour > HourOfDay.MAX_VALUE || minute > MinuteOfHour.MAX_VALUE
+					|| second > SecondOfMinute.MAX_VALUE || millisecond > MillisecOfSecond.MAX_VALUE) {
+				return false;
+			}
+			millisOfDay = hour * MILLIS_PER_HOUR + minute * MILLIS_PER_MINUTE + second * MILLIS_PER_SECOND
+					+ millisecond;
+			return true;
+		}
+	}
+}
@@ -32,9 +32,10 @@ import com.google.common.base.Preconditions;
  * @author daisuke
  * @since 1.0
  */
-@SuppressWarnings("serial")
 public class Duration implements Comparable<Duration>, Serializable {
 	
+	private static final long serialVersionUID = -7303662254369963658L;
+	
 	/**
 	 * 長さが {@code howMany} 日の時間量を取得する。
 	 * 
@@ -263,13 +264,10 @@ public class Duration implements Comparable<Duration>, Serializable {
 		if (unit.compareTo(TimeUnit.day) < 0) {
 			return day;
 		}
-		Calendar calendar = day.asJavaCalendarUniversalZoneMidnight();
 		if (unit.equals(TimeUnit.day)) {
-			calendar.add(Calendar.DATE, (int) quantity);
-		} else {
-			addAmountToCalendar(inBaseUnits(), calendar);
+			return day.plusDays((int) quantity);
 		}
-		return CalendarDate.from(calendar);
+		return addAmountToCalendarDate(inBaseUnits(), day);
 	}
 	
 	/**
@@ -288,13 +286,12 @@ public class Duration implements Comparable<Duration>, Serializable {
 		if (unit.compareTo(TimeUnit.month) < 0) {
 			return month;
 		}
-		Calendar calendar = month.asJavaCalendarUniversalZoneMidnight();
 		if (unit.equals(TimeUnit.month)) {
-			calendar.add(Calendar.MONTH, (int) quantity);
-		} else {
-			addAmountToCalendar(inBaseUnits(), calendar);
+			return month.plusMonths((int) quantity);
 		}
-		return CalendarMonth.from(calendar);
+		long amount = inBaseUnits();
+		checkAmountValid(amount);
+		return month.plusMonths((int) amount);
 	}
 	
 	/**
@@ -627,13 +624,10 @@ public class Duration implements Comparable<Duration>, Serializable {
 		if (unit.compareTo(TimeUnit.day) < 0) {
 			return day;
 		}
-		Calendar calendar = day.asJavaCalendarUniversalZoneMidnight();
 		if (unit.equals(TimeUnit.day)) {
-			calendar.add(Calendar.DATE, -1 * (int) quantity);
-		} else {
-			subtractAmountFromCalendar(inBaseUnits(), calendar);
+			return day.plusDays(-1 * (int) quantity);
 		}
-		return CalendarDate.from(calendar);
+		return addAmountToCalendarDate(-1 * inBaseUnits(), day);
 	}
 	
 	/**
@@ -675,6 +669,13 @@ public class Duration implements Comparable<Duration>, Serializable {
 		if (this.unit == unit) {
 			return quantity;
 		}
+		if (this.unit.isConvertibleTo(unit)) {
+			// 同じ基底単位に変換できる場合は、Ratioを経由せずに整数演算で求める（端数は0方向に切り捨て）
+			long product = quantity * this.unit.getFactor();
+			if (product / this.unit.getFactor() == quantity) {
+				return product / unit.getFactor();
+			}
+		}
 		Duration unitDuration = Duration.valueOf(1, unit);
 		Ratio ratio = dividedBy(unitDuration);
 		BigDecimal decimal = ratio.decimalValue(0, RoundingMode.DOWN);
@@ -712,6 +713,15 @@ public class Duration implements Comparable<Duration>, Serializable {
 		}
 	}
 	
+	CalendarDate addAmountToCalendarDate(long amount, CalendarDate day) {
+		if (unit.isConvertibleToMilliseconds()) {
+			return day.plusDays(amount / TimeUnitConversionFactor.millisecondsPerDay.value);
+		} else {
+			checkAmountValid(amount);
+			return day.plusMonths((int) amount);
+		}
+	}
+	
 	TimePoint addAmountToTimePoint(long amount, TimePoint point) {
 		if (unit.isConvertibleToMilliseconds()) {
 			return TimePoint.from(amount + point.millisecondsFromEpoch);
@@ -726,10 +736,6 @@ public class Duration implements Comparable<Duration>, Serializable {
 		return quantity * unit.getFactor();
 	}
 	
-	void subtractAmountFromCalendar(long amount, Calendar calendar) {
-		addAmountToCalendar(-1 * amount, calendar);
-	}
-	
 	private void checkAmountValid(long amount) {
 		if ((amount >= Integer.MIN_VALUE && amount <= Integer.MAX_VALUE) == false) {
 			throw new IllegalArgumentException(amount + " is not valid");
@@ -770,4 +776,8 @@ public class Duration implements Comparable<Duration>, Serializable {
 		}
 		return buffer.toString();
 	}
+	
+	private Object writeReplace() {
+		return new Ser(Ser.DURATION, this);
+	}
 }
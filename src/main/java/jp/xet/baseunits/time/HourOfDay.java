@@ -28,9 +28,10 @@ import com.google.common.base.Preconditions;
  * @author daisuke
  * @since 1.0
  */
-@SuppressWarnings("serial")
 public class HourOfDay implements Comparable<HourOfDay>, Serializable {
 	
+	private static final long serialVersionUID = -6725832312744590483L;
+	
 	/**
 	 * {@link HourOfDay}の値の最小値
 	 * 
@@ -69,6 +70,9 @@ public class HourOfDay implements Comparable<HourOfDay>, Serializable {
 	 * @since 1.0
 	 */
 	public static HourOfDay valueOf(int initial) {
+		if (initial >= MIN_VALUE && initial <= MAX_VALUE) {
+			return Cache.VALUES[initial];
+		}
 		return new HourOfDay(initial);
 	}
 	
@@ -83,7 +87,7 @@ public class HourOfDay implements Comparable<HourOfDay>, Serializable {
 	 * @since 2.0
 	 */
 	public static HourOfDay valueOf(int initial, Meridian meridian) {
-		return new HourOfDay(convertTo24hour(initial, meridian));
+		return valueOf(convertTo24hour(initial, meridian));
 	}
 	
 	/**
@@ -208,4 +212,22 @@ public class HourOfDay implements Comparable<HourOfDay>, Serializable {
 		/** 午後 */
 		PM
 	}
+	
+	
+	/**
+	 * 全ての値の{@link HourOfDay}インスタンスを保持するキャッシュ。
+	 */
+	private static final class Cache {
+		
+		static final HourOfDay[] VALUES = new HourOfDay[MAX_VALUE - MIN_VALUE + 1];
+		
+		static {
+			for (int i = MIN_VALUE; i <= MAX_VALUE; i++) {
+				VALUES[i] = new HourOfDay(i);
+			}
+		}
+		
+		private Cache() {
+		}
+	}
 }
@@ -0,0 +1,353 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.time;
+
+import java.text.ParseException;
+
+/**
+ * {@link CalendarDate}、{@link CalendarMonth}及び{@link TimePoint}を、ISO 8601の拡張形式で整形・解析するユーティリティクラス。
+ * 
+ * <p>{@link java.text.SimpleDateFormat}や{@link java.util.Calendar}を使用せず、呼び出し側が用意した文字配列に
+ * 直接書き込み、また文字列を直接読み取る。年は0〜9999年の4桁に限定する。{@link TimePoint}は協定世界時で整形し、
+ * 暦は先発グレゴリオ暦として扱う。{@link CalendarDate}は年月日をそのまま扱うため、{@link CalendarDate}自身と同じく
+ * グレゴリオ暦への切替以前の日付（ユリウス暦の{@code 1500-02-29}等）も整形・解析できる。</p>
+ * 
+ * <p>整形結果は固定長であり、同じ形式同士であれば辞書順の比較結果が値の大小関係と一致する。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+public final class IsoCodec {
+	
+	/** {@code yyyy-MM-dd}形式の文字数 */
+	public static final int DATE_LENGTH = 10;
+	
+	/** {@code yyyy-MM}形式の文字数 */
+	public static final int MONTH_LENGTH = 7;
+	
+	/** {@code yyyy-MM-dd'T'HH:mm:ss'Z'}形式の文字数 */
+	public static final int TIME_POINT_LENGTH = 20;
+	
+	/** {@code yyyy-MM-dd'T'HH:mm:ss.SSS'Z'}形式の文字数 */
+	public static final int TIME_POINT_MILLIS_LENGTH = 24;
+	
+	private static final int MAX_YEAR = 9999;
+	
+	private static final int MILLIS_PER_SECOND = TimeUnitConversionFactor.millisecondsPerSecond.value;
+	
+	private static final int MILLIS_PER_MINUTE = TimeUnitConversionFactor.millisecondsPerMinute.value;
+	
+	private static final int MILLIS_PER_HOUR = TimeUnitConversionFactor.millisecondsPerHour.value;
+	
+	private static final long MILLIS_PER_DAY = TimeUnitConversionFactor.millisecondsPerDay.value;
+	
+	private static final int MAX_FRACTION_DIGITS = 9;
+	
+	/** {@link #canFormat(long)}が{@code true}を返す最初の瞬間 */
+	private static final long MIN_COMPATIBLE_MILLIS = CalendarArithmetic.MIN_EPOCH_DAY * MILLIS_PER_DAY;
+	
+	/** {@link #canFormat(long)}が{@code true}を返す最後の瞬間の次の瞬間 */
+	private static final long MAX_COMPATIBLE_MILLIS = CalendarArithmetic.toEpochDay(MAX_YEAR + 1, 1, 1) * MILLIS_PER_DAY;
+	
+	
+	/**
+	 * 指定した瞬間を、{@link java.text.SimpleDateFormat}による協定世界時の整形と同じ文字列に整形できるかどうかを調べる。
+	 * 
+	 * <p>このクラスは暦を先発グレゴリオ暦として扱うが、{@link java.text.SimpleDateFormat}はグレゴリオ暦への切替以前を
+	 * ユリウス暦として扱う。このため、{@link #formatTo(TimePoint, boolean, char[], int)}及び
+	 * {@link #parseTimePoint(CharSequence)}の結果を{@link java.text.SimpleDateFormat}と互換に扱えるのは、
+	 * 1584年から9999年までの瞬間に限られる。</p>
+	 * 
+	 * @param epochMillis エポックからの経過ミリ秒
+	 * @return 互換に扱える場合は{@code true}、そうでない場合は{@code false}
+	 * @since 2.19
+	 */
+	public static boolean canFormat(long epochMillis) {
+		return epochMillis >= MIN_COMPATIBLE_MILLIS && epochMillis < MAX_COMPATIBLE_MILLIS;
+	}
+	
+	/**
+	 * 暦日を{@code yyyy-MM-dd}形式で{@code buf}に書き込む。
+	 * 
+	 * @param date 暦日
+	 * @param buf 書き込み先
+	 * @param offset 書き込みを開始する位置
+	 * @return 書き込んだ最後の文字の次の位置
+	 * @throws NullPointerException 引数{@code date}または{@code buf}に{@code null}を与えた場合
+	 * @throws IllegalArgumentException 年が0〜9999年の範囲ではない場合
+	 * @throws ArrayIndexOutOfBoundsException {@code buf}に{@link #DATE_LENGTH}文字を書き込む余地がない場合
+	 * @since 2.19
+	 */
+	public static int formatTo(CalendarDate date, char[] buf, int offset) {
+		CalendarMonth month = date.asCalendarMonth();
+		return writeDate(buf, offset, month.year, month.month.value, date.getDayOfMonth().value);
+	}
+	
+	/**
+	 * 暦月を{@code yyyy-MM}形式で{@code buf}に書き込む。
+	 * 
+	 * @param month 暦月
+	 * @param buf 書き込み先
+	 * @param offset 書き込みを開始する位置
+	 * @return 書き込んだ最後の文字の次の位置
+	 * @throws NullPointerException 引数{@code month}または{@code buf}に{@code null}を与えた場合
+	 * @throws IllegalArgumentException 年が0〜9999年の範囲ではない場合
+	 * @throws ArrayIndexOutOfBoundsException {@code buf}に{@link #MONTH_LENGTH}文字を書き込む余地がない場合
+	 * @since 2.19
+	 */
+	public static int formatTo(CalendarMonth month, char[] buf, int offset) {
+		int pos = writeYear(buf, offset, month.year);
+		buf[pos++] = '-';
+		return writeDigits(buf, pos, 2, month.month.value);
+	}
+	
+	/**
+	 * 瞬間を協定世界時の{@code yyyy-MM-dd'T'HH:mm:ss'Z'}形式、または{@code yyyy-MM-dd'T'HH:mm:ss.SSS'Z'}形式で
+	 * {@code buf}に書き込む。
+	 * 
+	 * @param timePoint 瞬間
+	 * @param withMillis ミリ秒を書き込む場合は{@code true}、秒未満を切り捨てる場合は{@code false}
+	 * @param buf 書き込み先
+	 * @param offset 書き込みを開始する位置
+	 * @return 書き込んだ最後の文字の次の位置
+	 * @throws NullPointerException 引数{@code timePoint}または{@code buf}に{@code null}を与えた場合
+	 * @throws IllegalArgumentException 年が0〜9999年の範囲ではない場合
+	 * @throws ArrayIndexOutOfBoundsException {@code buf}に書き込む余地がない場合
+	 * @since 2.19
+	 */
+	public static int formatTo(TimePoint timePoint, boolean withMillis, char[] buf, int offset) {
+		long epochDay = Math.floorDiv(timePoint.millisecondsFromEpoch, MILLIS_PER_DAY);
+		int millisOfDay = (int) Math.floorMod(timePoint.millisecondsFromEpoch, MILLIS_PER_DAY);
+		long packed = CalendarArithmetic.toPackedDate(epochDay);
+		int year = CalendarArithmetic.packedYear(packed);
+		int pos = writeDate(buf, offset, year, CalendarArithmetic.packedMonth(packed), CalendarArithmetic.packedDay(packed));
+		buf[pos++] = 'T';
+		pos = writeDigits(buf, pos, 2, millisOfDay / MILLIS_PER_HOUR);
+		buf[pos++] = ':';
+		pos = writeDigits(buf, pos, 2, millisOfDay % MILLIS_PER_HOUR / MILLIS_PER_MINUTE);
+		buf[pos++] = ':';
+		pos = writeDigits(buf, pos, 2, millisOfDay % MILLIS_PER_MINUTE / MILLIS_PER_SECOND);
+		if (withMillis) {
+			buf[pos++] = '.';
+			pos = writeDigits(buf, pos, 3, millisOfDay % MILLIS_PER_SECOND); // CHECKSTYLE IGNORE THIS LINE
+		}
+		buf[pos++] = 'Z';
+		return pos;
+	}
+	
+	/**
+	 * {@code yyyy-MM-dd}形式の文字列を解析し、暦日を返す。
+	 * 
+	 * <p>{@link CalendarArithmetic#MIN_YEAR}年より前の日付は、{@link CalendarDate}と同じく
+	 * {@link java.util.GregorianCalendar}の暦法（切替以前はユリウス暦）で検証する。</p>
+	 * 
+	 * @param text 文字列
+	 * @return 暦日
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @throws ParseException 文字列の形式が正しくない場合、または存在しない日付を表す場合
+	 * @since 2.19
+	 */
+	public static CalendarDate parseCalendarDate(CharSequence text) throws ParseException {
+		checkLength(text, DATE_LENGTH);
+		int year = readDigits(text, 0, 4); // CHECKSTYLE IGNORE THIS LINE
+		expect(text, 4, '-'); // CHECKSTYLE IGNORE THIS LINE
+		int month = readDigits(text, 5, 2); // CHECKSTYLE IGNORE THIS LINE
+		expect(text, 7, '-'); // CHECKSTYLE IGNORE THIS LINE
+		int day = readDigits(text, 8, 2); // CHECKSTYLE IGNORE THIS LINE
+		checkMonth(text, month);
+		// グレゴリオ暦への切替以前は、CalendarDateと同じくjava.util.Calendarの暦法で日の範囲を検証する
+		int lengthOfMonth = CalendarArithmetic.isSupportedYear(year)
+				? CalendarArithmetic.lengthOfMonth(year, month)
+				: MonthOfYear.valueOf(month).getLastDayOfThisMonth(year).value;
+		checkDay(text, day, lengthOfMonth);
+		return CalendarDate.from(year, month, day);
+	}
+	
+	/**
+	 * {@code yyyy-MM}形式の文字列を解析し、暦月を返す。
+	 * 
+	 * @param text 文字列
+	 * @return 暦月
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @throws ParseException 文字列の形式が正しくない場合
+	 * @since 2.19
+	 */
+	public static CalendarMonth parseCalendarMonth(CharSequence text) throws ParseException {
+		checkLength(text, MONTH_LENGTH);
+		int year = readDigits(text, 0, 4); // CHECKSTYLE IGNORE THIS LINE
+		expect(text, 4, '-'); // CHECKSTYLE IGNORE THIS LINE
+		int month = readDigits(text, 5, 2); // CHECKSTYLE IGNORE THIS LINE
+		checkMonth(text, month);
+		return CalendarMonth.from(year, month);
+	}
+	
+	/**
+	 * {@code yyyy-MM-dd'T'HH:mm:ss}に、省略可能な小数秒（1〜9桁）と、{@code Z}、{@code ±HH:mm}
+	 * または{@code ±HHmm}の時差が続く形式の文字列を解析し、瞬間を返す。
+	 * 
+	 * <p>ミリ秒未満の小数秒は切り捨てる。</p>
+	 * 
+	 * @param text 文字列
+	 * @return 瞬間
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @throws ParseException 文字列の形式が正しくない場合、または存在しない日時を表す場合
+	 * @since 2.19
+	 */
+	public static TimePoint parseTimePoint(CharSequence text) throws ParseException {
+		if (text.length() < TIME_POINT_LENGTH) {
+			throw new ParseException("too short: " + text, text.length());
+		}
+		int year = readDigits(text, 0, 4); // CHECKSTYLE IGNORE THIS LINE
+		expect(text, 4, '-'); // CHECKSTYLE IGNORE THIS LINE
+		int month = readDigits(text, 5, 2); // CHECKSTYLE IGNORE THIS LINE
+		expect(text, 7, '-'); // CHECKSTYLE IGNORE THIS LINE
+		int day = readDigits(text, 8, 2); // CHECKSTYLE IGNORE THIS LINE
+		expect(text, 10, 'T'); // CHECKSTYLE IGNORE THIS LINE
+		int hour = readDigits(text, 11, 2); // CHECKSTYLE IGNORE THIS LINE
+		expect(text, 13, ':'); // CHECKSTYLE IGNORE THIS LINE
+		int minute = readDigits(text, 14, 2); // CHECKSTYLE IGNORE THIS LINE
+		expect(text, 16, ':'); // CHECKSTYLE IGNORE THIS LINE
+		int second = readDigits(text, 17, 2); // CHECKSTYLE IGNORE THIS LINE
+		checkMonth(text, month);
+		checkDay(text, day, CalendarArithmetic.lengthOfMonth(year, month));
+		if (hour > 23 || minute > 59 || second > 59) { // CHECKSTYLE IGNORE THIS LINE
+			throw new ParseException("illegal time: " + text, 11); // CHECKSTYLE IGNORE THIS LINE
+		}
+		
+		int pos = 19; // CHECKSTYLE IGNORE THIS LINE
+		int millis = 0;
+		if (text.charAt(pos) == '.') {
+			pos++;
+			int start = pos;
+			while (pos < text.length() && isDigit(text.charAt(pos))) {
+				if (pos - start < 3) { // CHECKSTYLE IGNORE THIS LINE
+					millis = millis * 10 + (text.charAt(pos) - '0'); // CHECKSTYLE IGNORE THIS LINE
+				}
+				pos++;
+			}
+			int digits = pos - start;
+			if (digits == 0 || digits > MAX_FRACTION_DIGITS) {
+				throw new ParseException("illegal fraction: " + text, start);
+			}
+			for (int i = digits; i < 3; i++) { // CHECKSTYLE IGNORE THIS LINE
+				millis *= 10; // CHECKSTYLE IGNORE THIS LINE
+			}
+		}
+		
+		int offsetMillis = 0;
+		if (pos >= text.length()) {
+			throw new ParseException("missing offset: " + text, pos);
+		}
+		char sign = text.charAt(pos);
+		if (sign == 'Z') {
+			pos++;
+		} else if (sign == '+' || sign == '-') {
+			int offsetHour = readDigits(text, pos + 1, 2);
+			int minutePos = pos + 3; // CHECKSTYLE IGNORE THIS LINE
+			if (minutePos < text.length() && text.charAt(minutePos) == ':') {
+				minutePos++;
+			}
+			int offsetMinute = readDigits(text, minutePos, 2);
+			if (offsetHour > 23 || offsetMinute > 59) { // CHECKSTYLE IGNORE THIS LINE
+				throw new ParseException("illegal offset: " + text, pos);
+			}
+			offsetMillis = offsetHour * MILLIS_PER_HOUR + offsetMinute * MILLIS_PER_MINUTE;
+			if (sign == '-') {
+				offsetMillis = -offsetMillis;
+			}
+			pos = minutePos + 2;
+		} else {
+			throw new ParseException("illegal offset: " + text, pos);
+		}
+		if (pos != text.length()) {
+			throw new ParseException("unexpected trailing characters: " + text, pos);
+		}
+		
+		long epochDay = CalendarArithmetic.toEpochDay(year, month, day);
+		long millisOfDay = (long) hour * MILLIS_PER_HOUR + minute * MILLIS_PER_MINUTE + second * MILLIS_PER_SECOND + millis;
+		return TimePoint.from(epochDay * MILLIS_PER_DAY + millisOfDay - offsetMillis);
+	}
+	
+	private static void checkDay(CharSequence text, int day, int lengthOfMonth) throws ParseException {
+		if (day < 1 || day > lengthOfMonth) {
+			throw new ParseException("illegal day: " + text, 8); // CHECKSTYLE IGNORE THIS LINE
+		}
+	}
+	
+	private static void checkLength(CharSequence text, int length) throws ParseException {
+		if (text.length() != length) {
+			throw new ParseException("unexpected length: " + text, Math.min(text.length(), length));
+		}
+	}
+	
+	private static void checkMonth(CharSequence text, int month) throws ParseException {
+		if (month < 1 || month > 12) { // CHECKSTYLE IGNORE THIS LINE
+			throw new ParseException("illegal month: " + text, 5); // CHECKSTYLE IGNORE THIS LINE
+		}
+	}
+	
+	private static void expect(CharSequence text, int index, char expected) throws ParseException {
+		if (text.charAt(index) != expected) {
+			throw new ParseException("'" + expected + "' expected: " + text, index);
+		}
+	}
+	
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+	
+	private static int readDigits(CharSequence text, int offset, int length) throws ParseException {
+		if (offset + length > text.length()) {
+			throw new ParseException("too short: " + text, text.length());
+		}
+		int value = 0;
+		for (int i = offset; i < offset + length; i++) {
+			char c = text.charAt(i);
+			if (isDigit(c) == false) {
+				throw new ParseException("digit expected: " + text, i);
+			}
+			value = value * 10 + (c - '0'); // CHECKSTYLE IGNORE THIS LINE
+		}
+		return value;
+	}
+	
+	private static int writeDate(char[] buf, int offset, int year, int month, int day) {
+		int pos = writeYear(buf, offset, year);
+		buf[pos++] = '-';
+		pos = writeDigits(buf, pos, 2, month);
+		buf[pos++] = '-';
+		return writeDigits(buf, pos, 2, day);
+	}
+	
+	private static int writeDigits(char[] buf, int offset, int length, int value) {
+		int v = value;
+		for (int i = offset + length - 1; i >= offset; i--) {
+			buf[i] = (char) ('0' + v % 10); // CHECKSTYLE IGNORE THIS LINE
+			v /= 10; // CHECKSTYLE IGNORE THIS LINE
+		}
+		return offset + length;
+	}
+	
+	private static int writeYear(char[] buf, int offset, int year) {
+		if (year < 0 || year > MAX_YEAR) {
+			throw new IllegalArgumentException("year out of range: " + year);
+		}
+		return writeDigits(buf, offset, 4, year); // CHECKSTYLE IGNORE THIS LINE
+	}
+	
+	private IsoCodec() {
+	}
+}
@@ -67,6 +67,9 @@ public class MinuteOfHour implements Comparable<MinuteOfHour>, Serializable {
 	 * @since 1.0
 	 */
 	public static MinuteOfHour valueOf(int initial) {
+		if (initial >= MIN_VALUE && initial <= MAX_VALUE) {
+			return Cache.VALUES[initial];
+		}
 		return new MinuteOfHour(initial);
 	}
 	
@@ -161,4 +164,22 @@ public class MinuteOfHour implements Comparable<MinuteOfHour>, Serializable {
 	public String toString() {
 		return String.format("%02d", value);
 	}
+	
+	
+	/**
+	 * 全ての値の{@link MinuteOfHour}インスタンスを保持するキャッシュ。
+	 */
+	private static final class Cache {
+		
+		static final MinuteOfHour[] VALUES = new MinuteOfHour[MAX_VALUE - MIN_VALUE + 1];
+		
+		static {
+			for (int i = MIN_VALUE; i <= MAX_VALUE; i++) {
+				VALUES[i] = new MinuteOfHour(i);
+			}
+		}
+		
+		private Cache() {
+		}
+	}
 }
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.time;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.StreamCorruptedException;
+
+/**
+ * 時間に関する値オブジェクトのシリアライズ形式を表すプロキシ。
+ * 
+ * <p>各値オブジェクトは{@code writeReplace}によってこのクラスに置き換えられ、型を表す1バイトと、
+ * ZigZag符号化した可変長整数による最小限の値のみを書き出す。ストリーム中のクラス記述子を小さく保つため、
+ * クラス名は意図的に短くしている。デシリアライズ時は{@link #readResolve()}によって元の値オブジェクトに復元される。</p>
+ * 
+ * <p>この形式の導入以前に既定のシリアライズ形式で書き出されたストリームは、各値オブジェクトの
+ * {@code serialVersionUID}を当時の値に固定することで、引き続き読み込むことができる。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+final class Ser implements Externalizable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	/** {@link TimePoint}を表す型 */
+	static final byte TIME_POINT = 1;
+	
+	/** {@link TimePointOfDay}を表す型 */
+	static final byte TIME_POINT_OF_DAY = 2;
+	
+	/** エポック日で表した{@link CalendarDate}を表す型 */
+	static final byte CALENDAR_DATE = 3;
+	
+	/** 年月日の各値で表した{@link CalendarDate}を表す型 */
+	static final byte CALENDAR_DATE_FIELDS = 4;
+	
+	/** {@link CalendarMonth}を表す型 */
+	static final byte CALENDAR_MONTH = 5;
+	
+	/** {@link TimeOfDay}を表す型 */
+	static final byte TIME_OF_DAY = 6;
+	
+	/** {@link Duration}を表す型 */
+	static final byte DURATION = 7;
+	
+	private static final int EPOCH_YEAR = 1970;
+	
+	private static final int MONTHS_PER_YEAR = 12;
+	
+	private static final TimeUnit[] UNITS = TimeUnit.values();
+	
+	
+	/**
+	 * {@link CalendarDate}のシリアライズ形式を返す。
+	 * 
+	 * <p>グレゴリオ暦への切替以前の年は、ユリウス暦の閏日を含み得るため、エポック日ではなく年月日の各値で表す。</p>
+	 * 
+	 * @param date 暦日
+	 * @return シリアライズ形式
+	 */
+	static Ser of(CalendarDate date) {
+		int year = date.asCalendarMonth().year;
+		return new Ser(CalendarArithmetic.isSupportedYear(year) ? CALENDAR_DATE : CALENDAR_DATE_FIELDS, date);
+	}
+	
+	private static long readVarLong(DataInput in) throws IOException {
+		long zigzag = 0;
+		for (int shift = 0; shift < Long.SIZE; shift += 7) { // CHECKSTYLE IGNORE THIS LINE
+			byte b = in.readByte();
+			zigzag |= (long) (b & 0x7F) << shift; // CHECKSTYLE IGNORE THIS LINE
+			if ((b & 0x80) == 0) { // CHECKSTYLE IGNORE THIS LINE
+				return (zigzag >>> 1) ^ -(zigzag & 1);
+			}
+		}
+		throw new StreamCorruptedException("malformed varint");
+	}
+	
+	private static void writeVarLong(DataOutput out, long value) throws IOException {
+		long zigzag = (value << 1) ^ (value >> 63); // CHECKSTYLE IGNORE THIS LINE
+		while ((zigzag & ~0x7FL) != 0) { // CHECKSTYLE IGNORE THIS LINE
+			out.writeByte((int) (zigzag & 0x7F) | 0x80); // CHECKSTYLE IGNORE THIS LINE
+			zigzag >>>= 7; // CHECKSTYLE IGNORE THIS LINE
+		}
+		out.writeByte((int) zigzag);
+	}
+	
+	
+	private byte type;
+	
+	private Object object;
+	
+	
+	/**
+	 * デシリアライズ用のインスタンスを生成する。
+	 * 
+	 * <p>{@link Externalizable}の規約により、公開された引数なしのコンストラクタが必要となる。</p>
+	 */
+	public Ser() {
+	}
+	
+	/**
+	 * インスタンスを生成する。
+	 * 
+	 * @param type 型
+	 * @param object シリアライズ対象の値オブジェクト
+	 */
+	Ser(byte type, Object object) {
+		this.type = type;
+		this.object = object;
+	}
+	
+	@Override
+	public void readExternal(ObjectInput in) throws IOException {
+		type = in.readByte();
+		try {
+			object = read(type, in);
+		} catch (IllegalArgumentException e) {
+			throw (InvalidObjectException) new InvalidObjectException(e.getMessage()).initCause(e);
+		}
+	}
+	
+	@Override
+	public void writeExternal(ObjectOutput out) throws IOException {
+		out.writeByte(type);
+		switch (type) {
+			case TIME_POINT:
+				writeVarLong(out, ((TimePoint) object).millisecondsFromEpoch);
+				break;
+			case TIME_POINT_OF_DAY:
+				writeVarLong(out, ((TimePointOfDay) object).millisecondsFromUTCMidnight);
+				break;
+			case CALENDAR_DATE: {
+				CalendarDate date = (CalendarDate) object;
+				CalendarMonth month = date.asCalendarMonth();
+				writeVarLong(out,
+						CalendarArithmetic.toEpochDay(month.year, month.month.value, date.getDayOfMonth().value));
+				break;
+			}
+			case CALENDAR_DATE_FIELDS: {
+				CalendarDate date = (CalendarDate) object;
+				CalendarMonth month = date.asCalendarMonth();
+				writeVarLong(out, month.year);
+				out.writeByte(month.month.value);
+				out.writeByte(date.getDayOfMonth().value);
+				break;
+			}
+			case CALENDAR_MONTH: {
+				CalendarMonth month = (CalendarMonth) object;
+				writeVarLong(out, (month.year - (long) EPOCH_YEAR) * MONTHS_PER_YEAR + month.month.value - 1);
+				break;
+			}
+			case TIME_OF_DAY:
+				writeVarLong(out, ((TimeOfDay) object).millisOfDay);
+				break;
+			case DURATION: {
+				Duration duration = (Duration) object;
+				out.writeByte(duration.unit.ordinal());
+				writeVarLong(out, duration.quantity);
+				break;
+			}
+			default:
+				throw new InvalidObjectException("unknown type: " + type);
+		}
+	}
+	
+	private static Object read(byte type, ObjectInput in) throws IOException {
+		switch (type) {
+			case TIME_POINT:
+				return TimePoint.from(readVarLong(in));
+			case TIME_POINT_OF_DAY:
+				return TimePointOfDay.from(readVarLong(in));
+			case CALENDAR_DATE: {
+				long epochDay = readVarLong(in);
+				if (CalendarArithmetic.isSupportedEpochDay(epochDay) == false) {
+					throw new InvalidObjectException("epoch day out of range: " + epochDay);
+				}
+				return CalendarArithmetic.toCalendarDate(epochDay);
+			}
+			case CALENDAR_DATE_FIELDS: {
+				long year = readVarLong(in);
+				if (year != (int) year) {
+					throw new InvalidObjectException("year out of range: " + year);
+				}
+				return CalendarDate.from((int) year, in.readByte(), in.readByte());
+			}
+			case CALENDAR_MONTH: {
+				long epochMonth = readVarLong(in);
+				long year = EPOCH_YEAR + Math.floorDiv(epochMonth, MONTHS_PER_YEAR);
+				if (year != (int) year) {
+					throw new InvalidObjectException("year out of range: " + year);
+				}
+				return CalendarMonth.from((int) year, (int) Math.floorMod(epochMonth, MONTHS_PER_YEAR) + 1);
+			}
+			case TIME_OF_DAY:
+				return TimeOfDay.from(readVarLong(in));
+			case DURATION: {
+				int ordinal = in.readByte();
+				if (ordinal < 0 || ordinal >= UNITS.length) {
+					throw new InvalidObjectException("unknown unit: " + ordinal);
+				}
+				return Duration.valueOf(readVarLong(in), UNITS[ordinal]);
+			}
+			default:
+				throw new StreamCorruptedException("unknown type: " + type);
+		}
+	}
+	
+	/**
+	 * デシリアライズした値オブジェクトを返す。
+	 * 
+	 * @return 値オブジェクト
+	 */
+	private Object readResolve() {
+		return object;
+	}
+}
@@ -15,9 +15,14 @@
  */
 package jp.xet.baseunits.time;
 
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.lang.reflect.Field;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.Locale;
 import java.util.TimeZone;
 
 import com.google.common.base.Preconditions;
@@ -30,9 +35,18 @@ import com.google.common.base.Preconditions;
  * @author daisuke
  * @since 1.0
  */
-@SuppressWarnings("serial")
 public final class TimeOfDay implements Comparable<TimeOfDay>, Serializable {
 	
+	private static final long serialVersionUID = -1748654447845754704L;
+	
+	private static final int MILLIS_PER_SECOND = TimeUnitConversionFactor.millisecondsPerSecond.value;
+	
+	private static final int MILLIS_PER_MINUTE = TimeUnitConversionFactor.millisecondsPerMinute.value;
+	
+	private static final int MILLIS_PER_HOUR = TimeUnitConversionFactor.millisecondsPerHour.value;
+	
+	private static final int MILLIS_PER_DAY = TimeUnitConversionFactor.millisecondsPerDay.value;
+	
 	/** 
 	 * {@link TimeOfDay}の最小値
 	 * 
@@ -105,7 +119,11 @@ public final class TimeOfDay implements Comparable<TimeOfDay>, Serializable {
 	 * @since 1.0
 	 */
 	public static TimeOfDay from(HourOfDay hour, MinuteOfHour minute, SecondOfMinute second, MillisecOfSecond millisec) {
-		return new TimeOfDay(hour, minute, second, millisec);
+		Preconditions.checkNotNull(hour);
+		Preconditions.checkNotNull(minute);
+		Preconditions.checkNotNull(second);
+		Preconditions.checkNotNull(millisec);
+		return new TimeOfDay(toMillisOfDay(hour.value, minute.value, second.value, millisec.value));
 	}
 	
 	/**
@@ -155,8 +173,11 @@ public final class TimeOfDay implements Comparable<TimeOfDay>, Serializable {
 	 * @since 1.0
 	 */
 	public static TimeOfDay from(int hour, int minute, int second, int millisecond) {
-		return new TimeOfDay(HourOfDay.valueOf(hour), MinuteOfHour.valueOf(minute), SecondOfMinute.valueOf(second),
-				MillisecOfSecond.valueOf(millisecond));
+		checkRange(hour, HourOfDay.MIN_VALUE, HourOfDay.MAX_VALUE, "24 hour");
+		checkRange(minute, MinuteOfHour.MIN_VALUE, MinuteOfHour.MAX_VALUE, "minute");
+		checkRange(second, SecondOfMinute.MIN_VALUE, SecondOfMinute.MAX_VALUE, "second");
+		checkRange(millisecond, MillisecOfSecond.MIN_VALUE, MillisecOfSecond.MAX_VALUE, "millisecond");
+		return new TimeOfDay(toMillisOfDay(hour, minute, second, millisecond));
 	}
 	
 	/**
@@ -164,18 +185,14 @@ public final class TimeOfDay implements Comparable<TimeOfDay>, Serializable {
 	 * 
 	 * @param millisec UTCの午前0時を基準としたミリ秒
 	 * @return {@link TimeOfDay}
+	 * @throws IllegalArgumentException 引数{@code millisec}が0〜86399999の範囲ではない場合
 	 */
 	public static TimeOfDay from(long millisec) {
-		Duration duration = Duration.milliseconds(millisec);
-		
-		long h = duration.to(TimeUnit.hour);
-		Duration minDuration = duration.minus(Duration.hours(h));
-		long m = minDuration.to(TimeUnit.minute);
-		Duration secDuration = minDuration.minus(Duration.minutes(m));
-		long s = secDuration.to(TimeUnit.second);
-		Duration millisecDuration = secDuration.minus(Duration.seconds(s));
-		long ms = millisecDuration.to(TimeUnit.millisecond);
-		return TimeOfDay.from((int) h, (int) m, (int) s, (int) ms);
+		if (millisec < 0 || millisec >= MILLIS_PER_DAY) {
+			throw new IllegalArgumentException("Illegal value for millisec of day: " + millisec
+					+ ", please use a value between 0 and " + (MILLIS_PER_DAY - 1));
+		}
+		return new TimeOfDay((int) millisec);
 	}
 	
 	/**
@@ -189,7 +206,17 @@ public final class TimeOfDay implements Comparable<TimeOfDay>, Serializable {
 	public static TimeOfDay from(TimePointOfDay tpod, TimeZone zone) {
 		Preconditions.checkNotNull(tpod);
 		Preconditions.checkNotNull(zone);
-		return tpod.asTimeOfDay(zone);
+		return fromLocalMillis(ZoneOffsetTable.of(zone).toLocalMillis(tpod.millisecondsFromUTCMidnight));
+	}
+	
+	/**
+	 * 地方時のミリ秒（{@link ZoneOffsetTable#toLocalMillis(long)}参照）から、その時刻を返す。
+	 * 
+	 * @param localMillis 地方時のミリ秒
+	 * @return {@link TimeOfDay}
+	 */
+	static TimeOfDay fromLocalMillis(long localMillis) {
+		return new TimeOfDay((int) Math.floorMod(localMillis, (long) MILLIS_PER_DAY));
 	}
 	
 	/**
@@ -204,44 +231,39 @@ public final class TimeOfDay implements Comparable<TimeOfDay>, Serializable {
 	public static TimeOfDay parse(String timeString, String pattern) throws ParseException {
 		Preconditions.checkNotNull(timeString);
 		Preconditions.checkNotNull(pattern);
-		TimeZone arbitraryZone = TimeZone.getTimeZone("Universal");
-		// Any timezone works, as long as the same one is used throughout.
-		TimePoint point = TimePoint.parse(timeString, pattern, arbitraryZone);
-		return point.asTimeOfDay(arbitraryZone);
+		return DatePattern.compile(pattern).parseTimeOfDay(timeString);
 	}
 	
+	private static void checkRange(int value, int min, int max, String name) {
+		if (value < min || value > max) {
+			throw new IllegalArgumentException("Illegal value for " + name + ": " + value
+					+ ", please use a value between " + min + " and " + max);
+		}
+	}
 	
-	/** 時 */
-	final HourOfDay hour;
+	private static int toMillisOfDay(int hour, int minute, int second, int millisec) {
+		return hour * MILLIS_PER_HOUR + minute * MILLIS_PER_MINUTE + second * MILLIS_PER_SECOND + millisec;
+	}
 	
-	/** 分 */
-	final MinuteOfHour minute;
+	private static long toMillis(Duration duration) {
+		if (duration.quantity != 0 && duration.unit.isConvertibleToMilliseconds() == false) {
+			throw new IllegalArgumentException(duration + " is not convertible to milliseconds");
+		}
+		return duration.inBaseUnits();
+	}
 	
-	/** 秒 */
-	final SecondOfMinute second;
 	
-	/** ミリ秒 */
-	final MillisecOfSecond millisec;
+	/** 午前0時からの経過ミリ秒（0〜86399999） */
+	final int millisOfDay;
 	
 	
 	/**
 	 * インスタンスを生成する。
 	 * 
-	 * @param hour 時
-	 * @param minute 分
-	 * @param second 秒
-	 * @param millisec ミリ秒
-	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @param millisOfDay 午前0時からの経過ミリ秒（0〜86399999）
 	 */
-	TimeOfDay(HourOfDay hour, MinuteOfHour minute, SecondOfMinute second, MillisecOfSecond millisec) {
-		Preconditions.checkNotNull(hour);
-		Preconditions.checkNotNull(minute);
-		Preconditions.checkNotNull(second);
-		Preconditions.checkNotNull(millisec);
-		this.hour = hour;
-		this.minute = minute;
-		this.second = second;
-		this.millisec = millisec;
+	private TimeOfDay(int millisOfDay) {
+		this.millisOfDay = millisOfDay;
 	}
 	
 	/**
@@ -273,7 +295,7 @@ public final class TimeOfDay implements Comparable<TimeOfDay>, Serializable {
 	}
 	
 	/**
-	 * このオブジェクトの{@link #hour}フィールド（時）を返す。
+	 * この時刻の「時」を返す。
 	 * 
 	 * <p>CAUTION: このメソッドは、このオブジェクトがカプセル化する要素を外部に暴露する。取り扱いには充分注意のこと。</p>
 	 * 
@@ -281,11 +303,11 @@ public final class TimeOfDay implements Comparable<TimeOfDay>, Serializable {
 	 * @since 1.0
 	 */
 	public HourOfDay breachEncapsulationOfHour() {
-		return hour;
+		return HourOfDay.valueOf(millisOfDay / MILLIS_PER_HOUR);
 	}
 	
 	/**
-	 * このオブジェクトの{@link #minute}フィールド（分）を返す。
+	 * この時刻の「分」を返す。
 	 * 
 	 * <p>CAUTION: このメソッドは、このオブジェクトがカプセル化する要素を外部に暴露する。取り扱いには充分注意のこと。</p>
 	 * 
@@ -293,16 +315,13 @@ public final class TimeOfDay implements Comparable<TimeOfDay>, Serializable {
 	 * @since 1.0
 	 */
 	public MinuteOfHour breachEncapsulationOfMinute() {
-		return minute;
+		return MinuteOfHour.valueOf(millisOfDay % MILLIS_PER_HOUR / MILLIS_PER_MINUTE);
 	}
 	
 	@Override
 	public int compareTo(TimeOfDay other) {
-		int hourComparance = hour.compareTo(other.hour);
-		if (hourComparance != 0) {
-			return hourComparance;
-		}
-		return minute.compareTo(other.minute);
+		// 比較は分の精度で行う
+		return Integer.compare(minuteOfDay(), other.minuteOfDay());
 	}
 	
 	@Override
@@ -317,10 +336,7 @@ public final class TimeOfDay implements Comparable<TimeOfDay>, Serializable {
 			return false;
 		}
 		TimeOfDay other = (TimeOfDay) obj;
-		if (hour.equals(other.hour) == false) {
-			return false;
-		}
-		if (minute.equals(other.minute) == false) {
+		if (minuteOfDay() != other.minuteOfDay()) {
 			return false;
 		}
 		return true;
@@ -330,8 +346,8 @@ public final class TimeOfDay implements Comparable<TimeOfDay>, Serializable {
 	public int hashCode() {
 		final int prime = 31;
 		int result = 1;
-		result = prime * result + hour.hashCode();
-		result = prime * result + minute.hashCode();
+		result = prime * result + millisOfDay / MILLIS_PER_HOUR;
+		result = prime * result + millisOfDay % MILLIS_PER_HOUR / MILLIS_PER_MINUTE;
 		return result;
 	}
 	
@@ -349,25 +365,7 @@ public final class TimeOfDay implements Comparable<TimeOfDay>, Serializable {
 		if (other == null) {
 			return false;
 		}
-		if (hour.isAfter(other.hour)) {
-			return true;
-		}
-		if (hour.equals(other.hour)) {
-			if (minute.isAfter(other.minute)) {
-				return true;
-			}
-			if (minute.equals(other.minute)) {
-				if (second.isAfter(other.second)) {
-					return true;
-				}
-				if (second.equals(other.second)) {
-					if (millisec.isAfter(other.millisec)) {
-						return true;
-					}
-				}
-			}
-		}
-		return false;
+		return millisOfDay > other.millisOfDay;
 	}
 	
 	/**
@@ -384,7 +382,7 @@ public final class TimeOfDay implements Comparable<TimeOfDay>, Serializable {
 		if (other == null) {
 			return false;
 		}
-		return hour.isBefore(other.hour) || (hour.equals(other.hour) && minute.isBefore(other.minute));
+		return minuteOfDay() < other.minuteOfDay();
 	}
 	
 	/**
@@ -397,12 +395,7 @@ public final class TimeOfDay implements Comparable<TimeOfDay>, Serializable {
 	 */
 	public TimeOfDay minus(Duration duration) {
 		Preconditions.checkNotNull(duration);
-		Duration d = toDuration();
-		while (d.isGreaterThan(duration) == false) {
-			d = d.plus(Duration.days(1));
-		}
-		d = d.minus(duration);
-		return TimeOfDay.MIN.plus(d);
+		return fromLocalMillis(millisOfDay - toMillis(duration));
 	}
 	
 	/**
@@ -415,11 +408,7 @@ public final class TimeOfDay implements Comparable<TimeOfDay>, Serializable {
 	 */
 	public TimeOfDay plus(Duration duration) {
 		Preconditions.checkNotNull(duration);
-		Duration total = toDuration().plus(duration);
-		while (total.isGreaterThanOrEqual(Duration.days(1))) {
-			total = total.minus(Duration.days(1));
-		}
-		return from(total.to(TimeUnit.millisecond));
+		return fromLocalMillis(millisOfDay + toMillis(duration));
 	}
 	
 	/**
@@ -428,16 +417,14 @@ public final class TimeOfDay implements Comparable<TimeOfDay>, Serializable {
 	 * @return 時間量
 	 */
 	public Duration toDuration() {
-		Duration d = Duration.hours(hour.value);
-		d = d.plus(Duration.minutes(minute.value));
-		d = d.plus(Duration.seconds(second.value));
-		d = d.plus(Duration.milliseconds(millisec.value));
-		return d;
+		return Duration.milliseconds(millisOfDay);
 	}
 	
 	@Override
 	public String toString() {
-		return hour.toString() + ":" + minute.toString() + ":" + second.toString() + "," + millisec.toString();
+		return String.format("%02d:%02d:%02d,%03d", millisOfDay / MILLIS_PER_HOUR,
+				millisOfDay % MILLIS_PER_HOUR / MILLIS_PER_MINUTE, millisOfDay % MILLIS_PER_MINUTE / MILLIS_PER_SECOND,
+				millisOfDay % MILLIS_PER_SECOND);
 	}
 	
 	/**
@@ -448,9 +435,45 @@ public final class TimeOfDay implements Comparable<TimeOfDay>, Serializable {
 	 * @since 1.0
 	 */
 	public String toString(String pattern) {
-		// Any timezone works, as long as the same one is used throughout.
-		TimeZone arbitraryZone = TimeZone.getTimeZone("Universal");
-		TimePoint point = asTimePointGiven(TimePoint.from(0).asCalendarDate(arbitraryZone), arbitraryZone);
-		return point.toString(pattern, arbitraryZone);
+		return DatePattern.compile(pattern).format(this, Locale.getDefault());
+	}
+	
+	private int minuteOfDay() {
+		return millisOfDay / MILLIS_PER_MINUTE;
+	}
+	
+	/**
+	 * {@link Ser}の導入以前に、時・分・秒・ミリ秒の各フィールドを持つ既定の形式で書き出されたストリームを読み込む。
+	 * 
+	 * @param in 入力ストリーム
+	 * @throws IOException 入出力エラーが発生した場合
+	 * @throws ClassNotFoundException クラスが見つからない場合
+	 */
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		ObjectInputStream.GetField fields = in.readFields();
+		try {
+			Object hour = fields.get("hour", null);
+			Object minute = fields.get("minute", null);
+			Object second = fields.get("second", null);
+			Object millisec = fields.get("millisec", null);
+			if (hour instanceof HourOfDay == false || minute instanceof MinuteOfHour == false
+					|| second instanceof SecondOfMinute == false || millisec instanceof MillisecOfSecond == false) {
+				throw new InvalidObjectException("incomplete fields");
+			}
+			int value = from(((HourOfDay) hour).value, ((MinuteOfHour) minute).value,
+					((SecondOfMinute) second).value, ((MillisecOfSecond) millisec).value).millisOfDay;
+			// millisOfDayはfinalであるため、リフレクションで復元する
+			Field field = TimeOfDay.class.getDeclaredField("millisOfDay");
+			field.setAccessible(true);
+			field.setInt(this, value);
+		} catch (IllegalArgumentException e) {
+			throw (InvalidObjectException) new InvalidObjectException(e.getMessage()).initCause(e);
+		} catch (ReflectiveOperationException e) {
+			throw (InvalidObjectException) new InvalidObjectException(e.getMessage()).initCause(e);
+		}
+	}
+	
+	private Object writeReplace() {
+		return new Ser(Ser.TIME_OF_DAY, this);
 	}
 }
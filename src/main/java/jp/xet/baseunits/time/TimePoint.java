@@ -37,9 +37,10 @@ import com.google.common.base.Preconditions;
  * @author daisuke
  * @since 1.0
  */
-@SuppressWarnings("serial")
 public class TimePoint implements Comparable<TimePoint>, Serializable {
 	
+	private static final long serialVersionUID = -8065500310401274920L;
+	
 	/**
 	 * 指定したタイムゾーンにおける、指定した瞬間を表す{@link TimePoint}を返す。
 	 * 
@@ -81,6 +82,23 @@ public class TimePoint implements Comparable<TimePoint>, Serializable {
 	public static TimePoint at(int year, int month, int date, int hour, int minute, int second, int millisecond, // CHECKSTYLE IGNORE THIS LINE
 			TimeZone zone) {
 		Preconditions.checkNotNull(zone);
+		if (CalendarArithmetic.isSupportedYear(year) && month >= 1 && month <= 12 // CHECKSTYLE IGNORE THIS LINE
+				&& date >= 1 && date <= CalendarArithmetic.lengthOfMonth(year, month)
+				&& hour >= 0 && hour < 24 && minute >= 0 && minute < 60 // CHECKSTYLE IGNORE THIS LINE
+				&& second >= 0 && second < 60 && millisecond >= 0 && millisecond < 1000) { // CHECKSTYLE IGNORE THIS LINE
+			long localMillis = CalendarArithmetic.toEpochDay(year, month, date)
+					* TimeUnitConversionFactor.millisecondsPerDay.value
+					+ hour * TimeUnitConversionFactor.millisecondsPerHour.value
+					+ minute * TimeUnitConversionFactor.millisecondsPerMinute.value
+					+ second * TimeUnitConversionFactor.millisecondsPerSecond.value
+					+ millisecond;
+			long epochMillis = ZoneOffsetTable.of(zone).toEpochMillis(localMillis);
+			if (epochMillis != ZoneOffsetTable.UNRESOLVED) {
+				return from(epochMillis);
+			}
+		}
+		
+		// 範囲外の値や夏時間の遷移の近傍は、java.util.Calendarの解釈に委ねる
 		Calendar calendar = CalendarUtil.newCalendar(zone);
 		calendar.set(Calendar.YEAR, year);
 		calendar.set(Calendar.MONTH, month - 1);
@@ -498,9 +516,7 @@ public class TimePoint implements Comparable<TimePoint>, Serializable {
 	 */
 	public TimeOfDay asTimeOfDay(TimeZone zone) {
 		Preconditions.checkNotNull(zone);
-		Calendar calendar = asJavaCalendar(zone);
-		return TimeOfDay.from(calendar.get(Calendar.HOUR_OF_DAY), calendar.get(Calendar.MINUTE),
-				calendar.get(Calendar.SECOND), calendar.get(Calendar.MILLISECOND));
+		return TimeOfDay.fromLocalMillis(ZoneOffsetTable.of(zone).toLocalMillis(millisecondsFromEpoch));
 	}
 	
 	/**
@@ -524,6 +540,15 @@ public class TimePoint implements Comparable<TimePoint>, Serializable {
 	 */
 	public TimePoint backToMidnight(TimeZone zone) {
 		Preconditions.checkNotNull(zone);
+		ZoneOffsetTable table = ZoneOffsetTable.of(zone);
+		long epochDay = Math.floorDiv(table.toLocalMillis(millisecondsFromEpoch),
+				TimeUnitConversionFactor.millisecondsPerDay.value);
+		if (CalendarArithmetic.isSupportedEpochDay(epochDay)) {
+			long midnight = table.toEpochMillis(epochDay * TimeUnitConversionFactor.millisecondsPerDay.value);
+			if (midnight != ZoneOffsetTable.UNRESOLVED) {
+				return from(midnight);
+			}
+		}
 		return asCalendarDate(zone).asTimePointInterval(zone).start();
 	}
 	
@@ -957,4 +982,8 @@ public class TimePoint implements Comparable<TimePoint>, Serializable {
 	public TimePointInterval until(TimePoint end) {
 		return TimePointInterval.over(this, end);
 	}
+	
+	private Object writeReplace() {
+		return new Ser(Ser.TIME_POINT, this);
+	}
 }
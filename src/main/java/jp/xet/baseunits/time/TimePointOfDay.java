@@ -36,9 +36,10 @@ import com.google.common.base.Preconditions;
  * @author daisuke
  * @since 2.0
  */
-@SuppressWarnings("serial")
 public class TimePointOfDay implements Comparable<TimePointOfDay>, Serializable {
 	
+	private static final long serialVersionUID = 7189538212034379189L;
+	
 	private static final TimeZone UTC = TimeZone.getTimeZone("Universal");
 	
 	/**
@@ -318,9 +319,7 @@ public class TimePointOfDay implements Comparable<TimePointOfDay>, Serializable
 	 */
 	public TimeOfDay asTimeOfDay(TimeZone zone) {
 		Preconditions.checkNotNull(zone);
-		Calendar calendar = asJavaCalendar(zone);
-		return TimeOfDay.from(calendar.get(Calendar.HOUR_OF_DAY), calendar.get(Calendar.MINUTE),
-				calendar.get(Calendar.SECOND), calendar.get(Calendar.MILLISECOND));
+		return TimeOfDay.from(this, zone);
 	}
 	
 	/**
@@ -526,4 +525,8 @@ public class TimePointOfDay implements Comparable<TimePointOfDay>, Serializable
 	Date asJavaUtilDate() {
 		return new Date(millisecondsFromUTCMidnight);
 	}
+	
+	private Object writeReplace() {
+		return new Ser(Ser.TIME_POINT_OF_DAY, this);
+	}
 }
@@ -0,0 +1,469 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.time;
+
+import java.util.TimeZone;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import jp.xet.baseunits.util.TimeZones;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * エポックミリ秒の配列を、地方時における暦日・暦月・時刻の配列に一括変換するユーティリティクラス。
+ * 
+ * <p>{@link TimePoint}や{@link CalendarDate}を1件ずつ生成せずに、結果を呼び出し側が用意した
+ * {@code int}配列に書き込む。出力配列は再利用できるため、大量の時刻を繰り返し集計する用途に適する。</p>
+ * 
+ * <p>各メソッドの出力値は以下の通り。</p>
+ * <ul>
+ *   <li>エポック日 &hellip; 地方時における1970年1月1日を{@code 0}とした通算日数。
+ *     {@link #toCalendarDate(int)}で{@link CalendarDate}に戻すことができる。</li>
+ *   <li>エポック月 &hellip; 地方時における1970年1月を{@code 0}とした通算月数。
+ *     {@link #toCalendarMonth(int)}で{@link CalendarMonth}に戻すことができる。</li>
+ *   <li>分 &hellip; 地方時における0時0分からの経過分（{@code 0}〜{@code 1439}）。</li>
+ *   <li>ミリ秒 &hellip; 地方時における0時0分からの経過ミリ秒（{@code 0}〜{@code 86399999}）。</li>
+ * </ul>
+ * 
+ * <p>{@link ForkJoinPool}を受け取るメソッドは、入力を分割して並列に変換する。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+public final class TimePoints {
+	
+	/** 並列変換時に、これ以上分割しない要素数 */
+	static final int PARALLEL_THRESHOLD = 1 << 14; // CHECKSTYLE IGNORE THIS LINE
+	
+	private static final long MILLIS_PER_DAY = TimeUnitConversionFactor.millisecondsPerDay.value;
+	
+	private static final long MILLIS_PER_MINUTE = TimeUnitConversionFactor.millisecondsPerMinute.value;
+	
+	private static final int MONTHS_PER_YEAR = TimeUnitConversionFactor.monthsPerYear.value;
+	
+	private static final int EPOCH_YEAR = 1970; // CHECKSTYLE IGNORE THIS LINE
+	
+	
+	/**
+	 * エポックミリ秒の配列を、指定したタイムゾーンにおけるエポック日の配列に変換する。
+	 * 
+	 * <p>{@code out[i]}には{@code TimePoint.from(millis[i]).asCalendarDate(zone)}に相当する暦日の
+	 * エポック日を格納する。</p>
+	 * 
+	 * @param millis エポックミリ秒の配列
+	 * @param zone タイムゾーン
+	 * @param out 結果を格納する配列
+	 * @throws IllegalArgumentException {@code out}の長さが{@code millis}の長さより短い場合
+	 * @throws ArithmeticException エポック日が{@code int}の範囲を超える場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public static void toEpochDays(long[] millis, TimeZone zone, int[] out) {
+		convertAll(Conversion.EPOCH_DAY, millis, zone, out, null);
+	}
+	
+	/**
+	 * エポックミリ秒の配列の指定した範囲を、指定したタイムゾーンにおけるエポック日に変換する。
+	 * 
+	 * <p>結果は{@code out}の同じ添字（{@code from}以上{@code to}未満）に格納する。</p>
+	 * 
+	 * @param millis エポックミリ秒の配列
+	 * @param from 変換する範囲の開始添字（この値を含む）
+	 * @param to 変換する範囲の終了添字（この値を含まない）
+	 * @param zone タイムゾーン
+	 * @param out 結果を格納する配列
+	 * @throws IndexOutOfBoundsException 範囲がいずれかの配列の範囲外である場合
+	 * @throws ArithmeticException エポック日が{@code int}の範囲を超える場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public static void toEpochDays(long[] millis, int from, int to, TimeZone zone, int[] out) {
+		convert(Conversion.EPOCH_DAY, millis, from, to, zone, out, null);
+	}
+	
+	/**
+	 * エポックミリ秒の配列を、指定したタイムゾーンにおけるエポック日の配列に並列に変換する。
+	 * 
+	 * @param millis エポックミリ秒の配列
+	 * @param zone タイムゾーン
+	 * @param out 結果を格納する配列
+	 * @param pool 変換に利用する{@link ForkJoinPool}
+	 * @throws IllegalArgumentException {@code out}の長さが{@code millis}の長さより短い場合
+	 * @throws ArithmeticException エポック日が{@code int}の範囲を超える場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public static void toEpochDays(long[] millis, TimeZone zone, int[] out, ForkJoinPool pool) {
+		Preconditions.checkNotNull(pool);
+		convertAll(Conversion.EPOCH_DAY, millis, zone, out, pool);
+	}
+	
+	/**
+	 * エポックミリ秒の配列を、指定したタイムゾーンにおけるエポック月の配列に変換する。
+	 * 
+	 * <p>{@code out[i]}には{@code CalendarMonth.from(TimePoint.from(millis[i]), zone)}に相当する暦月の
+	 * エポック月を格納する。</p>
+	 * 
+	 * @param millis エポックミリ秒の配列
+	 * @param zone タイムゾーン
+	 * @param out 結果を格納する配列
+	 * @throws IllegalArgumentException {@code out}の長さが{@code millis}の長さより短い場合
+	 * @throws ArithmeticException エポック日が{@code int}の範囲を超える場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public static void toEpochMonths(long[] millis, TimeZone zone, int[] out) {
+		convertAll(Conversion.EPOCH_MONTH, millis, zone, out, null);
+	}
+	
+	/**
+	 * エポックミリ秒の配列の指定した範囲を、指定したタイムゾーンにおけるエポック月に変換する。
+	 * 
+	 * <p>結果は{@code out}の同じ添字（{@code from}以上{@code to}未満）に格納する。</p>
+	 * 
+	 * @param millis エポックミリ秒の配列
+	 * @param from 変換する範囲の開始添字（この値を含む）
+	 * @param to 変換する範囲の終了添字（この値を含まない）
+	 * @param zone タイムゾーン
+	 * @param out 結果を格納する配列
+	 * @throws IndexOutOfBoundsException 範囲がいずれかの配列の範囲外である場合
+	 * @throws ArithmeticException エポック日が{@code int}の範囲を超える場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public static void toEpochMonths(long[] millis, int from, int to, TimeZone zone, int[] out) {
+		convert(Conversion.EPOCH_MONTH, millis, from, to, zone, out, null);
+	}
+	
+	/**
+	 * エポックミリ秒の配列を、指定したタイムゾーンにおけるエポック月の配列に並列に変換する。
+	 * 
+	 * @param millis エポックミリ秒の配列
+	 * @param zone タイムゾーン
+	 * @param out 結果を格納する配列
+	 * @param pool 変換に利用する{@link ForkJoinPool}
+	 * @throws IllegalArgumentException {@code out}の長さが{@code millis}の長さより短い場合
+	 * @throws ArithmeticException エポック日が{@code int}の範囲を超える場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public static void toEpochMonths(long[] millis, TimeZone zone, int[] out, ForkJoinPool pool) {
+		Preconditions.checkNotNull(pool);
+		convertAll(Conversion.EPOCH_MONTH, millis, zone, out, pool);
+	}
+	
+	/**
+	 * エポックミリ秒の配列を、指定したタイムゾーンにおける0時0分からの経過分の配列に変換する。
+	 * 
+	 * <p>{@code out[i]}には{@code TimePoint.from(millis[i]).asTimeOfDay(zone)}の時・分から求めた
+	 * 経過分（秒以下は切り捨て）を格納する。</p>
+	 * 
+	 * @param millis エポックミリ秒の配列
+	 * @param zone タイムゾーン
+	 * @param out 結果を格納する配列
+	 * @throws IllegalArgumentException {@code out}の長さが{@code millis}の長さより短い場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public static void toLocalMinuteOfDay(long[] millis, TimeZone zone, int[] out) {
+		convertAll(Conversion.MINUTE_OF_DAY, millis, zone, out, null);
+	}
+	
+	/**
+	 * エポックミリ秒の配列の指定した範囲を、指定したタイムゾーンにおける0時0分からの経過分に変換する。
+	 * 
+	 * <p>結果は{@code out}の同じ添字（{@code from}以上{@code to}未満）に格納する。</p>
+	 * 
+	 * @param millis エポックミリ秒の配列
+	 * @param from 変換する範囲の開始添字（この値を含む）
+	 * @param to 変換する範囲の終了添字（この値を含まない）
+	 * @param zone タイムゾーン
+	 * @param out 結果を格納する配列
+	 * @throws IndexOutOfBoundsException 範囲がいずれかの配列の範囲外である場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public static void toLocalMinuteOfDay(long[] millis, int from, int to, TimeZone zone, int[] out) {
+		convert(Conversion.MINUTE_OF_DAY, millis, from, to, zone, out, null);
+	}
+	
+	/**
+	 * エポックミリ秒の配列を、指定したタイムゾーンにおける0時0分からの経過分の配列に並列に変換する。
+	 * 
+	 * @param millis エポックミリ秒の配列
+	 * @param zone タイムゾーン
+	 * @param out 結果を格納する配列
+	 * @param pool 変換に利用する{@link ForkJoinPool}
+	 * @throws IllegalArgumentException {@code out}の長さが{@code millis}の長さより短い場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public static void toLocalMinuteOfDay(long[] millis, TimeZone zone, int[] out, ForkJoinPool pool) {
+		Preconditions.checkNotNull(pool);
+		convertAll(Conversion.MINUTE_OF_DAY, millis, zone, out, pool);
+	}
+	
+	/**
+	 * エポックミリ秒の配列を、指定したタイムゾーンにおける0時0分からの経過ミリ秒の配列に変換する。
+	 * 
+	 * <p>{@code out[i]}には{@code TimePoint.from(millis[i]).asTimeOfDay(zone)}に相当する経過ミリ秒を格納する。</p>
+	 * 
+	 * @param millis エポックミリ秒の配列
+	 * @param zone タイムゾーン
+	 * @param out 結果を格納する配列
+	 * @throws IllegalArgumentException {@code out}の長さが{@code millis}の長さより短い場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public static void toLocalMillisOfDay(long[] millis, TimeZone zone, int[] out) {
+		convertAll(Conversion.MILLIS_OF_DAY, millis, zone, out, null);
+	}
+	
+	/**
+	 * エポックミリ秒の配列の指定した範囲を、指定したタイムゾーンにおける0時0分からの経過ミリ秒に変換する。
+	 * 
+	 * <p>結果は{@code out}の同じ添字（{@code from}以上{@code to}未満）に格納する。</p>
+	 * 
+	 * @param millis エポックミリ秒の配列
+	 * @param from 変換する範囲の開始添字（この値を含む）
+	 * @param to 変換する範囲の終了添字（この値を含まない）
+	 * @param zone タイムゾーン
+	 * @param out 結果を格納する配列
+	 * @throws IndexOutOfBoundsException 範囲がいずれかの配列の範囲外である場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public static void toLocalMillisOfDay(long[] millis, int from, int to, TimeZone zone, int[] out) {
+		convert(Conversion.MILLIS_OF_DAY, millis, from, to, zone, out, null);
+	}
+	
+	/**
+	 * エポックミリ秒の配列を、指定したタイムゾーンにおける0時0分からの経過ミリ秒の配列に並列に変換する。
+	 * 
+	 * @param millis エポックミリ秒の配列
+	 * @param zone タイムゾーン
+	 * @param out 結果を格納する配列
+	 * @param pool 変換に利用する{@link ForkJoinPool}
+	 * @throws IllegalArgumentException {@code out}の長さが{@code millis}の長さより短い場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public static void toLocalMillisOfDay(long[] millis, TimeZone zone, int[] out, ForkJoinPool pool) {
+		Preconditions.checkNotNull(pool);
+		convertAll(Conversion.MILLIS_OF_DAY, millis, zone, out, pool);
+	}
+	
+	/**
+	 * エポック日を暦日に変換する。
+	 * 
+	 * @param epochDay エポック日
+	 * @return 暦日
+	 * @since 2.19
+	 */
+	public static CalendarDate toCalendarDate(int epochDay) {
+		if (CalendarArithmetic.isSupportedEpochDay(epochDay)) {
+			return CalendarArithmetic.toCalendarDate(epochDay);
+		}
+		return CalendarDate.from(TimePoint.from(epochDay * MILLIS_PER_DAY), TimeZones.UNIVERSAL);
+	}
+	
+	/**
+	 * 暦日をエポック日に変換する。{@link #toCalendarDate(int)}の逆変換である。
+	 * 
+	 * @param date 暦日
+	 * @return エポック日
+	 * @throws ArithmeticException エポック日が{@code int}の範囲を超える場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public static int toEpochDay(CalendarDate date) {
+		Preconditions.checkNotNull(date);
+		CalendarMonth month = date.asCalendarMonth();
+		if (CalendarArithmetic.isSupportedYear(month.year)) {
+			return Math.toIntExact(CalendarArithmetic.toEpochDay(month.year, month.month.value,
+					date.getDayOfMonth().value));
+		}
+		long millis = date.startAsTimePoint(TimeZones.UNIVERSAL).millisecondsFromEpoch;
+		return Math.toIntExact(Math.floorDiv(millis, MILLIS_PER_DAY));
+	}
+	
+	/**
+	 * 暦月をエポック月に変換する。{@link #toCalendarMonth(int)}の逆変換である。
+	 * 
+	 * @param month 暦月
+	 * @return エポック月
+	 * @throws ArithmeticException エポック月が{@code int}の範囲を超える場合
+	 * @throws NullPointerException 引数に{@code null}を与えた場合
+	 * @since 2.19
+	 */
+	public static int toEpochMonth(CalendarMonth month) {
+		Preconditions.checkNotNull(month);
+		return Math.toIntExact((month.year - (long) EPOCH_YEAR) * MONTHS_PER_YEAR + month.month.value - 1);
+	}
+	
+	/**
+	 * エポック月を暦月に変換する。
+	 * 
+	 * @param epochMonth エポック月
+	 * @return 暦月
+	 * @since 2.19
+	 */
+	public static CalendarMonth toCalendarMonth(int epochMonth) {
+		int year = EPOCH_YEAR + Math.floorDiv(epochMonth, MONTHS_PER_YEAR);
+		int month = Math.floorMod(epochMonth, MONTHS_PER_YEAR) + 1;
+		return CalendarMonth.from(year, month);
+	}
+	
+	private static void convertAll(Conversion conversion, long[] millis, TimeZone zone, int[] out,
+			ForkJoinPool pool) {
+		Preconditions.checkNotNull(millis);
+		Preconditions.checkNotNull(out);
+		Preconditions.checkArgument(out.length >= millis.length, "out is shorter than millis");
+		convert(conversion, millis, 0, millis.length, zone, out, pool);
+	}
+	
+	private static void convert(Conversion conversion, long[] millis, int from, int to, TimeZone zone, int[] out,
+			ForkJoinPool pool) {
+		Preconditions.checkNotNull(millis);
+		Preconditions.checkNotNull(zone);
+		Preconditions.checkNotNull(out);
+		Preconditions.checkPositionIndexes(from, to, millis.length);
+		Preconditions.checkPositionIndexes(from, to, out.length);
+		
+		ZoneOffsetTable table = ZoneOffsetTable.of(zone);
+		if (pool == null || to - from <= PARALLEL_THRESHOLD) {
+			conversion.convert(table, millis, from, to, out);
+		} else {
+			pool.invoke(new ConversionTask(conversion, table, millis, from, to, out));
+		}
+	}
+	
+	private static int toEpochMonth(int epochDay) {
+		int year;
+		int month;
+		if (CalendarArithmetic.isSupportedEpochDay(epochDay)) {
+			long packed = CalendarArithmetic.toPackedDate(epochDay);
+			year = CalendarArithmetic.packedYear(packed);
+			month = CalendarArithmetic.packedMonth(packed);
+		} else {
+			CalendarDate date = CalendarDate.from(TimePoint.from(epochDay * MILLIS_PER_DAY), TimeZones.UNIVERSAL);
+			year = date.getYear();
+			month = date.getMonthOfYear().value;
+		}
+		return (year - EPOCH_YEAR) * MONTHS_PER_YEAR + month - 1;
+	}
+	
+	private TimePoints() {
+	}
+	
+	
+	/**
+	 * 配列の範囲に対する変換処理。
+	 */
+	private enum Conversion {
+		
+		EPOCH_DAY {
+			
+			@Override
+			void convert(ZoneOffsetTable table, long[] millis, int from, int to, int[] out) {
+				for (int i = from; i < to; i++) {
+					out[i] = Math.toIntExact(Math.floorDiv(table.toLocalMillis(millis[i]), MILLIS_PER_DAY));
+				}
+			}
+		},
+		
+		EPOCH_MONTH {
+			
+			@Override
+			void convert(ZoneOffsetTable table, long[] millis, int from, int to, int[] out) {
+				// 同じ日が連続することが多いため、直前の結果を再利用する
+				long previousDay = Long.MIN_VALUE;
+				int previousMonth = 0;
+				for (int i = from; i < to; i++) {
+					long epochDay = Math.floorDiv(table.toLocalMillis(millis[i]), MILLIS_PER_DAY);
+					if (epochDay != previousDay) {
+						previousDay = epochDay;
+						previousMonth = toEpochMonth(Math.toIntExact(epochDay));
+					}
+					out[i] = previousMonth;
+				}
+			}
+		},
+		
+		MINUTE_OF_DAY {
+			
+			@Override
+			void convert(ZoneOffsetTable table, long[] millis, int from, int to, int[] out) {
+				for (int i = from; i < to; i++) {
+					out[i] = (int) (Math.floorMod(table.toLocalMillis(millis[i]), MILLIS_PER_DAY) / MILLIS_PER_MINUTE);
+				}
+			}
+		},
+		
+		MILLIS_OF_DAY {
+			
+			@Override
+			void convert(ZoneOffsetTable table, long[] millis, int from, int to, int[] out) {
+				for (int i = from; i < to; i++) {
+					out[i] = (int) Math.floorMod(table.toLocalMillis(millis[i]), MILLIS_PER_DAY);
+				}
+			}
+		};
+		
+		abstract void convert(ZoneOffsetTable table, long[] millis, int from, int to, int[] out);
+	}
+	
+	/**
+	 * 配列の範囲を分割して並列に変換する{@link RecursiveAction}。
+	 */
+	@SuppressWarnings("serial")
+	private static final class ConversionTask extends RecursiveAction {
+		
+		private final Conversion conversion;
+		
+		private final ZoneOffsetTable table;
+		
+		private final long[] millis;
+		
+		private final int from;
+		
+		private final int to;
+		
+		private final int[] out;
+		
+		
+		ConversionTask(Conversion conversion, ZoneOffsetTable table, long[] millis, int from, int to, int[] out) {
+			this.conversion = conversion;
+			this.table = table;
+			this.millis = millis;
+			this.from = from;
+			this.to = to;
+			this.out = out;
+		}
+		
+		@Override
+		protected void compute() {
+			if (to - from <= PARALLEL_THRESHOLD) {
+				conversion.convert(table, millis, from, to, out);
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			invokeAll(new ConversionTask(conversion, table, millis, from, middle, out),
+					new ConversionTask(conversion, table, millis, middle, to, out));
+		}
+	}
+}
@@ -18,6 +18,8 @@ package jp.xet.baseunits.time;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 
+import jp.xet.baseunits.util.Ratio;
+
 import com.google.common.base.Preconditions;
 
 /**
@@ -36,6 +38,9 @@ public class TimeRate {
 	/** 単位時間 */
 	final Duration unit;
 	
+	/** {@link #quantity}を表す比率. 適用の度に{@link Ratio}へ変換しないよう保持する */
+	private final Ratio quantityRatio;
+	
 	
 	/**
 	 * インスタンスを生成する。
@@ -50,6 +55,7 @@ public class TimeRate {
 		Preconditions.checkNotNull(unit);
 		this.quantity = quantity;
 		this.unit = unit;
+		quantityRatio = Ratio.of(quantity);
 	}
 	
 	/**
@@ -167,7 +173,7 @@ public class TimeRate {
 	public BigDecimal over(Duration duration, int scale, RoundingMode roundingMode) {
 		Preconditions.checkNotNull(duration);
 		Preconditions.checkNotNull(roundingMode);
-		return duration.dividedBy(unit).times(quantity).decimalValue(scale, roundingMode);
+		return duration.dividedBy(unit).times(quantityRatio).decimalValue(scale, roundingMode);
 	}
 	
 	/**
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.time;
+
+import java.util.Arrays;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.google.common.collect.Maps;
+
+/**
+ * タイムゾーン毎に、UTCオフセットの遷移（夏時間の開始・終了等）を事前計算して保持するテーブル。
+ * 
+ * <p>エポックミリ秒と地方時（ローカル時刻）の相互変換を、{@link java.util.Calendar}を生成せずに
+ * 整数演算で行うために利用する。遷移情報はおよそ1年毎のブロック単位で、必要になった時点で計算する。</p>
+ * 
+ * <p>遷移は一定間隔の標本から二分探索で特定するため、標本間隔（6時間）の中で元のオフセットに戻るような
+ * 遷移は検出しない。</p>
+ * 
+ * <p>地方時からエポックミリ秒への変換において、夏時間の開始による「存在しない時刻」や、
+ * 終了による「重複する時刻」の近傍では{@link #UNRESOLVED}を返す。その場合、呼び出し側で
+ * {@link java.util.Calendar}による変換にフォールバックすること。</p>
+ * 
+ * @author daisuke
+ */
+final class ZoneOffsetTable {
+	
+	/** {@link #toEpochMillis(long)}が変換できなかったことを表す値 */
+	static final long UNRESOLVED = Long.MIN_VALUE;
+	
+	private static final long MILLIS_PER_DAY = TimeUnitConversionFactor.millisecondsPerDay.value;
+	
+	/** 1ブロックの長さ（ミリ秒） */
+	private static final long BLOCK_MILLIS = 365 * MILLIS_PER_DAY;
+	
+	/** 遷移を探すための標本間隔（ミリ秒） */
+	private static final long SAMPLING_MILLIS = 6 * TimeUnitConversionFactor.millisecondsPerHour.value;
+	
+	/** 地方時とUTCの差が取り得る範囲よりも十分に広い幅（ミリ秒） */
+	private static final long NEIGHBORHOOD_MILLIS = 3 * MILLIS_PER_DAY;
+	
+	/** テーブルで扱う最小のブロック番号（{@link CalendarArithmetic#MIN_YEAR}年を含む） */
+	private static final long MIN_BLOCK = Math.floorDiv(CalendarArithmetic.MIN_EPOCH_DAY * MILLIS_PER_DAY,
+			BLOCK_MILLIS);
+	
+	/** テーブルで扱うブロックの数 */
+	private static final int BLOCK_COUNT = 1024 + (int) -MIN_BLOCK;
+	
+	/** キャッシュするテーブル数の上限 */
+	private static final int MAX_TABLES = 256;
+	
+	private static final ConcurrentMap<TimeZone, ZoneOffsetTable> TABLES = Maps.newConcurrentMap();
+	
+	
+	/**
+	 * 指定したタイムゾーンのテーブルを返す。
+	 * 
+	 * @param zone タイムゾーン
+	 * @return テーブル
+	 */
+	static ZoneOffsetTable of(TimeZone zone) {
+		ZoneOffsetTable table = TABLES.get(zone);
+		if (table == null) {
+			if (TABLES.size() >= MAX_TABLES) {
+				TABLES.clear();
+			}
+			// TimeZoneは可変であるため、複製をキー兼計算用に保持する
+			TimeZone copy = (TimeZone) zone.clone();
+			table = new ZoneOffsetTable(copy);
+			ZoneOffsetTable existing = TABLES.putIfAbsent(copy, table);
+			if (existing != null) {
+				table = existing;
+			}
+		}
+		return table;
+	}
+	
+	
+	private final TimeZone zone;
+	
+	private final int rawOffset;
+	
+	private final AtomicReferenceArray<Block> blocks = new AtomicReferenceArray<Block>(BLOCK_COUNT);
+	
+	
+	private ZoneOffsetTable(TimeZone zone) {
+		this.zone = zone;
+		rawOffset = zone.getRawOffset();
+	}
+	
+	/**
+	 * 指定した瞬間における、UTCからのオフセット（ミリ秒）を返す。
+	 * 
+	 * <p>{@link TimeZone#getOffset(long)}と同じ値を返す。</p>
+	 * 
+	 * @param epochMillis エポックミリ秒
+	 * @return オフセット（ミリ秒）
+	 */
+	int getOffset(long epochMillis) {
+		Block block = block(Math.floorDiv(epochMillis, BLOCK_MILLIS));
+		if (block == null) {
+			return zone.getOffset(epochMillis);
+		}
+		return block.getOffset(epochMillis);
+	}
+	
+	/**
+	 * 指定した瞬間の地方時を、エポックからのミリ秒（地方時における1970年1月1日0時を{@code 0}とする値）で返す。
+	 * 
+	 * @param epochMillis エポックミリ秒
+	 * @return 地方時のミリ秒
+	 */
+	long toLocalMillis(long epochMillis) {
+		return epochMillis + getOffset(epochMillis);
+	}
+	
+	/**
+	 * 地方時のミリ秒を、エポックミリ秒に変換する。
+	 * 
+	 * <p>夏時間の遷移の近傍等、{@link java.util.Calendar}と同じ結果を保証できない場合は{@link #UNRESOLVED}を返す。</p>
+	 * 
+	 * @param localMillis 地方時のミリ秒
+	 * @return エポックミリ秒、または{@link #UNRESOLVED}
+	 */
+	long toEpochMillis(long localMillis) {
+		long from = localMillis - NEIGHBORHOOD_MILLIS;
+		long to = localMillis + NEIGHBORHOOD_MILLIS;
+		long firstIndex = Math.floorDiv(from, BLOCK_MILLIS);
+		long lastIndex = Math.floorDiv(to, BLOCK_MILLIS);
+		
+		long transition = UNRESOLVED;
+		int before = 0;
+		int after = 0;
+		for (long index = firstIndex; index <= lastIndex; index++) {
+			Block block = block(index);
+			if (block == null) {
+				return UNRESOLVED;
+			}
+			for (int i = 0; i < block.transitions.length; i++) {
+				long t = block.transitions[i];
+				if (t > from && t <= to) {
+					if (transition != UNRESOLVED) {
+						// 近傍に複数の遷移がある
+						return UNRESOLVED;
+					}
+					transition = t;
+					before = i == 0 ? block.initialOffset : block.offsets[i - 1];
+					after = block.offsets[i];
+				}
+			}
+		}
+		
+		if (transition == UNRESOLVED) {
+			return localMillis - getOffset(localMillis);
+		}
+		// 遷移前後のいずれのオフセットを適用しても、また標準時のオフセットで判定しても
+		// 遷移との前後関係が変わらない場合に限り、結果は一意に定まる
+		long wallBefore = transition + Math.min(Math.min(before, after), rawOffset);
+		long wallAfter = transition + Math.max(Math.max(before, after), rawOffset);
+		if (localMillis < wallBefore) {
+			return localMillis - before;
+		}
+		if (localMillis >= wallAfter) {
+			return localMillis - after;
+		}
+		return UNRESOLVED;
+	}
+	
+	private Block block(long index) {
+		long offset = index - MIN_BLOCK;
+		if (offset < 0 || offset >= BLOCK_COUNT) {
+			return null;
+		}
+		Block block = blocks.get((int) offset);
+		if (block == null) {
+			// 競合して複数回計算しても結果は同じであるため、排他はしない
+			block = new Block(zone, index * BLOCK_MILLIS, (index + 1) * BLOCK_MILLIS);
+			blocks.set((int) offset, block);
+		}
+		return block;
+	}
+	
+	
+	/**
+	 * 1ブロック分の遷移情報。
+	 */
+	private static final class Block {
+		
+		/** ブロック開始時点のオフセット */
+		final int initialOffset;
+		
+		/** 遷移の瞬間（エポックミリ秒）の昇順配列 */
+		final long[] transitions;
+		
+		/** 各遷移の後のオフセット */
+		final int[] offsets;
+		
+		
+		Block(TimeZone zone, long start, long end) {
+			long[] foundTransitions = new long[4];
+			int[] foundOffsets = new int[4];
+			int count = 0;
+			
+			initialOffset = zone.getOffset(start);
+			long previous = start;
+			int previousOffset = initialOffset;
+			while (previous < end - 1) {
+				long next = Math.min(previous + SAMPLING_MILLIS, end - 1);
+				if (zone.getOffset(next) == previousOffset) {
+					previous = next;
+					continue;
+				}
+				// 標本間を二分探索し、オフセットが変化した最初の瞬間を特定する
+				long low = previous;
+				long high = next;
+				while (high - low > 1) {
+					long mid = low + (high - low) / 2;
+					if (zone.getOffset(mid) == previousOffset) {
+						low = mid;
+					} else {
+						high = mid;
+					}
+				}
+				if (count == foundTransitions.length) {
+					foundTransitions = Arrays.copyOf(foundTransitions, count * 2);
+					foundOffsets = Arrays.copyOf(foundOffsets, count * 2);
+				}
+				previous = high;
+				previousOffset = zone.getOffset(high);
+				foundTransitions[count] = previous;
+				foundOffsets[count] = previousOffset;
+				count++;
+			}
+			transitions = Arrays.copyOf(foundTransitions, count);
+			offsets = Arrays.copyOf(foundOffsets, count);
+		}
+		
+		int getOffset(long epochMillis) {
+			int offset = initialOffset;
+			for (int i = 0; i < transitions.length && transitions[i] <= epochMillis; i++) {
+				offset = offsets[i];
+			}
+			return offset;
+		}
+	}
+}
@@ -19,6 +19,7 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 
 import com.google.common.base.Preconditions;
+import com.google.common.math.LongMath;
 
 /**
  * {@link Ratio}は、2つ同じ単位を持つの量の商（比率）であり、単位のない値である。
@@ -35,11 +36,29 @@ import com.google.common.base.Preconditions;
  * time comes to compute a decimal value for the ratio. The client typically has
  * the responsibilities that enable an appropriate choice of these parameters.<p>
  * 
+ * <p>分子・分母が共に{@code long}のunscaled valueとスケールで表せる場合は、その表現で保持し、
+ * {@link #times(Ratio)}や{@link #decimalValue(int, RoundingMode)}を{@link BigDecimal}を生成せずに計算する。
+ * 計算途中で{@code long}の範囲を超える場合は、{@link BigDecimal}による計算に切り替える。
+ * 分子・分母の{@link BigDecimal}表現は、必要になった時点で生成する。</p>
+ * 
  * @author daisuke
  * @since 1.0
  */
 public class Ratio {
 	
+	/** {@code long}のunscaled valueで表す数の精度の上限 */
+	private static final int MAX_COMPACT_PRECISION = 18;
+	
+	private static final long[] POWERS_OF_TEN = new long[MAX_COMPACT_PRECISION + 1];
+	
+	static {
+		POWERS_OF_TEN[0] = 1;
+		for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+			POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10; // CHECKSTYLE IGNORE THIS LINE
+		}
+	}
+	
+	
 	/**
 	 * インスタンスを生成する。
 	 * 
@@ -76,15 +95,26 @@ public class Ratio {
 	 * @since 1.0
 	 */
 	public static Ratio of(long numerator, long denominator) {
-		return new Ratio(BigDecimal.valueOf(numerator), BigDecimal.valueOf(denominator));
+		return new Ratio(numerator, 0, denominator, 0);
 	}
 	
 	
-	/** 分子をあらわす数 */
-	private final BigDecimal numerator;
+	/** 分子をあらわす数. {@link #compact}の場合は、必要になるまで{@code null} */
+	private BigDecimal numerator;
+	
+	/** 分母をあらわす数. {@link #compact}の場合は、必要になるまで{@code null} */
+	private BigDecimal denominator;
+	
+	/** 分子・分母を{@code long}のunscaled valueとスケールで保持している場合は{@code true} */
+	private final boolean compact;
+	
+	private final long unscaledNumerator;
+	
+	private final int numeratorScale;
+	
+	private final long unscaledDenominator;
 	
-	/** 分母をあらわす数 */
-	private final BigDecimal denominator;
+	private final int denominatorScale;
 	
 	
 	/**
@@ -104,6 +134,22 @@ public class Ratio {
 		}
 		this.numerator = numerator;
 		this.denominator = denominator;
+		compact = numerator.precision() <= MAX_COMPACT_PRECISION && denominator.precision() <= MAX_COMPACT_PRECISION;
+		unscaledNumerator = compact ? numerator.unscaledValue().longValue() : 0;
+		numeratorScale = numerator.scale();
+		unscaledDenominator = compact ? denominator.unscaledValue().longValue() : 0;
+		denominatorScale = denominator.scale();
+	}
+	
+	private Ratio(long unscaledNumerator, int numeratorScale, long unscaledDenominator, int denominatorScale) {
+		if (unscaledDenominator == 0 && denominatorScale == 0) {
+			throw new ArithmeticException("denominator is zero");
+		}
+		compact = true;
+		this.unscaledNumerator = unscaledNumerator;
+		this.numeratorScale = numeratorScale;
+		this.unscaledDenominator = unscaledDenominator;
+		this.denominatorScale = denominatorScale;
 	}
 	
 	/**
@@ -115,7 +161,13 @@ public class Ratio {
 	 * @since 1.0
 	 */
 	public BigDecimal breachEncapsulationOfDenominator() {
-		return denominator;
+		BigDecimal result = denominator;
+		if (result == null) {
+			// BigDecimalは不変であるため、複数のスレッドで重複して生成しても差し支えない
+			result = BigDecimal.valueOf(unscaledDenominator, denominatorScale);
+			denominator = result;
+		}
+		return result;
 	}
 	
 	/**
@@ -127,7 +179,12 @@ public class Ratio {
 	 * @since 1.0
 	 */
 	public BigDecimal breachEncapsulationOfNumerator() {
-		return numerator;
+		BigDecimal result = numerator;
+		if (result == null) {
+			result = BigDecimal.valueOf(unscaledNumerator, numeratorScale);
+			numerator = result;
+		}
+		return result;
 	}
 	
 	/**
@@ -141,7 +198,13 @@ public class Ratio {
 	 */
 	public BigDecimal decimalValue(int scale, RoundingMode roundingMode) {
 		Preconditions.checkNotNull(roundingMode);
-		return numerator.divide(denominator, scale, roundingMode);
+		if (compact) {
+			BigDecimal result = compactDecimalValue(scale, roundingMode);
+			if (result != null) {
+				return result;
+			}
+		}
+		return breachEncapsulationOfNumerator().divide(breachEncapsulationOfDenominator(), scale, roundingMode);
 	}
 	
 	/**
@@ -170,10 +233,15 @@ public class Ratio {
 			return false;
 		}
 		Ratio other = (Ratio) obj;
-		if (denominator.equals(other.denominator) == false) {
+		if (compact && other.compact) {
+			// BigDecimalの同一性は、unscaled valueとスケールの同一性と等しい
+			return unscaledNumerator == other.unscaledNumerator && numeratorScale == other.numeratorScale
+					&& unscaledDenominator == other.unscaledDenominator && denominatorScale == other.denominatorScale;
+		}
+		if (breachEncapsulationOfDenominator().equals(other.breachEncapsulationOfDenominator()) == false) {
 			return false;
 		}
-		if (numerator.equals(other.numerator) == false) {
+		if (breachEncapsulationOfNumerator().equals(other.breachEncapsulationOfNumerator()) == false) {
 			return false;
 		}
 		return true;
@@ -183,8 +251,8 @@ public class Ratio {
 	public int hashCode() {
 		final int prime = 31;
 		int result = 1;
-		result = prime * result + denominator.hashCode();
-		result = prime * result + numerator.hashCode();
+		result = prime * result + breachEncapsulationOfDenominator().hashCode();
+		result = prime * result + breachEncapsulationOfNumerator().hashCode();
 		return result;
 	}
 	
@@ -200,7 +268,13 @@ public class Ratio {
 	 */
 	public Ratio times(BigDecimal multiplier) {
 		Preconditions.checkNotNull(multiplier);
-		return Ratio.of(numerator.multiply(multiplier), denominator);
+		if (compact && multiplier.precision() <= MAX_COMPACT_PRECISION) {
+			Ratio product = compactTimes(multiplier.unscaledValue().longValue(), multiplier.scale(), 1, 0);
+			if (product != null) {
+				return product;
+			}
+		}
+		return Ratio.of(breachEncapsulationOfNumerator().multiply(multiplier), breachEncapsulationOfDenominator());
 	}
 	
 	/**
@@ -215,7 +289,15 @@ public class Ratio {
 	 */
 	public Ratio times(Ratio multiplier) {
 		Preconditions.checkNotNull(multiplier);
-		return Ratio.of(numerator.multiply(multiplier.numerator), denominator.multiply(multiplier.denominator));
+		if (compact && multiplier.compact) {
+			Ratio product = compactTimes(multiplier.unscaledNumerator, multiplier.numeratorScale,
+					multiplier.unscaledDenominator, multiplier.denominatorScale);
+			if (product != null) {
+				return product;
+			}
+		}
+		return Ratio.of(breachEncapsulationOfNumerator().multiply(multiplier.breachEncapsulationOfNumerator()),
+				breachEncapsulationOfDenominator().multiply(multiplier.breachEncapsulationOfDenominator()));
 	}
 	
 	/** この比率の文字列表現を取得する。
@@ -227,6 +309,81 @@ public class Ratio {
 	 */
 	@Override
 	public String toString() {
-		return numerator.toString() + "/" + denominator;
+		return breachEncapsulationOfNumerator().toString() + "/" + breachEncapsulationOfDenominator();
+	}
+	
+	/**
+	 * {@code long}の範囲で比率を{@link BigDecimal}に変換する。
+	 * 
+	 * <p>分子・分母を最大公約数で約分してから計算するため、約分によって{@code long}の範囲に収まる場合も扱える。</p>
+	 * 
+	 * @param scale 小数点以下の有効数字
+	 * @param roundingMode 丸めモード
+	 * @return この比率の {@link BigDecimal} 型の表現. 計算途中で{@code long}の範囲を超える場合は{@code null}
+	 */
+	private BigDecimal compactDecimalValue(int scale, RoundingMode roundingMode) {
+		long n = unscaledNumerator;
+		long d = unscaledDenominator;
+		if (d == 0 || n == Long.MIN_VALUE || d == Long.MIN_VALUE) {
+			// 0による除算の例外はBigDecimalに委ねる
+			return null;
+		}
+		long gcd = LongMath.gcd(Math.abs(n), Math.abs(d));
+		n /= gcd;
+		d /= gcd;
+		// n * 10^-numeratorScale / (d * 10^-denominatorScale) = n * 10^exponent / d * 10^-scale
+		long exponent = (long) scale - numeratorScale + denominatorScale;
+		if (exponent >= 0) {
+			n = multiplyPowerOfTen(n, exponent);
+			if (n == Long.MIN_VALUE) {
+				return null;
+			}
+		} else {
+			d = multiplyPowerOfTen(d, -exponent);
+			if (d == Long.MIN_VALUE) {
+				return null;
+			}
+		}
+		return BigDecimal.valueOf(LongMath.divide(n, d, roundingMode), scale);
+	}
+	
+	/**
+	 * 分子・分母にそれぞれ{@code long}で表した数を乗じた比率を返す。
+	 * 
+	 * @param otherNumerator 分子に乗じる数のunscaled value
+	 * @param otherNumeratorScale 分子に乗じる数のスケール
+	 * @param otherDenominator 分母に乗じる数のunscaled value
+	 * @param otherDenominatorScale 分母に乗じる数のスケール
+	 * @return 積. 計算結果が{@code long}の範囲を超える場合は{@code null}
+	 */
+	private Ratio compactTimes(long otherNumerator, int otherNumeratorScale, long otherDenominator,
+			int otherDenominatorScale) {
+		long n = LongMath.saturatedMultiply(unscaledNumerator, otherNumerator);
+		long d = LongMath.saturatedMultiply(unscaledDenominator, otherDenominator);
+		long nScale = (long) numeratorScale + otherNumeratorScale;
+		long dScale = (long) denominatorScale + otherDenominatorScale;
+		if (n == Long.MAX_VALUE || n == Long.MIN_VALUE || d == Long.MAX_VALUE || d == Long.MIN_VALUE
+				|| nScale != (int) nScale || dScale != (int) dScale) {
+			return null;
+		}
+		return new Ratio(n, (int) nScale, d, (int) dScale);
+	}
+	
+	/**
+	 * {@code value * 10^exponent}を返す。
+	 * 
+	 * @param value 値
+	 * @param exponent 指数
+	 * @return 積. 計算結果が{@code long}の範囲を超える場合は{@link Long#MIN_VALUE}
+	 */
+	private static long multiplyPowerOfTen(long value, long exponent) {
+		if (value == 0) {
+			return 0;
+		}
+		if (exponent >= POWERS_OF_TEN.length) {
+			return Long.MIN_VALUE;
+		}
+		long result = LongMath.saturatedMultiply(value, POWERS_OF_TEN[(int) exponent]);
+		return result == Long.MAX_VALUE ? Long.MIN_VALUE : result;
 	}
 }
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.wicket;
+
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import jp.xet.baseunits.time.CalendarDate;
+import jp.xet.baseunits.time.CalendarMonth;
+import jp.xet.baseunits.time.Duration;
+import jp.xet.baseunits.time.TimeOfDay;
+import jp.xet.baseunits.time.TimePoint;
+import jp.xet.baseunits.time.TimePointOfDay;
+
+import org.apache.wicket.Application;
+import org.apache.wicket.ConverterLocator;
+import org.apache.wicket.IConverterLocator;
+import org.apache.wicket.util.convert.IConverter;
+import org.apache.wicket.util.lang.Args;
+
+/**
+ * baseunitsの型に対する{@link IConverter}を、パターン及びタイムゾーン毎に共有する{@link IConverterLocator}実装クラス。
+ * 
+ * <p>{@link Application#newConverterLocator()}をオーバーライドしてこのクラスのインスタンスを返すと、
+ * {@link TimePointLabel}等のコンポーネントは描画の度に{@link IConverter}や{@link SimpleDateFormat}を生成せず、
+ * このインスタンスが保持するものを再利用する。baseunits以外の型は、委譲先の{@link IConverterLocator}で変換する。</p>
+ * 
+ * <pre>
+ * &#64;Override
+ * protected IConverterLocator newConverterLocator() {
+ *     return new BaseunitsConverterLocator(super.newConverterLocator());
+ * }
+ * </pre>
+ * 
+ * <p>{@link IConverter}はパターンとタイムゾーンの組み合わせ毎に保持され、破棄されることはない。
+ * パターンを動的に組み立てるような用途では、このクラスを経由せずに{@link IConverter}を生成すること。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+@SuppressWarnings("serial")
+public class BaseunitsConverterLocator implements IConverterLocator {
+	
+	/**
+	 * アプリケーションに設定された{@link BaseunitsConverterLocator}を返す。
+	 * 
+	 * @param application アプリケーション
+	 * @return {@link BaseunitsConverterLocator}. 設定されていない場合は{@code null}
+	 */
+	static BaseunitsConverterLocator find(Application application) {
+		IConverterLocator locator = application.getConverterLocator();
+		return locator instanceof BaseunitsConverterLocator ? (BaseunitsConverterLocator) locator : null;
+	}
+	
+	
+	private final IConverterLocator delegate;
+	
+	private final TimeZone timeZone;
+	
+	private final ConcurrentMap<List<Object>, IConverter<?>> converters =
+			new ConcurrentHashMap<List<Object>, IConverter<?>>();
+	
+	
+	/**
+	 * インスタンスを生成する。
+	 * 
+	 * <p>baseunits以外の型は{@link ConverterLocator}で変換し、{@link TimePoint}等のタイムゾーンには
+	 * デフォルトタイムゾーンを用いる。</p>
+	 */
+	public BaseunitsConverterLocator() {
+		this(new ConverterLocator(), TimeZone.getDefault());
+	}
+	
+	/**
+	 * インスタンスを生成する。
+	 * 
+	 * <p>{@link TimePoint}等のタイムゾーンにはデフォルトタイムゾーンを用いる。</p>
+	 * 
+	 * @param delegate baseunits以外の型の変換に用いる{@link IConverterLocator}
+	 * @throws IllegalArgumentException 引数に{@code null}を与えた場合
+	 */
+	public BaseunitsConverterLocator(IConverterLocator delegate) {
+		this(delegate, TimeZone.getDefault());
+	}
+	
+	/**
+	 * インスタンスを生成する。
+	 * 
+	 * @param delegate baseunits以外の型の変換に用いる{@link IConverterLocator}
+	 * @param timeZone {@link TimePoint}及び{@link TimePointOfDay}の変換に用いるタイムゾーン
+	 * @throws IllegalArgumentException 引数に{@code null}を与えた場合
+	 */
+	public BaseunitsConverterLocator(IConverterLocator delegate, TimeZone timeZone) {
+		Args.notNull(delegate, "delegate");
+		Args.notNull(timeZone, "timeZone");
+		this.delegate = delegate;
+		this.timeZone = timeZone;
+	}
+	
+	/**
+	 * 指定したパターンに対する{@link CalendarDate}の{@link IConverter}を返す。
+	 * 
+	 * @param datePattern {@link SimpleDateFormat}に基づくパターン
+	 * @return {@link IConverter}
+	 * @throws IllegalArgumentException 引数に{@code null}を与えた場合
+	 */
+	@SuppressWarnings("unchecked")
+	public IConverter<CalendarDate> getCalendarDateConverter(String datePattern) {
+		Args.notNull(datePattern, "datePattern");
+		List<Object> key = Arrays.asList(CalendarDate.class, datePattern);
+		IConverter<?> converter = converters.get(key);
+		if (converter == null) {
+			converter = putIfAbsent(key, new CalendarDateConverter(datePattern));
+		}
+		return (IConverter<CalendarDate>) converter;
+	}
+	
+	/**
+	 * 指定したパターンに対する{@link CalendarMonth}の{@link IConverter}を返す。
+	 * 
+	 * @param datePattern {@link SimpleDateFormat}に基づくパターン
+	 * @return {@link IConverter}
+	 * @throws IllegalArgumentException 引数に{@code null}を与えた場合
+	 */
+	@SuppressWarnings("unchecked")
+	public IConverter<CalendarMonth> getCalendarMonthConverter(String datePattern) {
+		Args.notNull(datePattern, "datePattern");
+		List<Object> key = Arrays.asList(CalendarMonth.class, datePattern);
+		IConverter<?> converter = converters.get(key);
+		if (converter == null) {
+			converter = putIfAbsent(key, new CalendarMonthConverter(datePattern));
+		}
+		return (IConverter<CalendarMonth>) converter;
+	}
+	
+	@Override
+	@SuppressWarnings("unchecked")
+	public <C>IConverter<C> getConverter(Class<C> type) {
+		if (type == CalendarDate.class) {
+			return (IConverter<C>) getCalendarDateConverter(CalendarDateConverter.DEFAILT_PATTERN_JAVA);
+		} else if (type == CalendarMonth.class) {
+			return (IConverter<C>) getCalendarMonthConverter(CalendarMonthConverter.DEFAILT_PATTERN_JAVA);
+		} else if (type == TimeOfDay.class) {
+			return (IConverter<C>) getTimeOfDayConverter(TimeOfDayConverter.DEFAILT_PATTERN);
+		} else if (type == TimePoint.class) {
+			return (IConverter<C>) getTimePointConverter(TimePointConverter.DEFAILT_PATTERN_JAVA, timeZone);
+		} else if (type == TimePointOfDay.class) {
+			return (IConverter<C>) getTimePointOfDayConverter(TimePointOfDayConverter.DEFAILT_PATTERN, timeZone);
+		} else if (type == Duration.class) {
+			List<Object> key = Arrays.asList(Duration.class);
+			IConverter<?> converter = converters.get(key);
+			if (converter == null) {
+				converter = putIfAbsent(key, new DurationConverter());
+			}
+			return (IConverter<C>) converter;
+		}
+		return delegate.getConverter(type);
+	}
+	
+	/**
+	 * 指定したパターンに対する{@link TimeOfDay}の{@link IConverter}を返す。
+	 * 
+	 * @param timePattern {@link SimpleDateFormat}に基づくパターン
+	 * @return {@link IConverter}
+	 * @throws IllegalArgumentException 引数に{@code null}を与えた場合
+	 */
+	@SuppressWarnings("unchecked")
+	public IConverter<TimeOfDay> getTimeOfDayConverter(String timePattern) {
+		Args.notNull(timePattern, "timePattern");
+		List<Object> key = Arrays.asList(TimeOfDay.class, timePattern);
+		IConverter<?> converter = converters.get(key);
+		if (converter == null) {
+			converter = putIfAbsent(key, new TimeOfDayConverter(timePattern));
+		}
+		return (IConverter<TimeOfDay>) converter;
+	}
+	
+	/**
+	 * 指定したパターン及びタイムゾーンに対する{@link TimePoint}の{@link IConverter}を返す。
+	 * 
+	 * @param datePattern {@link SimpleDateFormat}に基づくパターン
+	 * @param timeZone タイムゾーン
+	 * @return {@link IConverter}
+	 * @throws IllegalArgumentException 引数に{@code null}を与えた場合
+	 */
+	@SuppressWarnings("unchecked")
+	public IConverter<TimePoint> getTimePointConverter(String datePattern, TimeZone timeZone) {
+		Args.notNull(datePattern, "datePattern");
+		Args.notNull(timeZone, "timeZone");
+		List<Object> key = Arrays.asList(TimePoint.class, datePattern, timeZone);
+		IConverter<?> converter = converters.get(key);
+		if (converter == null) {
+			converter = putIfAbsent(key, new TimePointConverter(datePattern, timeZone));
+		}
+		return (IConverter<TimePoint>) converter;
+	}
+	
+	/**
+	 * 指定したパターン及びタイムゾーンに対する{@link TimePointOfDay}の{@link IConverter}を返す。
+	 * 
+	 * @param timePattern {@link SimpleDateFormat}に基づくパターン
+	 * @param timeZone タイムゾーン
+	 * @return {@link IConverter}
+	 * @throws IllegalArgumentException 引数に{@code null}を与えた場合
+	 */
+	@SuppressWarnings("unchecked")
+	public IConverter<TimePointOfDay> getTimePointOfDayConverter(String timePattern, TimeZone timeZone) {
+		Args.notNull(timePattern, "timePattern");
+		Args.notNull(timeZone, "timeZone");
+		List<Object> key = Arrays.asList(TimePointOfDay.class, timePattern, timeZone);
+		IConverter<?> converter = converters.get(key);
+		if (converter == null) {
+			converter = putIfAbsent(key, new TimePointOfDayConverter(timePattern, timeZone));
+		}
+		return (IConverter<TimePointOfDay>) converter;
+	}
+	
+	private IConverter<?> putIfAbsent(List<Object> key, IConverter<?> converter) {
+		IConverter<?> existing = converters.putIfAbsent(key, converter);
+		return existing == null ? converter : existing;
+	}
+}
@@ -133,6 +133,10 @@ public class CalendarDateLabel extends GenericLabel<CalendarDate> {
 	@SuppressWarnings("unchecked")
 	public <C>IConverter<C> getConverter(Class<C> type) {
 		if (type == CalendarDate.class) {
+			BaseunitsConverterLocator locator = BaseunitsConverterLocator.find(getApplication());
+			if (locator != null) {
+				return (IConverter<C>) locator.getCalendarDateConverter(datePattern);
+			}
 			return (IConverter<C>) new CalendarDateConverter(datePattern);
 		}
 		return super.getConverter(type);
@@ -124,6 +124,10 @@ public class CalendarMonthLabel extends GenericLabel<CalendarMonth> {
 	@SuppressWarnings("unchecked")
 	public <C>IConverter<C> getConverter(Class<C> type) {
 		if (type == CalendarMonth.class) {
+			BaseunitsConverterLocator locator = BaseunitsConverterLocator.find(getApplication());
+			if (locator != null) {
+				return (IConverter<C>) locator.getCalendarMonthConverter(datePattern);
+			}
 			return (IConverter<C>) new CalendarMonthConverter(datePattern);
 		}
 		return super.getConverter(type);
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.wicket;
+
+import java.text.SimpleDateFormat;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+
+import jp.xet.baseunits.time.CalendarUtil;
+
+import org.apache.wicket.IClusterable;
+import org.apache.wicket.util.lang.Args;
+
+/**
+ * パターンとタイムゾーンを固定した{@link SimpleDateFormat}を、スレッド毎・ロケール毎に保持するキャッシュ。
+ * 
+ * <p>{@link SimpleDateFormat}はスレッドセーフではないため、スレッド毎に生成したものを再利用する。
+ * シリアライズ時はキャッシュを破棄し、デシリアライズ後に再度生成する。</p>
+ * 
+ * @author daisuke
+ * @since 2.19
+ */
+@SuppressWarnings("serial")
+final class DateFormatCache implements IClusterable {
+	
+	private final String pattern;
+	
+	private final TimeZone timeZone;
+	
+	private transient volatile ThreadLocal<Map<Locale, SimpleDateFormat>> formats;
+	
+	
+	/**
+	 * インスタンスを生成する。
+	 * 
+	 * @param pattern {@link SimpleDateFormat}に基づくパターン
+	 * @param timeZone タイムゾーン
+	 * @throws IllegalArgumentException 引数に{@code null}を与えた場合
+	 */
+	DateFormatCache(String pattern, TimeZone timeZone) {
+		Args.notNull(pattern, "pattern");
+		Args.notNull(timeZone, "timeZone");
+		this.pattern = pattern;
+		this.timeZone = timeZone;
+	}
+	
+	/**
+	 * 現在のスレッドで使用できる{@link SimpleDateFormat}を返す。
+	 * 
+	 * <p>返した{@link SimpleDateFormat}を他のスレッドに渡してはならない。</p>
+	 * 
+	 * @param locale ロケール。{@code null}の場合は既定のロケール
+	 * @return {@link SimpleDateFormat}
+	 */
+	SimpleDateFormat get(Locale locale) {
+		Locale l = locale == null ? Locale.getDefault() : locale;
+		ThreadLocal<Map<Locale, SimpleDateFormat>> threadLocal = formats;
+		if (threadLocal == null) {
+			// 競合した場合は一方のキャッシュが捨てられるだけなので、排他はしない
+			threadLocal = new ThreadLocal<Map<Locale, SimpleDateFormat>>();
+			formats = threadLocal;
+		}
+		Map<Locale, SimpleDateFormat> map = threadLocal.get();
+		if (map == null) {
+			map = new HashMap<Locale, SimpleDateFormat>();
+			threadLocal.set(map);
+		}
+		SimpleDateFormat format = map.get(l);
+		if (format == null) {
+			format = CalendarUtil.newSimpleDateFormat(pattern, l, timeZone);
+			map.put(l, format);
+		}
+		return format;
+	}
+}
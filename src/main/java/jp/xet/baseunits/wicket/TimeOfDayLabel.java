@@ -92,6 +92,10 @@ public class TimeOfDayLabel extends GenericLabel<TimeOfDay> {
 	@SuppressWarnings("unchecked")
 	public <C>IConverter<C> getConverter(Class<C> type) {
 		if (type == TimeOfDay.class) {
+			BaseunitsConverterLocator locator = BaseunitsConverterLocator.find(getApplication());
+			if (locator != null) {
+				return (IConverter<C>) locator.getTimeOfDayConverter(timePattern);
+			}
 			return (IConverter<C>) new TimeOfDayConverter(timePattern);
 		}
 		return super.getConverter(type);
@@ -46,6 +46,8 @@ public class TimePointConverter extends AbstractConverter<TimePoint> {
 	
 	private final TimeZone timeZone;
 	
+	private final DateFormatCache formats;
+	
 	
 	/**
 	 * インスタンスを生成する。
@@ -59,6 +61,7 @@ public class TimePointConverter extends AbstractConverter<TimePoint> {
 		Args.notNull(timeZone, "timeZone");
 		this.datePattern = datePattern;
 		this.timeZone = timeZone;
+		formats = new DateFormatCache(datePattern, timeZone);
 	}
 	
 	/**
@@ -77,7 +80,7 @@ public class TimePointConverter extends AbstractConverter<TimePoint> {
 		}
 		
 		try {
-			return TimePoint.parse(value, datePattern, timeZone);
+			return TimePoint.from(formats.get(locale).parse(value));
 		} catch (ParseException e) {
 			throw newConversionException("Cannot convert '" + value + "' to TimePoint", value, locale);
 		}
@@ -85,7 +88,7 @@ public class TimePointConverter extends AbstractConverter<TimePoint> {
 	
 	@Override
 	public String convertToString(TimePoint value, Locale locale) {
-		return value == null ? null : value.toString(datePattern, timeZone);
+		return value == null ? null : formats.get(locale).format(value.asJavaUtilDate());
 	}
 	
 	@Override
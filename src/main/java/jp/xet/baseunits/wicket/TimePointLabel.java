@@ -188,6 +188,10 @@ public class TimePointLabel extends GenericLabel<TimePoint> {
 	public <C>IConverter<C> getConverter(Class<C> type) {
 		if (type == TimePoint.class) {
 			TimeZone timeZone = timeZoneModel.getObject();
+			BaseunitsConverterLocator locator = BaseunitsConverterLocator.find(getApplication());
+			if (locator != null) {
+				return (IConverter<C>) locator.getTimePointConverter(datePattern, timeZone);
+			}
 			return (IConverter<C>) new TimePointConverter(datePattern, timeZone);
 		}
 		return super.getConverter(type);
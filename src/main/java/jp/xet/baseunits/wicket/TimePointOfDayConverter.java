@@ -17,6 +17,7 @@ package jp.xet.baseunits.wicket;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.Date;
 import java.util.Locale;
 import java.util.TimeZone;
 
@@ -42,6 +43,8 @@ public class TimePointOfDayConverter extends AbstractConverter<TimePointOfDay> {
 	
 	private final TimeZone timeZone;
 	
+	private final DateFormatCache formats;
+	
 	
 	/**
 	 * インスタンスを生成する。
@@ -55,6 +58,7 @@ public class TimePointOfDayConverter extends AbstractConverter<TimePointOfDay> {
 		Args.notNull(timeZone, "timeZone");
 		this.timePattern = timePattern;
 		this.timeZone = timeZone;
+		formats = new DateFormatCache(timePattern, timeZone);
 	}
 	
 	/**
@@ -74,7 +78,7 @@ public class TimePointOfDayConverter extends AbstractConverter<TimePointOfDay> {
 		}
 		
 		try {
-			return TimePointOfDay.parse(value, timePattern, timeZone);
+			return TimePointOfDay.from(formats.get(locale).parse(value).getTime());
 		} catch (ParseException e) {
 			throw newConversionException("Cannot convert '" + value + "' to TimePointOfDay", value, locale);
 		}
@@ -82,7 +86,7 @@ public class TimePointOfDayConverter extends AbstractConverter<TimePointOfDay> {
 	
 	@Override
 	public String convertToString(TimePointOfDay value, Locale locale) {
-		return value == null ? null : value.toString(timePattern, timeZone);
+		return value == null ? null : formats.get(locale).format(new Date(value.toUTCMidnightMillisec()));
 	}
 	
 	@Override
@@ -214,6 +214,10 @@ public class TimePointOfDayLabel extends GenericLabel<TimePointOfDay> {
 			if (timeZone == null) {
 				timeZone = TimeZone.getTimeZone("Universal");
 			}
+			BaseunitsConverterLocator locator = BaseunitsConverterLocator.find(getApplication());
+			if (locator != null) {
+				return (IConverter<C>) locator.getTimePointOfDayConverter(timePattern, timeZone);
+			}
 			return (IConverter<C>) new TimePointOfDayConverter(timePattern, timeZone);
 		}
 		return super.getConverter(type);
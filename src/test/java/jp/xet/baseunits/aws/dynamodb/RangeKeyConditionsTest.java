@@ -0,0 +1,93 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.aws.dynamodb;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import jp.xet.baseunits.time.CalendarDate;
+import jp.xet.baseunits.time.CalendarInterval;
+import jp.xet.baseunits.time.TimePoint;
+import jp.xet.baseunits.time.TimePointInterval;
+
+import com.amazonaws.services.dynamodbv2.model.Condition;
+
+import org.junit.Test;
+
+/**
+ * {@link RangeKeyConditions}のテストクラス。
+ */
+public class RangeKeyConditionsTest {
+	
+	/**
+	 * {@link RangeKeyConditions#of(CalendarInterval)}のテスト。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test01_calendarInterval() throws Exception {
+		Condition c1 = RangeKeyConditions.of(CalendarInterval.inclusive(2019, 3, 1, 2019, 3, 31));
+		assertThat(c1.getComparisonOperator(), is("BETWEEN"));
+		assertThat(c1.getAttributeValueList().size(), is(2));
+		assertThat(c1.getAttributeValueList().get(0).getS(), is("2019-03-01"));
+		assertThat(c1.getAttributeValueList().get(1).getS(), is("2019-03-31"));
+		
+		Condition c2 = RangeKeyConditions.of(CalendarInterval.everFrom(CalendarDate.from(2019, 3, 1)));
+		assertThat(c2.getComparisonOperator(), is("GE"));
+		assertThat(c2.getAttributeValueList().get(0).getS(), is("2019-03-01"));
+		
+		Condition c3 = RangeKeyConditions.of(CalendarInterval.everPreceding(CalendarDate.from(2019, 3, 1)));
+		assertThat(c3.getComparisonOperator(), is("LE"));
+		assertThat(c3.getAttributeValueList().get(0).getS(), is("2019-03-01"));
+		
+		try {
+			RangeKeyConditions.of(CalendarInterval.empty());
+			fail();
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+	}
+	
+	/**
+	 * {@link RangeKeyConditions#of(TimePointInterval)}のテスト。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test02_timePointInterval() throws Exception {
+		TimePoint start = TimePoint.atUTC(2019, 3, 1, 0, 0);
+		TimePoint end = TimePoint.atUTC(2019, 4, 1, 0, 0);
+		
+		Condition c1 = RangeKeyConditions.of(TimePointInterval.over(start, end));
+		assertThat(c1.getComparisonOperator(), is("BETWEEN"));
+		assertThat(c1.getAttributeValueList().get(0).getS(), is("2019-03-01T00:00:00.000Z"));
+		assertThat(c1.getAttributeValueList().get(1).getS(), is("2019-03-31T23:59:59.999Z"));
+		
+		Condition c2 = RangeKeyConditions.of(TimePointInterval.open(start, end));
+		assertThat(c2.getAttributeValueList().get(0).getS(), is("2019-03-01T00:00:00.001Z"));
+		
+		Condition c3 = RangeKeyConditions.of(TimePointInterval.everFrom(start));
+		assertThat(c3.getComparisonOperator(), is("GE"));
+		
+		try {
+			RangeKeyConditions.of(TimePointInterval.over(null, null));
+			fail();
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+	}
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.aws.dynamodb;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.Locale;
+import java.util.Random;
+
+import jp.xet.baseunits.time.CalendarDate;
+import jp.xet.baseunits.time.CalendarMonth;
+import jp.xet.baseunits.time.Duration;
+import jp.xet.baseunits.time.TimePoint;
+import jp.xet.baseunits.time.TimeUnit;
+import jp.xet.baseunits.util.TimeZones;
+
+import org.junit.Test;
+
+/**
+ * {@link SortableEncoding}のテストクラス。
+ */
+public class SortableEncodingTest {
+	
+	/**
+	 * {@link SortableEncoding#encode(TimePoint)}及び{@link SortableEncoding#decodeTimePoint(String)}のテスト。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test01_timePoint() throws Exception {
+		assertThat(SortableEncoding.encode(TimePoint.from(0)), is("1970-01-01T00:00:00.000Z"));
+		assertThat(SortableEncoding.encode(TimePoint.atUTC(2019, 3, 5, 12, 34, 56, 789)),
+				is("2019-03-05T12:34:56.789Z"));
+		assertThat(SortableEncoding.encode(TimePoint.from(-1)), is("1969-12-31T23:59:59.999Z"));
+		
+		Random random = new Random(0);
+		long from = TimePoint.atUTC(1600, 1, 1, 0, 0).toEpochMillisec();
+		long to = TimePoint.atUTC(9999, 12, 31, 0, 0).toEpochMillisec();
+		String previous = null;
+		long previousMillis = 0;
+		for (int i = 0; i < 10000; i++) {
+			TimePoint timePoint = TimePoint.from(from + (long) (random.nextDouble() * (to - from)));
+			String encoded = SortableEncoding.encode(timePoint);
+			assertThat(encoded, is(timePoint.toString("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.ROOT, TimeZones.UNIVERSAL)));
+			assertThat(SortableEncoding.decodeTimePoint(encoded), is(timePoint));
+			if (previous != null) {
+				assertThat(Long.signum(previous.compareTo(encoded)),
+						is(Long.signum(Long.compare(previousMillis, timePoint.toEpochMillisec()))));
+			}
+			previous = encoded;
+			previousMillis = timePoint.toEpochMillisec();
+		}
+		
+		String[] illegals = {
+			"2019-03-05T12:34:56.789",
+			"2019-03-05 12:34:56.789Z",
+			"2019-02-29T00:00:00.000Z",
+			"2019-03-05T24:00:00.000Z",
+			"2019-13-05T00:00:00.000Z",
+			"2019-03-0xT00:00:00.000Z"
+		};
+		for (String illegal : illegals) {
+			try {
+				SortableEncoding.decodeTimePoint(illegal);
+				fail(illegal);
+			} catch (IllegalArgumentException e) {
+				// success
+			}
+		}
+		assertThat(SortableEncoding.decodeTimePoint("2020-02-29T00:00:00.000Z"), is(TimePoint.atUTC(2020, 2, 29, 0, 0)));
+	}
+	
+	/**
+	 * {@link SortableEncoding#encode(CalendarDate)}及び{@link SortableEncoding#encode(CalendarMonth)}のテスト。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test02_calendar() throws Exception {
+		assertThat(SortableEncoding.encode(CalendarDate.from(2019, 3, 5)), is("2019-03-05"));
+		assertThat(SortableEncoding.decodeCalendarDate("2019-03-05"), is(CalendarDate.from(2019, 3, 5)));
+		assertThat(SortableEncoding.encode(CalendarDate.from(987, 12, 1)), is("0987-12-01"));
+		assertThat(SortableEncoding.decodeCalendarDate("0987-12-01"), is(CalendarDate.from(987, 12, 1)));
+		assertThat(SortableEncoding.encode(CalendarMonth.from(2019, 3)), is("2019-03"));
+		assertThat(SortableEncoding.decodeCalendarMonth("2019-03"), is(CalendarMonth.from(2019, 3)));
+		
+		assertThat(SortableEncoding.encode(CalendarDate.from(1500, 2, 29)), is("1500-02-29"));
+		assertThat(SortableEncoding.decodeCalendarDate("1500-02-29"), is(CalendarDate.from(1500, 2, 29)));
+		assertThat(SortableEncoding.decodeCalendarDate("1584-01-01"), is(CalendarDate.from(1584, 1, 1)));
+		
+		assertThat(SortableEncoding.encode(CalendarDate.from(999, 12, 31))
+			.compareTo(SortableEncoding.encode(CalendarDate.from(1000, 1, 1))) < 0, is(true));
+		
+		try {
+			SortableEncoding.encode(CalendarDate.from(10000, 1, 1));
+			fail();
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+		try {
+			SortableEncoding.decodeCalendarDate("2019-02-30");
+			fail();
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+		try {
+			SortableEncoding.decodeCalendarMonth("2019/03");
+			fail();
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+	}
+	
+	/**
+	 * {@link SortableEncoding#encode(Duration, TimeUnit)}のテスト。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test03_duration() throws Exception {
+		assertThat(SortableEncoding.encode(Duration.minutes(3), TimeUnit.second), is("0000000000000000180"));
+		assertThat(SortableEncoding.decodeDuration("0000000000000000180", TimeUnit.second), is(Duration.minutes(3)));
+		assertThat(SortableEncoding.encode(Duration.milliseconds(Long.MAX_VALUE), TimeUnit.millisecond),
+				is(String.valueOf(Long.MAX_VALUE)));
+		try {
+			SortableEncoding.decodeDuration("9999999999999999999", TimeUnit.millisecond);
+			fail();
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+	}
+}
@@ -0,0 +1,322 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.codec;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.ObjectOutputStream;
+import java.io.StreamCorruptedException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.Random;
+
+import jp.xet.baseunits.money.Money;
+import jp.xet.baseunits.time.CalendarDate;
+import jp.xet.baseunits.time.Duration;
+import jp.xet.baseunits.time.TimePoint;
+import jp.xet.baseunits.time.TimePointInterval;
+import jp.xet.baseunits.time.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * {@link BaseunitsCodec}のテストクラス。
+ */
+public class BaseunitsCodecTest {
+	
+	private static final Currency JPY = Currency.getInstance("JPY");
+	
+	private static final Currency USD = Currency.getInstance("USD");
+	
+	
+	/**
+	 * 各値オブジェクトを{@link ByteBuffer}及び{@link java.io.DataOutput}に書き出し、読み込んだ値が一致することを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test01_roundTrip() throws Exception {
+		Random random = new Random(0);
+		for (int i = 0; i < 1000; i++) {
+			TimePoint timePoint = TimePoint.from(random.nextLong() >> random.nextInt(Long.SIZE));
+			CalendarDate date = CalendarDate.from(1600 + random.nextInt(8000), 1 + random.nextInt(12),
+					1 + random.nextInt(28));
+			TimeUnit unit = TimeUnit.values()[random.nextInt(TimeUnit.values().length)];
+			Duration duration = Duration.valueOf(random.nextInt(Integer.MAX_VALUE), unit);
+			Money money = Money.valueOf(BigDecimal.valueOf(random.nextLong(), 2), USD);
+			TimePoint end = TimePoint.from(timePoint.toEpochMillisec() + random.nextInt(Integer.MAX_VALUE));
+			TimePointInterval interval =
+					TimePointInterval.over(timePoint, random.nextBoolean(), end, random.nextBoolean());
+			
+			ByteBuffer buffer = ByteBuffer.allocate(256);
+			BaseunitsCodec.writeTimePoint(buffer, timePoint);
+			BaseunitsCodec.writeCalendarDate(buffer, date);
+			BaseunitsCodec.writeDuration(buffer, duration);
+			BaseunitsCodec.writeMoney(buffer, money);
+			BaseunitsCodec.writeTimePointInterval(buffer, interval);
+			buffer.flip();
+			
+			ByteArrayOutputStream baos = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream(baos);
+			BaseunitsCodec.writeTimePoint(out, timePoint);
+			BaseunitsCodec.writeCalendarDate(out, date);
+			BaseunitsCodec.writeDuration(out, duration);
+			BaseunitsCodec.writeMoney(out, money);
+			BaseunitsCodec.writeTimePointInterval(out, interval);
+			assertThat(ByteBuffer.wrap(baos.toByteArray()), is(buffer.duplicate()));
+			
+			assertThat(BaseunitsCodec.readTimePoint(buffer), is(timePoint));
+			assertThat(BaseunitsCodec.readCalendarDate(buffer), is(date));
+			assertThat(BaseunitsCodec.readDuration(buffer), is(duration));
+			assertThat(BaseunitsCodec.readMoney(buffer), is(money));
+			assertThat(BaseunitsCodec.readTimePointInterval(buffer), is(interval));
+			assertThat(buffer.hasRemaining(), is(false));
+			
+			DataInputStream in = new DataInputStream(new ByteArrayInputStream(baos.toByteArray()));
+			assertThat(BaseunitsCodec.readTimePoint(in), is(timePoint));
+			assertThat(BaseunitsCodec.readCalendarDate(in), is(date));
+			assertThat(BaseunitsCodec.readDuration(in), is(duration));
+			assertThat(BaseunitsCodec.readMoney(in), is(money));
+			assertThat(BaseunitsCodec.readTimePointInterval(in), is(interval));
+			assertThat(in.read(), is(-1));
+		}
+	}
+	
+	/**
+	 * {@link Money}の書き出し・読み込みのテスト。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test02_money() throws Exception {
+		Money[] monies = {
+			Money.valueOf(new BigDecimal("1000"), JPY),
+			Money.valueOf(new BigDecimal("-12.34"), USD),
+			Money.valueOf(new BigDecimal("123456789012345678901234567890.12"), USD),
+			Money.valueOf(new BigDecimal("-123456789012345678901234567890.12"), USD)
+		};
+		MoneyHolder holder = new MoneyHolder();
+		for (Money money : monies) {
+			ByteBuffer buffer = ByteBuffer.allocate(64);
+			BaseunitsCodec.writeMoney(buffer, money);
+			buffer.flip();
+			BaseunitsCodec.readMoney(buffer, holder);
+			assertThat(holder.getCurrency(), is(money.breachEncapsulationOfCurrency()));
+			assertThat(holder.getAmount(), is(money.breachEncapsulationOfAmount()));
+			assertThat(holder.toMoney(), is(money));
+		}
+		
+		ByteBuffer buffer = ByteBuffer.allocate(64);
+		BaseunitsCodec.writeMoney(buffer, Money.valueOf(new BigDecimal("1000"), JPY));
+		buffer.flip();
+		assertThat(buffer.remaining(), is(6));
+		BaseunitsCodec.readMoney(buffer, holder);
+		assertThat(holder.isCompact(), is(true));
+		assertThat(holder.getUnscaledAmount(), is(1000L));
+		
+		byte[] unknown = {
+			'Z',
+			'Z',
+			'Z',
+			0,
+			0
+		};
+		try {
+			BaseunitsCodec.readMoney(ByteBuffer.wrap(unknown));
+			fail();
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+		try {
+			BaseunitsCodec.readMoney(new DataInputStream(new ByteArrayInputStream(unknown)));
+			fail();
+		} catch (StreamCorruptedException e) {
+			// success
+		}
+	}
+	
+	/**
+	 * 限界を持たない{@link TimePointInterval}の書き出し・読み込みのテスト。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test03_interval() throws Exception {
+		TimePoint t = TimePoint.atUTC(2019, 3, 5, 0, 0);
+		TimePointInterval[] intervals = {
+			TimePointInterval.over(null, false, null, false),
+			TimePointInterval.over(t, true, null, false),
+			TimePointInterval.over(null, false, t, true),
+			TimePointInterval.over(t, false, t, false),
+			TimePointInterval.over(TimePoint.from(Long.MIN_VALUE), true, TimePoint.from(Long.MAX_VALUE), true)
+		};
+		TimePointIntervalHolder holder = new TimePointIntervalHolder();
+		for (TimePointInterval interval : intervals) {
+			ByteBuffer buffer = ByteBuffer.allocate(32);
+			BaseunitsCodec.writeTimePointInterval(buffer, interval);
+			buffer.flip();
+			BaseunitsCodec.readTimePointInterval(buffer, holder);
+			assertThat(holder.hasLowerLimit(), is(interval.hasLowerLimit()));
+			assertThat(holder.hasUpperLimit(), is(interval.hasUpperLimit()));
+			assertThat(holder.toTimePointInterval(), is(interval));
+		}
+	}
+	
+	/**
+	 * 昇順に並んだ{@link TimePoint}の列を差分符号化して書き出し、読み込んだ値が一致することを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test04_sequence() throws Exception {
+		Random random = new Random(0);
+		long[] millis = new long[1000];
+		List<TimePoint> timePoints = new ArrayList<TimePoint>();
+		long current = TimePoint.atUTC(2019, 1, 1, 0, 0).toEpochMillisec();
+		for (int i = 0; i < millis.length; i++) {
+			current += random.nextInt(1000);
+			millis[i] = current;
+			timePoints.add(TimePoint.from(current));
+		}
+		
+		ByteBuffer buffer = ByteBuffer.allocate(millis.length * Varints.MAX_VARLONG_BYTES);
+		BaseunitsCodec.writeTimePoints(buffer, timePoints);
+		int size = buffer.position();
+		BaseunitsCodec.writeEpochMillisSequence(buffer, millis, 0, millis.length);
+		assertThat(buffer.position(), is(size * 2));
+		// 差分は1000未満なので、先頭以外の各要素は2バイト以下となる
+		assertThat(size, is(lessThan(millis.length * 2 + Varints.MAX_VARLONG_BYTES)));
+		buffer.flip();
+		
+		assertThat(BaseunitsCodec.readTimePoints(buffer), is(timePoints));
+		long[] out = new long[millis.length + 1];
+		assertThat(BaseunitsCodec.readEpochMillisSequence(buffer, out, 1), is(millis.length));
+		for (int i = 0; i < millis.length; i++) {
+			assertThat(out[i + 1], is(millis[i]));
+		}
+		
+		buffer.rewind();
+		try {
+			BaseunitsCodec.readEpochMillisSequence(buffer, new long[millis.length - 1], 0);
+			fail();
+		} catch (IndexOutOfBoundsException e) {
+			// success
+		}
+	}
+	
+	/**
+	 * 書き出したバイト数が、Javaのシリアライズ形式よりも小さいことを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test05_size() throws Exception {
+		TimePoint timePoint = TimePoint.atUTC(2019, 3, 5, 15, 20, 30);
+		Object[] values = {
+			timePoint,
+			CalendarDate.from(2019, 3, 5),
+			Duration.minutes(30),
+			Money.valueOf(new BigDecimal("12.34"), USD),
+			TimePointInterval.over(timePoint, TimePoint.from(timePoint.toEpochMillisec() + 3600000))
+		};
+		for (Object value : values) {
+			ByteBuffer buffer = ByteBuffer.allocate(64);
+			if (value instanceof TimePoint) {
+				BaseunitsCodec.writeTimePoint(buffer, (TimePoint) value);
+			} else if (value instanceof CalendarDate) {
+				BaseunitsCodec.writeCalendarDate(buffer, (CalendarDate) value);
+			} else if (value instanceof Duration) {
+				BaseunitsCodec.writeDuration(buffer, (Duration) value);
+			} else if (value instanceof Money) {
+				BaseunitsCodec.writeMoney(buffer, (Money) value);
+			} else {
+				BaseunitsCodec.writeTimePointInterval(buffer, (TimePointInterval) value);
+			}
+			
+			ByteArrayOutputStream baos = new ByteArrayOutputStream();
+			ObjectOutputStream oos = new ObjectOutputStream(baos);
+			oos.writeObject(value);
+			oos.close();
+			assertThat(value.toString(), buffer.position(), is(lessThan(baos.size() / 4)));
+		}
+	}
+	
+	/**
+	 * 不正な値を表すバイト列を、{@link ByteBuffer}と{@link java.io.DataInput}のいずれから読み込んでも
+	 * 拒否することを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test06_corrupt() throws Exception {
+		// 負の量を持つ時間量
+		ByteBuffer buffer = ByteBuffer.allocate(32);
+		buffer.put((byte) TimeUnit.minute.ordinal());
+		Varints.writeVarLong(buffer, -30);
+		buffer.flip();
+		byte[] negativeDuration = new byte[buffer.remaining()];
+		buffer.get(negativeDuration);
+		try {
+			BaseunitsCodec.readDuration(ByteBuffer.wrap(negativeDuration));
+			fail();
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+		try {
+			BaseunitsCodec.readDuration(new DataInputStream(new ByteArrayInputStream(negativeDuration)));
+			fail();
+		} catch (StreamCorruptedException e) {
+			// success
+		}
+		
+		// 上限が下限より前にある期間
+		buffer.clear();
+		buffer.put((byte) 0x05); // 下限・上限を持つ開区間
+		Varints.writeVarLong(buffer, TimePoint.atUTC(2019, 3, 5, 0, 0).toEpochMillisec());
+		Varints.writeVarLong(buffer, -1);
+		buffer.flip();
+		byte[] invertedInterval = new byte[buffer.remaining()];
+		buffer.get(invertedInterval);
+		try {
+			BaseunitsCodec.readTimePointInterval(ByteBuffer.wrap(invertedInterval), new TimePointIntervalHolder());
+			fail();
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+		try {
+			BaseunitsCodec.readTimePointInterval(ByteBuffer.wrap(invertedInterval));
+			fail();
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+		try {
+			BaseunitsCodec.readTimePointInterval(new DataInputStream(new ByteArrayInputStream(invertedInterval)));
+			fail();
+		} catch (StreamCorruptedException e) {
+			// success
+		}
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.codec;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * {@link Varints}のテストクラス。
+ */
+public class VarintsTest {
+	
+	/**
+	 * ZigZag符号化のテスト。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test01_zigZag() throws Exception {
+		assertThat(Varints.encodeZigZag(0), is(0L));
+		assertThat(Varints.encodeZigZag(-1), is(1L));
+		assertThat(Varints.encodeZigZag(1), is(2L));
+		assertThat(Varints.encodeZigZag(-2), is(3L));
+		assertThat(Varints.encodeZigZag(Long.MAX_VALUE), is(-2L));
+		assertThat(Varints.encodeZigZag(Long.MIN_VALUE), is(-1L));
+		
+		long[] values = {
+			0,
+			1,
+			-1,
+			Long.MAX_VALUE,
+			Long.MIN_VALUE
+		};
+		for (long value : values) {
+			assertThat(Varints.decodeZigZag(Varints.encodeZigZag(value)), is(value));
+		}
+	}
+	
+	/**
+	 * {@link ByteBuffer}及び{@link java.io.DataOutput}への読み書きが、同じバイト列となることを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test02_roundTrip() throws Exception {
+		Random random = new Random(0);
+		ByteBuffer buffer = ByteBuffer.allocate(Varints.MAX_VARLONG_BYTES);
+		for (int i = 0; i < 10000; i++) {
+			long value = random.nextLong() >> random.nextInt(Long.SIZE);
+			
+			buffer.clear();
+			Varints.writeVarLong(buffer, value);
+			assertThat(buffer.position(), is(Varints.sizeOfVarLong(value)));
+			buffer.flip();
+			assertThat(Varints.readVarLong(buffer), is(value));
+			assertThat(buffer.hasRemaining(), is(false));
+			
+			ByteArrayOutputStream baos = new ByteArrayOutputStream();
+			Varints.writeVarLong(new DataOutputStream(baos), value);
+			byte[] bytes = baos.toByteArray();
+			assertThat(ByteBuffer.wrap(bytes), is(ByteBuffer.wrap(buffer.array(), 0, buffer.limit())));
+			assertThat(Varints.readVarLong(new DataInputStream(new ByteArrayInputStream(bytes))), is(value));
+			
+			buffer.clear();
+			Varints.writeUnsignedVarLong(buffer, value);
+			assertThat(buffer.position(), is(Varints.sizeOfUnsignedVarLong(value)));
+			buffer.flip();
+			assertThat(Varints.readUnsignedVarLong(buffer), is(value));
+		}
+		
+		assertThat(Varints.sizeOfUnsignedVarLong(0), is(1));
+		assertThat(Varints.sizeOfUnsignedVarLong(127), is(1));
+		assertThat(Varints.sizeOfUnsignedVarLong(128), is(2));
+		assertThat(Varints.sizeOfUnsignedVarLong(-1), is(Varints.MAX_VARLONG_BYTES));
+	}
+	
+	/**
+	 * 形式が正しくない可変長整数を読み込んだ場合のテスト。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test03_malformed() throws Exception {
+		byte[] bytes = new byte[Varints.MAX_VARLONG_BYTES + 1];
+		Arrays.fill(bytes, (byte) 0x80);
+		try {
+			Varints.readUnsignedVarLong(ByteBuffer.wrap(bytes));
+			fail();
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+		try {
+			Varints.readUnsignedVarLong(new DataInputStream(new ByteArrayInputStream(bytes)));
+			fail();
+		} catch (StreamCorruptedException e) {
+			// success
+		}
+	}
+}
@@ -0,0 +1,323 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.hibernate;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.Currency;
+
+import jp.xet.baseunits.money.Money;
+import jp.xet.baseunits.time.CalendarDate;
+import jp.xet.baseunits.time.CalendarMonth;
+import jp.xet.baseunits.time.TimePoint;
+
+import org.hibernate.HibernateException;
+import org.hibernate.type.Type;
+import org.hibernate.usertype.UserType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * 数値カラムに保存するHibernateユーザ型を、H2のインメモリデータベースに対して検証するテストクラス。
+ */
+public class PersistentTypeRoundTripTest {
+	
+	private static final Currency USD = Currency.getInstance("USD");
+	
+	private static final Currency JPY = Currency.getInstance("JPY");
+	
+	private static final String URL = "jdbc:h2:mem:baseunits-hibernate;DB_CLOSE_DELAY=-1";
+	
+	private static final String[] VALUE = {
+		"V"
+	};
+	
+	private static final String[] AMOUNT_AND_CURRENCY = {
+		"AMOUNT",
+		"CURRENCY"
+	};
+	
+	private Connection connection;
+	
+	
+	/**
+	 * テストの準備を行う。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Before
+	public void setUp() throws Exception {
+		connection = DriverManager.getConnection(URL);
+	}
+	
+	/**
+	 * テストの後始末を行う。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@After
+	public void tearDown() throws Exception {
+		try {
+			execute("DROP TABLE IF EXISTS VALUES_TABLE");
+		} finally {
+			connection.close();
+		}
+	}
+	
+	/**
+	 * {@link PersistentEpochMillisTimePoint}で書き込んだ値及び{@code null}を読み込めることを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test01_epochMillisTimePoint() throws Exception {
+		assertRoundTrip(new PersistentEpochMillisTimePoint(), "BIGINT",
+				TimePoint.atUTC(2019, 3, 5, 12, 34, 56, 789), TimePoint.from(-1L), null);
+	}
+	
+	/**
+	 * {@link PersistentEpochDayCalendarDate}で書き込んだ値及び{@code null}を読み込めることを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test02_epochDayCalendarDate() throws Exception {
+		assertRoundTrip(new PersistentEpochDayCalendarDate(), "INT",
+				CalendarDate.from(2019, 3, 5), CalendarDate.from(1600, 2, 29), null);
+	}
+	
+	/**
+	 * {@link PersistentYyyymmddCalendarDate}で書き込んだ値及び{@code null}を読み込めることを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test03_yyyymmddCalendarDate() throws Exception {
+		assertRoundTrip(new PersistentYyyymmddCalendarDate(), "INT",
+				CalendarDate.from(2019, 3, 5), CalendarDate.from(1, 1, 1), CalendarDate.from(9999, 12, 31), null);
+		assertStored(new PersistentYyyymmddCalendarDate(), "INT", CalendarDate.from(2019, 3, 5), 20190305);
+	}
+	
+	/**
+	 * {@link PersistentYyyymmCalendarMonth}で書き込んだ値及び{@code null}を読み込めることを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test04_yyyymmCalendarMonth() throws Exception {
+		assertRoundTrip(new PersistentYyyymmCalendarMonth(), "INT",
+				CalendarMonth.from(2019, 3), CalendarMonth.from(1, 1), CalendarMonth.from(9999, 12), null);
+		assertStored(new PersistentYyyymmCalendarMonth(), "INT", CalendarMonth.from(2019, 3), 201903);
+	}
+	
+	/**
+	 * {@code yyyymmdd}及び{@code yyyymm}形式で表せない年を、書き込み・読み込みのいずれでも拒否することを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test05_yearOutOfRange() throws Exception {
+		execute("CREATE TABLE VALUES_TABLE (V INT)");
+		UserType[] types = {
+			new PersistentYyyymmddCalendarDate(),
+			new PersistentYyyymmCalendarMonth()
+		};
+		Object[] values = {
+			CalendarDate.from(0, 12, 31),
+			CalendarDate.from(-1, 1, 1),
+			CalendarDate.from(10000, 1, 1),
+			CalendarMonth.from(0, 12),
+			CalendarMonth.from(10000, 1)
+		};
+		for (Object value : values) {
+			UserType type = value instanceof CalendarDate ? types[0] : types[1];
+			PreparedStatement insert = connection.prepareStatement("INSERT INTO VALUES_TABLE VALUES (?)");
+			try {
+				type.nullSafeSet(insert, value, 1);
+				fail(value.toString());
+			} catch (HibernateException e) {
+				// success
+			} finally {
+				insert.close();
+			}
+		}
+		
+		int[] stored = {
+			-20190305,
+			1231,
+			20191305,
+			-201903,
+			12
+		};
+		for (int i = 0; i < stored.length; i++) {
+			UserType type = i < 3 ? types[0] : types[1];
+			execute("DELETE FROM VALUES_TABLE");
+			execute("INSERT INTO VALUES_TABLE VALUES (" + stored[i] + ")");
+			Statement statement = connection.createStatement();
+			try {
+				ResultSet rs = statement.executeQuery("SELECT V FROM VALUES_TABLE");
+				assertTrue(rs.next());
+				type.nullSafeGet(rs, VALUE, null);
+				fail(String.valueOf(stored[i]));
+			} catch (HibernateException e) {
+				// success
+			} finally {
+				statement.close();
+			}
+		}
+	}
+	
+	/**
+	 * {@link PersistentMoney}で書き込んだ値及び{@code null}を読み込めることを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test06_money() throws Exception {
+		execute("CREATE TABLE VALUES_TABLE (ID INT PRIMARY KEY, AMOUNT DECIMAL(30, 2), CURRENCY CHAR(3))");
+		PersistentMoney type = new PersistentMoney();
+		Money[] values = {
+			Money.valueOf(new BigDecimal("1234.56"), USD),
+			Money.valueOf(new BigDecimal("-0.01"), USD),
+			Money.valueOf(new BigDecimal("100"), JPY),
+			null
+		};
+		PreparedStatement insert = connection.prepareStatement("INSERT INTO VALUES_TABLE VALUES (?, ?, ?)");
+		try {
+			for (int i = 0; i < values.length; i++) {
+				insert.setInt(1, i);
+				type.nullSafeSet(insert, values[i], 2, null);
+				insert.executeUpdate();
+			}
+		} finally {
+			insert.close();
+		}
+		
+		Statement statement = connection.createStatement();
+		try {
+			ResultSet rs = statement.executeQuery("SELECT * FROM VALUES_TABLE ORDER BY ID");
+			for (Money value : values) {
+				assertTrue(rs.next());
+				assertThat(type.nullSafeGet(rs, AMOUNT_AND_CURRENCY, null, null), is((Object) value));
+			}
+		} finally {
+			statement.close();
+		}
+	}
+	
+	/**
+	 * {@link PersistentMoney}の各プロパティの型及び値を検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test07_moneyProperties() throws Exception {
+		PersistentMoney type = new PersistentMoney();
+		Type[] propertyTypes = type.getPropertyTypes();
+		assertThat(propertyTypes[0].sqlTypes(null)[0], is(Types.NUMERIC));
+		assertThat(propertyTypes[1].sqlTypes(null)[0], is(Types.CHAR));
+		
+		Money money = Money.valueOf(new BigDecimal("12.34"), USD);
+		assertThat(type.getPropertyValue(money, 0), is((Object) new BigDecimal("12.34")));
+		assertThat(type.getPropertyValue(money, 1), is((Object) USD));
+		assertThat(type.isMutable(), is(false));
+		try {
+			type.setPropertyValue(money, 0, BigDecimal.ONE);
+			fail();
+		} catch (HibernateException e) {
+			// success
+		}
+	}
+	
+	private void assertRoundTrip(UserType type, String columnType, Object... values) throws Exception {
+		execute("CREATE TABLE VALUES_TABLE (ID INT PRIMARY KEY, V " + columnType + ")");
+		try {
+			PreparedStatement insert = connection.prepareStatement("INSERT INTO VALUES_TABLE VALUES (?, ?)");
+			try {
+				for (int i = 0; i < values.length; i++) {
+					insert.setInt(1, i);
+					type.nullSafeSet(insert, values[i], 2);
+					insert.executeUpdate();
+				}
+			} finally {
+				insert.close();
+			}
+			
+			Statement statement = connection.createStatement();
+			try {
+				ResultSet rs = statement.executeQuery("SELECT V FROM VALUES_TABLE ORDER BY ID");
+				for (Object value : values) {
+					assertTrue(rs.next());
+					Object actual = type.nullSafeGet(rs, VALUE, null);
+					if (value == null) {
+						assertThat(actual, is(nullValue()));
+					} else {
+						assertThat(actual, is(value));
+					}
+				}
+			} finally {
+				statement.close();
+			}
+		} finally {
+			execute("DROP TABLE VALUES_TABLE");
+		}
+	}
+	
+	private void assertStored(UserType type, String columnType, Object value, long expected) throws Exception {
+		execute("CREATE TABLE VALUES_TABLE (V " + columnType + ")");
+		try {
+			PreparedStatement insert = connection.prepareStatement("INSERT INTO VALUES_TABLE VALUES (?)");
+			try {
+				type.nullSafeSet(insert, value, 1);
+				insert.executeUpdate();
+			} finally {
+				insert.close();
+			}
+			Statement statement = connection.createStatement();
+			try {
+				ResultSet rs = statement.executeQuery("SELECT V FROM VALUES_TABLE");
+				assertTrue(rs.next());
+				assertThat(rs.getLong(1), is(expected));
+			} finally {
+				statement.close();
+			}
+		} finally {
+			execute("DROP TABLE VALUES_TABLE");
+		}
+	}
+	
+	private void execute(String sql) throws SQLException {
+		Statement statement = connection.createStatement();
+		try {
+			statement.execute(sql);
+		} finally {
+			statement.close();
+		}
+	}
+}
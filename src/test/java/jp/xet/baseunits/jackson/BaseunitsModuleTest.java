@@ -0,0 +1,286 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.jackson;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import jp.xet.baseunits.money.Money;
+import jp.xet.baseunits.time.CalendarDate;
+import jp.xet.baseunits.time.CalendarInterval;
+import jp.xet.baseunits.time.CalendarMonth;
+import jp.xet.baseunits.time.Duration;
+import jp.xet.baseunits.time.TimePoint;
+import jp.xet.baseunits.time.TimePointInterval;
+
+import org.codehaus.jackson.map.JsonMappingException;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link BaseunitsModule}のテストクラス。
+ */
+public class BaseunitsModuleTest {
+	
+	private static final Currency USD = Currency.getInstance("USD");
+	
+	private ObjectMapper mapper;
+	
+	
+	/**
+	 * セットアップ。
+	 */
+	@Before
+	public void setUp() {
+		mapper = new ObjectMapper();
+		mapper.registerModule(new BaseunitsModule());
+	}
+	
+	/**
+	 * 暦日・暦月・瞬間がISO 8601形式で書き出され、読み戻せることを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test01_dateAndTime() throws Exception {
+		CalendarDate date = CalendarDate.from(2019, 3, 5);
+		assertThat(mapper.writeValueAsString(date), is("\"2019-03-05\""));
+		assertThat(mapper.readValue("\"2019-03-05\"", CalendarDate.class), is(date));
+		
+		CalendarMonth month = CalendarMonth.from(2019, 3);
+		assertThat(mapper.writeValueAsString(month), is("\"2019-03\""));
+		assertThat(mapper.readValue("\"2019-03\"", CalendarMonth.class), is(month));
+		
+		TimePoint timePoint = TimePoint.atUTC(2019, 3, 5, 12, 34, 56);
+		assertThat(mapper.writeValueAsString(timePoint), is("\"2019-03-05T12:34:56Z\""));
+		assertThat(mapper.readValue("\"2019-03-05T12:34:56Z\"", TimePoint.class), is(timePoint));
+		assertThat(mapper.readValue("\"2019-03-05T21:34:56+0900\"", TimePoint.class), is(timePoint));
+	}
+	
+	/**
+	 * 1584年より前、及び9999年より後の暦日・暦月・瞬間が往復できることを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test02_outOfIsoRange() throws Exception {
+		CalendarDate[] dates = {
+			CalendarDate.from(1500, 2, 29), // CHECKSTYLE IGNORE THIS LINE
+			CalendarDate.from(1583, 12, 31), // CHECKSTYLE IGNORE THIS LINE
+			CalendarDate.from(500, 1, 1), // CHECKSTYLE IGNORE THIS LINE
+			CalendarDate.from(10000, 1, 1) // CHECKSTYLE IGNORE THIS LINE
+		};
+		for (CalendarDate date : dates) {
+			String json = mapper.writeValueAsString(date);
+			assertThat(json, mapper.readValue(json, CalendarDate.class), is(date));
+			
+			CalendarMonth month = date.asCalendarMonth();
+			json = mapper.writeValueAsString(month);
+			assertThat(json, mapper.readValue(json, CalendarMonth.class), is(month));
+			
+			TimePoint timePoint = date.atMidnightUTC();
+			json = mapper.writeValueAsString(timePoint);
+			assertThat(json, mapper.readValue(json, TimePoint.class), is(timePoint));
+		}
+	}
+	
+	/**
+	 * JSONの{@code null}及び空文字列が{@code null}として読み込まれ、形式の誤りが拒否されることを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test03_nullAndMalformed() throws Exception {
+		Holder holder = mapper.readValue("{\"date\":null,\"month\":\"\",\"timePoint\":null,\"money\":null}",
+				Holder.class);
+		assertThat(holder.date, is(nullValue()));
+		assertThat(holder.month, is(nullValue()));
+		assertThat(holder.timePoint, is(nullValue()));
+		assertThat(holder.money, is(nullValue()));
+		
+		String[] malformed = {
+			"{\"date\":\"2019-13-01\"}",
+			"{\"date\":20190305}",
+			"{\"month\":\"2019/03\"}",
+			"{\"timePoint\":\"yesterday\"}",
+			"{\"duration\":\"1000\"}",
+			"{\"duration\":1.5}",
+			"{\"duration\":-1}"
+		};
+		for (String json : malformed) {
+			try {
+				mapper.readValue(json, Holder.class);
+				fail(json);
+			} catch (JsonMappingException e) {
+				// success
+			}
+		}
+	}
+	
+	/**
+	 * 時間量がミリ秒の数値として往復できることを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test04_duration() throws Exception {
+		Duration duration = Duration.minutes(90);
+		assertThat(mapper.writeValueAsString(duration), is("5400000"));
+		assertThat(mapper.readValue("5400000", Duration.class), is(duration));
+		assertThat(mapper.readValue("0", Duration.class), is(Duration.NONE));
+	}
+	
+	/**
+	 * 金額が往復でき、未知のフィールドを無視し、不正な金額を拒否することを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test05_money() throws Exception {
+		Money money = Money.dollars(15.25);
+		String json = mapper.writeValueAsString(money);
+		assertThat(json, is("{\"amount\":15.25,\"currency\":\"USD\"}"));
+		assertThat(mapper.readValue(json, Money.class), is(money));
+		
+		assertThat(mapper.readValue("{\"currency\":\"USD\",\"amount\":\"15.25\"}", Money.class), is(money));
+		assertThat(mapper.readValue("{\"note\":{\"a\":[1,2]},\"amount\":15.25,\"currency\":\"USD\",\"x\":null}",
+				Money.class), is(money));
+		assertThat(mapper.readValue("{\"amount\":3,\"currency\":\"JPY\"}", Money.class),
+				is(Money.valueOf(new BigDecimal(3), Currency.getInstance("JPY"))));
+		assertThat(mapper.readValue("{\"amount\":15,\"currency\":\"USD\"}", Money.class),
+				is(Money.valueOf(new BigDecimal("15.00"), USD)));
+		
+		String[] malformed = {
+			"{\"amount\":\"abc\",\"currency\":\"USD\"}",
+			"{\"amount\":\"\",\"currency\":\"USD\"}",
+			"{\"amount\":1.001,\"currency\":\"USD\"}",
+			"{\"amount\":1,\"currency\":\"XYZ\"}",
+			"{\"amount\":1}",
+			"{\"currency\":\"USD\"}",
+			"{\"amount\":true,\"currency\":\"USD\"}",
+			"\"15.25 USD\""
+		};
+		for (String s : malformed) {
+			try {
+				mapper.readValue(s, Money.class);
+				fail(s);
+			} catch (JsonMappingException e) {
+				// success
+			}
+		}
+	}
+	
+	/**
+	 * 暦日の期間が往復でき、欠落した限界や{@code null}の限界を開いた限界として扱うことを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test06_calendarInterval() throws Exception {
+		CalendarDate start = CalendarDate.from(2019, 3, 1);
+		CalendarDate end = CalendarDate.from(2019, 3, 31);
+		CalendarInterval[] intervals = {
+			CalendarInterval.inclusive(start, end),
+			CalendarInterval.inclusive(start, null),
+			CalendarInterval.inclusive(null, end),
+			CalendarInterval.inclusive(null, null),
+			CalendarInterval.inclusive(CalendarDate.from(1500, 2, 29), // CHECKSTYLE IGNORE THIS LINE
+					CalendarDate.from(10000, 1, 1)) // CHECKSTYLE IGNORE THIS LINE
+		};
+		for (CalendarInterval interval : intervals) {
+			String json = mapper.writeValueAsString(interval);
+			assertThat(json, mapper.readValue(json, CalendarInterval.class), is(interval));
+		}
+		
+		assertThat(mapper.readValue("{\"start\":\"2019-03-01\"}", CalendarInterval.class),
+				is(CalendarInterval.inclusive(start, null)));
+		assertThat(mapper.readValue("{\"start\":null,\"end\":\"2019-03-31\",\"unknown\":[1]}", CalendarInterval.class),
+				is(CalendarInterval.inclusive(null, end)));
+		assertThat(mapper.readValue("{}", CalendarInterval.class), is(CalendarInterval.inclusive(null, null)));
+		assertThat(mapper.readValue("{\"start\":\"2019-02-28\",\"startIncluded\":false,"
+				+ "\"end\":\"2019-04-01\",\"endIncluded\":false}", CalendarInterval.class),
+				is(CalendarInterval.inclusive(start, end)));
+		assertThat(mapper.readValue("{\"start\":\"2019-03-01\",\"startIncluded\":false,"
+				+ "\"end\":\"2019-03-01\"}", CalendarInterval.class).isEmpty(), is(true));
+		
+		try {
+			mapper.readValue("{\"start\":\"2019-03-01\",\"startIncluded\":\"no\"}", CalendarInterval.class);
+			fail();
+		} catch (JsonMappingException e) {
+			// success
+		}
+	}
+	
+	/**
+	 * 瞬間の期間が往復でき、欠落した限界や{@code null}の限界を開いた限界として扱うことを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test07_timePointInterval() throws Exception {
+		TimePoint start = TimePoint.atUTC(2019, 3, 1, 0, 0);
+		TimePoint end = TimePoint.atUTC(2019, 4, 1, 0, 0);
+		TimePointInterval[] intervals = {
+			TimePointInterval.over(start, end),
+			TimePointInterval.closed(start, end),
+			TimePointInterval.open(start, end),
+			TimePointInterval.everFrom(start),
+			TimePointInterval.everPreceding(end),
+			TimePointInterval.over(null, null)
+		};
+		for (TimePointInterval interval : intervals) {
+			String json = mapper.writeValueAsString(interval);
+			assertThat(json, mapper.readValue(json, TimePointInterval.class), is(interval));
+		}
+		
+		assertThat(mapper.readValue("{\"start\":\"2019-03-01T00:00:00Z\",\"end\":\"2019-04-01T00:00:00Z\"}",
+				TimePointInterval.class), is(TimePointInterval.over(start, end)));
+		assertThat(mapper.readValue("{\"end\":null,\"start\":\"2019-03-01T00:00:00Z\",\"x\":{}}",
+				TimePointInterval.class), is(TimePointInterval.everFrom(start)));
+		
+		try {
+			mapper.readValue("{\"start\":\"2019-04-01T00:00:00Z\",\"end\":\"2019-03-01T00:00:00Z\"}",
+					TimePointInterval.class);
+			fail();
+		} catch (JsonMappingException e) {
+			// success
+		}
+	}
+	
+	
+	/**
+	 * テスト用のJavaBean。
+	 */
+	@SuppressWarnings("javadoc")
+	public static class Holder {
+		
+		public CalendarDate date;
+		
+		public CalendarMonth month;
+		
+		public TimePoint timePoint;
+		
+		public Duration duration;
+		
+		public Money money;
+	}
+}
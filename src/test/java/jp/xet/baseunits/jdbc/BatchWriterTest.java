@@ -0,0 +1,142 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.jdbc;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import jp.xet.baseunits.time.TimePoint;
+
+import org.junit.Test;
+
+/**
+ * {@link BatchWriter}のテストクラス。
+ */
+public class BatchWriterTest {
+	
+	/**
+	 * バッチサイズに達する度にバッチが実行され、{@link BatchWriter#flush()}で残りが実行されることを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test01_addBatch() throws Exception {
+		RecordingStatement recorder = new RecordingStatement();
+		BatchWriter writer = new BatchWriter(recorder.proxy(), 3);
+		for (int i = 0; i < 8; i++) {
+			writer.set(1, TimePointColumn.EPOCH_MILLIS, TimePoint.from(i)).addBatch();
+		}
+		assertThat(recorder.batches, is(Arrays.asList(3, 3)));
+		assertThat(writer.getExecutedRows(), is(6L));
+		assertThat(writer.getPendingRows(), is(2));
+		
+		writer.flush();
+		assertThat(recorder.batches, is(Arrays.asList(3, 3, 2)));
+		assertThat(writer.getExecutedRows(), is(8L));
+		assertThat(writer.getPendingRows(), is(0));
+		assertThat(recorder.longs, is(Arrays.asList(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L)));
+		
+		// 未実行の行がなければ、バッチは実行しない
+		writer.flush();
+		assertThat(recorder.batches, is(Arrays.asList(3, 3, 2)));
+	}
+	
+	/**
+	 * {@link BatchWriter#addAll(Iterable, RowBinder)}のテスト。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test02_addAll() throws Exception {
+		RecordingStatement recorder = new RecordingStatement();
+		BatchWriter writer = new BatchWriter(recorder.proxy(), 2);
+		writer.addAll(Arrays.asList(10L, 20L, 30L), new RowBinder<Long>() {
+			
+			@Override
+			public void bind(PreparedStatement stmt, Long row) throws SQLException {
+				stmt.setLong(1, row);
+			}
+		});
+		writer.flush();
+		assertThat(recorder.batches, is(Arrays.asList(2, 1)));
+		assertThat(recorder.longs, is(Arrays.asList(10L, 20L, 30L)));
+		assertThat(writer.getExecutedRows(), is(3L));
+	}
+	
+	/**
+	 * 不正なバッチサイズを指定した場合のテスト。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test03_illegalBatchSize() throws Exception {
+		BatchWriter writer = new BatchWriter(new RecordingStatement().proxy());
+		assertThat(writer.getBatchSize(), is(BatchWriter.DEFAULT_BATCH_SIZE));
+		try {
+			new BatchWriter(new RecordingStatement().proxy(), 0);
+			fail();
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+	}
+	
+	
+	/**
+	 * {@link PreparedStatement}への呼び出しを記録するクラス。
+	 */
+	private static class RecordingStatement implements InvocationHandler {
+		
+		final List<Integer> batches = new ArrayList<Integer>();
+		
+		final List<Long> longs = new ArrayList<Long>();
+		
+		int pending;
+		
+		
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			String name = method.getName();
+			if (name.equals("setLong")) {
+				longs.add((Long) args[1]);
+			} else if (name.equals("addBatch")) {
+				pending++;
+			} else if (name.equals("executeBatch")) {
+				batches.add(pending);
+				int[] result = new int[pending];
+				Arrays.fill(result, 1);
+				pending = 0;
+				return result;
+			}
+			return null;
+		}
+		
+		PreparedStatement proxy() {
+			return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {
+				PreparedStatement.class
+			}, this);
+		}
+	}
+}
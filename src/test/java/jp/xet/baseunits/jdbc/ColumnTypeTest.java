@@ -0,0 +1,217 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.jdbc;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.Random;
+
+import jp.xet.baseunits.money.Money;
+import jp.xet.baseunits.time.CalendarDate;
+import jp.xet.baseunits.time.Duration;
+import jp.xet.baseunits.time.TimePoint;
+import jp.xet.baseunits.util.TimeZones;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link ColumnType}の各実装を、H2のインメモリデータベースに対して検証するテストクラス。
+ */
+public class ColumnTypeTest {
+	
+	private static final Currency USD = Currency.getInstance("USD");
+	
+	private static final String URL = "jdbc:h2:mem:baseunits-jdbc;DB_CLOSE_DELAY=-1";
+	
+	private static final MoneyColumn DECIMAL_USD = MoneyColumn.decimal(USD);
+	
+	private static final MoneyColumn MINOR_USD = MoneyColumn.minorUnits(USD);
+	
+	private Connection connection;
+	
+	
+	/**
+	 * テストの準備を行う。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Before
+	public void setUp() throws Exception {
+		connection = DriverManager.getConnection(URL);
+		execute("CREATE TABLE ROWS_TABLE (ID INT PRIMARY KEY, TP_TS TIMESTAMP, TP_MS BIGINT, CD_DATE DATE, CD_DAY INT,"
+				+ " DUR_MS BIGINT, DUR_SEC BIGINT, M_DEC DECIMAL(30, 2), M_MINOR BIGINT)");
+	}
+	
+	/**
+	 * テストの後始末を行う。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@After
+	public void tearDown() throws Exception {
+		try {
+			execute("DROP TABLE ROWS_TABLE");
+		} finally {
+			connection.close();
+		}
+	}
+	
+	/**
+	 * 各列の形式で書き込んだ値を、列番号及び列ラベルで読み込めることを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test01_roundTrip() throws Exception {
+		List<Row> rows = new ArrayList<Row>();
+		rows.add(new Row(0, TimePoint.atUTC(2019, 3, 5, 12, 34, 56, 789), CalendarDate.from(2019, 3, 5),
+				Duration.seconds(90), Money.valueOf(new BigDecimal("1234.56"), USD)));
+		rows.add(new Row(1, TimePoint.atUTC(1969, 12, 31, 23, 59, 59, 999), CalendarDate.from(1600, 2, 29),
+				Duration.NONE, Money.valueOf(new BigDecimal("-0.01"), USD)));
+		rows.add(new Row(2, null, null, null, null));
+		
+		PreparedStatement insert =
+				connection.prepareStatement("INSERT INTO ROWS_TABLE VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)");
+		try {
+			BatchWriter writer = new BatchWriter(insert, 2);
+			writer.addAll(rows, new RowBinder<Row>() {
+				
+				@Override
+				public void bind(PreparedStatement stmt, Row row) throws SQLException {
+					stmt.setInt(1, row.id);
+					TimePointColumn.TIMESTAMP.set(stmt, 2, row.timePoint);
+					TimePointColumn.EPOCH_MILLIS.set(stmt, 3, row.timePoint);
+					CalendarDateColumn.DATE.set(stmt, 4, row.date);
+					CalendarDateColumn.EPOCH_DAY.set(stmt, 5, row.date);
+					DurationColumn.MILLISECONDS.set(stmt, 6, row.duration);
+					DurationColumn.SECONDS.set(stmt, 7, row.duration);
+					DECIMAL_USD.set(stmt, 8, row.money);
+					MINOR_USD.set(stmt, 9, row.money);
+				}
+			});
+			writer.flush();
+			assertThat(writer.getExecutedRows(), is(3L));
+		} finally {
+			insert.close();
+		}
+		
+		Statement statement = connection.createStatement();
+		try {
+			ResultSet rs = statement.executeQuery("SELECT * FROM ROWS_TABLE ORDER BY ID");
+			for (Row row : rows) {
+				assertTrue(rs.next());
+				assertThat(TimePointColumn.TIMESTAMP.get(rs, 2), is(row.timePoint));
+				assertThat(TimePointColumn.EPOCH_MILLIS.get(rs, "TP_MS"), is(row.timePoint));
+				assertThat(CalendarDateColumn.DATE.get(rs, "CD_DATE"), is(row.date));
+				assertThat(CalendarDateColumn.EPOCH_DAY.get(rs, 5), is(row.date));
+				assertThat(DurationColumn.MILLISECONDS.get(rs, 6), is(row.duration));
+				assertThat(DurationColumn.SECONDS.get(rs, "DUR_SEC"), is(row.duration));
+				assertThat(DECIMAL_USD.get(rs, 8), is(row.money));
+				assertThat(MINOR_USD.get(rs, "M_MINOR"), is(row.money));
+			}
+		} finally {
+			statement.close();
+		}
+	}
+	
+	/**
+	 * 大量の行を、補助単位・エポック日等のプリミティブな列の形式でバッチ挿入できることを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test02_batchInsert() throws Exception {
+		int count = 100000;
+		Random random = new Random(0);
+		long expectedMinorUnits = 0;
+		PreparedStatement insert = connection.prepareStatement(
+				"INSERT INTO ROWS_TABLE (ID, TP_MS, CD_DAY, DUR_MS, M_MINOR) VALUES (?, ?, ?, ?, ?)");
+		try {
+			BatchWriter writer = new BatchWriter(insert);
+			for (int i = 0; i < count; i++) {
+				TimePoint timePoint = TimePoint.from(random.nextLong() >>> 24);
+				Money money = Money.valueOf(new BigDecimal(random.nextInt(1000000)).movePointLeft(2), USD);
+				expectedMinorUnits += money.breachEncapsulationOfAmount().unscaledValue().longValue();
+				insert.setInt(1, i);
+				writer.set(2, TimePointColumn.EPOCH_MILLIS, timePoint)
+					.set(3, CalendarDateColumn.EPOCH_DAY, CalendarDate.from(timePoint, TimeZones.UNIVERSAL))
+					.set(4, DurationColumn.MILLISECONDS, Duration.milliseconds(i))
+					.set(5, MINOR_USD, money)
+					.addBatch();
+			}
+			writer.flush();
+			assertThat(writer.getExecutedRows(), is((long) count));
+		} finally {
+			insert.close();
+		}
+		
+		Statement statement = connection.createStatement();
+		try {
+			ResultSet rs = statement.executeQuery("SELECT COUNT(*), SUM(M_MINOR) FROM ROWS_TABLE");
+			assertTrue(rs.next());
+			assertThat(rs.getLong(1), is((long) count));
+			assertThat(rs.getLong(2), is(expectedMinorUnits));
+		} finally {
+			statement.close();
+		}
+	}
+	
+	private void execute(String sql) throws SQLException {
+		Statement statement = connection.createStatement();
+		try {
+			statement.execute(sql);
+		} finally {
+			statement.close();
+		}
+	}
+	
+	
+	private static class Row {
+		
+		final int id;
+		
+		final TimePoint timePoint;
+		
+		final CalendarDate date;
+		
+		final Duration duration;
+		
+		final Money money;
+		
+		
+		Row(int id, TimePoint timePoint, CalendarDate date, Duration duration, Money money) {
+			this.id = id;
+			this.timePoint = timePoint;
+			this.date = date;
+			this.duration = duration;
+			this.money = money;
+		}
+	}
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.mirage;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import jp.xet.baseunits.time.CalendarDate;
+import jp.xet.baseunits.time.CalendarMonth;
+import jp.xet.baseunits.time.Duration;
+import jp.xet.baseunits.time.TimePoint;
+import jp.xet.baseunits.time.TimePointOfDay;
+import jp.xet.baseunits.util.TimeZones;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link AbstractBaseunitsValueType}の各実装クラスを、H2のインメモリデータベースに対して
+ * 複数スレッドから並行に使用するテストクラス。
+ */
+public class AbstractBaseunitsValueTypeTest {
+	
+	private static final String URL = "jdbc:h2:mem:baseunits-valuetype;DB_CLOSE_DELAY=-1";
+	
+	private static final int ROWS = 2000;
+	
+	private static final int THREADS = 8;
+	
+	private static final int ROUNDS = 20;
+	
+	private final TimePointValueType timePointType = new TimePointValueType();
+	
+	private final CalendarDateValueType calendarDateType = new CalendarDateValueType();
+	
+	private final CalendarMonthValueType calendarMonthType = new CalendarMonthValueType();
+	
+	private final TimePointOfDayValueType timePointOfDayType = new TimePointOfDayValueType();
+	
+	private final DurationSecValueType durationType = new DurationSecValueType();
+	
+	private final TimePoint[] timePoints = new TimePoint[ROWS];
+	
+	private final CalendarDate[] calendarDates = new CalendarDate[ROWS];
+	
+	private final CalendarMonth[] calendarMonths = new CalendarMonth[ROWS];
+	
+	private final TimePointOfDay[] timePointOfDays = new TimePointOfDay[ROWS];
+	
+	private final Duration[] durations = new Duration[ROWS];
+	
+	private Connection connection;
+	
+	
+	/**
+	 * テストの準備を行う。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Before
+	public void setUp() throws Exception {
+		connection = DriverManager.getConnection(URL);
+		Statement statement = connection.createStatement();
+		try {
+			statement.execute("CREATE TABLE VALUES_TABLE (ID INT PRIMARY KEY, TP TIMESTAMP, CD DATE, CM DATE,"
+					+ " TPOD TIME, DUR BIGINT)");
+		} finally {
+			statement.close();
+		}
+		
+		Random random = new Random(0);
+		long from = TimePoint.atUTC(1970, 1, 1, 0, 0).toEpochMillisec();
+		long to = TimePoint.atUTC(2100, 1, 1, 0, 0).toEpochMillisec();
+		PreparedStatement insert = connection.prepareStatement("INSERT INTO VALUES_TABLE VALUES (?, ?, ?, ?, ?, ?)");
+		try {
+			for (int i = 0; i < ROWS; i++) {
+				TimePoint timePoint = TimePoint.from(from + (long) (random.nextDouble() * (to - from)));
+				timePoints[i] = timePoint;
+				calendarDates[i] = timePoint.asCalendarDate(TimeZones.UNIVERSAL);
+				calendarMonths[i] = calendarDates[i].asCalendarMonth();
+				timePointOfDays[i] = TimePointOfDay.atUTC(random.nextInt(24), random.nextInt(60), random.nextInt(60));
+				durations[i] = Duration.seconds(random.nextInt(1000000));
+				
+				insert.setInt(1, i);
+				timePointType.set(TimePoint.class, insert, timePoints[i], 2);
+				calendarDateType.set(CalendarDate.class, insert, calendarDates[i], 3);
+				calendarMonthType.set(CalendarMonth.class, insert, calendarMonths[i], 4);
+				timePointOfDayType.set(TimePointOfDay.class, insert, timePointOfDays[i], 5);
+				durationType.set(Duration.class, insert, durations[i], 6);
+				insert.executeUpdate();
+			}
+		} finally {
+			insert.close();
+		}
+	}
+	
+	/**
+	 * テストの後始末を行う。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@After
+	public void tearDown() throws Exception {
+		Statement statement = connection.createStatement();
+		try {
+			statement.execute("DROP TABLE VALUES_TABLE");
+		} finally {
+			statement.close();
+			connection.close();
+		}
+	}
+	
+	/**
+	 * 複数スレッドから並行して読み込んだ値が、書き込んだ値と一致することを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test01_concurrentRead() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<Integer>> futures = new ArrayList<Future<Integer>>();
+			for (int i = 0; i < THREADS * ROUNDS; i++) {
+				futures.add(executor.submit(new Callable<Integer>() {
+					
+					@Override
+					public Integer call() throws Exception {
+						return readAndVerify();
+					}
+				}));
+			}
+			for (Future<Integer> future : futures) {
+				assertThat(future.get(), is(ROWS));
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+	
+	private int readAndVerify() throws Exception {
+		Connection c = DriverManager.getConnection(URL);
+		try {
+			Statement statement = c.createStatement();
+			try {
+				ResultSet rs = statement.executeQuery("SELECT ID, TP, CD, CM, TPOD, DUR FROM VALUES_TABLE ORDER BY ID");
+				int count = 0;
+				while (rs.next()) {
+					int i = rs.getInt(1);
+					assertThat(timePointType.get(TimePoint.class, rs, 2), is(timePoints[i]));
+					assertThat(calendarDateType.get(CalendarDate.class, rs, "CD"), is(calendarDates[i]));
+					assertThat(calendarMonthType.get(CalendarMonth.class, rs, 4), is(calendarMonths[i]));
+					assertThat(timePointOfDayType.get(TimePointOfDay.class, rs, 5), is(timePointOfDays[i]));
+					assertThat(durationType.get(Duration.class, rs, "DUR"), is(durations[i]));
+					count++;
+				}
+				return count;
+			} finally {
+				statement.close();
+			}
+		} finally {
+			c.close();
+		}
+	}
+}
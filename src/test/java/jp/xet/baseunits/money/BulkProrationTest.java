@@ -0,0 +1,362 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.money;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import jp.xet.baseunits.util.Ratio;
+
+import org.junit.Test;
+
+/**
+ * {@link BulkProration}のテストクラス。
+ * 
+ * <p>配分結果が、{@link Money}と{@link Ratio}による従来の比例配分の結果と一致することを検証する。</p>
+ */
+public class BulkProrationTest {
+	
+	private static final Currency USD = Currency.getInstance("USD");
+	
+	private static final Currency JPY = Currency.getInstance("JPY");
+	
+	
+	/**
+	 * {@code long}の比数による配分が、従来の比例配分と一致することを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test01_longProportions() throws Exception {
+		Random random = new Random(0);
+		for (int n = 0; n < 300; n++) {
+			long[] proportions = new long[1 + random.nextInt(20)];
+			for (int i = 0; i < proportions.length; i++) {
+				proportions[i] = randomProportion(random);
+			}
+			if (sum(proportions).signum() == 0) {
+				continue;
+			}
+			BulkProration proration = BulkProration.of(proportions);
+			for (int k = 0; k < 30; k++) {
+				Money total = new Money(BigDecimal.valueOf(randomTotal(random), 2), USD);
+				assertProrated(proration, total, decimals(proportions));
+			}
+		}
+	}
+	
+	/**
+	 * {@link BigDecimal}の比数による配分が、従来の比例配分と一致することを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test02_decimalProportions() throws Exception {
+		Random random = new Random(1);
+		for (int n = 0; n < 300; n++) {
+			BigDecimal[] proportions = new BigDecimal[1 + random.nextInt(20)];
+			for (int i = 0; i < proportions.length; i++) {
+				proportions[i] = BigDecimal.valueOf(random.nextInt(100000), random.nextInt(5));
+			}
+			if (sum(proportions).signum() == 0) {
+				continue;
+			}
+			BulkProration proration = BulkProration.of(proportions);
+			for (int k = 0; k < 30; k++) {
+				Currency currency = random.nextBoolean() ? USD : JPY;
+				Money total = new Money(BigDecimal.valueOf(randomTotal(random), currency.getDefaultFractionDigits()),
+						currency);
+				assertProrated(proration, total, proportions);
+			}
+		}
+		
+		// unscaled valueがlongに収まらない金額
+		BigDecimal[] proportions = decimals(new long[] {
+			1,
+			3,
+			1
+		});
+		Money total = new Money(new BigDecimal(BigInteger.TEN.pow(30).add(BigInteger.valueOf(2)), 2), USD);
+		assertProrated(BulkProration.of(proportions), total, proportions);
+	}
+	
+	/**
+	 * {@link BulkProration#prorate(long[], long[])}及び{@link BulkProration#prorate(long[], long[], ForkJoinPool)}の
+	 * 結果が、金額毎の配分と一致することを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test03_prorateAll() throws Exception {
+		Random random = new Random(2);
+		long[] proportions = new long[7];
+		for (int i = 0; i < proportions.length; i++) {
+			proportions[i] = 1 + random.nextInt(1000);
+		}
+		BulkProration proration = BulkProration.of(proportions);
+		long[] totals = new long[20000];
+		for (int i = 0; i < totals.length; i++) {
+			totals[i] = randomTotal(random);
+		}
+		
+		long[] expected = new long[totals.length * proportions.length];
+		long[] single = new long[proportions.length];
+		for (int i = 0; i < totals.length; i++) {
+			proration.prorate(totals[i], single);
+			System.arraycopy(single, 0, expected, i * proportions.length, proportions.length);
+		}
+		
+		long[] sequential = new long[expected.length];
+		proration.prorate(totals, sequential);
+		assertThat(Arrays.equals(sequential, expected), is(true));
+		
+		long[] parallel = new long[expected.length];
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			proration.prorate(totals, parallel, pool);
+		} finally {
+			pool.shutdown();
+		}
+		assertThat(Arrays.equals(parallel, expected), is(true));
+		
+		// 1つの金額を多数の比数で配分する
+		long[] many = new long[100000];
+		for (int i = 0; i < many.length; i++) {
+			many[i] = random.nextInt(100);
+		}
+		many[0] = 1;
+		long[] out = new long[many.length];
+		BulkProration.of(many).prorate(123456789L, out);
+		long sum = 0;
+		for (long value : out) {
+			sum += value;
+		}
+		assertThat(sum, is(123456789L));
+	}
+	
+	/**
+	 * 不正な引数に対する例外のテスト。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test04_illegalArguments() throws Exception {
+		try {
+			BulkProration.of(new long[0]);
+			fail();
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+		try {
+			BulkProration.of(new long[] {
+				1,
+				-1
+			});
+			fail();
+		} catch (ArithmeticException e) {
+			// success
+		}
+		try {
+			BulkProration.of(new BigDecimal[] {
+				BigDecimal.ONE,
+				null
+			});
+			fail();
+		} catch (NullPointerException e) {
+			// success
+		}
+		try {
+			BulkProration.of(new long[] {
+				1,
+				2
+			}).prorate(100, new long[1]);
+			fail();
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+		
+		// 比数の合計がlongに収まらない場合
+		long[] huge = {
+			Long.MAX_VALUE,
+			Long.MAX_VALUE,
+			1
+		};
+		assertProrated(BulkProration.of(huge), Money.dollars(100), decimals(huge));
+	}
+	
+	/**
+	 * 合計金額が負の場合も、配分結果の和が合計金額と一致することを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test06_negativeTotal() throws Exception {
+		BulkProration proration = BulkProration.of(new long[] {
+			1,
+			3,
+			1
+		});
+		assertThat(Arrays.asList(proration.proratedOver(Money.valueOf(-52, JPY))), is(Arrays.asList(
+				Money.valueOf(-11, JPY),
+				Money.valueOf(-31, JPY),
+				Money.valueOf(-10, JPY))));
+		long[] out = new long[3];
+		proration.prorate(-52, out);
+		assertThat(Arrays.toString(out), is("[-11, -31, -10]"));
+		
+		BigDecimal[] proportions = {
+			new BigDecimal("0.3"),
+			new BigDecimal("1.7"),
+			new BigDecimal("12.5"),
+			new BigDecimal("0.01"),
+			new BigDecimal("970")
+		};
+		Money total = new Money(new BigDecimal("-12.26"), USD);
+		Money[] parts = BulkProration.of(proportions).proratedOver(total);
+		assertThat(Proration.sum(parts), is(total));
+		assertProrated(BulkProration.of(proportions), total, proportions);
+		
+		Random random = new Random(3);
+		for (int n = 0; n < 100; n++) {
+			long[] longProportions = new long[1 + random.nextInt(10)];
+			for (int i = 0; i < longProportions.length; i++) {
+				longProportions[i] = 1 + random.nextInt(1000);
+			}
+			BulkProration bulk = BulkProration.of(longProportions);
+			Money negative = Money.valueOf(-random.nextInt(1000000), JPY);
+			assertThat(Proration.sum(bulk.proratedOver(negative)), is(negative));
+			assertProrated(bulk, negative, decimals(longProportions));
+		}
+	}
+	
+	/**
+	 * {@link BulkProration#precision(long)}のテスト。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test05_precision() throws Exception {
+		long[] values = {
+			0,
+			1,
+			-1,
+			9,
+			10,
+			-99,
+			100,
+			999999999999999999L,
+			1000000000000000000L,
+			Long.MAX_VALUE,
+			Long.MIN_VALUE
+		};
+		for (long value : values) {
+			assertThat(String.valueOf(value), BulkProration.precision(value), is(BigDecimal.valueOf(value).precision()));
+		}
+	}
+	
+	private void assertProrated(BulkProration proration, Money total, BigDecimal[] proportions) {
+		Money[] expected = reference(total, proportions);
+		String reason = total + " " + Arrays.toString(proportions);
+		assertThat(reason, Arrays.asList(proration.proratedOver(total)), is(Arrays.asList(expected)));
+		assertThat(reason, Proration.sum(expected), is(total));
+		
+		BigInteger unscaled = total.breachEncapsulationOfAmount().unscaledValue();
+		BigInteger absoluteSum = BigInteger.ZERO;
+		for (Money money : expected) {
+			absoluteSum = absoluteSum.add(money.breachEncapsulationOfAmount().unscaledValue().abs());
+		}
+		// 中間計算の和がlongに収まる場合に限り、longによる配分を検証する
+		if (unscaled.bitLength() < Long.SIZE && absoluteSum.add(unscaled.abs()).bitLength() < Long.SIZE) {
+			long[] out = new long[proportions.length];
+			proration.prorate(unscaled.longValue(), out);
+			for (int i = 0; i < out.length; i++) {
+				assertThat(reason, out[i], is(expected[i].breachEncapsulationOfAmount().unscaledValue().longValue()));
+			}
+		}
+	}
+	
+	private BigDecimal[] decimals(long[] proportions) {
+		BigDecimal[] decimals = new BigDecimal[proportions.length];
+		for (int i = 0; i < proportions.length; i++) {
+			decimals[i] = BigDecimal.valueOf(proportions[i]);
+		}
+		return decimals;
+	}
+	
+	private long randomProportion(Random random) {
+		switch (random.nextInt(4)) {
+			case 0:
+				return random.nextInt(10);
+			case 1:
+				return random.nextInt(1000000);
+			case 2:
+				return random.nextLong() >>> random.nextInt(64);
+			default:
+				return random.nextInt(1000) - 100;
+		}
+	}
+	
+	private long randomTotal(Random random) {
+		long total = random.nextLong() >> random.nextInt(64);
+		return random.nextInt(10) == 0 ? Long.MIN_VALUE : total;
+	}
+	
+	/**
+	 * 従来の実装による比例配分。
+	 */
+	private Money[] reference(Money total, BigDecimal[] proportions) {
+		BigDecimal whole = sum(proportions);
+		int scale = total.breachEncapsulationOfAmount().precision() + 2;
+		Money[] results = new Money[proportions.length];
+		Money sum = Money.valueOf(BigDecimal.ZERO, total.breachEncapsulationOfCurrency());
+		for (int i = 0; i < proportions.length; i++) {
+			BigDecimal multiplier = Ratio.of(proportions[i], whole).decimalValue(scale, RoundingMode.DOWN);
+			results[i] = total.times(multiplier, RoundingMode.DOWN);
+			sum = sum.plus(results[i]);
+		}
+		Money remainder = total.minus(sum);
+		int increments = remainder.dividedBy(remainder.minimumIncrement())
+			.decimalValue(0, RoundingMode.UNNECESSARY).intValue();
+		for (int i = 0; i < increments; i++) {
+			results[i] = results[i].incremented();
+		}
+		for (int i = 0; i < -increments; i++) {
+			results[i] = results[i].minus(results[i].minimumIncrement());
+		}
+		return results;
+	}
+	
+	private BigDecimal sum(BigDecimal[] values) {
+		BigDecimal sum = BigDecimal.ZERO;
+		for (BigDecimal value : values) {
+			sum = sum.add(value);
+		}
+		return sum;
+	}
+	
+	private BigDecimal sum(long[] values) {
+		return sum(decimals(values));
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.money;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+/**
+ * {@link ConcurrentMoneyAccumulator}のテストクラス。
+ */
+public class ConcurrentMoneyAccumulatorTest {
+	
+	private static final Currency USD = Currency.getInstance("USD");
+	
+	
+	/**
+	 * {@link ConcurrentMoneyAccumulator#sum()}のテスト。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test01_Sum() throws Exception {
+		ConcurrentMoneyAccumulator accumulator = new ConcurrentMoneyAccumulator(USD);
+		assertThat(accumulator.sum(), is(Money.dollars(0)));
+		
+		accumulator.add(Money.dollars(55.34));
+		accumulator.add(Money.dollars(-3.07));
+		accumulator.addMinorUnits(1);
+		assertThat(accumulator.breachEncapsulationOfCurrency(), is(USD));
+		assertThat(accumulator.sum(), is(Money.dollars(52.28)));
+		
+		assertThat(accumulator.sumThenReset(), is(Money.dollars(52.28)));
+		assertThat(accumulator.sum(), is(Money.dollars(0)));
+		
+		Money large = Money.dollars(BigDecimal.valueOf(Long.MAX_VALUE, 2));
+		accumulator.add(large);
+		accumulator.add(large);
+		assertThat(accumulator.sum(), is(large.plus(large)));
+		accumulator.reset();
+		assertThat(accumulator.sum(), is(Money.dollars(0)));
+		
+		ConcurrentMoneyAccumulator yens = new ConcurrentMoneyAccumulator(Currency.getInstance("JPY"));
+		Money largeYens = Money.yens(BigDecimal.valueOf(Long.MAX_VALUE));
+		yens.add(Money.yens(100));
+		yens.add(Money.yens(-30));
+		assertThat(yens.sum(), is(Money.yens(70)));
+		yens.add(largeYens);
+		yens.add(largeYens);
+		assertThat(yens.sumThenReset(), is(largeYens.plus(largeYens).plus(Money.yens(70))));
+		yens.add(Money.yens(new BigDecimal("123456789012345678901")));
+		assertThat(yens.sum(), is(Money.yens(new BigDecimal("123456789012345678901"))));
+	}
+	
+	/**
+	 * 通貨単位の異なる金額は加えられない。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test02_CurrencyMismatch() throws Exception {
+		ConcurrentMoneyAccumulator accumulator = new ConcurrentMoneyAccumulator(USD);
+		try {
+			accumulator.add(Money.yens(100));
+			fail();
+		} catch (ClassCastException e) {
+			// success
+		}
+		assertThat(accumulator.sum(), is(Money.dollars(0)));
+	}
+	
+	/**
+	 * 複数のスレッドから並行に加算できること。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test03_Concurrent() throws Exception {
+		final ConcurrentMoneyAccumulator accumulator = new ConcurrentMoneyAccumulator(USD);
+		final int threads = 8;
+		final int count = 10000;
+		final CountDownLatch start = new CountDownLatch(1);
+		List<Thread> workers = new ArrayList<Thread>();
+		for (int t = 0; t < threads; t++) {
+			Thread worker = new Thread() {
+				
+				@Override
+				public void run() {
+					try {
+						start.await();
+					} catch (InterruptedException e) {
+						throw new AssertionError(e);
+					}
+					for (int i = 0; i < count; i++) {
+						accumulator.add(Money.dollars(0.25));
+					}
+				}
+			};
+			worker.start();
+			workers.add(worker);
+		}
+		start.countDown();
+		for (Thread worker : workers) {
+			worker.join();
+		}
+		
+		assertThat(accumulator.sum(), is(Money.dollars(threads * count / 4)));
+	}
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.money;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * {@link MoneyCache}のテストクラス。
+ */
+public class MoneyCacheTest {
+	
+	private static final Currency USD = Currency.getInstance("USD");
+	
+	private static final Currency JPY = Currency.getInstance("JPY");
+	
+	
+	/**
+	 * テストの後処理を行う。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@After
+	public void tearDown() throws Exception {
+		MoneyCache.disableAll();
+	}
+	
+	/**
+	 * 既定ではキャッシュしない。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test01_DisabledByDefault() throws Exception {
+		assertThat(MoneyCache.isEnabled(USD), is(false));
+		assertThat(Money.dollars(1.00), is(not(sameInstance(Money.dollars(1.00)))));
+	}
+	
+	/**
+	 * 範囲内の金額は共有のインスタンスとなる。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test02_Enable() throws Exception {
+		MoneyCache.enable(Money.dollars(0), Money.dollars(100));
+		MoneyCache.enable(Money.yens(0), Money.yens(10000));
+		assertThat(MoneyCache.isEnabled(USD), is(true));
+		assertThat(MoneyCache.isEnabled(JPY), is(true));
+		
+		assertThat(Money.dollars(1.25), is(sameInstance(Money.valueOf(new BigDecimal("1.25"), USD))));
+		assertThat(Money.dollars(0.75).plus(Money.dollars(0.50)), is(sameInstance(Money.dollars(1.25))));
+		assertThat(Money.zero(USD), is(sameInstance(Money.dollars(0))));
+		assertThat(Money.yens(10000), is(sameInstance(Money.yens(10000))));
+		assertThat(Money.dollars(100.00), is(sameInstance(Money.dollars(100))));
+		
+		assertThat(Money.dollars(100.01), is(not(sameInstance(Money.dollars(100.01)))));
+		assertThat(Money.dollars(-0.01), is(not(sameInstance(Money.dollars(-0.01)))));
+		assertThat(Money.yens(10001), is(Money.yens(10000).plus(Money.yens(1))));
+		assertThat(Money.euros(1), is(not(sameInstance(Money.euros(1)))));
+		
+		MoneyCache.disable(USD);
+		assertThat(MoneyCache.isEnabled(USD), is(false));
+		assertThat(Money.dollars(1.25), is(not(sameInstance(Money.dollars(1.25)))));
+		assertThat(Money.yens(100), is(sameInstance(Money.yens(100))));
+	}
+	
+	/**
+	 * 不正な範囲は登録できない。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test03_InvalidRange() throws Exception {
+		try {
+			MoneyCache.enable(Money.dollars(1), Money.yens(100));
+			fail();
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+		try {
+			MoneyCache.enable(Money.dollars(100), Money.dollars(1));
+			fail();
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+		try {
+			MoneyCache.enable(Money.yens(0), Money.yens(MoneyCache.MAX_ENTRIES));
+			fail();
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+		assertThat(MoneyCache.isEnabled(USD), is(false));
+		assertThat(MoneyCache.isEnabled(JPY), is(false));
+	}
+}
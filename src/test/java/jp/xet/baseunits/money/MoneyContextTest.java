@@ -0,0 +1,131 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.money;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+
+import jp.xet.baseunits.time.Duration;
+import jp.xet.baseunits.util.Ratio;
+
+import org.junit.Test;
+
+/**
+ * {@link MoneyContext}のテストクラス。
+ */
+public class MoneyContextTest {
+	
+	private static final Currency USD = Currency.getInstance("USD");
+	
+	private static final Currency JPY = Currency.getInstance("JPY");
+	
+	
+	/**
+	 * 通貨単位毎のスケールと最小単位金額のテスト。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test01_CurrencyTable() throws Exception {
+		MoneyContext context = MoneyContext.DEFAULT;
+		assertThat(context.getRoundingMode(), is(RoundingMode.HALF_EVEN));
+		assertThat(context.scale(USD), is(2));
+		assertThat(context.scale(JPY), is(0));
+		assertThat(context.minimumIncrement(USD), is(Money.dollars(0.01)));
+		assertThat(context.minimumIncrement(JPY), is(Money.yens(1)));
+		assertThat(context.minimumIncrement(USD), is(sameInstance(context.minimumIncrement(USD))));
+		assertThat(context.intermediateScale(Money.dollars(123.45)), is(7));
+		
+		assertThat(MoneyContext.of(RoundingMode.HALF_EVEN, 2), is(sameInstance(MoneyContext.DEFAULT)));
+		assertThat(MoneyContext.of(RoundingMode.UP, 4), is(MoneyContext.of(RoundingMode.UP, 4)));
+		assertThat(MoneyContext.of(RoundingMode.UP, 4).intermediateScale(Money.yens(100)), is(7));
+	}
+	
+	/**
+	 * 演算コンテキストを与えた演算のテスト。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test02_Operations() throws Exception {
+		MoneyContext up = MoneyContext.of(RoundingMode.UP, 2);
+		assertThat(up.valueOf(new BigDecimal("1.001"), USD), is(Money.dollars(1.01)));
+		assertThat(MoneyContext.DEFAULT.valueOf(new BigDecimal("1.005"), USD), is(Money.dollars(1.00)));
+		
+		Money d100 = Money.dollars(100);
+		assertThat(d100.times(new BigDecimal("0.00001"), up), is(Money.dollars(0.01)));
+		assertThat(d100.times(new BigDecimal("0.00001"), MoneyContext.DEFAULT),
+				is(d100.times(new BigDecimal("0.00001"))));
+		assertThat(d100.dividedBy(new BigDecimal(3), up), is(Money.dollars(33.34)));
+		assertThat(d100.applying(Ratio.of(1, 3), up), is(Money.dollars(33.34)));
+		
+		MoneyTimeRate rate = Money.dollars(10).per(Duration.days(3));
+		assertThat(rate.over(Duration.days(1), up), is(Money.dollars(3.34)));
+		assertThat(rate.over(Duration.days(1), MoneyContext.DEFAULT),
+				is(rate.over(Duration.days(1), RoundingMode.HALF_EVEN)));
+	}
+	
+	/**
+	 * {@link Proration}に既定の演算コンテキストを与えた場合、従来の結果と一致すること。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test03_Proration() throws Exception {
+		Money[] parts = Proration.dividedEvenlyIntoParts(Money.yens(53), 5);
+		assertThat(parts[0], is(Money.yens(11)));
+		assertThat(parts[2], is(Money.yens(11)));
+		assertThat(parts[3], is(Money.yens(10)));
+		
+		Money[] dollars = Proration.dividedEvenlyIntoParts(Money.dollars(100), 12);
+		assertThat(dollars[3], is(Money.dollars(8.34)));
+		assertThat(dollars[4], is(Money.dollars(8.33)));
+		
+		assertThat(Proration.partOfWhole(Money.dollars(100), Ratio.of(1, 3), MoneyContext.DEFAULT),
+				is(Proration.partOfWhole(Money.dollars(100), Ratio.of(1, 3))));
+		assertThat(Proration.partOfWhole(Money.dollars(100), Ratio.of(1, 3), MoneyContext.of(RoundingMode.DOWN, 0)),
+				is(Money.dollars(33.33)));
+	}
+	
+	/**
+	 * 小数点以下の桁数が-1の通貨単位（金など）も扱えること。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test04_NegativeFractionDigits() throws Exception {
+		Currency xau = Currency.getInstance("XAU");
+		assertThat(xau.getDefaultFractionDigits(), is(-1));
+		assertThat(MoneyContext.DEFAULT.scale(xau), is(-1));
+		assertThat(MoneyContext.DEFAULT.minimumIncrement(xau).breachEncapsulationOfAmount(), is(new BigDecimal("1E+1")));
+		
+		Money total = new Money(new BigDecimal("7E+1"), xau);
+		assertThat(total.incremented(), is(new Money(new BigDecimal("8E+1"), xau)));
+		Money[] parts = Proration.dividedEvenlyIntoParts(total, 4);
+		assertThat(parts.length, is(4));
+		assertThat(parts[0], is(new Money(new BigDecimal("2E+1"), xau)));
+		assertThat(parts[2], is(new Money(new BigDecimal("2E+1"), xau)));
+		assertThat(parts[3], is(new Money(new BigDecimal("1E+1"), xau)));
+		
+		assertThat(MoneyContext.of(RoundingMode.UP, 2).valueOf(new BigDecimal("61"), xau),
+				is(new Money(new BigDecimal("7E+1"), xau)));
+	}
+}
@@ -18,6 +18,7 @@ package jp.xet.baseunits.money;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Collection;
 
@@ -200,4 +201,54 @@ public class MoneyFanTest {
 		assertThat(jack.minus(jack), is(new MoneyFan<String>()));
 	}
 	
+	/**
+	 * 同じ割り当て対象に対する割り当ては合算されること。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test06_SameEntity() throws Exception {
+		Collection<Allotment<String>> c = new ArrayList<Allotment<String>>();
+		c.add(new Allotment<String>("Jack", Money.dollars(10.00)));
+		c.add(new Allotment<String>("Jack", Money.dollars(5.50)));
+		c.add(new Allotment<String>("Jill", Money.dollars(1.00)));
+		MoneyFan<String> fan = new MoneyFan<String>(c);
+		
+		assertThat(fan.size(), is(2));
+		assertThat(fan.allotment("Jack").amount, is(Money.dollars(15.50)));
+		assertThat(fan.allotment("Jill").amount, is(Money.dollars(1.00)));
+		assertThat(fan.total(), is(Money.dollars(16.50)));
+	}
+	
+	/**
+	 * {@link MoneyFanBuilder}のテスト。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test07_Builder() throws Exception {
+		MoneyFan<String> sum = new MoneyFan<String>();
+		MoneyFanBuilder<String> builder = new MoneyFanBuilder<String>();
+		for (int i = 0; i < 1000; i++) { // CHECKSTYLE IGNORE THIS LINE
+			Allotment<String> allotment =
+					new Allotment<String>("payee" + (i % 37), Money.dollars(i * 1.25 - 300)); // CHECKSTYLE IGNORE THIS LINE
+			sum = sum.plus(new MoneyFan<String>(allotment));
+			builder.add(allotment);
+		}
+		assertThat(builder.build(), is(sum));
+		
+		MoneyFan<String> built = builder.build();
+		builder.subtract(built);
+		assertThat(builder.size(), is(37));
+		assertThat(builder.build(), is(new MoneyFan<String>()));
+		
+		builder.add("Jack", Money.yens(100)).add("Jack", Money.yens(-100)).add("Jack", Money.dollars(1.00));
+		assertThat(builder.build(), is(new MoneyFan<String>(new Allotment<String>("Jack", Money.dollars(1.00)))));
+		
+		Money large = Money.dollars(BigDecimal.valueOf(Long.MAX_VALUE, 2));
+		builder.clear().add("Jack", large).add("Jack", large).add("Jill", large);
+		assertThat(builder.build().allotment("Jack").amount, is(large.plus(large)));
+		builder.subtract(new MoneyFan<String>(new Allotment<String>("Jack", large)));
+		assertThat(builder.build().allotment("Jack").amount, is(large));
+	}
 }
@@ -22,8 +22,10 @@ import static org.hamcrest.Matchers.not;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 
+import java.io.StringWriter;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -538,4 +540,52 @@ public class MoneyTest {
 		}
 	}
 	
+	/**
+	 * {@link MoneyFormatter}及び{@link Money#parse(String, Locale)}のテスト。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test30_FormatAndParse() throws Exception {
+		MoneyFormatter formatter = MoneyFormatter.of(Locale.US);
+		assertThat(MoneyFormatter.of(Locale.US) == formatter, is(true));
+		assertThat(formatter.format(d15), is(d15.toString(Locale.US)));
+		assertThat(formatter.formatTo(d15, new StringBuilder("price: ")).toString(), is("price: $ 15.00"));
+		StringWriter writer = new StringWriter();
+		formatter.formatTo(y50, writer);
+		assertThat(writer.toString(), is(y50.toString(Locale.US)));
+		
+		Money[] monies = {
+			d15,
+			d2_51,
+			y50,
+			e2_51,
+			Money.dollars(-3.07)
+		};
+		for (Locale locale : new Locale[] {
+			Locale.US,
+			Locale.JAPAN,
+			Locale.GERMANY
+		}) {
+			for (Money money : monies) {
+				assertThat(Money.parse(money.toString(locale), locale), is(money));
+			}
+		}
+		assertThat(Money.parse("USD 15.00", Locale.JAPAN), is(d15));
+		assertThat(Money.parse("JPY 50", Locale.US), is(y50));
+		
+		for (String invalid : new String[] {
+			"15.00",
+			"XYZ 15.00",
+			"USD 15.001",
+			"USD fifteen"
+		}) {
+			try {
+				Money.parse(invalid, Locale.US);
+				fail(invalid);
+			} catch (ParseException e) {
+				// success
+			}
+		}
+	}
 }
@@ -23,11 +23,13 @@ import static org.junit.Assert.fail;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.Currency;
+import java.util.Random;
 
 import jp.xet.baseunits.money.Money;
 import jp.xet.baseunits.money.MoneyTimeRate;
 import jp.xet.baseunits.time.Duration;
 import jp.xet.baseunits.time.TimeRate;
+import jp.xet.baseunits.time.TimeUnit;
 
 import org.junit.Test;
 
@@ -123,4 +125,101 @@ public class MoneyTimeRateTest {
 		MoneyTimeRate rate = amount.per(Duration.days(2));
 		assertThat(rate.toString(), is("EUR 11.00 per 2 days"));
 	}
+	
+	/**
+	 * {@link MoneyTimeRate#compile(RoundingMode)}による計算結果が、{@link MoneyTimeRate#over(Duration, RoundingMode)}と
+	 * 一致することを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test08_compile() throws Exception {
+		Random random = new Random(0);
+		TimeUnit[] units = TimeUnit.values();
+		RoundingMode[] modes = RoundingMode.values();
+		Currency[] currencies = {
+			Currency.getInstance("USD"),
+			Currency.getInstance("JPY"),
+			Currency.getInstance("BHD")
+		};
+		for (int n = 0; n < 300; n++) {
+			Currency currency = currencies[random.nextInt(currencies.length)];
+			long unscaled = random.nextBoolean() ? random.nextInt(100000) : random.nextLong() >>> random.nextInt(64);
+			Money money = new Money(BigDecimal.valueOf(unscaled, currency.getDefaultFractionDigits()), currency);
+			TimeUnit unit = units[random.nextInt(units.length)];
+			MoneyTimeRate rate = new MoneyTimeRate(money, Duration.valueOf(1 + random.nextInt(100), unit));
+			for (RoundingMode mode : modes) {
+				CompiledMoneyTimeRate compiled = rate.compile(mode);
+				for (int k = 0; k < 20; k++) {
+					TimeUnit durationUnit = unit.isConvertibleToMilliseconds()
+							? units[random.nextInt(6)] : units[6 + random.nextInt(3)];
+					Duration duration = Duration.valueOf(random.nextInt(1000000), durationUnit);
+					String reason = rate + " " + duration + " " + mode;
+					Money expected;
+					try {
+						expected = rate.over(duration, mode);
+					} catch (ArithmeticException e) {
+						expected = null;
+					}
+					Money actual;
+					try {
+						actual = compiled.over(duration);
+					} catch (ArithmeticException e) {
+						actual = null;
+					}
+					assertThat(reason, actual, is(expected));
+					if (expected != null && expected.breachEncapsulationOfAmount().unscaledValue().bitLength() < Long.SIZE) {
+						long minorUnits = expected.breachEncapsulationOfAmount().unscaledValue().longValue();
+						assertThat(reason, compiled.applyAsLong(duration.to(compiled.breachEncapsulationOfBaseUnit())),
+								is(minorUnits));
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * {@link CompiledMoneyTimeRate#over(long[], long[])}のテスト。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test09_compiledArray() throws Exception {
+		CompiledMoneyTimeRate compiled =
+				new MoneyTimeRate(Money.dollars(20), Duration.hours(1)).compile(RoundingMode.HALF_EVEN);
+		assertThat(compiled.breachEncapsulationOfBaseUnit(), is(TimeUnit.millisecond));
+		long[] durations = {
+			0,
+			Duration.hours(2).to(TimeUnit.millisecond),
+			Duration.minutes(1).to(TimeUnit.millisecond),
+			Duration.seconds(1).to(TimeUnit.millisecond),
+			Duration.seconds(9).to(TimeUnit.millisecond),
+			Long.MAX_VALUE / 1000
+		};
+		long[] out = new long[durations.length];
+		compiled.over(durations, out);
+		assertThat(out[0], is(0L));
+		assertThat(out[1], is(4000L));
+		assertThat(out[2], is(33L));
+		assertThat(out[3], is(1L));
+		assertThat(out[4], is(5L));
+		assertThat(out[5], is(new BigDecimal(Long.MAX_VALUE / 1000).multiply(BigDecimal.valueOf(2000))
+			.divide(BigDecimal.valueOf(3600000), 0, RoundingMode.HALF_EVEN).longValueExact()));
+		
+		CompiledMoneyTimeRate monthly = new MoneyTimeRate(Money.dollars(100), Duration.years(1)).compile(RoundingMode.DOWN);
+		assertThat(monthly.breachEncapsulationOfBaseUnit(), is(TimeUnit.month));
+		assertThat(monthly.over(Duration.months(5)), is(Money.dollars(41.66)));
+		try {
+			monthly.over(Duration.days(1));
+			fail();
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+		try {
+			new MoneyTimeRate(Money.dollars(20), Duration.hours(1)).compile(RoundingMode.UNNECESSARY).over(1);
+			fail();
+		} catch (ArithmeticException e) {
+			// success
+		}
+	}
 }
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.money;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+/**
+ * {@link MultiCurrencyTally}のテストクラス。
+ */
+public class MultiCurrencyTallyTest {
+	
+	private static final Currency USD = Currency.getInstance("USD");
+	
+	private static final Currency JPY = Currency.getInstance("JPY");
+	
+	
+	/**
+	 * 通貨単位毎に合算されること。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test01_NetByCurrency() throws Exception {
+		MultiCurrencyTally tally = new MultiCurrencyTally();
+		tally.add(Money.dollars(55.34)).add(Money.yens(100)).add(Money.dollars(12.22)).add(Money.dollars(-3.07));
+		
+		assertThat(tally.currencies().size(), is(2));
+		assertThat(tally.net(USD), is(Money.dollars(64.49)));
+		assertThat(tally.net(JPY), is(Money.yens(100)));
+		assertThat(tally.net(Currency.getInstance("EUR")), is(Money.euros(0)));
+		
+		Map<Currency, Money> net = tally.netByCurrency();
+		assertThat(net.size(), is(2));
+		assertThat(net.get(USD), is(Money.dollars(64.49)));
+		assertThat(net.get(JPY), is(Money.yens(100)));
+		
+		assertThat(tally.netByCurrencyThenReset().get(USD), is(Money.dollars(64.49)));
+		assertThat(tally.net(USD), is(Money.dollars(0)));
+		assertThat(tally.net(JPY), is(Money.yens(0)));
+	}
+	
+	/**
+	 * {@code long}の範囲を超えても合計が失われないこと。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test02_Overflow() throws Exception {
+		Money large = Money.yens(BigDecimal.valueOf(Long.MAX_VALUE));
+		MultiCurrencyTally tally = new MultiCurrencyTally();
+		tally.add(large).add(large).add(large.plus(large)).add(Money.yens(-1));
+		
+		assertThat(tally.net(JPY).breachEncapsulationOfAmount(),
+				is(BigDecimal.valueOf(Long.MAX_VALUE).multiply(BigDecimal.valueOf(4)).subtract(BigDecimal.ONE)));
+		
+		tally.add(large.negated()).add(large.negated()).add(large.negated()).add(large.negated());
+		assertThat(tally.net(JPY), is(Money.yens(-1)));
+	}
+	
+	/**
+	 * 複数のスレッドから並行に加算できること。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test03_Concurrent() throws Exception {
+		final MultiCurrencyTally tally = new MultiCurrencyTally();
+		final int threads = 8;
+		final int count = 10000;
+		final CountDownLatch start = new CountDownLatch(1);
+		List<Thread> workers = new ArrayList<Thread>();
+		for (int t = 0; t < threads; t++) {
+			Thread worker = new Thread() {
+				
+				@Override
+				public void run() {
+					try {
+						start.await();
+					} catch (InterruptedException e) {
+						throw new AssertionError(e);
+					}
+					for (int i = 0; i < count; i++) {
+						tally.add(Money.dollars(0.01));
+						tally.add(Money.yens(3));
+					}
+				}
+			};
+			worker.start();
+			workers.add(worker);
+		}
+		start.countDown();
+		for (Thread worker : workers) {
+			worker.join();
+		}
+		
+		assertThat(tally.net(USD), is(Money.dollars(threads * count / 100)));
+		assertThat(tally.net(JPY), is(Money.yens(threads * count * 3)));
+	}
+	
+	/**
+	 * 桁あふれによるセルの退避と並行して合計を取得しても、合計を取りこぼさないこと。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test04_ConcurrentOverflow() throws Exception {
+		final MultiCurrencyTally tally = new MultiCurrencyTally();
+		final Money large = Money.yens(BigDecimal.valueOf(Long.MAX_VALUE / 2 + 1));
+		final int threads = 4;
+		final int count = 20000;
+		final CountDownLatch start = new CountDownLatch(1);
+		List<Thread> workers = new ArrayList<Thread>();
+		for (int t = 0; t < threads; t++) {
+			Thread worker = new Thread() {
+				
+				@Override
+				public void run() {
+					try {
+						start.await();
+					} catch (InterruptedException e) {
+						throw new AssertionError(e);
+					}
+					for (int i = 0; i < count; i++) {
+						tally.add(large);
+					}
+				}
+			};
+			worker.start();
+			workers.add(worker);
+		}
+		start.countDown();
+		
+		// 正の金額のみを加えるため、合計は単調に増加しなければならない
+		BigDecimal previous = BigDecimal.ZERO;
+		boolean running = true;
+		while (running) {
+			running = false;
+			for (Thread worker : workers) {
+				running |= worker.isAlive();
+			}
+			BigDecimal current = tally.net(JPY).breachEncapsulationOfAmount();
+			assertThat(current + " < " + previous, current.compareTo(previous) >= 0, is(true));
+			previous = current;
+		}
+		for (Thread worker : workers) {
+			worker.join();
+		}
+		
+		assertThat(tally.net(JPY).breachEncapsulationOfAmount(),
+				is(large.breachEncapsulationOfAmount().multiply(BigDecimal.valueOf(threads * count))));
+	}
+}
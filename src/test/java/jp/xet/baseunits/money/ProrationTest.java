@@ -17,6 +17,10 @@ package jp.xet.baseunits.money;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
 import jp.xet.baseunits.money.Money;
 import jp.xet.baseunits.money.Proration;
 
@@ -183,4 +187,30 @@ public class ProrationTest {
 		assertThat(Proration.partOfWhole(total, portion, whole), is(Money.dollars(3.33)));
 	}
 	
+	/**
+	 * 合計金額が負の場合の{@link Proration#dividedEvenlyIntoParts(Money, int)}のテスト。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test10_DividedEvenlyNegativeTotal() throws Exception {
+		Currency eur = Currency.getInstance("EUR");
+		Money total = Money.valueOf(new BigDecimal("-3492.62"), eur);
+		Money[] prorated = Proration.dividedEvenlyIntoParts(total, 4);
+		assertThat(prorated[0], is(Money.valueOf(new BigDecimal("-873.16"), eur)));
+		assertThat(prorated[1], is(Money.valueOf(new BigDecimal("-873.16"), eur)));
+		assertThat(prorated[2], is(Money.valueOf(new BigDecimal("-873.15"), eur)));
+		assertThat(prorated[3], is(Money.valueOf(new BigDecimal("-873.15"), eur)));
+		assertThat(Proration.sum(prorated), is(total));
+		
+		Currency jpy = Currency.getInstance("JPY");
+		for (int amount = -1; amount > -200; amount -= 7) {
+			for (int n = 1; n < 12; n++) {
+				Money negative = Money.valueOf(new BigDecimal(amount), jpy);
+				assertThat(negative + " / " + n, Proration.sum(Proration.dividedEvenlyIntoParts(negative, n)),
+						is(negative));
+			}
+		}
+	}
+	
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.money;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.Base64;
+import java.util.Currency;
+
+import jp.xet.baseunits.tests.SerializationTester;
+
+import org.junit.Test;
+
+/**
+ * {@link Ser}のテストクラス。
+ */
+public class SerTest {
+	
+	private static final Currency USD = Currency.getInstance("USD");
+	
+	private static final Currency JPY = Currency.getInstance("JPY");
+	
+	/** 既定の形式でシリアライズされた {@code Money.valueOf(new BigDecimal("12.34"), USD)} */
+	private static final String LEGACY_MONEY = "rO0ABXNyABxqcC54ZXQuYmFzZXVuaXRzLm1vbmV5Lk1vbmV5Pxh8cFKiGcACAAJMAAZhbW91bnR0ABZMamF2YS9tYXRoL0Jp"
+			+ "Z0RlY2ltYWw7TAAIY3VycmVuY3l0ABRMamF2YS91dGlsL0N1cnJlbmN5O3hwc3IAFGphdmEubWF0aC5CaWdEZWNpbWFsVMcV"
+			+ "V/mBKE8DAAJJAAVzY2FsZUwABmludFZhbHQAFkxqYXZhL21hdGgvQmlnSW50ZWdlcjt4cgAQamF2YS5sYW5nLk51bWJlcoas"
+			+ "lR0LlOCLAgAAeHAAAAACc3IAFGphdmEubWF0aC5CaWdJbnRlZ2VyjPyfH6k7+x0DAAZJAAhiaXRDb3VudEkACWJpdExlbmd0"
+			+ "aEkAE2ZpcnN0Tm9uemVyb0J5dGVOdW1JAAxsb3dlc3RTZXRCaXRJAAZzaWdudW1bAAltYWduaXR1ZGV0AAJbQnhxAH4ABv//"
+			+ "/////////////v////4AAAABdXIAAltCrPMX+AYIVOACAAB4cAAAAAIE0nh4c3IAEmphdmEudXRpbC5DdXJyZW5jef3Nk0pZ"
+			+ "EakfAgABTAAMY3VycmVuY3lDb2RldAASTGphdmEvbGFuZy9TdHJpbmc7eHB0AANVU0Q=";
+	
+	
+	/**
+	 * {@link Money}が{@link Ser}を経由してシリアライズ・デシリアライズできることを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test01_roundTrip() throws Exception {
+		Money[] values = {
+			Money.valueOf(new BigDecimal("12.34"), USD),
+			Money.valueOf(new BigDecimal("-0.01"), USD),
+			Money.valueOf(new BigDecimal("1000"), JPY),
+			Money.zero(JPY),
+			Money.valueOf(new BigDecimal(Long.MAX_VALUE), JPY),
+			Money.valueOf(new BigDecimal(Long.MIN_VALUE), JPY),
+			Money.valueOf(new BigDecimal("123456789012345678901234567890.12"), USD),
+			Money.valueOf(new BigDecimal("-123456789012345678901234567890"), JPY)
+		};
+		for (Money value : values) {
+			Money deserialized = (Money) SerializationTester.deserialize(SerializationTester.serialize(value));
+			assertThat(value.toString(), deserialized, is(value));
+			assertThat(value.toString(), deserialized.breachEncapsulationOfAmount(), is(value.breachEncapsulationOfAmount()));
+		}
+	}
+	
+	/**
+	 * 既定の形式でシリアライズされた以前のバージョンのストリームを読み込めること、及び
+	 * シリアライズ形式がそれよりも小さいことを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test02_legacy() throws Exception {
+		Money money = Money.valueOf(new BigDecimal("12.34"), USD);
+		byte[] legacy = Base64.getDecoder().decode(LEGACY_MONEY);
+		assertThat(SerializationTester.deserialize(legacy), is((Object) money));
+		
+		int size = SerializationTester.serializedSize(money);
+		assertTrue(size + " >= " + legacy.length, size < legacy.length);
+	}
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.money.schedule;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import jp.xet.baseunits.money.Money;
+import jp.xet.baseunits.money.Proration;
+import jp.xet.baseunits.time.BusinessCalendar;
+import jp.xet.baseunits.time.CalendarDate;
+import jp.xet.baseunits.time.CalendarInterval;
+import jp.xet.baseunits.time.DayOfMonth;
+import jp.xet.baseunits.time.spec.DateSpecification;
+import jp.xet.baseunits.time.spec.DateSpecifications;
+import jp.xet.baseunits.time.spec.MonthlyFixedBusinessDateSpecification.Shifter;
+
+import org.junit.Test;
+
+/**
+ * {@link InstallmentSchedule}のテストクラス。
+ */
+public class InstallmentScheduleTest {
+	
+	private static final CalendarInterval YEAR_2020 = CalendarInterval.inclusive(2020, 1, 1, 2020, 12, 31);
+	
+	
+	/**
+	 * 支払額と支払日が、既存の按分・営業日調整と一致すること。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test01_Schedule() throws Exception {
+		BusinessCalendar cal = new BusinessCalendar();
+		for (Shifter shifter : Shifter.values()) {
+			InstallmentSchedule schedule =
+					InstallmentSchedule.of(Money.yens(53), 5, DateSpecifications.fixed(15), YEAR_2020, cal, shifter);
+			assertThat(schedule.getCount(), is(5));
+			assertThat(schedule.getPrincipal(), is(Money.yens(53)));
+			
+			Money[] amounts = Proration.dividedEvenlyIntoParts(Money.yens(53), 5);
+			Iterator<CalendarDate> dates =
+					DateSpecifications.fixedBusiness(DayOfMonth.valueOf(15), shifter, cal).iterateOver(YEAR_2020);
+			int number = 0;
+			for (Installment installment : schedule) {
+				number++;
+				assertThat(installment.getNumber(), is(number));
+				assertThat(installment.getAmount(), is(amounts[number - 1]));
+				assertThat(installment.getDate(), is(dates.next()));
+				assertThat(schedule.get(number), is(installment));
+			}
+			assertThat(number, is(5));
+		}
+		
+		// 2020-02-15は土曜日
+		InstallmentSchedule prev =
+				InstallmentSchedule.of(Money.yens(53), 5, DateSpecifications.fixed(15), YEAR_2020, cal, Shifter.PREV);
+		assertThat(prev.get(2).getDate(), is(CalendarDate.from(2020, 2, 14)));
+		InstallmentSchedule next =
+				InstallmentSchedule.of(Money.yens(53), 5, DateSpecifications.fixed(15), YEAR_2020, cal, Shifter.NEXT);
+		assertThat(next.get(2).getDate(), is(CalendarDate.from(2020, 2, 17)));
+	}
+	
+	/**
+	 * {@link InstallmentSchedule#stream()}及び{@link InstallmentSchedule#withPrincipal(Money)}のテスト。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test02_StreamAndWithPrincipal() throws Exception {
+		DateSpecification spec = DateSpecifications.fixed(1);
+		InstallmentSchedule schedule = InstallmentSchedule.of(Money.dollars(100.00), 12, spec, YEAR_2020);
+		assertThat(schedule.getDates().get(11), is(CalendarDate.from(2020, 12, 1)));
+		
+		List<Money> amounts = schedule.stream().map(new Function<Installment, Money>() {
+			
+			@Override
+			public Money apply(Installment installment) {
+				return installment.getAmount();
+			}
+		}).collect(Collectors.<Money> toList());
+		assertThat(amounts.size(), is(12));
+		assertThat(amounts.get(0), is(Money.dollars(8.34)));
+		assertThat(amounts.get(3), is(Money.dollars(8.34)));
+		assertThat(amounts.get(4), is(Money.dollars(8.33)));
+		assertThat(Money.sum(amounts), is(Money.dollars(100.00)));
+		
+		InstallmentSchedule negative = schedule.withPrincipal(Money.dollars(-100.00));
+		assertThat(negative.getDates(), is(schedule.getDates()));
+		assertThat(negative.get(1).getAmount(), is(Money.dollars(-8.34)));
+		assertThat(negative.get(12).getAmount(), is(Money.dollars(-8.33)));
+		assertThat(Money.sum(negative.stream().map(new Function<Installment, Money>() {
+			
+			@Override
+			public Money apply(Installment installment) {
+				return installment.getAmount();
+			}
+		}).collect(Collectors.<Money> toList())), is(Money.dollars(-100.00)));
+		Money[] expected = Proration.dividedEvenlyIntoParts(Money.dollars(-100.00), 12);
+		for (int number = 1; number <= 12; number++) {
+			assertThat(negative.get(number).getAmount(), is(expected[number - 1]));
+		}
+	}
+	
+	/**
+	 * 期間内で暦日仕様を満たす暦日が足りない場合は例外とする。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test03_NotEnoughDates() throws Exception {
+		try {
+			InstallmentSchedule.of(Money.yens(100), 13, DateSpecifications.fixed(1), YEAR_2020);
+			fail();
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+		try {
+			InstallmentSchedule.of(Money.yens(100), 0, DateSpecifications.fixed(1), YEAR_2020);
+			fail();
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+		InstallmentSchedule schedule = InstallmentSchedule.of(Money.yens(100), 12, DateSpecifications.fixed(1), YEAR_2020);
+		try {
+			schedule.get(13);
+			fail();
+		} catch (IndexOutOfBoundsException e) {
+			// success
+		}
+	}
+}
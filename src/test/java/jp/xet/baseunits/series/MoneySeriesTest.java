@@ -0,0 +1,269 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.series;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+
+import jp.xet.baseunits.money.Money;
+import jp.xet.baseunits.time.CalendarDate;
+import jp.xet.baseunits.time.CalendarInterval;
+import jp.xet.baseunits.time.Duration;
+import jp.xet.baseunits.time.TimePoint;
+import jp.xet.baseunits.time.TimePointInterval;
+import jp.xet.baseunits.util.TimeZones;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link MoneySeries}のテストクラス。
+ */
+public class MoneySeriesTest {
+	
+	private static final Currency JPY = Currency.getInstance("JPY");
+	
+	private static final Currency USD = Currency.getInstance("USD");
+	
+	private static final TimeZone TOKYO = TimeZone.getTimeZone("Asia/Tokyo");
+	
+	/** セグメントを跨ぐ読み書きを検証するため、小さなセグメントを用いる */
+	private static final int SEGMENT_BYTES = 64;
+	
+	private Path directory;
+	
+	
+	/**
+	 * テストの準備を行う。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Before
+	public void setUp() throws Exception {
+		directory = Files.createTempDirectory("money-series");
+	}
+	
+	/**
+	 * テストの後始末を行う。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@After
+	public void tearDown() throws Exception {
+		for (Path file : Files.newDirectoryStream(directory)) {
+			Files.delete(file);
+		}
+		Files.delete(directory);
+	}
+	
+	/**
+	 * 追記した要素を読み出せること、及び再度開いた後も保持されていることを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test01_appendAndReopen() throws Exception {
+		Random random = new Random(0);
+		int count = 5000;
+		long[] times = new long[count];
+		long[] amounts = new long[count];
+		MoneySeries series = MoneySeries.open(directory, SEGMENT_BYTES);
+		try {
+			long time = TimePoint.atUTC(2019, 1, 1, 0, 0).toEpochMillisec();
+			for (int i = 0; i < count; i++) {
+				time += random.nextInt(100000);
+				times[i] = time;
+				amounts[i] = random.nextInt(2000000) - 1000000;
+				series.append(time, amounts[i], i % 3 == 0 ? USD : JPY);
+			}
+			series.flush();
+		} finally {
+			series.close();
+		}
+		
+		series = MoneySeries.open(directory, SEGMENT_BYTES);
+		try {
+			assertThat(series.size(), is((long) count));
+			assertThat(series.getCurrencies(), is(Arrays.asList(USD, JPY)));
+			for (int i = 0; i < count; i++) {
+				assertThat(series.getEpochMillis(i), is(times[i]));
+				assertThat(series.getMinorUnits(i), is(amounts[i]));
+				assertThat(series.getCurrency(i), is(i % 3 == 0 ? USD : JPY));
+			}
+			series.append(times[count - 1], 1, JPY);
+			assertThat(series.size(), is(count + 1L));
+		} finally {
+			series.close();
+		}
+	}
+	
+	/**
+	 * {@link MoneySeries#append(TimePoint, Money)}のテスト。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test02_appendMoney() throws Exception {
+		MoneySeries series = MoneySeries.open(directory, SEGMENT_BYTES);
+		try {
+			TimePoint timePoint = TimePoint.atUTC(2019, 3, 5, 0, 0);
+			series.append(timePoint, Money.dollars(12.34));
+			assertThat(series.getTimePoint(0), is(timePoint));
+			assertThat(series.getMinorUnits(0), is(1234L));
+			assertThat(series.getMoney(0), is(Money.dollars(12.34)));
+			
+			try {
+				series.append(timePoint.minus(Duration.milliseconds(1)), Money.dollars(1));
+				fail();
+			} catch (IllegalArgumentException e) {
+				// success
+			}
+			try {
+				series.append(timePoint, Money.valueOf(new BigDecimal("1E+30"), JPY));
+				fail();
+			} catch (ArithmeticException e) {
+				// success
+			}
+			try {
+				series.getMoney(1);
+				fail();
+			} catch (IndexOutOfBoundsException e) {
+				// success
+			}
+			assertThat(series.size(), is(1L));
+		} finally {
+			series.close();
+		}
+	}
+	
+	/**
+	 * 期間による範囲の特定と走査が、全要素の線形走査と一致することを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test03_rangeScan() throws Exception {
+		Random random = new Random(1);
+		MoneySeries series = MoneySeries.open(directory, SEGMENT_BYTES);
+		try {
+			long time = 0;
+			for (int i = 0; i < 1000; i++) {
+				// 同じ瞬間の要素が連続する場合を含める
+				time += random.nextInt(3);
+				series.append(time, i, JPY);
+			}
+			for (int n = 0; n < 500; n++) {
+				long a = random.nextInt(2100) - 50;
+				long b = a + random.nextInt(100);
+				boolean aClosed = random.nextBoolean();
+				boolean bClosed = random.nextBoolean();
+				TimePoint lower = random.nextInt(10) == 0 ? null : TimePoint.from(a);
+				TimePoint upper = random.nextInt(10) == 0 ? null : TimePoint.from(b);
+				TimePointInterval interval = TimePointInterval.over(lower, aClosed, upper, bClosed);
+				
+				final List<Long> visited = new ArrayList<Long>();
+				series.forEach(interval, new MoneySeriesVisitor() {
+					
+					@Override
+					public void visit(long index, long epochMillis, long minorUnits, Currency currency) {
+						visited.add(index);
+					}
+				});
+				List<Long> expected = new ArrayList<Long>();
+				long sum = 0;
+				for (long i = 0; i < series.size(); i++) {
+					if (interval.includes(series.getTimePoint(i))) {
+						expected.add(i);
+						sum += series.getMinorUnits(i);
+					}
+				}
+				assertThat(interval.toString(), visited, is(expected));
+				assertThat(interval.toString(), series.sumMinorUnits(interval, JPY), is(sum));
+				assertThat(interval.toString(), series.sumMinorUnits(interval, USD), is(0L));
+			}
+		} finally {
+			series.close();
+		}
+	}
+	
+	/**
+	 * 暦日の期間毎の合計のテスト。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test04_sumByDay() throws Exception {
+		MoneySeries series = MoneySeries.open(directory, SEGMENT_BYTES);
+		try {
+			// 2019-03-05T00:00 JST (= 2019-03-04T15:00 UTC) から6時間毎に12件
+			TimePoint start = TimePoint.at(2019, 3, 5, 0, 0, 0, 0, TOKYO);
+			for (int i = 0; i < 12; i++) {
+				series.append(start.plus(Duration.hours(6 * i)), Money.valueOf(new BigDecimal(100 * (i + 1)), JPY));
+			}
+			CalendarInterval days = CalendarInterval.inclusive(CalendarDate.from(2019, 3, 4), CalendarDate.from(2019, 3, 8));
+			
+			assertThat(series.sumByDay(days, TOKYO, JPY), is(Arrays.asList(
+					Money.valueOf(new BigDecimal(0), JPY),
+					Money.valueOf(new BigDecimal(1000), JPY),
+					Money.valueOf(new BigDecimal(2600), JPY),
+					Money.valueOf(new BigDecimal(4200), JPY),
+					Money.valueOf(new BigDecimal(0), JPY))));
+			assertThat(series.sumByDay(days, TimeZones.UNIVERSAL, JPY), is(Arrays.asList(
+					Money.valueOf(new BigDecimal(300), JPY),
+					Money.valueOf(new BigDecimal(1800), JPY),
+					Money.valueOf(new BigDecimal(3400), JPY),
+					Money.valueOf(new BigDecimal(2300), JPY),
+					Money.valueOf(new BigDecimal(0), JPY))));
+			assertThat(series.sum(days.subintervalIterator(Duration.days(2)), TOKYO, JPY), is(Arrays.asList(
+					Money.valueOf(new BigDecimal(1000), JPY),
+					Money.valueOf(new BigDecimal(6800), JPY))));
+			assertThat(series.sumByDay(days, TOKYO, USD).get(1), is(Money.valueOf(BigDecimal.ZERO, USD)));
+		} finally {
+			series.close();
+		}
+	}
+	
+	/**
+	 * 形式の異なるファイルを開いた場合に例外が発生することを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test05_illegalFormat() throws Exception {
+		Files.write(directory.resolve("header"), new byte[] {
+			1, 2, 3, 4, 0, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0
+		});
+		try {
+			MoneySeries.open(directory, SEGMENT_BYTES);
+			fail();
+		} catch (IOException e) {
+			// success
+		}
+	}
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.spring;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.Field;
+import java.util.Random;
+import java.util.TimeZone;
+
+import jp.xet.baseunits.time.CalendarDate;
+import jp.xet.baseunits.time.CalendarMonth;
+import jp.xet.baseunits.time.Duration;
+import jp.xet.baseunits.time.TimeOfDay;
+import jp.xet.baseunits.time.TimePoint;
+import jp.xet.baseunits.time.TimeUnit;
+import jp.xet.baseunits.util.TimeZones;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.convert.ConversionFailedException;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.format.support.DefaultFormattingConversionService;
+
+/**
+ * {@link BaseunitsFormatterRegistrar}のテストクラス。
+ */
+public class BaseunitsFormatterRegistrarTest {
+	
+	private DefaultFormattingConversionService conversionService;
+	
+	
+	/**
+	 * テストの準備を行う。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Before
+	public void setUp() throws Exception {
+		conversionService = new DefaultFormattingConversionService();
+		new BaseunitsFormatterRegistrar().registerFormatters(conversionService);
+	}
+	
+	/**
+	 * 既定の形式による変換のテスト。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test01_defaultFormats() throws Exception {
+		assertThat(conversionService.convert("2019-03-05", CalendarDate.class), is(CalendarDate.from(2019, 3, 5)));
+		assertThat(conversionService.convert(CalendarDate.from(2019, 3, 5), String.class), is("2019-03-05"));
+		assertThat(conversionService.convert("2019-03", CalendarMonth.class), is(CalendarMonth.from(2019, 3)));
+		assertThat(conversionService.convert(CalendarMonth.from(2019, 3), String.class), is("2019-03"));
+		assertThat(conversionService.convert("15:20", TimeOfDay.class), is(TimeOfDay.from(15, 20)));
+		assertThat(conversionService.convert(TimeOfDay.from(15, 20), String.class), is("15:20"));
+		assertThat(conversionService.convert("2019-03-05T15:20:30Z", TimePoint.class),
+				is(TimePoint.atUTC(2019, 3, 5, 15, 20, 30)));
+		assertThat(conversionService.convert("2019-03-06T00:20:30+09:00", TimePoint.class),
+				is(TimePoint.atUTC(2019, 3, 5, 15, 20, 30)));
+		assertThat(conversionService.convert(TimePoint.atUTC(2019, 3, 5, 15, 20, 30), String.class),
+				is("2019-03-05T15:20:30Z"));
+		assertThat(conversionService.convert("1500", Duration.class), is(Duration.milliseconds(1500)));
+		assertThat(conversionService.convert(Duration.seconds(2), String.class), is("2000"));
+		
+		String[] illegals = {
+			"2019/03/05",
+			"2019-03",
+			"x"
+		};
+		for (String illegal : illegals) {
+			try {
+				conversionService.convert(illegal, CalendarDate.class);
+				fail(illegal);
+			} catch (ConversionFailedException e) {
+				// success
+			}
+		}
+	}
+	
+	/**
+	 * パターンを設定した場合の変換のテスト。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test02_customPatterns() throws Exception {
+		BaseunitsFormatterRegistrar registrar = new BaseunitsFormatterRegistrar();
+		registrar.setCalendarDatePattern("yyyy/M/d");
+		registrar.setCalendarMonthPattern("yyyyMM");
+		registrar.setTimeOfDayPattern("HH:mm:ss");
+		registrar.setTimePointPattern("yyyy-MM-dd HH:mm");
+		registrar.setTimeZone(TimeZone.getTimeZone("Asia/Tokyo"));
+		registrar.setDurationUnit(TimeUnit.second);
+		DefaultFormattingConversionService service = new DefaultFormattingConversionService();
+		registrar.registerFormatters(service);
+		
+		assertThat(service.convert("2019/3/5", CalendarDate.class), is(CalendarDate.from(2019, 3, 5)));
+		assertThat(service.convert(CalendarDate.from(2019, 3, 5), String.class), is("2019/3/5"));
+		assertThat(service.convert("201903", CalendarMonth.class), is(CalendarMonth.from(2019, 3)));
+		assertThat(service.convert(TimeOfDay.from(15, 20, 30), String.class), is("15:20:30"));
+		assertThat(service.convert("2019-03-06 00:20", TimePoint.class), is(TimePoint.atUTC(2019, 3, 5, 15, 20)));
+		assertThat(service.convert(TimePoint.atUTC(2019, 3, 5, 15, 20), String.class), is("2019-03-06 00:20"));
+		assertThat(service.convert("90", Duration.class), is(Duration.seconds(90)));
+	}
+	
+	/**
+	 * {@link DateTimeFormat}で注釈したフィールドの変換のテスト。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test03_annotation() throws Exception {
+		TypeDescriptor date = new TypeDescriptor(Annotated.class.getDeclaredField("date"));
+		TypeDescriptor time = new TypeDescriptor(Annotated.class.getDeclaredField("time"));
+		TypeDescriptor timePoint = new TypeDescriptor(Annotated.class.getDeclaredField("timePoint"));
+		TypeDescriptor string = TypeDescriptor.valueOf(String.class);
+		
+		assertThat(conversionService.convert("20190305", string, date), is((Object) CalendarDate.from(2019, 3, 5)));
+		assertThat(conversionService.convert(CalendarDate.from(2019, 3, 5), date, string), is((Object) "20190305"));
+		assertThat(conversionService.convert("15:20:30.040", string, time),
+				is((Object) TimeOfDay.from(15, 20, 30, 40)));
+		assertThat(conversionService.convert(TimePoint.atUTC(2019, 3, 5, 15, 20, 30), timePoint, string),
+				is((Object) "2019-03-05T15:20:30Z"));
+	}
+	
+	/**
+	 * {@link TimePoint}の変換結果が、従来の{@link StringTimePointGenericConverter}による変換と一致することを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test04_compatibility() throws Exception {
+		DefaultFormattingConversionService legacy = new DefaultFormattingConversionService();
+		legacy.addConverter(new StringTimePointGenericConverter(TimePoint.ISO8601_FORMAT_UNIVERSAL, TimeZones.UNIVERSAL));
+		
+		Random random = new Random(0);
+		long from = TimePoint.atUTC(1600, 1, 1, 0, 0).toEpochMillisec();
+		long to = TimePoint.atUTC(9999, 1, 1, 0, 0).toEpochMillisec();
+		for (int i = 0; i < 10000; i++) {
+			TimePoint expected = TimePoint.from((from + (long) (random.nextDouble() * (to - from))) / 1000 * 1000);
+			String text = expected.toString(TimePoint.ISO8601_FORMAT_UNIVERSAL, TimeZones.UNIVERSAL);
+			assertThat(text, conversionService.convert(expected, String.class), is(text));
+			assertThat(text, conversionService.convert(text, TimePoint.class), is(expected));
+			assertThat(text, legacy.convert(text, TimePoint.class), is(expected));
+		}
+	}
+	
+	/**
+	 * {@link DateTimeFormat#iso()}を型毎に解釈し、タイムゾーンを一貫して用いることを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test05_annotationIso() throws Exception {
+		TypeDescriptor isoDate = new TypeDescriptor(Annotated.class.getDeclaredField("isoDate"));
+		TypeDescriptor isoMonth = new TypeDescriptor(Annotated.class.getDeclaredField("isoMonth"));
+		TypeDescriptor timePoint = new TypeDescriptor(Annotated.class.getDeclaredField("timePoint"));
+		TypeDescriptor defaultTimePoint = new TypeDescriptor(Annotated.class.getDeclaredField("defaultTimePoint"));
+		TypeDescriptor string = TypeDescriptor.valueOf(String.class);
+		
+		assertThat(conversionService.convert("2019-03-05", string, isoDate),
+				is((Object) CalendarDate.from(2019, 3, 5)));
+		assertThat(conversionService.convert(CalendarMonth.from(2019, 3), isoMonth, string), is((Object) "2019-03"));
+		
+		BaseunitsFormatterRegistrar registrar = new BaseunitsFormatterRegistrar();
+		registrar.setTimeZone(TimeZone.getTimeZone("Asia/Tokyo"));
+		DefaultFormattingConversionService service = new DefaultFormattingConversionService();
+		registrar.registerFormatters(service);
+		TimePoint expected = TimePoint.atUTC(2019, 3, 5, 15, 20, 30);
+		for (TypeDescriptor descriptor : new TypeDescriptor[] { timePoint, defaultTimePoint }) {
+			assertThat(service.convert(expected, descriptor, string), is((Object) "2019-03-06T00:20:30+09:00"));
+			assertThat(service.convert("2019-03-06T00:20:30+09:00", string, descriptor), is((Object) expected));
+			assertThat(service.convert("2019-03-05T15:20:30Z", string, descriptor), is((Object) expected));
+		}
+		
+		DateTimeFormatAnnotationFormatterFactory factory = new DateTimeFormatAnnotationFormatterFactory();
+		String[] illegals = {
+			"illegalDate",
+			"illegalMonth",
+			"illegalTime",
+			"illegalTimePoint"
+		};
+		for (String illegal : illegals) {
+			Field field = Annotated.class.getDeclaredField(illegal);
+			try {
+				factory.getPrinter(field.getAnnotation(DateTimeFormat.class), field.getType());
+				fail(illegal);
+			} catch (IllegalArgumentException e) {
+				// success
+			}
+		}
+	}
+	
+	
+	private static class Annotated {
+		
+		@DateTimeFormat(pattern = "yyyyMMdd")
+		CalendarDate date;
+		
+		@DateTimeFormat(iso = ISO.TIME)
+		TimeOfDay time;
+		
+		@DateTimeFormat(iso = ISO.DATE_TIME)
+		TimePoint timePoint;
+		
+		@DateTimeFormat(iso = ISO.DATE)
+		CalendarDate isoDate;
+		
+		@DateTimeFormat(iso = ISO.DATE)
+		CalendarMonth isoMonth;
+		
+		@DateTimeFormat
+		TimePoint defaultTimePoint;
+		
+		@DateTimeFormat(iso = ISO.TIME)
+		CalendarDate illegalDate;
+		
+		@DateTimeFormat(iso = ISO.DATE_TIME)
+		CalendarMonth illegalMonth;
+		
+		@DateTimeFormat(iso = ISO.DATE)
+		TimeOfDay illegalTime;
+		
+		@DateTimeFormat(iso = ISO.DATE)
+		TimePoint illegalTimePoint;
+	}
+}
@@ -66,4 +66,58 @@ public class SerializationTester {
 		}
 	}
 	
+	/**
+	 * シリアライズした結果のバイト列を返す。
+	 * 
+	 * @param serializable シリアライズ対象
+	 * @return シリアライズした結果のバイト列
+	 * @throws AssertionError シリアライズに失敗した場合
+	 */
+	public static byte[] serialize(Object serializable) {
+		ObjectOutputStream out = null;
+		ByteArrayOutputStream byteArrayOut = new ByteArrayOutputStream();
+		try {
+			out = new ObjectOutputStream(byteArrayOut);
+			out.writeObject(serializable);
+			out.flush();
+			return byteArrayOut.toByteArray();
+		} catch (IOException e) {
+			throw new AssertionError(e.getMessage(), e);
+		} finally {
+			IOUtils.closeQuietly(out);
+		}
+	}
+	
+	/**
+	 * バイト列をデシリアライズした結果を返す。
+	 * 
+	 * @param bytes シリアライズされたバイト列
+	 * @return デシリアライズした結果
+	 * @throws AssertionError デシリアライズに失敗した場合
+	 */
+	public static Object deserialize(byte[] bytes) {
+		ObjectInputStream in = null;
+		try {
+			in = new ObjectInputStream(new ByteArrayInputStream(bytes));
+			return in.readObject();
+		} catch (IOException e) {
+			throw new AssertionError(e.getMessage(), e);
+		} catch (ClassNotFoundException e) {
+			throw new AssertionError(e.getMessage(), e);
+		} finally {
+			IOUtils.closeQuietly(in);
+		}
+	}
+	
+	/**
+	 * シリアライズした結果のバイト数を返す。
+	 * 
+	 * @param serializable シリアライズ対象
+	 * @return シリアライズした結果のバイト数
+	 * @throws AssertionError シリアライズに失敗した場合
+	 */
+	public static int serializedSize(Object serializable) {
+		return serialize(serializable).length;
+	}
+	
 }
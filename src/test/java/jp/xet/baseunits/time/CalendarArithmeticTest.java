@@ -0,0 +1,190 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.time;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.Calendar;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * {@link CalendarArithmetic}のテストクラス。
+ * 
+ * <p>整数演算による暦日計算が、{@link Calendar}による従来の計算と一致することを検証する。</p>
+ */
+public class CalendarArithmeticTest {
+	
+	private static final CalendarDate START = CalendarDate.from(1500, 1, 1);
+	
+	private static final CalendarDate END = CalendarDate.from(2500, 12, 31);
+	
+	
+	/**
+	 * {@link CalendarArithmetic#toEpochDay(int, int, int)}及び
+	 * {@link CalendarArithmetic#toCalendarDate(long)}のテスト。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test01_epochDay() throws Exception {
+		assertThat(CalendarArithmetic.toEpochDay(1970, 1, 1), is(0L));
+		assertThat(CalendarArithmetic.toEpochDay(1969, 12, 31), is(-1L));
+		assertThat(CalendarArithmetic.toEpochDay(2000, 3, 1), is(11017L));
+		assertThat(CalendarArithmetic.toCalendarDate(0), is(CalendarDate.EPOCH_DATE));
+		assertThat(CalendarArithmetic.toCalendarDate(11016), is(CalendarDate.from(2000, 2, 29)));
+		
+		Calendar calendar = CalendarUtil.newCalendar();
+		calendar.set(CalendarArithmetic.MIN_YEAR, Calendar.JANUARY, 1);
+		for (long epochDay = CalendarArithmetic.MIN_EPOCH_DAY; epochDay < 365L * 1000; epochDay++) {
+			CalendarDate expected = CalendarDate.from(calendar);
+			assertThat(CalendarArithmetic.toCalendarDate(epochDay), is(expected));
+			assertThat(CalendarArithmetic.toEpochDay(expected.getYear(), expected.getMonthOfYear().value,
+					expected.getDayOfMonth().value), is(epochDay));
+			assertThat(CalendarArithmetic.isoDayOfWeek(epochDay),
+					is(expected.dayOfWeek().ordinal() + 1));
+			calendar.add(Calendar.DATE, 1);
+		}
+	}
+	
+	/**
+	 * {@link CalendarDate#plusDays(int)}及び{@link CalendarDate#plusMonths(int)}が、
+	 * {@link Calendar}による計算と一致することを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test02_calendarDate_differential() throws Exception {
+		Random random = new Random(0);
+		for (CalendarDate date = START; date.isBeforeOrEquals(END); date = date.plusDays(random.nextInt(5) + 1)) {
+			int days = random.nextInt(200000) - 100000;
+			int months = random.nextInt(12000) - 6000;
+			assertThat(date.toString(), date.plusDays(days), is(plusDaysByCalendar(date, days)));
+			assertThat(date.toString(), date.plusMonths(months), is(plusMonthsByCalendar(date, months)));
+			assertThat(date.toString(), date.asCalendarWeek(), is(calendarWeekByCalendar(date)));
+		}
+	}
+	
+	/**
+	 * {@link Duration#addedTo(CalendarDate)}及び{@link Duration#subtractedFrom(CalendarDate)}が、
+	 * {@link Calendar}による計算と一致することを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test03_duration_differential() throws Exception {
+		Random random = new Random(0);
+		TimeUnit[] units = {
+			TimeUnit.day,
+			TimeUnit.week,
+			TimeUnit.month,
+			TimeUnit.quarter,
+			TimeUnit.year
+		};
+		for (CalendarDate date = START; date.isBeforeOrEquals(END); date = date.plusDays(random.nextInt(5) + 1)) {
+			TimeUnit unit = units[random.nextInt(units.length)];
+			Duration duration = Duration.valueOf(random.nextInt(500), unit);
+			assertThat(duration + " " + date, duration.addedTo(date), is(addByCalendar(date, duration, 1)));
+			assertThat(duration + " " + date, duration.subtractedFrom(date), is(addByCalendar(date, duration, -1)));
+			
+			CalendarMonth month = date.asCalendarMonth();
+			assertThat(duration + " " + month, duration.addedTo(month), is(addByCalendar(month, duration)));
+		}
+	}
+	
+	/**
+	 * {@link CalendarMonth#plusMonths(int)}及び{@link CalendarWeek#plusWeeks(int)}が、
+	 * {@link Calendar}による計算と一致することを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test04_calendarMonth_calendarWeek_differential() throws Exception {
+		Random random = new Random(0);
+		for (CalendarMonth month = START.asCalendarMonth(); month.isAfter(END.asCalendarMonth()) == false; month =
+				month.nextMonth()) {
+			int months = random.nextInt(12000) - 6000;
+			assertThat(month.toString(), month.plusMonths(months), is(plusMonthsByCalendar(month, months)));
+		}
+		for (CalendarWeek week = CalendarWeek.from(1600, 1); week.isBefore(END.asCalendarWeek()); week =
+				week.nextWeek()) {
+			int weeks = random.nextInt(20000) - 10000;
+			assertThat(week.toString(), week.plusWeeks(weeks), is(plusWeeksByCalendar(week, weeks)));
+		}
+	}
+	
+	private CalendarDate addByCalendar(CalendarDate date, Duration duration, int sign) {
+		if (duration.unit.compareTo(TimeUnit.day) < 0) {
+			return date;
+		}
+		Calendar calendar = date.asJavaCalendarUniversalZoneMidnight();
+		if (duration.unit.isConvertibleToMilliseconds()) {
+			calendar.setTimeInMillis(calendar.getTimeInMillis() + sign * duration.inBaseUnits());
+		} else {
+			calendar.add(Calendar.MONTH, sign * (int) duration.inBaseUnits());
+		}
+		return CalendarDate.from(calendar);
+	}
+	
+	private CalendarMonth addByCalendar(CalendarMonth month, Duration duration) {
+		if (duration.unit.compareTo(TimeUnit.month) < 0) {
+			return month;
+		}
+		Calendar calendar = month.asJavaCalendarUniversalZoneMidnight();
+		calendar.add(Calendar.MONTH, (int) duration.inBaseUnits());
+		return CalendarMonth.from(calendar);
+	}
+	
+	private CalendarWeek calendarWeekByCalendar(CalendarDate date) {
+		Calendar calendar = date.asJavaCalendarUniversalZoneMidnight();
+		int year = calendar.get(Calendar.YEAR);
+		int weekOfYear = calendar.get(Calendar.WEEK_OF_YEAR);
+		if (calendar.get(Calendar.MONTH) == Calendar.JANUARY) {
+			if (weekOfYear >= 52) {
+				--year;
+			}
+		} else if (weekOfYear == 1) {
+			++year;
+		}
+		return CalendarWeek.from(year, weekOfYear);
+	}
+	
+	private CalendarDate plusDaysByCalendar(CalendarDate date, int days) {
+		Calendar calendar = date.asJavaCalendarUniversalZoneMidnight();
+		calendar.add(Calendar.DATE, days);
+		return CalendarDate.from(calendar);
+	}
+	
+	private CalendarDate plusMonthsByCalendar(CalendarDate date, int months) {
+		Calendar calendar = date.asJavaCalendarUniversalZoneMidnight();
+		calendar.add(Calendar.MONTH, months);
+		return CalendarDate.from(calendar);
+	}
+	
+	private CalendarMonth plusMonthsByCalendar(CalendarMonth month, int months) {
+		Calendar calendar = month.asJavaCalendarUniversalZoneMidnight();
+		calendar.add(Calendar.MONTH, months);
+		return CalendarMonth.from(calendar);
+	}
+	
+	private CalendarWeek plusWeeksByCalendar(CalendarWeek week, int weeks) {
+		Calendar calendar = week.asJavaCalendarUniversalZoneMidnight();
+		calendar.add(Calendar.WEEK_OF_YEAR, weeks);
+		return calendarWeekByCalendar(CalendarDate.from(calendar));
+	}
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.time;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+import jp.xet.baseunits.util.TimeZones;
+
+import org.junit.Test;
+
+/**
+ * {@link DatePattern}のテストクラス。
+ * 
+ * <p>{@link DatePattern}による整形・解析が、{@link SimpleDateFormat}による結果と一致することを検証する。</p>
+ */
+public class DatePatternTest {
+	
+	private static final String[] PATTERNS = {
+		"yyyy-MM-dd",
+		"yyyy-MM",
+		"yyyy/M/d",
+		"yyyyMMdd",
+		"yy-MM-dd",
+		"y",
+		"yyyyy",
+		"GGGG yyyy MMMM d EEEE",
+		"MMM d, yyyy (EEE)",
+		"yyyy'年'M'月'd'日'",
+		"'It''s' yyyy '''quoted''' D F u",
+		"HH:mm",
+		"HH:mm:ss,SSS",
+		"h:mm a",
+		"K:mm k:mm S SSSS",
+		"yyyy-MM-dd'T'HH:mm:ss.SSS",
+		"yyyy-MM-dd'T'HH:mm:ss'Z'",
+		"yyyy-MM-dd'T'HH:mm:ssZ",
+		"YYYY-'W'ww-u",
+		"L LLL LLLL W z X"
+	};
+	
+	private static final Locale[] LOCALES = {
+		Locale.ROOT,
+		Locale.US,
+		Locale.JAPAN,
+		Locale.FRANCE,
+		Locale.GERMANY,
+		new Locale("ru"),
+		new Locale("ar"),
+		new Locale("th", "TH", "TH"),
+		new Locale("ja", "JP", "JP")
+	};
+	
+	
+	/**
+	 * {@link DatePattern#compile(String)}のテスト。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test01_compile() throws Exception {
+		assertThat(DatePattern.compile("yyyy-MM-dd"), is(sameInstance(DatePattern.compile("yyyy-MM-dd"))));
+		assertThat(DatePattern.compile("yyyy-MM-dd").getPattern(), is("yyyy-MM-dd"));
+		
+		String[] illegals = {
+			"yyyy-MM-dd q",
+			"yyyy 'unterminated"
+		};
+		for (String illegal : illegals) {
+			try {
+				DatePattern.compile(illegal);
+				fail(illegal);
+			} catch (IllegalArgumentException e) {
+				// success
+			}
+		}
+	}
+	
+	/**
+	 * {@link DatePattern#format(CalendarDate, Locale)}、{@link DatePattern#format(CalendarMonth, Locale)}及び
+	 * {@link DatePattern#format(TimeOfDay, Locale)}が、{@link SimpleDateFormat}による整形と一致することを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test02_format() throws Exception {
+		Random random = new Random(0);
+		for (String pattern : PATTERNS) {
+			DatePattern compiled = DatePattern.compile(pattern);
+			for (Locale locale : LOCALES) {
+				for (int i = 0; i < 300; i++) {
+					CalendarDate date = CalendarArithmetic.toCalendarDate(random.nextInt(365 * 600) - 365 * 200);
+					TimeOfDay time = TimeOfDay.from(random.nextInt(86400000));
+					String reason = pattern + " " + locale + " " + date + " " + time;
+					
+					TimePoint datePoint = date.startAsTimePoint(TimeZones.UNIVERSAL);
+					assertThat(reason, compiled.format(date, locale),
+							is(datePoint.toString(pattern, locale, TimeZones.UNIVERSAL)));
+					
+					CalendarMonth month = date.asCalendarMonth();
+					TimePoint monthPoint = month.asTimePoint(TimeZones.UNIVERSAL);
+					assertThat(reason, compiled.format(month, locale),
+							is(monthPoint.toString(pattern, locale, TimeZones.UNIVERSAL)));
+					
+					TimePoint timePoint = time.asTimePointGiven(CalendarDate.EPOCH_DATE, TimeZones.UNIVERSAL);
+					assertThat(reason, compiled.format(time, locale),
+							is(timePoint.toString(pattern, locale, TimeZones.UNIVERSAL)));
+				}
+			}
+		}
+	}
+	
+	/**
+	 * {@link DatePattern#formatTo(CalendarDate, Locale, StringBuilder)}のテスト。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test03_formatTo() throws Exception {
+		StringBuilder sb = new StringBuilder("date: ");
+		DatePattern.compile("yyyy-MM-dd").formatTo(CalendarDate.from(2019, 3, 5), Locale.ROOT, sb);
+		sb.append(", time: ");
+		DatePattern.compile("HH:mm").formatTo(TimeOfDay.from(9, 7), Locale.ROOT, sb);
+		assertThat(sb.toString(), is("date: 2019-03-05, time: 09:07"));
+		
+		// グレゴリオ暦への切替以前の年は、SimpleDateFormatによる整形に委譲する
+		assertThat(DatePattern.compile("yyyy-MM-dd").format(CalendarDate.from(1000, 1, 1), Locale.ROOT),
+				is(CalendarDate.from(1000, 1, 1).startAsTimePoint(TimeZones.UNIVERSAL)
+					.toString("yyyy-MM-dd", Locale.ROOT, TimeZones.UNIVERSAL)));
+	}
+	
+	/**
+	 * {@link DatePattern#parseCalendarDate(String)}、{@link DatePattern#parseCalendarMonth(String)}及び
+	 * {@link DatePattern#parseTimeOfDay(String)}が、{@link SimpleDateFormat}による解析と一致することを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test04_parse() throws Exception {
+		String[][] cases = {
+			{
+				"yyyy-MM-dd",
+				"2019-03-05",
+				"2019-3-5",
+				"2019-03-05 trailing",
+				"2019-02-29",
+				"2019-13-01",
+				"2019-00-10",
+				"1500-01-01",
+				"12-03-05",
+				"+2019-03-05",
+				"2019-03",
+				"2019/03/05",
+				"",
+				"x"
+			},
+			{
+				"yyyyMMdd",
+				"20190305",
+				"2019035",
+				"201903051",
+				"2019 0305"
+			},
+			{
+				"yyyy-MM",
+				"2019-03",
+				"2019-3",
+				"2019-003",
+				"2019-12-31"
+			},
+			{
+				"yyyy-MM-dd HH:mm:ss.SSS",
+				"2019-03-05 23:59:59.999",
+				"2019-03-05 24:00:00.000",
+				"2019-03-05 12:60:00.000",
+				"2019-03-05 1:2:3.4",
+				"2019-03-05 12:00:00.1234"
+			},
+			{
+				"HH:mm",
+				"15:20",
+				"15:20:30",
+				"25:00",
+				"9:5",
+				"0000000015:20",
+				"1500000000000:20"
+			},
+			{
+				"HHmmss",
+				"152030",
+				"15203",
+				"1520301"
+			},
+			{
+				"HH時mm分",
+				"15時20分",
+				"15時から20分"
+			},
+			{
+				"yy-MM-dd",
+				"19-03-05",
+				"2019-03-05"
+			},
+			{
+				"MMM d, yyyy",
+				"Mar 5, 2019"
+			}
+		};
+		for (String[] c : cases) {
+			String pattern = c[0];
+			DatePattern compiled = DatePattern.compile(pattern);
+			for (int i = 1; i < c.length; i++) {
+				String text = c[i];
+				String reason = pattern + " " + text;
+				TimePoint expected;
+				try {
+					expected = TimePoint.parse(text, pattern, TimeZones.UNIVERSAL);
+				} catch (ParseException e) {
+					expected = null;
+				}
+				TimeZone zone = TimeZones.UNIVERSAL;
+				assertThat(reason, parseDate(compiled, text), is(expected == null ? null : expected.asCalendarDate(zone)));
+				assertThat(reason, parseMonth(compiled, text),
+						is(expected == null ? null : CalendarMonth.from(expected, zone)));
+				assertThat(reason, String.valueOf(parseTime(compiled, text)),
+						is(String.valueOf(expected == null ? null : expected.asTimeOfDay(zone))));
+			}
+		}
+	}
+	
+	/**
+	 * {@link CalendarDate}、{@link CalendarMonth}及び{@link TimeOfDay}の{@code toString}と{@code parse}が、
+	 * {@link DatePattern}を経由しても従来と同じ結果となることを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test05_valueObjects() throws Exception {
+		assertThat(CalendarDate.from(2019, 3, 5).toString(), is("2019-03-05"));
+		assertThat(CalendarDate.from(2019, 3, 5).toString("M/d", Locale.US), is("3/5"));
+		assertThat(CalendarMonth.from(2019, 3).toString(), is("2019-03"));
+		assertThat(CalendarMonth.from(2019, 3).toString("MMMM yyyy", Locale.US), is("March 2019"));
+		assertThat(TimeOfDay.from(15, 20, 30, 40).toString("HH:mm:ss.SSS"), is("15:20:30.040"));
+		
+		assertThat(CalendarDate.parse("2019-03-05"), is(CalendarDate.from(2019, 3, 5)));
+		assertThat(CalendarDate.parse("2019/3/5", "yyyy/M/d"), is(CalendarDate.from(2019, 3, 5)));
+		assertThat(CalendarMonth.parse("2019-03"), is(CalendarMonth.from(2019, 3)));
+		assertThat(TimeOfDay.parse("15:20", "HH:mm"), is(TimeOfDay.from(15, 20)));
+	}
+	
+	/**
+	 * 数字のフィールドが隣接するパターンも、{@link java.text.SimpleDateFormat}に委ねずに解析できることを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test06_adjacentNumericFields() throws Exception {
+		DatePattern.Parsed date = DatePattern.compile("yyyyMMdd").parseFields("20190305");
+		assertThat(date == null, is(false));
+		assertThat(date.year, is(2019));
+		assertThat(date.month, is(3));
+		assertThat(date.day, is(5));
+		
+		DatePattern.Parsed time = DatePattern.compile("HHmmss").parseFields("152030");
+		assertThat(time == null, is(false));
+		assertThat(time.hour, is(15));
+		assertThat(time.minute, is(20));
+		assertThat(time.second, is(30));
+		
+		assertThat(DatePattern.compile("yyyy-MM-dd").parseFields("2019-03-05") == null, is(false));
+		// 最後のフィールドは桁数に従わないため、桁数が多すぎる場合はSimpleDateFormatに委ねる
+		assertThat(DatePattern.compile("yyyyMMdd").parseFields("201903051") == null, is(true));
+	}
+	
+	private CalendarDate parseDate(DatePattern pattern, String text) {
+		try {
+			return pattern.parseCalendarDate(text);
+		} catch (ParseException e) {
+			return null;
+		}
+	}
+	
+	private CalendarMonth parseMonth(DatePattern pattern, String text) {
+		try {
+			return pattern.parseCalendarMonth(text);
+		} catch (ParseException e) {
+			return null;
+		}
+	}
+	
+	private TimeOfDay parseTime(DatePattern pattern, String text) {
+		try {
+			return pattern.parseTimeOfDay(text);
+		} catch (ParseException e) {
+			return null;
+		}
+	}
+}
@@ -436,6 +436,9 @@ public class DurationTest {
 		
 		Duration d2 = Duration.hours(49);
 		assertThat(d2.to(TimeUnit.day), is(2L));
+		assertThat(Duration.months(14).to(TimeUnit.year), is(1L));
+		assertThat(Duration.milliseconds(Long.MAX_VALUE).to(TimeUnit.second), is(Long.MAX_VALUE / 1000));
+		assertThat(Duration.days(703).to(TimeUnit.week), is(100L));
 		
 		Duration d3 = Duration.months(1);
 		try {
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.time;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.text.ParseException;
+import java.util.Locale;
+import java.util.Random;
+
+import jp.xet.baseunits.util.TimeZones;
+
+import org.junit.Test;
+
+/**
+ * {@link IsoCodec}のテストクラス。
+ */
+public class IsoCodecTest {
+	
+	/**
+	 * {@link IsoCodec#formatTo(TimePoint, boolean, char[], int)}及び{@link IsoCodec#parseTimePoint(CharSequence)}が、
+	 * {@link java.text.SimpleDateFormat}による整形と一致することを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test01_timePoint() throws Exception {
+		Random random = new Random(0);
+		long from = TimePoint.atUTC(1584, 1, 1, 0, 0).toEpochMillisec();
+		long to = TimePoint.atUTC(9999, 12, 31, 23, 59, 59, 999).toEpochMillisec();
+		char[] buf = new char[32];
+		for (int i = 0; i < 10000; i++) {
+			TimePoint timePoint = TimePoint.from(from + (long) (random.nextDouble() * (to - from)));
+			
+			int end = IsoCodec.formatTo(timePoint, true, buf, 2);
+			assertThat(end, is(2 + IsoCodec.TIME_POINT_MILLIS_LENGTH));
+			String withMillis = new String(buf, 2, end - 2);
+			assertThat(withMillis,
+					is(timePoint.toString("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.ROOT, TimeZones.UNIVERSAL)));
+			assertThat(IsoCodec.parseTimePoint(withMillis), is(timePoint));
+			
+			end = IsoCodec.formatTo(timePoint, false, buf, 0);
+			assertThat(end, is(IsoCodec.TIME_POINT_LENGTH));
+			assertThat(new String(buf, 0, end), is(timePoint.toString(TimeZones.UNIVERSAL)));
+		}
+		
+		TimePoint expected = TimePoint.atUTC(2019, 3, 5, 3, 4, 5, 600);
+		assertThat(IsoCodec.parseTimePoint("2019-03-05T03:04:05.6Z"), is(expected));
+		assertThat(IsoCodec.parseTimePoint("2019-03-05T03:04:05.600999999Z"), is(expected));
+		assertThat(IsoCodec.parseTimePoint("2019-03-05T12:04:05.600+09:00"), is(expected));
+		assertThat(IsoCodec.parseTimePoint("2019-03-05T12:04:05.600+0900"), is(expected));
+		assertThat(IsoCodec.parseTimePoint("2019-03-04T22:34:05.600-04:30"), is(expected));
+		assertThat(IsoCodec.parseTimePoint("1970-01-01T00:00:00Z"), is(TimePoint.EPOCH));
+	}
+	
+	/**
+	 * {@link IsoCodec#formatTo(CalendarDate, char[], int)}及び{@link IsoCodec#formatTo(CalendarMonth, char[], int)}
+	 * のテスト。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test02_calendar() throws Exception {
+		Random random = new Random(0);
+		char[] buf = new char[IsoCodec.DATE_LENGTH];
+		for (int i = 0; i < 10000; i++) {
+			CalendarDate date = CalendarArithmetic.toCalendarDate(random.nextInt(365 * 400) - 365 * 100);
+			assertThat(IsoCodec.formatTo(date, buf, 0), is(IsoCodec.DATE_LENGTH));
+			assertThat(new String(buf), is(date.toString()));
+			assertThat(IsoCodec.parseCalendarDate(date.toString()), is(date));
+			
+			CalendarMonth month = date.asCalendarMonth();
+			assertThat(IsoCodec.formatTo(month, buf, 0), is(IsoCodec.MONTH_LENGTH));
+			assertThat(new String(buf, 0, IsoCodec.MONTH_LENGTH), is(month.toString()));
+			assertThat(IsoCodec.parseCalendarMonth(month.toString()), is(month));
+		}
+		
+		IsoCodec.formatTo(CalendarDate.from(987, 6, 5), buf, 0);
+		assertThat(new String(buf), is("0987-06-05"));
+		try {
+			IsoCodec.formatTo(CalendarDate.from(10000, 1, 1), buf, 0);
+			fail();
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+	}
+	
+	/**
+	 * 不正な文字列を解析した場合に{@link ParseException}をスローすることを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test03_illegal() throws Exception {
+		String[] dates = {
+			"",
+			"2019-3-5",
+			"2019-03-05 ",
+			"2019/03/05",
+			"2019-02-29",
+			"2019-13-01",
+			"2019-00-01",
+			"2019-04-31",
+			"20x9-03-05"
+		};
+		for (String text : dates) {
+			try {
+				IsoCodec.parseCalendarDate(text);
+				fail(text);
+			} catch (ParseException e) {
+				// success
+			}
+		}
+		
+		String[] months = {
+			"2019-3",
+			"2019-13",
+			"2019-00",
+			"2019-03-05"
+		};
+		for (String text : months) {
+			try {
+				IsoCodec.parseCalendarMonth(text);
+				fail(text);
+			} catch (ParseException e) {
+				// success
+			}
+		}
+		
+		String[] timePoints = {
+			"2019-03-05T03:04:05",
+			"2019-03-05T03:04:05.Z",
+			"2019-03-05T03:04:05.6000000000Z",
+			"2019-03-05T24:00:00Z",
+			"2019-03-05T03:60:00Z",
+			"2019-03-05 03:04:05Z",
+			"2019-03-05T03:04:05+9",
+			"2019-03-05T03:04:05+09:00x",
+			"2019-03-05T03:04:05Zx",
+			"2019-02-29T03:04:05Z"
+		};
+		for (String text : timePoints) {
+			try {
+				IsoCodec.parseTimePoint(text);
+				fail(text);
+			} catch (ParseException e) {
+				// success
+			}
+		}
+	}
+	
+	/**
+	 * グレゴリオ暦への切替前後の暦日が、{@link CalendarDate}と同じ暦法で往復できることを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test04_cutover() throws Exception {
+		CalendarDate[] dates = {
+			CalendarDate.from(4, 2, 29), // CHECKSTYLE IGNORE THIS LINE
+			CalendarDate.from(1500, 2, 29), // CHECKSTYLE IGNORE THIS LINE
+			CalendarDate.from(1582, 10, 4), // CHECKSTYLE IGNORE THIS LINE
+			CalendarDate.from(1582, 10, 15), // CHECKSTYLE IGNORE THIS LINE
+			CalendarDate.from(1583, 12, 31), // CHECKSTYLE IGNORE THIS LINE
+			CalendarDate.from(1584, 1, 1), // CHECKSTYLE IGNORE THIS LINE
+			CalendarDate.from(1600, 2, 29) // CHECKSTYLE IGNORE THIS LINE
+		};
+		char[] buf = new char[IsoCodec.DATE_LENGTH];
+		for (CalendarDate date : dates) {
+			IsoCodec.formatTo(date, buf, 0);
+			String text = new String(buf);
+			assertThat(text, is(date.toString("yyyy-MM-dd")));
+			assertThat(IsoCodec.parseCalendarDate(text), is(date));
+		}
+		
+		String[] illegal = {
+			"1501-02-29",
+			"1700-02-29",
+			"1500-02-30"
+		};
+		for (String text : illegal) {
+			try {
+				IsoCodec.parseCalendarDate(text);
+				fail(text);
+			} catch (ParseException e) {
+				// success
+			}
+		}
+	}
+	
+	/**
+	 * {@link IsoCodec#canFormat(long)}が、{@link java.text.SimpleDateFormat}と整形結果が一致する範囲を判定することを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test05_canFormat() throws Exception {
+		long min = TimePoint.atUTC(1584, 1, 1, 0, 0).toEpochMillisec(); // CHECKSTYLE IGNORE THIS LINE
+		long max = TimePoint.atUTC(10000, 1, 1, 0, 0).toEpochMillisec(); // CHECKSTYLE IGNORE THIS LINE
+		assertThat(IsoCodec.canFormat(min - 1), is(false));
+		assertThat(IsoCodec.canFormat(min), is(true));
+		assertThat(IsoCodec.canFormat(0), is(true));
+		assertThat(IsoCodec.canFormat(max - 1), is(true));
+		assertThat(IsoCodec.canFormat(max), is(false));
+		
+		char[] buf = new char[IsoCodec.TIME_POINT_MILLIS_LENGTH];
+		for (long millis : new long[] { min, max - 1 }) {
+			TimePoint timePoint = TimePoint.from(millis);
+			IsoCodec.formatTo(timePoint, true, buf, 0);
+			assertThat(new String(buf),
+					is(timePoint.toString("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.ROOT, TimeZones.UNIVERSAL)));
+		}
+	}
+}
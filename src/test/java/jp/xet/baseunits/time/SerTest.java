@@ -0,0 +1,194 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.time;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+
+import jp.xet.baseunits.tests.SerializationTester;
+
+import org.junit.Test;
+
+/**
+ * {@link Ser}のテストクラス。
+ */
+public class SerTest {
+	
+	/** 既定の形式でシリアライズされた {@code TimePoint.atUTC(2019, 3, 5, 12, 34)} */
+	private static final String LEGACY_TIME_POINT = "rO0ABXNyAB9qcC54ZXQuYmFzZXVuaXRzLnRpbWUuVGltZVBvaW50kBGWM1a6q9gCAAFKABVtaWxsaXNlY29uZHNGcm9tRXBv"
+			+ "Y2h4cAAAAWlN2K7A";
+	
+	/** 既定の形式でシリアライズされた {@code TimePointOfDay.atUTC(15, 20, 30, 40)} */
+	private static final String LEGACY_TIME_POINT_OF_DAY = "rO0ABXNyACRqcC54ZXQuYmFzZXVuaXRzLnRpbWUuVGltZVBvaW50T2ZEYXljxl7pe2f9tQIAAUoAG21pbGxpc2Vjb25kc0Zy"
+			+ "b21VVENNaWRuaWdodHhwAAAAAANKvlg=";
+	
+	/** 既定の形式でシリアライズされた {@code CalendarDate.from(2019, 3, 5)} */
+	private static final String LEGACY_CALENDAR_DATE = "rO0ABXNyACJqcC54ZXQuYmFzZXVuaXRzLnRpbWUuQ2FsZW5kYXJEYXRlJjF/yIHFygcCAAJMAANkYXl0ACJManAveGV0L2Jh"
+			+ "c2V1bml0cy90aW1lL0RheU9mTW9udGg7TAAJeWVhck1vbnRodAAlTGpwL3hldC9iYXNldW5pdHMvdGltZS9DYWxlbmRhck1v"
+			+ "bnRoO3hwc3IAIGpwLnhldC5iYXNldW5pdHMudGltZS5EYXlPZk1vbnRoqTNsiu3eQ2YCAAFJAAV2YWx1ZXhwAAAABXNyACNq"
+			+ "cC54ZXQuYmFzZXVuaXRzLnRpbWUuQ2FsZW5kYXJNb250aFssBO5vQqBMAgACSQAEeWVhckwABW1vbnRodAAjTGpwL3hldC9i"
+			+ "YXNldW5pdHMvdGltZS9Nb250aE9mWWVhcjt4cAAAB+N+cgAhanAueGV0LmJhc2V1bml0cy50aW1lLk1vbnRoT2ZZZWFyAAAA"
+			+ "AAAAAAASAAB4cgAOamF2YS5sYW5nLkVudW0AAAAAAAAAABIAAHhwdAADTUFS";
+	
+	/** 既定の形式でシリアライズされた {@code CalendarMonth.from(2019, 3)} */
+	private static final String LEGACY_CALENDAR_MONTH = "rO0ABXNyACNqcC54ZXQuYmFzZXVuaXRzLnRpbWUuQ2FsZW5kYXJNb250aFssBO5vQqBMAgACSQAEeWVhckwABW1vbnRodAAj"
+			+ "TGpwL3hldC9iYXNldW5pdHMvdGltZS9Nb250aE9mWWVhcjt4cAAAB+N+cgAhanAueGV0LmJhc2V1bml0cy50aW1lLk1vbnRo"
+			+ "T2ZZZWFyAAAAAAAAAAASAAB4cgAOamF2YS5sYW5nLkVudW0AAAAAAAAAABIAAHhwdAADTUFS";
+	
+	/** 既定の形式でシリアライズされた {@code TimeOfDay.from(15, 20, 30, 40)} */
+	private static final String LEGACY_TIME_OF_DAY = "rO0ABXNyAB9qcC54ZXQuYmFzZXVuaXRzLnRpbWUuVGltZU9mRGF557uIC2E/OLACAARMAARob3VydAAhTGpwL3hldC9iYXNl"
+			+ "dW5pdHMvdGltZS9Ib3VyT2ZEYXk7TAAIbWlsbGlzZWN0AChManAveGV0L2Jhc2V1bml0cy90aW1lL01pbGxpc2VjT2ZTZWNv"
+			+ "bmQ7TAAGbWludXRldAAkTGpwL3hldC9iYXNldW5pdHMvdGltZS9NaW51dGVPZkhvdXI7TAAGc2Vjb25kdAAmTGpwL3hldC9i"
+			+ "YXNldW5pdHMvdGltZS9TZWNvbmRPZk1pbnV0ZTt4cHNyAB9qcC54ZXQuYmFzZXVuaXRzLnRpbWUuSG91ck9mRGF5oqkLJYQD"
+			+ "w20CAAFJAAV2YWx1ZXhwAAAAD3NyACZqcC54ZXQuYmFzZXVuaXRzLnRpbWUuTWlsbGlzZWNPZlNlY29uZOt852mCjcVdAgAB"
+			+ "SQAFdmFsdWV4cAAAAChzcgAianAueGV0LmJhc2V1bml0cy50aW1lLk1pbnV0ZU9mSG91cvvyqkABMfhAAgABSQAFdmFsdWV4"
+			+ "cAAAABRzcgAkanAueGV0LmJhc2V1bml0cy50aW1lLlNlY29uZE9mTWludXRlPzoco94kaCQCAAFJAAV2YWx1ZXhwAAAAHg==";
+	
+	/** 既定の形式でシリアライズされた {@code Duration.days(3)} */
+	private static final String LEGACY_DURATION = "rO0ABXNyAB5qcC54ZXQuYmFzZXVuaXRzLnRpbWUuRHVyYXRpb26apC3gSNmBdgIAAkoACHF1YW50aXR5TAAEdW5pdHQAIExq"
+			+ "cC94ZXQvYmFzZXVuaXRzL3RpbWUvVGltZVVuaXQ7eHAAAAAAAAAAA35yAB5qcC54ZXQuYmFzZXVuaXRzLnRpbWUuVGltZVVu"
+			+ "aXQAAAAAAAAAABIAAHhyAA5qYXZhLmxhbmcuRW51bQAAAAAAAAAAEgAAeHB0AANkYXk=";
+	
+	/** 既定の形式でシリアライズされた {@code TimePointInterval.closed(2019-03-05T12:34Z, 2019-03-06T00:00Z)} */
+	private static final String LEGACY_TIME_POINT_INTERVAL = "rO0ABXNyACdqcC54ZXQuYmFzZXVuaXRzLnRpbWUuVGltZVBvaW50SW50ZXJ2YWxN0eLrtTHJGgIAAHhyACNqcC54ZXQuYmFz"
+			+ "ZXVuaXRzLmludGVydmFscy5JbnRlcnZhbNtSwEX9a7n+AgACTAAQbG93ZXJMaW1pdE9iamVjdHQAKkxqcC94ZXQvYmFzZXVu"
+			+ "aXRzL2ludGVydmFscy9JbnRlcnZhbExpbWl0O0wAEHVwcGVyTGltaXRPYmplY3RxAH4AAnhwc3IAKGpwLnhldC5iYXNldW5p"
+			+ "dHMuaW50ZXJ2YWxzLkludGVydmFsTGltaXTOpWfhQk1+dQIAA1oABmNsb3NlZFoABWxvd2VyTAAFdmFsdWV0ABZMamF2YS9s"
+			+ "YW5nL0NvbXBhcmFibGU7eHABAXNyAB9qcC54ZXQuYmFzZXVuaXRzLnRpbWUuVGltZVBvaW50kBGWM1a6q9gCAAFKABVtaWxs"
+			+ "aXNlY29uZHNGcm9tRXBvY2h4cAAAAWlN2K7Ac3EAfgAEAQBzcQB+AAcAAAFpUEy8AA==";
+	
+	
+	/**
+	 * 各値オブジェクトが{@link Ser}を経由してシリアライズ・デシリアライズできることを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test01_roundTrip() throws Exception {
+		Object[] values = {
+			TimePoint.atUTC(2019, 3, 5, 12, 34),
+			TimePoint.from(Long.MIN_VALUE),
+			TimePoint.from(Long.MAX_VALUE),
+			TimePointOfDay.atUTC(15, 20, 30, 40),
+			CalendarDate.from(2019, 3, 5),
+			CalendarDate.from(1, 1, 1),
+			CalendarDate.from(1500, 2, 29),
+			CalendarDate.from(1582, 10, 4),
+			CalendarDate.from(9999, 12, 31),
+			CalendarMonth.from(2019, 3),
+			CalendarMonth.from(-100, 1),
+			CalendarMonth.from(Integer.MAX_VALUE, 12),
+			TimeOfDay.from(0),
+			TimeOfDay.from(15, 20, 30, 40),
+			TimeOfDay.MAX,
+			Duration.days(3),
+			Duration.NONE,
+			Duration.valueOf(Long.MAX_VALUE, TimeUnit.millisecond),
+			Duration.months(14),
+			TimePointInterval.closed(TimePoint.atUTC(2019, 3, 5, 12, 34), TimePoint.atUTC(2019, 3, 6, 0, 0)),
+			CalendarInterval.inclusive(CalendarDate.from(2019, 3, 5), CalendarDate.from(2019, 4, 1))
+		};
+		for (Object value : values) {
+			Object deserialized = SerializationTester.deserialize(SerializationTester.serialize(value));
+			assertThat(value.toString(), deserialized, is(value));
+			assertThat(value.toString(), deserialized, is(instanceOf(value.getClass())));
+		}
+		for (TimeUnit unit : TimeUnit.values()) {
+			SerializationTester.assertCanBeSerialized(Duration.valueOf(123, unit));
+		}
+	}
+	
+	/**
+	 * 既定の形式でシリアライズされた以前のバージョンのストリームを読み込めることを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test02_legacy() throws Exception {
+		assertThat(readLegacy(LEGACY_TIME_POINT), is((Object) TimePoint.atUTC(2019, 3, 5, 12, 34)));
+		assertThat(readLegacy(LEGACY_TIME_POINT_OF_DAY), is((Object) TimePointOfDay.atUTC(15, 20, 30, 40)));
+		assertThat(readLegacy(LEGACY_CALENDAR_DATE), is((Object) CalendarDate.from(2019, 3, 5)));
+		assertThat(readLegacy(LEGACY_CALENDAR_MONTH), is((Object) CalendarMonth.from(2019, 3)));
+		assertThat(readLegacy(LEGACY_DURATION), is((Object) Duration.days(3)));
+		assertThat(readLegacy(LEGACY_TIME_POINT_INTERVAL), is((Object) TimePointInterval.closed(
+				TimePoint.atUTC(2019, 3, 5, 12, 34), TimePoint.atUTC(2019, 3, 6, 0, 0))));
+		
+		// 旧形式のTimeOfDayは時・分・秒・ミリ秒のフィールドを持つ。分単位のequalsではなく、ミリ秒まで比較する
+		TimeOfDay timeOfDay = (TimeOfDay) readLegacy(LEGACY_TIME_OF_DAY);
+		assertThat(timeOfDay.millisOfDay, is(TimeOfDay.from(15, 20, 30, 40).millisOfDay));
+	}
+	
+	/**
+	 * シリアライズ形式が、既定の形式よりも小さいことを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test03_size() throws Exception {
+		assertSmaller(TimePoint.atUTC(2019, 3, 5, 12, 34), LEGACY_TIME_POINT);
+		assertSmaller(TimePointOfDay.atUTC(15, 20, 30, 40), LEGACY_TIME_POINT_OF_DAY);
+		assertSmaller(CalendarDate.from(2019, 3, 5), LEGACY_CALENDAR_DATE);
+		assertSmaller(CalendarMonth.from(2019, 3), LEGACY_CALENDAR_MONTH);
+		assertSmaller(TimeOfDay.from(15, 20, 30, 40), LEGACY_TIME_OF_DAY);
+		assertSmaller(Duration.days(3), LEGACY_DURATION);
+		
+		// クラス記述子はストリーム毎に1度だけ書き出されるため、値1件あたりの大きさはペイロードに近づく
+		int count = 10000;
+		Random random = new Random(0);
+		List<CalendarDate> dates = new ArrayList<CalendarDate>(count);
+		for (int i = 0; i < count; i++) {
+			dates.add(CalendarArithmetic.toCalendarDate(random.nextInt(365 * 100)));
+		}
+		int size = SerializationTester.serializedSize(dates);
+		assertTrue("size: " + size, size < count * 16);
+	}
+	
+	/**
+	 * 多数の値オブジェクトを含むストリームを、シリアライズ・デシリアライズできることを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test04_throughput() throws Exception {
+		Random random = new Random(0);
+		ArrayList<Object> values = new ArrayList<Object>();
+		for (int i = 0; i < 100000; i++) {
+			values.add(TimePoint.from(random.nextLong()));
+			values.add(CalendarArithmetic.toCalendarDate(random.nextInt(365 * 400)));
+			values.add(CalendarMonth.from(random.nextInt(400) + 1800, random.nextInt(12) + 1));
+			values.add(TimeOfDay.from(random.nextInt(86400000)));
+			values.add(Duration.minutes(random.nextInt(100000)));
+		}
+		assertThat(SerializationTester.deserialize(SerializationTester.serialize(values)), is((Object) values));
+	}
+	
+	private void assertSmaller(Object value, String legacy) {
+		int size = SerializationTester.serializedSize(value);
+		int legacySize = Base64.getDecoder().decode(legacy).length;
+		assertTrue(value + ": " + size + " >= " + legacySize, size < legacySize);
+	}
+	
+	private Object readLegacy(String base64) {
+		return SerializationTester.deserialize(Base64.getDecoder().decode(base64));
+	}
+}
@@ -16,8 +16,11 @@
 package jp.xet.baseunits.time;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 
+import java.util.Calendar;
 import java.util.TimeZone;
 
 import org.junit.Test;
@@ -286,4 +289,100 @@ public class TimeOfDayTest {
 		assertThat(TimeOfDay.parse("15:20:30", "HH:mm"), is(TimeOfDay.from(15, 20)));
 		assertThat(TimeOfDay.parse("15時から20分過ぎ", "HH時からmm分過ぎ"), is(TimeOfDay.from(15, 20)));
 	}
+	
+	/**
+	 * {@link TimeOfDay#from(long)}及び{@link TimeOfDay#toDuration()}のテスト。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test18_fromMillis_toDuration() throws Exception {
+		assertThat(TimeOfDay.from(0L), is(TimeOfDay.MIDNIGHT));
+		assertThat(TimeOfDay.from(86399999L).toString(), is(TimeOfDay.MAX.toString()));
+		assertThat(TimeOfDay.from(4, 52, 3, 55).toDuration(),
+				is(Duration.hours(4).plus(Duration.minutes(52)).plus(Duration.seconds(3)).plus(Duration.milliseconds(55))));
+		assertThat(TimeOfDay.from(4, 52, 3, 55).toString(), is("04:52:03,055"));
+		try {
+			TimeOfDay.from(86400000L);
+			fail();
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+		try {
+			TimeOfDay.from(-1L);
+			fail();
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+		try {
+			TimeOfDay.from(1, 60, 0, 0);
+			fail();
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+	}
+	
+	/**
+	 * {@link TimeOfDay#breachEncapsulationOfHour()}及び{@link TimeOfDay#breachEncapsulationOfMinute()}が
+	 * キャッシュされたインスタンスを返すことを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test19_flyweight() throws Exception {
+		TimeOfDay time = TimeOfDay.from(15, 40, 10, 20);
+		assertThat(time.breachEncapsulationOfHour(), is(sameInstance(HourOfDay.valueOf(15))));
+		assertThat(time.breachEncapsulationOfMinute(), is(sameInstance(MinuteOfHour.valueOf(40))));
+		assertThat(HourOfDay.valueOf(3, HourOfDay.Meridian.PM), is(sameInstance(HourOfDay.valueOf(15))));
+	}
+	
+	/**
+	 * {@link TimeOfDay#from(TimePointOfDay, TimeZone)}が、{@link Calendar}による変換と一致することを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test20_fromTimePointOfDay() throws Exception {
+		TimeZone[] zones = {
+			TimeZone.getTimeZone("Universal"),
+			TimeZone.getTimeZone("Asia/Tokyo"),
+			TimeZone.getTimeZone("America/New_York"),
+			TimeZone.getTimeZone("Asia/Kolkata")
+		};
+		for (TimeZone zone : zones) {
+			for (long millis = 0; millis < 86400000L; millis += 61001) {
+				TimePointOfDay tpod = TimePointOfDay.from(millis);
+				Calendar calendar = CalendarUtil.newCalendar(zone);
+				calendar.setTimeInMillis(millis);
+				assertThat(zone.getID() + " " + millis, TimeOfDay.from(tpod, zone),
+						is(TimeOfDay.from(calendar.get(Calendar.HOUR_OF_DAY), calendar.get(Calendar.MINUTE),
+								calendar.get(Calendar.SECOND), calendar.get(Calendar.MILLISECOND))));
+				assertThat(zone.getID() + " " + millis, TimeOfDay.from(tpod, zone).toString(),
+						is(TimeOfDay.from(calendar.get(Calendar.HOUR_OF_DAY), calendar.get(Calendar.MINUTE),
+								calendar.get(Calendar.SECOND), calendar.get(Calendar.MILLISECOND)).toString()));
+			}
+		}
+	}
+	
+	/**
+	 * {@link TimeOfDay#plus(Duration)}及び{@link TimeOfDay#minus(Duration)}が、日を跨ぐ長い時間量に対しても
+	 * 正しく循環することを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test21_plus_minus_wrap() throws Exception {
+		TimeOfDay time = TimeOfDay.from(4, 52, 3, 55);
+		assertThat(time.plus(Duration.days(3650)).toString(), is(time.toString()));
+		assertThat(time.minus(Duration.days(3650)).toString(), is(time.toString()));
+		assertThat(time.plus(Duration.hours(20)).toString(), is("00:52:03,055"));
+		assertThat(time.minus(Duration.hours(5)).toString(), is("23:52:03,055"));
+		assertThat(time.plus(Duration.months(0)), is(time));
+		try {
+			time.plus(Duration.months(1));
+			fail();
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+	}
 }
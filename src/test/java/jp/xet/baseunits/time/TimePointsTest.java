@@ -0,0 +1,187 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.time;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+/**
+ * {@link TimePoints}のテストクラス。
+ */
+public class TimePointsTest {
+	
+	private static final TimeZone[] ZONES = {
+		TimeZone.getTimeZone("Universal"),
+		TimeZone.getTimeZone("Asia/Tokyo"),
+		TimeZone.getTimeZone("America/New_York"),
+		TimeZone.getTimeZone("Australia/Lord_Howe")
+	};
+	
+	private static final long FROM = TimePoint.atUTC(1500, 1, 1, 0, 0).toEpochMillisec();
+	
+	private static final long TO = TimePoint.atUTC(2100, 1, 1, 0, 0).toEpochMillisec();
+	
+	
+	/**
+	 * {@link TimePoints#toEpochDays(long[], TimeZone, int[])}、
+	 * {@link TimePoints#toEpochMonths(long[], TimeZone, int[])}、
+	 * {@link TimePoints#toLocalMinuteOfDay(long[], TimeZone, int[])}及び
+	 * {@link TimePoints#toLocalMillisOfDay(long[], TimeZone, int[])}の結果が、
+	 * {@link TimePoint}による1件毎の変換と一致することを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test01_convert() throws Exception {
+		long[] millis = randomMillis(20000);
+		int[] days = new int[millis.length];
+		int[] months = new int[millis.length];
+		int[] minutes = new int[millis.length];
+		int[] millisOfDay = new int[millis.length];
+		for (TimeZone zone : ZONES) {
+			TimePoints.toEpochDays(millis, zone, days);
+			TimePoints.toEpochMonths(millis, zone, months);
+			TimePoints.toLocalMinuteOfDay(millis, zone, minutes);
+			TimePoints.toLocalMillisOfDay(millis, zone, millisOfDay);
+			for (int i = 0; i < millis.length; i++) {
+				TimePoint tp = TimePoint.from(millis[i]);
+				String reason = zone.getID() + " " + tp;
+				TimeOfDay timeOfDay = tp.asTimeOfDay(zone);
+				assertThat(reason, TimePoints.toCalendarDate(days[i]), is(tp.asCalendarDate(zone)));
+				assertThat(reason, TimePoints.toCalendarMonth(months[i]), is(CalendarMonth.from(tp, zone)));
+				assertThat(reason, TimeOfDay.from(millisOfDay[i]), is(timeOfDay));
+				assertThat(reason, minutes[i], is(timeOfDay.breachEncapsulationOfHour().value * 60
+						+ timeOfDay.breachEncapsulationOfMinute().value));
+			}
+		}
+	}
+	
+	/**
+	 * 範囲を指定した変換のテスト。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test02_range() throws Exception {
+		long[] millis = randomMillis(100);
+		TimeZone zone = TimeZone.getTimeZone("Asia/Tokyo");
+		int[] expected = new int[millis.length];
+		TimePoints.toEpochDays(millis, zone, expected);
+		
+		int[] out = new int[millis.length];
+		Arrays.fill(out, -1);
+		TimePoints.toEpochDays(millis, 10, 20, zone, out);
+		for (int i = 0; i < out.length; i++) {
+			assertThat(out[i], is(i >= 10 && i < 20 ? expected[i] : -1));
+		}
+		
+		try {
+			TimePoints.toEpochDays(millis, 0, 101, zone, out);
+			fail();
+		} catch (IndexOutOfBoundsException e) {
+			// success
+		}
+		try {
+			TimePoints.toEpochDays(millis, zone, new int[99]);
+			fail();
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+	}
+	
+	/**
+	 * {@link ForkJoinPool}を用いた並列変換の結果が、逐次変換の結果と一致することを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test03_parallel() throws Exception {
+		long[] millis = randomMillis(TimePoints.PARALLEL_THRESHOLD * 5 + 123);
+		TimeZone zone = TimeZone.getTimeZone("America/New_York");
+		int[] expected = new int[millis.length];
+		int[] actual = new int[millis.length];
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			TimePoints.toEpochDays(millis, zone, expected);
+			TimePoints.toEpochDays(millis, zone, actual, pool);
+			assertThat(Arrays.equals(actual, expected), is(true));
+			
+			TimePoints.toEpochMonths(millis, zone, expected);
+			TimePoints.toEpochMonths(millis, zone, actual, pool);
+			assertThat(Arrays.equals(actual, expected), is(true));
+			
+			TimePoints.toLocalMinuteOfDay(millis, zone, expected);
+			TimePoints.toLocalMinuteOfDay(millis, zone, actual, pool);
+			assertThat(Arrays.equals(actual, expected), is(true));
+			
+			TimePoints.toLocalMillisOfDay(millis, zone, expected);
+			TimePoints.toLocalMillisOfDay(millis, zone, actual, pool);
+			assertThat(Arrays.equals(actual, expected), is(true));
+		} finally {
+			pool.shutdown();
+		}
+	}
+	
+	/**
+	 * {@link TimePoints#toCalendarDate(int)}及び{@link TimePoints#toCalendarMonth(int)}のテスト。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test04_toCalendarDateAndMonth() throws Exception {
+		assertThat(TimePoints.toCalendarDate(0), is(CalendarDate.EPOCH_DATE));
+		assertThat(TimePoints.toCalendarDate(-1), is(CalendarDate.from(1969, 12, 31)));
+		assertThat(TimePoints.toCalendarMonth(0), is(CalendarMonth.from(1970, 1)));
+		assertThat(TimePoints.toCalendarMonth(-1), is(CalendarMonth.from(1969, 12)));
+		assertThat(TimePoints.toCalendarMonth(12 * 30 + 11), is(CalendarMonth.from(2000, 12)));
+	}
+	
+	/**
+	 * {@link TimePoints#toEpochDay(CalendarDate)}及び{@link TimePoints#toEpochMonth(CalendarMonth)}が、
+	 * {@link TimePoints#toCalendarDate(int)}及び{@link TimePoints#toCalendarMonth(int)}の逆変換となることを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test05_toEpochDayAndMonth() throws Exception {
+		assertThat(TimePoints.toEpochDay(CalendarDate.EPOCH_DATE), is(0));
+		assertThat(TimePoints.toEpochDay(CalendarDate.from(1969, 12, 31)), is(-1));
+		assertThat(TimePoints.toEpochMonth(CalendarMonth.from(1969, 12)), is(-1));
+		for (int epochDay = -200000; epochDay < 200000; epochDay += 7) {
+			assertThat(TimePoints.toEpochDay(TimePoints.toCalendarDate(epochDay)), is(epochDay));
+		}
+		for (int epochMonth = -10000; epochMonth < 10000; epochMonth++) {
+			assertThat(TimePoints.toEpochMonth(TimePoints.toCalendarMonth(epochMonth)), is(epochMonth));
+		}
+	}
+	
+	private long[] randomMillis(int size) {
+		Random random = new Random(0);
+		long[] millis = new long[size];
+		for (int i = 0; i < size; i++) {
+			millis[i] = FROM + (long) (random.nextDouble() * (TO - FROM));
+		}
+		return millis;
+	}
+}
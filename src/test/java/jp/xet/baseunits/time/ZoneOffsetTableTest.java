@@ -0,0 +1,171 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.time;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.Calendar;
+import java.util.Random;
+import java.util.SimpleTimeZone;
+import java.util.TimeZone;
+
+import org.junit.Test;
+
+/**
+ * {@link ZoneOffsetTable}のテストクラス。
+ * 
+ * <p>{@link ZoneOffsetTable}を用いた変換が、{@link Calendar}による変換と一致することを検証する。</p>
+ */
+public class ZoneOffsetTableTest {
+	
+	private static final TimeZone[] ZONES = {
+		TimeZone.getTimeZone("Universal"),
+		TimeZone.getTimeZone("Asia/Tokyo"),
+		TimeZone.getTimeZone("America/New_York"),
+		TimeZone.getTimeZone("America/Los_Angeles"),
+		TimeZone.getTimeZone("America/Sao_Paulo"),
+		TimeZone.getTimeZone("Europe/London"),
+		TimeZone.getTimeZone("Australia/Lord_Howe"),
+		TimeZone.getTimeZone("Pacific/Apia"),
+		new SimpleTimeZone(-5 * 3600000, "Custom", Calendar.MARCH, 8, -Calendar.SUNDAY, 7200000,
+				Calendar.NOVEMBER, 1, -Calendar.SUNDAY, 7200000)
+	};
+	
+	private static final long FROM = TimePoint.atUTC(1900, 1, 1, 0, 0).toEpochMillisec();
+	
+	private static final long TO = TimePoint.atUTC(2100, 1, 1, 0, 0).toEpochMillisec();
+	
+	
+	/**
+	 * {@link ZoneOffsetTable#of(TimeZone)}のテスト。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test01_of() throws Exception {
+		TimeZone zone = TimeZone.getTimeZone("Asia/Tokyo");
+		assertThat(ZoneOffsetTable.of(zone), is(sameInstance(ZoneOffsetTable.of(TimeZone.getTimeZone("Asia/Tokyo")))));
+		
+		// 引数のタイムゾーンを変更しても、以前のテーブルは影響を受けない
+		ZoneOffsetTable table = ZoneOffsetTable.of(zone);
+		zone.setRawOffset(0);
+		assertThat(table.getOffset(0), is(9 * 3600000));
+		assertThat(ZoneOffsetTable.of(zone).getOffset(0), is(0));
+	}
+	
+	/**
+	 * {@link ZoneOffsetTable#getOffset(long)}が{@link TimeZone#getOffset(long)}と一致することを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test02_getOffset() throws Exception {
+		Random random = new Random(0);
+		for (TimeZone zone : ZONES) {
+			ZoneOffsetTable table = ZoneOffsetTable.of(zone);
+			for (int i = 0; i < 100000; i++) {
+				long millis = FROM + (long) (random.nextDouble() * (TO - FROM));
+				assertThat(zone.getID() + " " + millis, table.getOffset(millis), is(zone.getOffset(millis)));
+			}
+		}
+	}
+	
+	/**
+	 * {@link TimePoint#asCalendarDate(TimeZone)}、{@link TimePoint#asTimeOfDay(TimeZone)}、
+	 * {@link TimePoint#backToMidnight(TimeZone)}及び{@link CalendarMonth#from(TimePoint, TimeZone)}が、
+	 * {@link Calendar}による変換と一致することを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test03_timePointToLocal() throws Exception {
+		Random random = new Random(0);
+		for (TimeZone zone : ZONES) {
+			for (int i = 0; i < 20000; i++) {
+				TimePoint tp = TimePoint.from(FROM + (long) (random.nextDouble() * (TO - FROM)));
+				Calendar calendar = tp.asJavaCalendar(zone);
+				String reason = zone.getID() + " " + tp;
+				
+				assertThat(reason, tp.asCalendarDate(zone), is(CalendarDate.from(calendar)));
+				assertThat(reason, CalendarMonth.from(tp, zone), is(CalendarMonth.from(calendar)));
+				assertThat(reason, tp.asTimeOfDay(zone), is(TimeOfDay.from(calendar.get(Calendar.HOUR_OF_DAY),
+						calendar.get(Calendar.MINUTE), calendar.get(Calendar.SECOND), calendar.get(Calendar.MILLISECOND))));
+				assertThat(reason, tp.backToMidnight(zone), is(atByCalendar(calendar.get(Calendar.YEAR),
+						calendar.get(Calendar.MONTH) + 1, calendar.get(Calendar.DATE), 0, 0, zone)));
+			}
+		}
+	}
+	
+	/**
+	 * {@link TimePoint#at(int, int, int, int, int, int, int, TimeZone)}が、
+	 * 夏時間の遷移の近傍を含めて{@link Calendar}による変換と一致することを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test04_localToTimePoint() throws Exception {
+		Random random = new Random(0);
+		for (TimeZone zone : ZONES) {
+			for (int year = 1900; year < 2100; year++) {
+				for (int month = 1; month <= 12; month++) {
+					int date = random.nextInt(28) + 1;
+					int hour = random.nextInt(24);
+					int minute = random.nextInt(60);
+					String reason = zone.getID() + " " + year + "-" + month + "-" + date + " " + hour + ":" + minute;
+					assertThat(reason, TimePoint.at(year, month, date, hour, minute, 0, 0, zone),
+							is(atByCalendar(year, month, date, hour, minute, zone)));
+				}
+			}
+			
+			// 遷移の直前直後の（存在しない時刻や重複する時刻を含む）地方時を網羅する
+			ZoneOffsetTable table = ZoneOffsetTable.of(zone);
+			for (long millis = FROM; millis < TO; millis += 6 * 3600000L) {
+				if (table.getOffset(millis) == table.getOffset(millis + 6 * 3600000L)) {
+					continue;
+				}
+				long local = table.toLocalMillis(millis);
+				for (long wall = local - 3 * 3600000L; wall < local + 9 * 3600000L; wall += 15 * 60000L) {
+					long packed = CalendarArithmetic.toPackedDate(Math.floorDiv(wall, 86400000L));
+					int year = CalendarArithmetic.packedYear(packed);
+					int month = CalendarArithmetic.packedMonth(packed);
+					int date = CalendarArithmetic.packedDay(packed);
+					int hour = (int) Math.floorMod(wall, 86400000L) / 3600000;
+					int minute = (int) Math.floorMod(wall, 3600000L) / 60000;
+					String reason = zone.getID() + " " + year + "-" + month + "-" + date + " " + hour + ":" + minute;
+					TimePoint expected = atByCalendar(year, month, date, hour, minute, zone);
+					assertThat(reason, TimePoint.at(year, month, date, hour, minute, 0, 0, zone), is(expected));
+					Calendar calendar = expected.asJavaCalendar(zone);
+					assertThat(reason, expected.backToMidnight(zone), is(atByCalendar(calendar.get(Calendar.YEAR),
+							calendar.get(Calendar.MONTH) + 1, calendar.get(Calendar.DATE), 0, 0, zone)));
+				}
+			}
+		}
+	}
+	
+	private TimePoint atByCalendar(int year, int month, int date, int hour, int minute, TimeZone zone) {
+		Calendar calendar = CalendarUtil.newCalendar(zone);
+		calendar.set(Calendar.YEAR, year);
+		calendar.set(Calendar.MONTH, month - 1);
+		calendar.set(Calendar.DATE, date);
+		calendar.set(Calendar.HOUR_OF_DAY, hour);
+		calendar.set(Calendar.MINUTE, minute);
+		calendar.set(Calendar.SECOND, 0);
+		calendar.set(Calendar.MILLISECOND, 0);
+		return TimePoint.valueOf(calendar);
+	}
+}
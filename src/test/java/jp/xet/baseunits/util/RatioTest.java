@@ -21,7 +21,9 @@ import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.math.RoundingMode;
+import java.util.Random;
 
 import jp.xet.baseunits.util.Ratio;
 
@@ -176,4 +178,91 @@ public class RatioTest {
 		assertThat(Ratio.of(100, 200).toString(), is("100/200"));
 		assertThat(Ratio.of(10, 20).toString(), is("10/20"));
 	}
+	
+	/**
+	 * {@code long}で保持した比率の{@link Ratio#decimalValue(int, RoundingMode)}及び{@link Ratio#times(Ratio)}が、
+	 * {@link BigDecimal}による計算と一致することを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test08_compactArithmetic() throws Exception {
+		Random random = new Random(0);
+		RoundingMode[] modes = RoundingMode.values();
+		for (int i = 0; i < 100000; i++) {
+			BigDecimal n = randomDecimal(random);
+			BigDecimal d = randomDecimal(random);
+			if (d.signum() == 0) {
+				continue;
+			}
+			BigDecimal m = randomDecimal(random);
+			Ratio ratio = Ratio.of(n, d);
+			int scale = random.nextInt(12) - 2;
+			RoundingMode mode = modes[random.nextInt(modes.length)];
+			String reason = n + "/" + d + " " + scale + " " + mode;
+			assertThat(reason, decimalValue(ratio, scale, mode), is(decimalValue(n, d, scale, mode)));
+			
+			Ratio product = ratio.times(Ratio.of(m, d));
+			assertThat(reason, product.breachEncapsulationOfNumerator(), is(n.multiply(m)));
+			assertThat(reason, product.breachEncapsulationOfDenominator(), is(d.multiply(d)));
+			assertThat(reason, decimalValue(product, scale, mode),
+					is(decimalValue(n.multiply(m), d.multiply(d), scale, mode)));
+			assertThat(reason, ratio.times(m), is(Ratio.of(n.multiply(m), d)));
+		}
+	}
+	
+	/**
+	 * {@code long}で保持した比率と{@link BigDecimal}で保持した比率の同一性を検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test09_compactEquality() throws Exception {
+		BigDecimal big = new BigDecimal(BigInteger.TEN.pow(30));
+		assertThat(Ratio.of(3, 2).times(Ratio.of(big, BigDecimal.ONE)),
+				is(Ratio.of(big.multiply(BigDecimal.valueOf(3)), BigDecimal.valueOf(2))));
+		assertThat(Ratio.of(Long.MAX_VALUE, 1).times(Ratio.of(Long.MAX_VALUE, 1)),
+				is(Ratio.of(BigDecimal.valueOf(Long.MAX_VALUE).pow(2), BigDecimal.ONE)));
+		assertThat(Ratio.of(Long.MAX_VALUE, 1).times(Ratio.of(Long.MAX_VALUE, 1)).hashCode(),
+				is(Ratio.of(BigDecimal.valueOf(Long.MAX_VALUE).pow(2), BigDecimal.ONE).hashCode()));
+		assertThat(Ratio.of(new BigDecimal("1.50"), BigDecimal.ONE),
+				is(not(Ratio.of(new BigDecimal("1.5"), BigDecimal.ONE))));
+		assertThat(Ratio.of(15, 10).times(new BigDecimal("0.1")), is(Ratio.of(new BigDecimal("1.5"), BigDecimal.TEN)));
+		assertThat(Ratio.of(Long.MAX_VALUE, Long.MAX_VALUE - 1).decimalValue(40, RoundingMode.HALF_EVEN),
+				is(BigDecimal.valueOf(Long.MAX_VALUE).divide(BigDecimal.valueOf(Long.MAX_VALUE - 1), 40,
+						RoundingMode.HALF_EVEN)));
+		try {
+			Ratio.of(1, 3).decimalValue(5, RoundingMode.UNNECESSARY);
+			fail();
+		} catch (ArithmeticException e) {
+			// success
+		}
+		try {
+			Ratio.of(BigDecimal.ONE, new BigDecimal("0.0")).decimalValue(5, RoundingMode.DOWN);
+			fail();
+		} catch (ArithmeticException e) {
+			// success
+		}
+	}
+	
+	private BigDecimal decimalValue(BigDecimal n, BigDecimal d, int scale, RoundingMode mode) {
+		try {
+			return n.divide(d, scale, mode);
+		} catch (ArithmeticException e) {
+			return null;
+		}
+	}
+	
+	private BigDecimal decimalValue(Ratio ratio, int scale, RoundingMode mode) {
+		try {
+			return ratio.decimalValue(scale, mode);
+		} catch (ArithmeticException e) {
+			return null;
+		}
+	}
+	
+	private BigDecimal randomDecimal(Random random) {
+		long unscaled = random.nextBoolean() ? random.nextInt(2001) - 1000 : random.nextLong() >> random.nextInt(64);
+		return BigDecimal.valueOf(unscaled, random.nextInt(6) - 1);
+	}
 }
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2010-2019 Miyamoto Daisuke.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.xet.baseunits.wicket;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+import jp.xet.baseunits.time.CalendarDate;
+import jp.xet.baseunits.time.CalendarMonth;
+import jp.xet.baseunits.time.TimeOfDay;
+import jp.xet.baseunits.time.TimePoint;
+import jp.xet.baseunits.time.TimePointOfDay;
+
+import org.apache.wicket.IConverterLocator;
+import org.apache.wicket.mock.MockApplication;
+import org.apache.wicket.util.convert.IConverter;
+import org.apache.wicket.util.tester.WicketTester;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link BaseunitsConverterLocator}のテストクラス。
+ */
+public class BaseunitsConverterLocatorTest {
+	
+	private static final TimeZone TOKYO = TimeZone.getTimeZone("Asia/Tokyo");
+	
+	private WicketTester tester;
+	
+	private WicketTester legacyTester;
+	
+	
+	/**
+	 * テストの準備を行う。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Before
+	public void setUp() throws Exception {
+		tester = new WicketTester(new MockApplication() {
+			
+			@Override
+			protected IConverterLocator newConverterLocator() {
+				return new BaseunitsConverterLocator(super.newConverterLocator(), TOKYO);
+			}
+		});
+		legacyTester = new WicketTester(new MockApplication());
+	}
+	
+	/**
+	 * テストの後始末を行う。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@After
+	public void tearDown() throws Exception {
+		tester.destroy();
+		legacyTester.destroy();
+	}
+	
+	/**
+	 * パターン及びタイムゾーンが同じであれば、同一の{@link IConverter}を返すことを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test01_cached() throws Exception {
+		BaseunitsConverterLocator locator = (BaseunitsConverterLocator) tester.getApplication().getConverterLocator();
+		assertThat(locator.getCalendarDateConverter("yyyy/MM/dd"),
+				is(sameInstance(locator.getCalendarDateConverter("yyyy/MM/dd"))));
+		assertThat(locator.getTimePointConverter("yyyy/MM/dd HH:mm", TOKYO),
+				is(sameInstance(locator.getTimePointConverter("yyyy/MM/dd HH:mm", TimeZone.getTimeZone("Asia/Tokyo")))));
+		assertThat(locator.getConverter(CalendarDate.class),
+				is(sameInstance(locator.getCalendarDateConverter(CalendarDateConverter.DEFAILT_PATTERN_JAVA))));
+		assertThat(locator.getConverter(TimePoint.class),
+				is(sameInstance(locator.getTimePointConverter(TimePointConverter.DEFAILT_PATTERN_JAVA, TOKYO))));
+		
+		// baseunits以外の型は委譲先で変換する
+		assertThat(locator.getConverter(Integer.class).convertToString(1234, Locale.US), is("1,234"));
+		
+		TimePointLabel label = new TimePointLabel("label", TimePoint.EPOCH, "HH:mm", TOKYO);
+		tester.startComponentInPage(label);
+		assertThat(label.getConverter(TimePoint.class),
+				is(sameInstance(locator.getTimePointConverter("HH:mm", TOKYO))));
+	}
+	
+	/**
+	 * ロケータを設定しない場合、従来通り{@link IConverter}を生成することを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test02_withoutLocator() throws Exception {
+		CalendarDateLabel label = new CalendarDateLabel("label", CalendarDate.from(2019, 3, 5));
+		legacyTester.startComponentInPage(label);
+		assertThat(label.getConverter(CalendarDate.class), is(instanceOf(CalendarDateConverter.class)));
+		legacyTester.assertLabel("label", "2019/03/05");
+	}
+	
+	/**
+	 * 多数のラベルを描画した結果が、ロケータを設定しない場合と一致することを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test03_render() throws Exception {
+		Random random = new Random(0);
+		for (int i = 0; i < 500; i++) {
+			TimePoint timePoint = TimePoint.from((long) (random.nextDouble() * 4000000000000L));
+			GenericLabel<?>[] labels = newLabels(timePoint);
+			GenericLabel<?>[] legacyLabels = newLabels(timePoint);
+			for (int j = 0; j < labels.length; j++) {
+				tester.startComponentInPage(labels[j]);
+				legacyTester.startComponentInPage(legacyLabels[j]);
+				assertThat(tester.getLastResponseAsString(), is(legacyTester.getLastResponseAsString()));
+			}
+			tester.assertLabel("label", timePoint.toString("HH:mm", TOKYO));
+		}
+	}
+	
+	/**
+	 * 変換時に与えたロケールで整形・解析し、{@code null}の場合は既定のロケールを用いることを検証する。
+	 * 
+	 * @throws Exception 例外が発生した場合
+	 */
+	@Test
+	public void test04_locale() throws Exception {
+		BaseunitsConverterLocator locator = (BaseunitsConverterLocator) tester.getApplication().getConverterLocator();
+		IConverter<TimePoint> converter = locator.getTimePointConverter("yyyy MMMM d", TOKYO);
+		TimePoint timePoint = TimePoint.at(2019, 3, 5, 0, 0, TOKYO);
+		assertThat(converter.convertToString(timePoint, Locale.US), is("2019 March 5"));
+		assertThat(converter.convertToString(timePoint, Locale.FRANCE), is("2019 mars 5"));
+		assertThat(converter.convertToObject("2019 March 5", Locale.US), is(timePoint));
+		assertThat(converter.convertToObject("2019 mars 5", Locale.FRANCE), is(timePoint));
+		assertThat(converter.convertToString(timePoint, null),
+				is(timePoint.toString("yyyy MMMM d", Locale.getDefault(), TOKYO)));
+		
+		IConverter<TimePointOfDay> ofDay = new TimePointOfDayConverter("hh:mm a", TOKYO);
+		TimePointOfDay noon = TimePointOfDay.from(3 * 3600000L); // CHECKSTYLE IGNORE THIS LINE
+		assertThat(ofDay.convertToString(noon, Locale.US), is("12:00 PM"));
+		assertThat(ofDay.convertToObject("12:00 PM", Locale.US), is(noon));
+	}
+	
+	private GenericLabel<?>[] newLabels(TimePoint timePoint) {
+		TimeOfDay timeOfDay = timePoint.asTimeOfDay(TOKYO);
+		return new GenericLabel<?>[] {
+			new TimePointLabel("label", timePoint, TOKYO),
+			new CalendarDateLabel("label", timePoint.asCalendarDate(TOKYO)),
+			new CalendarMonthLabel("label", CalendarMonth.from(timePoint, TOKYO)),
+			new TimeOfDayLabel("label", timeOfDay),
+			new TimePointOfDayLabel("label", TimePointOfDay.from(timePoint.toEpochMillisec() % 86400000L), TOKYO)
+		};
+	}
+}